@@ -0,0 +1,279 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link BeanWrapperImpl}: setting and getting simple, converted
+ * and nested indexed properties on a large bean graph, with reflective access
+ * as well as with generated accessors (see
+ * {@link CachedIntrospectionResults#GENERATE_ACCESSORS_PROPERTY_NAME}).
+ *
+ * <p>
+ *  {@link BeanWrapperImpl}的基准测试:在大型bean图上设置和获取简单的、经过转换的以及嵌套索引的属性,使用反射访问以及生成的访问器(参见{@link CachedIntrospectionResults#GENERATE_ACCESSORS_PROPERTY_NAME})
+ * 
+ * 
+ * @since 4.3.6
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanWrapperBenchmark {
+
+	private static final String GENERATE_ACCESSORS =
+			"-D" + CachedIntrospectionResults.GENERATE_ACCESSORS_PROPERTY_NAME + "=true";
+
+
+	@Benchmark
+	public Object setSimpleProperty(BeanWrapperData data) {
+		data.beanWrapper.setPropertyValue("name", "Juergen");
+		return data.beanWrapper.getWrappedInstance();
+	}
+
+	@Benchmark
+	public Object setConvertedProperty(BeanWrapperData data) {
+		data.beanWrapper.setPropertyValue("age", "42");
+		return data.beanWrapper.getWrappedInstance();
+	}
+
+	@Benchmark
+	public Object setNestedIndexedProperty(BeanWrapperData data) {
+		data.beanWrapper.setPropertyValue(data.nestedPath, "7");
+		return data.beanWrapper.getWrappedInstance();
+	}
+
+	@Benchmark
+	public Object getNestedMapProperty(BeanWrapperData data) {
+		return data.beanWrapper.getPropertyValue(data.mapPath);
+	}
+
+	@Benchmark
+	public Object setPropertyValues(BeanWrapperData data) {
+		data.beanWrapper.setPropertyValues(data.propertyValues);
+		return data.beanWrapper.getWrappedInstance();
+	}
+
+	@Benchmark
+	@Fork(jvmArgsAppend = GENERATE_ACCESSORS)
+	public Object setConvertedPropertyGenerated(BeanWrapperData data) {
+		return setConvertedProperty(data);
+	}
+
+	@Benchmark
+	@Fork(jvmArgsAppend = GENERATE_ACCESSORS)
+	public Object setNestedIndexedPropertyGenerated(BeanWrapperData data) {
+		return setNestedIndexedProperty(data);
+	}
+
+	@Benchmark
+	@Fork(jvmArgsAppend = GENERATE_ACCESSORS)
+	public Object setPropertyValuesGenerated(BeanWrapperData data) {
+		return setPropertyValues(data);
+	}
+
+
+	@State(Scope.Thread)
+	public static class BeanWrapperData {
+
+		@Param({"10", "1000"})
+		public int graphSize;
+
+		public BeanWrapper beanWrapper;
+
+		public String nestedPath;
+
+		public String mapPath;
+
+		public MutablePropertyValues propertyValues;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			Customer customer = new Customer();
+			for (int i = 0; i < this.graphSize; i++) {
+				Order order = new Order();
+				for (int j = 0; j < 10; j++) {
+					order.getItems().add(new OrderItem());
+				}
+				customer.getOrders().add(order);
+				customer.getAddresses().put("address" + i, new Address());
+			}
+			this.beanWrapper = new BeanWrapperImpl(customer);
+			this.beanWrapper.setAutoGrowNestedPaths(true);
+			int last = this.graphSize - 1;
+			this.nestedPath = "orders[" + last + "].items[9].quantity";
+			this.mapPath = "addresses[address" + last + "].city";
+			this.propertyValues = new MutablePropertyValues();
+			this.propertyValues.add("name", "Juergen");
+			this.propertyValues.add("age", "42");
+			this.propertyValues.add("active", "true");
+			this.propertyValues.add("address.street", "Main Street");
+			this.propertyValues.add("address.city", "Linz");
+			this.propertyValues.add("address.zipCode", "4020");
+			this.propertyValues.add(this.nestedPath, "3");
+		}
+	}
+
+
+	public static class Customer {
+
+		private String name;
+
+		private int age;
+
+		private boolean active;
+
+		private Address address = new Address();
+
+		private List<Order> orders = new ArrayList<Order>();
+
+		private Map<String, Address> addresses = new LinkedHashMap<String, Address>();
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public boolean isActive() {
+			return this.active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+
+		public void setAddress(Address address) {
+			this.address = address;
+		}
+
+		public List<Order> getOrders() {
+			return this.orders;
+		}
+
+		public void setOrders(List<Order> orders) {
+			this.orders = orders;
+		}
+
+		public Map<String, Address> getAddresses() {
+			return this.addresses;
+		}
+
+		public void setAddresses(Map<String, Address> addresses) {
+			this.addresses = addresses;
+		}
+	}
+
+
+	public static class Address {
+
+		private String street;
+
+		private String city = "Vienna";
+
+		private int zipCode;
+
+		public String getStreet() {
+			return this.street;
+		}
+
+		public void setStreet(String street) {
+			this.street = street;
+		}
+
+		public String getCity() {
+			return this.city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+
+		public int getZipCode() {
+			return this.zipCode;
+		}
+
+		public void setZipCode(int zipCode) {
+			this.zipCode = zipCode;
+		}
+	}
+
+
+	public static class Order {
+
+		private List<OrderItem> items = new ArrayList<OrderItem>();
+
+		public List<OrderItem> getItems() {
+			return this.items;
+		}
+
+		public void setItems(List<OrderItem> items) {
+			this.items = items;
+		}
+	}
+
+
+	public static class OrderItem {
+
+		private int quantity;
+
+		private double price;
+
+		public int getQuantity() {
+			return this.quantity;
+		}
+
+		public void setQuantity(int quantity) {
+			this.quantity = quantity;
+		}
+
+		public double getPrice() {
+			return this.price;
+		}
+
+		public void setPrice(double price) {
+			this.price = price;
+		}
+	}
+
+}
@@ -0,0 +1,193 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Benchmarks for {@link org.springframework.beans.factory.support.AbstractBeanFactory#getBean}
+ * against a bean factory holding a large number of bean definitions: singleton
+ * lookups by name and by type, and prototype creation with property references
+ * and with an autowired constructor.
+ *
+ * <p>
+ *  针对包含大量bean定义的bean工厂的{@link org.springframework.beans.factory.support.AbstractBeanFactory#getBean}基准测试:按名称和按类型查找单例,以及使用属性引用和自动装配构造函数创建原型
+ * 
+ * 
+ * @since 4.3.6
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanFactoryBenchmark {
+
+	@Benchmark
+	public Object singletonByName(BeanFactoryData data) {
+		return data.beanFactory.getBean(data.lastServiceName);
+	}
+
+	@Benchmark
+	public Object singletonByType(BeanFactoryData data) {
+		return data.beanFactory.getBean(Configuration.class);
+	}
+
+	@Benchmark
+	public String[] beanNamesForType(BeanFactoryData data) {
+		return data.beanFactory.getBeanNamesForType(Repository.class);
+	}
+
+	@Benchmark
+	public Object prototypeWithPropertyReferences(BeanFactoryData data) {
+		return data.beanFactory.getBean("prototypeService");
+	}
+
+	@Benchmark
+	public Object prototypeWithAutowiredConstructor(BeanFactoryData data) {
+		return data.beanFactory.getBean("prototypeHandler");
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BeanFactoryData {
+
+		@Param({"100", "5000"})
+		public int beanCount;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		public String lastServiceName;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			this.beanFactory.registerBeanDefinition("configuration", new RootBeanDefinition(Configuration.class));
+			this.beanFactory.registerBeanDefinition("auditLog", new RootBeanDefinition(AuditLog.class));
+			for (int i = 0; i < this.beanCount; i++) {
+				this.beanFactory.registerBeanDefinition("repository" + i, new RootBeanDefinition(Repository.class));
+				this.beanFactory.registerBeanDefinition("service" + i, serviceDefinition(i));
+			}
+			RootBeanDefinition prototypeService = serviceDefinition(0);
+			prototypeService.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			this.beanFactory.registerBeanDefinition("prototypeService", prototypeService);
+			RootBeanDefinition prototypeHandler = new RootBeanDefinition(Handler.class);
+			prototypeHandler.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			prototypeHandler.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+			this.beanFactory.registerBeanDefinition("prototypeHandler", prototypeHandler);
+			this.beanFactory.preInstantiateSingletons();
+			this.lastServiceName = "service" + (this.beanCount - 1);
+		}
+
+		private static RootBeanDefinition serviceDefinition(int index) {
+			RootBeanDefinition bd = new RootBeanDefinition(Service.class);
+			bd.getPropertyValues().add("repository", new RuntimeBeanReference("repository" + index));
+			bd.getPropertyValues().add("configuration", new RuntimeBeanReference("configuration"));
+			bd.getPropertyValues().add("name", "service" + index);
+			bd.getPropertyValues().add("timeout", "30");
+			return bd;
+		}
+	}
+
+
+	public static class Configuration {
+	}
+
+
+	public static class AuditLog {
+	}
+
+
+	public static class Repository {
+	}
+
+
+	public static class Service {
+
+		private Repository repository;
+
+		private Configuration configuration;
+
+		private String name;
+
+		private int timeout;
+
+		public void setRepository(Repository repository) {
+			this.repository = repository;
+		}
+
+		public Repository getRepository() {
+			return this.repository;
+		}
+
+		public void setConfiguration(Configuration configuration) {
+			this.configuration = configuration;
+		}
+
+		public Configuration getConfiguration() {
+			return this.configuration;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setTimeout(int timeout) {
+			this.timeout = timeout;
+		}
+
+		public int getTimeout() {
+			return this.timeout;
+		}
+	}
+
+
+	public static class Handler {
+
+		private final Configuration configuration;
+
+		private final AuditLog auditLog;
+
+		public Handler(Configuration configuration, AuditLog auditLog) {
+			this.configuration = configuration;
+			this.auditLog = auditLog;
+		}
+
+		public Configuration getConfiguration() {
+			return this.configuration;
+		}
+
+		public AuditLog getAuditLog() {
+			return this.auditLog;
+		}
+	}
+
+}
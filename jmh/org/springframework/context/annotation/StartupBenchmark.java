@@ -0,0 +1,237 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.PersistentMetadataReaderFactory;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Startup benchmarks against a synthetic classpath of generated class files:
+ * scanning for candidate components, and refreshing an annotation-based
+ * application context whose configuration class scans the entire classpath.
+ * Class files are read sequentially or in parallel (see
+ * {@link ClassPathScanningCandidateComponentProvider#setParsingExecutor}),
+ * and with an in-memory or a persistent metadata cache (see
+ * {@link PersistentMetadataReaderFactory}). Each invocation starts with empty
+ * in-memory caches.
+ *
+ * <p>
+ *  针对由生成的类文件组成的合成类路径的启动基准测试:扫描候选组件,以及刷新基于注解的应用程序上下文,其配置类扫描整个类路径
+ * 类文件按顺序或并行读取(参见{@link ClassPathScanningCandidateComponentProvider#setParsingExecutor}),
+ * 并使用内存中或持久化的元数据缓存(参见{@link PersistentMetadataReaderFactory})每次调用都从空的内存缓存开始
+ * 
+ * 
+ * @since 4.3.6
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+	private static final String BASE_PACKAGE = "startup";
+
+
+	@Benchmark
+	public Set<BeanDefinition> scanCandidateComponents(ClasspathData data) {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(data.resourceLoader);
+		provider.setMetadataReaderFactory(data.createMetadataReaderFactory());
+		provider.setParsingExecutor(data.executor);
+		return provider.findCandidateComponents(BASE_PACKAGE);
+	}
+
+	@Benchmark
+	public int refreshContext(ClasspathData data) {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setClassLoader(data.classLoader);
+		BeanDefinition processor =
+				context.getBeanDefinition(AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME);
+		processor.getPropertyValues().add("metadataReaderFactory", data.createMetadataReaderFactory());
+		processor.getPropertyValues().add("parsingExecutor", data.executor);
+		context.registerBeanDefinition("startupConfiguration",
+				new AnnotatedGenericBeanDefinition(data.configurationClass));
+		context.refresh();
+		int beanCount = context.getBeanDefinitionCount();
+		context.close();
+		return beanCount;
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ClasspathData {
+
+		private static final String COMPONENT_DESCRIPTOR = "Lorg/springframework/stereotype/Component;";
+
+		private static final int CLASSES_PER_PACKAGE = 100;
+
+		@Param({"10000"})
+		public int classCount;
+
+		@Param({"0", "4"})
+		public int parsingThreads;
+
+		@Param({"memory", "persistent"})
+		public String metadataCache;
+
+		public File classpathRoot;
+
+		public File cacheFile;
+
+		public ClassLoader classLoader;
+
+		public ResourceLoader resourceLoader;
+
+		public ExecutorService executor;
+
+		public Class<?> configurationClass;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.classpathRoot = File.createTempFile("startup-benchmark", "");
+			this.classpathRoot.delete();
+			// Every fourth class is a plain class that the scan has to read but filter out
+			for (int i = 0; i < this.classCount; i++) {
+				String className = BASE_PACKAGE + "/p" + (i / CLASSES_PER_PACKAGE) + "/Service" + i;
+				writeClass(className, generateClass(className, i % 4 != 0, false));
+			}
+			String configurationClassName = BASE_PACKAGE + "/StartupConfiguration";
+			writeClass(configurationClassName, generateClass(configurationClassName, false, true));
+			this.cacheFile = new File(this.classpathRoot.getParentFile(), this.classpathRoot.getName() + ".metadata");
+			this.classLoader = new URLClassLoader(new URL[] {this.classpathRoot.toURI().toURL()},
+					getClass().getClassLoader());
+			this.resourceLoader = new DefaultResourceLoader(this.classLoader);
+			this.executor = (this.parsingThreads > 0 ? Executors.newFixedThreadPool(this.parsingThreads) : null);
+			this.configurationClass = this.classLoader.loadClass(configurationClassName.replace('/', '.'));
+			if ("persistent".equals(this.metadataCache)) {
+				// Start from a cache file written by a previous run on the same classpath
+				MetadataReaderFactory metadataReaderFactory = createMetadataReaderFactory();
+				ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+				provider.setResourceLoader(this.resourceLoader);
+				provider.setMetadataReaderFactory(metadataReaderFactory);
+				provider.findCandidateComponents(BASE_PACKAGE);
+				((PersistentMetadataReaderFactory) metadataReaderFactory).flush();
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			if (this.executor != null) {
+				this.executor.shutdown();
+			}
+			FileSystemUtils.deleteRecursively(this.classpathRoot);
+			this.cacheFile.delete();
+		}
+
+		public MetadataReaderFactory createMetadataReaderFactory() {
+			if ("persistent".equals(this.metadataCache)) {
+				return new PersistentMetadataReaderFactory(this.resourceLoader, this.cacheFile);
+			}
+			return new CachingMetadataReaderFactory(this.resourceLoader);
+		}
+
+		private void writeClass(String className, byte[] bytes) throws IOException {
+			File file = new File(this.classpathRoot, className + ".class");
+			file.getParentFile().mkdirs();
+			OutputStream out = new FileOutputStream(file);
+			try {
+				out.write(bytes);
+			}
+			finally {
+				out.close();
+			}
+		}
+
+		private static byte[] generateClass(String className, boolean component, boolean configuration) {
+			ClassWriter cw = new ClassWriter(0);
+			cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, className, null,
+					"java/lang/Object", new String[] {"java/io/Serializable"});
+			if (component) {
+				cw.visitAnnotation(COMPONENT_DESCRIPTOR, true).visitEnd();
+			}
+			if (configuration) {
+				cw.visitAnnotation("Lorg/springframework/context/annotation/Configuration;", true).visitEnd();
+				AnnotationVisitor av = cw.visitAnnotation("Lorg/springframework/context/annotation/ComponentScan;", true);
+				AnnotationVisitor basePackages = av.visitArray("basePackages");
+				basePackages.visit(null, BASE_PACKAGE);
+				basePackages.visitEnd();
+				av.visitEnd();
+			}
+			cw.visitField(Opcodes.ACC_PRIVATE, "name", "Ljava/lang/String;", null, null).visitEnd();
+
+			MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+			mv.visitInsn(Opcodes.RETURN);
+			mv.visitMaxs(1, 1);
+			mv.visitEnd();
+
+			mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "getName", "()Ljava/lang/String;", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitFieldInsn(Opcodes.GETFIELD, className, "name", "Ljava/lang/String;");
+			mv.visitInsn(Opcodes.ARETURN);
+			mv.visitMaxs(1, 1);
+			mv.visitEnd();
+
+			mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "setName", "(Ljava/lang/String;)V", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitFieldInsn(Opcodes.PUTFIELD, className, "name", "Ljava/lang/String;");
+			mv.visitInsn(Opcodes.RETURN);
+			mv.visitMaxs(2, 2);
+			mv.visitEnd();
+
+			cw.visitEnd();
+			return cw.toByteArray();
+		}
+	}
+
+}
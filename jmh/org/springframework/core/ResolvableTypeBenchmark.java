@@ -0,0 +1,131 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link ResolvableType}: resolving the generics of fields,
+ * method parameters and class hierarchies, and generic assignability checks,
+ * as performed for every injection point during dependency resolution.
+ *
+ * <p>
+ *  {@link ResolvableType}的基准测试:解析字段、方法参数和类层次结构的泛型,以及泛型可分配性检查,就像在依赖解析期间对每个注入点执行的那样
+ * 
+ * 
+ * @since 4.3.6
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ResolvableTypeBenchmark {
+
+	@Benchmark
+	public Class<?> forFieldNestedGeneric(TypeData data) {
+		return ResolvableType.forField(data.mapField).getGeneric(1, 0).resolveGeneric(0);
+	}
+
+	@Benchmark
+	public Class<?>[] forClassAsInterface() {
+		return ResolvableType.forClass(UserRepository.class).as(Repository.class).resolveGenerics();
+	}
+
+	@Benchmark
+	public void forMethodParameters(TypeData data, Blackhole bh) {
+		for (int i = 0; i < data.method.getParameterTypes().length; i++) {
+			bh.consume(ResolvableType.forMethodParameter(data.method, i).resolve());
+		}
+	}
+
+	@Benchmark
+	public boolean isAssignableFromGeneric(TypeData data) {
+		return data.repositoryType.isAssignableFrom(data.userRepositoryType);
+	}
+
+	@Benchmark
+	public boolean isAssignableFromWildcard(TypeData data) {
+		return data.numberListType.isAssignableFrom(data.integerListType);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class TypeData {
+
+		public Field mapField;
+
+		public Method method;
+
+		public ResolvableType repositoryType;
+
+		public ResolvableType userRepositoryType;
+
+		public ResolvableType numberListType;
+
+		public ResolvableType integerListType;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.mapField = Fixture.class.getField("lookup");
+			this.method = Fixture.class.getMethod("process", List.class, Map.class, Repository.class);
+			this.repositoryType = ResolvableType.forClassWithGenerics(Repository.class, User.class, Long.class);
+			this.userRepositoryType = ResolvableType.forClass(UserRepository.class);
+			this.numberListType = ResolvableType.forField(Fixture.class.getField("numbers"));
+			this.integerListType = ResolvableType.forClassWithGenerics(ArrayList.class, Integer.class);
+		}
+	}
+
+
+	public interface Repository<T, ID extends Serializable> {
+	}
+
+	public static abstract class AbstractRepository<T, ID extends Serializable> implements Repository<T, ID> {
+	}
+
+	public static abstract class CrudRepository<T> extends AbstractRepository<T, Long> {
+	}
+
+	public static class UserRepository extends CrudRepository<User> {
+	}
+
+	public static class User {
+	}
+
+	public static class Fixture {
+
+		public Map<String, List<Set<Integer>>> lookup;
+
+		public List<? extends Number> numbers;
+
+		public void process(List<User> users, Map<String, Set<Long>> index, Repository<User, Long> repository) {
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link AnnotatedElementUtils}: finding merged annotations
+ * through a deep meta-annotation hierarchy with attribute overrides, on classes
+ * and on methods declared in superclasses and interfaces, with proxy-based as
+ * well as generated synthesized annotations (see
+ * {@link AnnotationUtils#GENERATE_IMPLEMENTATIONS_PROPERTY_NAME}).
+ *
+ * <p>
+ *  {@link AnnotatedElementUtils}的基准测试:通过具有属性覆盖的深层元注解层次结构,在类以及在超类和接口中声明的方法上查找合并的注解,使用基于代理的以及生成的合成注解(参见{@link AnnotationUtils#GENERATE_IMPLEMENTATIONS_PROPERTY_NAME})
+ * 
+ * 
+ * @since 4.3.6
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AnnotatedElementUtilsBenchmark {
+
+	private static final String GENERATE_IMPLEMENTATIONS =
+			"-D" + AnnotationUtils.GENERATE_IMPLEMENTATIONS_PROPERTY_NAME + "=true";
+
+
+	@Benchmark
+	public Component findMergedAnnotationOnClass() {
+		return AnnotatedElementUtils.findMergedAnnotation(OrderServiceImpl.class, Component.class);
+	}
+
+	@Benchmark
+	public Component findMergedAnnotationOnInheritedMethod(AnnotationData data) {
+		return AnnotatedElementUtils.findMergedAnnotation(data.inheritedMethod, Component.class);
+	}
+
+	@Benchmark
+	public AnnotationAttributes getMergedAnnotationAttributes() {
+		return AnnotatedElementUtils.getMergedAnnotationAttributes(OrderServiceImpl.class, Component.class);
+	}
+
+	@Benchmark
+	public boolean hasAnnotationMissing() {
+		return AnnotatedElementUtils.hasAnnotation(OrderServiceImpl.class, Deprecated.class);
+	}
+
+	@Benchmark
+	public String accessSynthesizedAttribute() {
+		return AnnotatedElementUtils.findMergedAnnotation(OrderServiceImpl.class, Component.class).name();
+	}
+
+	@Benchmark
+	@Fork(jvmArgsAppend = GENERATE_IMPLEMENTATIONS)
+	public String accessSynthesizedAttributeGenerated() {
+		return accessSynthesizedAttribute();
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class AnnotationData {
+
+		public Method inheritedMethod;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.inheritedMethod = OrderServiceImpl.class.getMethod("placeOrder", String.class);
+		}
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	public @interface Component {
+
+		@AliasFor("name")
+		String value() default "";
+
+		@AliasFor("value")
+		String name() default "";
+
+		int order() default 0;
+
+		String[] tags() default {};
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	@Component(order = 1)
+	public @interface Service {
+
+		@AliasFor(annotation = Component.class, attribute = "name")
+		String value() default "";
+
+		@AliasFor(annotation = Component.class)
+		String[] tags() default {};
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	@Service(tags = "transactional")
+	public @interface TransactionalService {
+
+		@AliasFor(annotation = Service.class)
+		String value() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	@TransactionalService
+	public @interface DomainService {
+
+		@AliasFor(annotation = TransactionalService.class)
+		String value() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	@DomainService
+	public @interface OrderDomainService {
+
+		@AliasFor(annotation = DomainService.class)
+		String value() default "orders";
+	}
+
+
+	public interface OrderService {
+
+		@OrderDomainService("placeOrder")
+		void placeOrder(String orderId);
+	}
+
+	@OrderDomainService
+	public static abstract class AbstractOrderService implements OrderService {
+	}
+
+	public static class OrderServiceImpl extends AbstractOrderService {
+
+		@Override
+		public void placeOrder(String orderId) {
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Benchmarks for {@link GenericConversionService#convert}: scalar conversions
+ * between plain types as well as element-wise collection conversions between
+ * generic type descriptors, using the default converters.
+ *
+ * <p>
+ *  {@link GenericConversionService#convert}的基准测试:使用默认转换器,在普通类型之间进行标量转换,以及在泛型类型描述符之间进行按元素的集合转换
+ * 
+ * 
+ * @since 4.3.6
+ */
+@BenchmarkMode(Mode.Throughput)
+public class GenericConversionServiceBenchmark {
+
+	@Benchmark
+	public Integer stringToInteger(ConversionData data) {
+		return data.conversionService.convert("4711", Integer.class);
+	}
+
+	@Benchmark
+	public String integerToString(ConversionData data) {
+		return data.conversionService.convert(4711, String.class);
+	}
+
+	@Benchmark
+	public Long stringToLong(ConversionData data) {
+		return data.conversionService.convert("-1234567890123", Long.class);
+	}
+
+	@Benchmark
+	public Boolean stringToBoolean(ConversionData data) {
+		return data.conversionService.convert("true", Boolean.class);
+	}
+
+	@Benchmark
+	public Priority stringToEnum(ConversionData data) {
+		return data.conversionService.convert("HIGH", Priority.class);
+	}
+
+	@Benchmark
+	public Object stringListToIntegerSet(ConversionData data) {
+		return data.conversionService.convert(data.source, data.sourceType, data.targetType);
+	}
+
+	@Benchmark
+	public Object commaDelimitedStringToIntegerList(ConversionData data) {
+		return data.conversionService.convert(data.commaDelimitedSource, data.stringType, data.integerListType);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ConversionData {
+
+		@Param({"10", "1000"})
+		public int collectionSize;
+
+		public GenericConversionService conversionService;
+
+		public List<String> source;
+
+		public String commaDelimitedSource;
+
+		public TypeDescriptor sourceType;
+
+		public TypeDescriptor targetType;
+
+		public TypeDescriptor stringType;
+
+		public TypeDescriptor integerListType;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.conversionService = new DefaultConversionService();
+			this.source = new ArrayList<String>(this.collectionSize);
+			StringBuilder commaDelimited = new StringBuilder();
+			for (int i = 0; i < this.collectionSize; i++) {
+				this.source.add(String.valueOf(i));
+				commaDelimited.append(i > 0 ? "," : "").append(i);
+			}
+			this.commaDelimitedSource = commaDelimited.toString();
+			this.sourceType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class));
+			this.targetType = TypeDescriptor.collection(Set.class, TypeDescriptor.valueOf(Integer.class));
+			this.stringType = TypeDescriptor.valueOf(String.class);
+			this.integerListType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class));
+		}
+	}
+
+
+	public enum Priority {
+
+		LOW, NORMAL, HIGH
+	}
+
+}
@@ -0,0 +1,201 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for {@link org.springframework.expression.spel.standard.SpelExpression#getValue}:
+ * property navigation, method invocation, arithmetic and boolean logic, collection
+ * selection and map access against a root object, interpreted and compiled.
+ *
+ * <p>
+ *  {@link org.springframework.expression.spel.standard.SpelExpression#getValue}的基准测试:针对根对象的属性导航、方法调用、算术和布尔逻辑、集合选择以及映射访问,包括解释执行和编译执行
+ * 
+ * 
+ * @since 4.3.6
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SpelExpressionBenchmark {
+
+	@Benchmark
+	public Object propertyNavigation(ExpressionData data) {
+		return data.propertyNavigation.getValue(data.context);
+	}
+
+	@Benchmark
+	public Object methodInvocation(ExpressionData data) {
+		return data.methodInvocation.getValue(data.context);
+	}
+
+	@Benchmark
+	public Object arithmetic(ExpressionData data) {
+		return data.arithmetic.getValue(data.context);
+	}
+
+	@Benchmark
+	public Object booleanLogic(ExpressionData data) {
+		return data.booleanLogic.getValue(data.context);
+	}
+
+	@Benchmark
+	public Object selection(ExpressionData data) {
+		return data.selection.getValue(data.context);
+	}
+
+	@Benchmark
+	public Object mapAccess(ExpressionData data) {
+		return data.mapAccess.getValue(data.context);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ExpressionData {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		public StandardEvaluationContext context;
+
+		public Expression propertyNavigation;
+
+		public Expression methodInvocation;
+
+		public Expression arithmetic;
+
+		public Expression booleanLogic;
+
+		public Expression selection;
+
+		public Expression mapAccess;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			SpelExpressionParser parser = new SpelExpressionParser(
+					new SpelParserConfiguration(this.compilerMode, getClass().getClassLoader()));
+			this.context = new StandardEvaluationContext(new Account());
+			this.propertyNavigation = parser.parseExpression("owner.address.city");
+			this.methodInvocation = parser.parseExpression("owner.getName().toUpperCase()");
+			this.arithmetic = parser.parseExpression("balance * 1.05 + limit - 100");
+			this.booleanLogic = parser.parseExpression("active and balance > 1000 or owner.name == 'admin'");
+			this.selection = parser.parseExpression("transactions.?[amount > 500]");
+			this.mapAccess = parser.parseExpression("settings['currency']");
+			// Evaluate once so that IMMEDIATE mode has compiled all expressions before measuring
+			for (Expression expression : new Expression[] {this.propertyNavigation, this.methodInvocation,
+					this.arithmetic, this.booleanLogic, this.selection, this.mapAccess}) {
+				expression.getValue(this.context);
+				expression.getValue(this.context);
+			}
+		}
+	}
+
+
+	public static class Account {
+
+		private final Person owner = new Person();
+
+		private final List<Transaction> transactions = new ArrayList<Transaction>();
+
+		private final Map<String, String> settings = new LinkedHashMap<String, String>();
+
+		public Account() {
+			for (int i = 0; i < 100; i++) {
+				this.transactions.add(new Transaction(i * 10));
+			}
+			this.settings.put("currency", "EUR");
+			this.settings.put("locale", "de_AT");
+		}
+
+		public Person getOwner() {
+			return this.owner;
+		}
+
+		public boolean isActive() {
+			return true;
+		}
+
+		public double getBalance() {
+			return 2500.5;
+		}
+
+		public int getLimit() {
+			return 1000;
+		}
+
+		public List<Transaction> getTransactions() {
+			return this.transactions;
+		}
+
+		public Map<String, String> getSettings() {
+			return this.settings;
+		}
+	}
+
+
+	public static class Person {
+
+		private final Address address = new Address();
+
+		public String getName() {
+			return "Juergen";
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+	}
+
+
+	public static class Address {
+
+		public String getCity() {
+			return "Linz";
+		}
+	}
+
+
+	public static class Transaction {
+
+		private final int amount;
+
+		public Transaction(int amount) {
+			this.amount = amount;
+		}
+
+		public int getAmount() {
+			return this.amount;
+		}
+	}
+
+}
@@ -0,0 +1,145 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * Benchmarks for parsing a large corpus of filter expressions as loaded in bulk
+ * from a rules store, with and without the parse cache of
+ * {@link SpelExpressionParser} (see {@link SpelExpressionParser#setCacheLimit}).
+ * Each invocation parses the entire corpus, starting with an empty cache.
+ *
+ * <p>
+ *  解析从规则存储中批量加载的大量过滤表达式语料库的基准测试,包括使用和不使用{@link SpelExpressionParser}的解析缓存(参见{@link SpelExpressionParser#setCacheLimit})每次调用都从空缓存开始解析整个语料库
+ * 
+ * 
+ * @since 4.3.6
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpelParserBenchmark {
+
+	@Benchmark
+	public void parseExpressions(CorpusData data, Blackhole bh) {
+		for (String expression : data.corpus) {
+			bh.consume(data.parser.parseExpression(expression));
+		}
+	}
+
+	@Benchmark
+	public void parseTemplates(CorpusData data, Blackhole bh) {
+		for (String template : data.templateCorpus) {
+			bh.consume(data.parser.parseExpression(template, ParserContext.TEMPLATE_EXPRESSION));
+		}
+	}
+
+	@Benchmark
+	public void parseRaw(CorpusData data, Blackhole bh) {
+		for (String expression : data.corpus) {
+			bh.consume(data.parser.parseRaw(expression));
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class CorpusData {
+
+		private static final String[] TIERS = {"GOLD", "SILVER", "BRONZE", "PLATINUM"};
+
+		private static final String[] REGIONS = {"EMEA", "APAC", "AMER"};
+
+		@Param({"10000"})
+		public int corpusSize;
+
+		@Param({"100", "10000"})
+		public int distinctExpressions;
+
+		@Param({"0", "10000"})
+		public int cacheLimit;
+
+		public SpelExpressionParser parser;
+
+		public List<String> corpus;
+
+		public List<String> templateCorpus;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.parser = new SpelExpressionParser();
+			this.parser.setCacheLimit(this.cacheLimit);
+			List<String> distinct = new ArrayList<String>(this.distinctExpressions);
+			List<String> distinctTemplates = new ArrayList<String>(this.distinctExpressions);
+			for (int i = 0; i < this.distinctExpressions; i++) {
+				distinct.add(filterExpression(i));
+				distinctTemplates.add("Rule " + i + " matched #{" + filterExpression(i) + "} for #{customer.name}");
+			}
+			// Rules repeat in random order, as loaded from a store shared by many tenants
+			Random random = new Random(42);
+			this.corpus = new ArrayList<String>(this.corpusSize);
+			this.templateCorpus = new ArrayList<String>(this.corpusSize);
+			for (int i = 0; i < this.corpusSize; i++) {
+				int index = (i < this.distinctExpressions ? i : random.nextInt(this.distinctExpressions));
+				this.corpus.add(distinct.get(index));
+				this.templateCorpus.add(distinctTemplates.get(index));
+			}
+		}
+
+		@Setup(Level.Invocation)
+		public void clearCache() {
+			this.parser.clearCache();
+		}
+
+		private static String filterExpression(int i) {
+			switch (i % 5) {
+				case 0:
+					return "customer.tier == '" + TIERS[i % TIERS.length] + "' and order.total > " + (i * 10) +
+							" and order.items.size() >= " + (i % 7 + 1);
+				case 1:
+					return "order.region matches '" + REGIONS[i % REGIONS.length] + "|GLOBAL' or customer.score * 1.5 > " +
+							(i % 1000) + ".25";
+				case 2:
+					return "order.items.?[sku.startsWith('SKU-" + i + "') and quantity > " + (i % 10) + "].size() > 0";
+				case 3:
+					return "!customer.blocked and (customer.age between {18, " + (60 + i % 40) + "}) and " +
+							"customer.tags.contains('tag" + i + "')";
+				default:
+					return "T(java.lang.Math).abs(order.total - " + i + ") < 100 ? 'review' : " +
+							"customer.attributes['segment" + (i % 50) + "'] ?: 'default'";
+			}
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link AntPathMatcher}: matching a request path against
+ * thousands of mapped patterns, extracting URI template variables and
+ * ordering the matching patterns, as done by handler mappings per request.
+ *
+ * <p>
+ *  {@link AntPathMatcher}的基准测试:将请求路径与数千个映射模式进行匹配,提取URI模板变量并对匹配的模式进行排序,就像处理程序映射对每个请求所做的那样
+ * 
+ * 
+ * @since 4.3.6
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AntPathMatcherBenchmark {
+
+	@Benchmark
+	public void matchAllPatterns(PatternData data, Blackhole bh) {
+		for (String path : data.paths) {
+			for (String pattern : data.patterns) {
+				bh.consume(data.pathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void compiledPatterns(PatternData data, Blackhole bh) {
+		for (String path : data.paths) {
+			for (CompiledAntPattern pattern : data.compiledPatterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void extractUriTemplateVariables(PatternData data, Blackhole bh) {
+		for (int i = 0; i < data.matchingPatterns.size(); i++) {
+			bh.consume(data.pathMatcher.extractUriTemplateVariables(
+					data.matchingPatterns.get(i), data.matchingPaths.get(i)));
+		}
+	}
+
+	@Benchmark
+	public List<String> sortMatchingPatterns(PatternData data) {
+		List<String> patterns = new ArrayList<String>(data.sortCandidates);
+		Collections.sort(patterns, data.pathMatcher.getPatternComparator(data.paths.get(0)));
+		return patterns;
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class PatternData {
+
+		@Param({"100", "5000"})
+		public int patternCount;
+
+		@Param({"true", "false"})
+		public boolean cachePatterns;
+
+		public AntPathMatcher pathMatcher;
+
+		public List<String> patterns;
+
+		public List<CompiledAntPattern> compiledPatterns;
+
+		public List<String> paths;
+
+		public List<String> matchingPatterns;
+
+		public List<String> matchingPaths;
+
+		public List<String> sortCandidates;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.pathMatcher = new AntPathMatcher();
+			this.pathMatcher.setCachePatterns(this.cachePatterns);
+			this.patterns = new ArrayList<String>(this.patternCount);
+			for (int i = 0; this.patterns.size() < this.patternCount; i++) {
+				this.patterns.add("/api/v" + (i % 3) + "/resources" + i + "/{id}");
+				this.patterns.add("/api/v" + (i % 3) + "/resources" + i + "/{id}/items/{item}");
+				this.patterns.add("/static/module" + i + "/**/*.css");
+				this.patterns.add("/users/{user}/orders" + i + "/{order:[0-9]+}");
+				this.patterns.add("/admin/section" + i + "/**");
+			}
+			this.patterns = this.patterns.subList(0, this.patternCount);
+			this.compiledPatterns = new ArrayList<CompiledAntPattern>(this.patternCount);
+			for (String pattern : this.patterns) {
+				this.compiledPatterns.add(this.pathMatcher.compile(pattern));
+			}
+			this.paths = new ArrayList<String>();
+			this.paths.add("/api/v1/resources16/42/items/7");
+			this.paths.add("/static/module2/css/theme/main.css");
+			this.paths.add("/users/jdoe/orders3/1234");
+			this.paths.add("/admin/section4/reports/2016");
+			this.paths.add("/unmapped/path/to/nowhere");
+			this.matchingPatterns = new ArrayList<String>();
+			this.matchingPaths = new ArrayList<String>();
+			for (String pattern : this.patterns) {
+				for (String path : this.paths) {
+					if (this.pathMatcher.match(pattern, path)) {
+						this.matchingPatterns.add(pattern);
+						this.matchingPaths.add(path);
+					}
+				}
+			}
+			this.sortCandidates = new ArrayList<String>();
+			this.sortCandidates.add("/**");
+			this.sortCandidates.add("/api/**");
+			this.sortCandidates.add("/api/v1/**");
+			this.sortCandidates.add("/api/v1/resources16/{id}/**");
+			this.sortCandidates.add("/api/v1/resources16/{id}/items/{item}");
+			this.sortCandidates.add("/api/v1/resources16/*/items/*");
+			this.sortCandidates.add("/api/{version}/resources16/{id}/items/{item}");
+			this.sortCandidates.add("/api/v1/resources16/42/items/7");
+		}
+	}
+
+}
@@ -314,8 +314,19 @@ class CglibAopProxy implements AopProxy, Serializable {
 		boolean isFrozen = this.advised.isFrozen();
 		boolean isStatic = this.advised.getTargetSource().isStatic();
 
+		// If the advice chain is frozen, determine the chain for each method upfront,
+		// so that AOP calls do not need to look it up - even for non-static targets.
+		Map<Method, List<Object>> fixedChains = null;
+		if (isFrozen) {
+			Method[] methods = rootClass.getMethods();
+			fixedChains = new HashMap<Method, List<Object>>(methods.length);
+			for (Method method : methods) {
+				fixedChains.put(method, this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, rootClass));
+			}
+		}
+
 		// Choose an "aop" interceptor (used for AOP calls).
-		Callback aopInterceptor = new DynamicAdvisedInterceptor(this.advised);
+		Callback aopInterceptor = new DynamicAdvisedInterceptor(this.advised, fixedChains);
 
 		// Choose a "straight to target" interceptor. (used for calls that are
 		// unadvised but can return this). May be required to expose the proxy.
@@ -683,8 +694,11 @@ class CglibAopProxy implements AopProxy, Serializable {
 
 		private final AdvisedSupport advised;
 
-		public DynamicAdvisedInterceptor(AdvisedSupport advised) {
+		private final transient Map<Method, List<Object>> fixedChains;
+
+		public DynamicAdvisedInterceptor(AdvisedSupport advised, Map<Method, List<Object>> fixedChains) {
 			this.advised = advised;
+			this.fixedChains = fixedChains;
 		}
 
 		@Override
@@ -705,7 +719,13 @@ class CglibAopProxy implements AopProxy, Serializable {
 				if (target != null) {
 					targetClass = target.getClass();
 				}
-				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+				List<Object> chain = null;
+				if (this.fixedChains != null && this.advised.isFrozen()) {
+					chain = this.fixedChains.get(method);
+				}
+				if (chain == null) {
+					chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+				}
 				Object retVal;
 				// Check whether we only have one InvokerInterceptor: that is,
 				// no real advice, but just reflective invocation of the target.
@@ -21,7 +21,9 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -114,6 +116,15 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * The advice chains for the methods on the proxied interfaces, determined
+	 * upfront for a frozen configuration, or {@code null} if not available.
+	 * <p>
+	 *  代理接口上方法的建议链,对于冻结的配置预先确定,如果不可用,则为{@code null}
+	 * 
+	 */
+	private transient volatile Map<Method, List<Object>> fixedChains;
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -146,6 +157,7 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		}
 		Class<?>[] proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised, true);
 		findDefinedEqualsAndHashCodeMethods(proxiedInterfaces);
+		this.fixedChains = (this.advised.isFrozen() ? determineFixedChains() : null);
 		return Proxy.newProxyInstance(classLoader, proxiedInterfaces, this);
 	}
 
@@ -176,6 +188,32 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	}
 
 
+	/**
+	 * Determine the advice chain for each method on the proxied interfaces,
+	 * sparing advised calls the chain lookup as long as the configuration
+	 * stays frozen.
+	 * <p>
+	 *  确定代理接口上每个方法的建议链,只要配置保持冻结,建议的调用就无需查找建议链
+	 * 
+	 * 
+	 * @return the advice chains per method, or {@code null} if the target class
+	 * is not known upfront
+	 */
+	private Map<Method, List<Object>> determineFixedChains() {
+		Class<?> targetClass = this.advised.getTargetClass();
+		if (targetClass == null || targetClass.isInterface()) {
+			return null;
+		}
+		Map<Method, List<Object>> chains = new HashMap<Method, List<Object>>();
+		for (Class<?> proxiedInterface : this.advised.getProxiedInterfaces()) {
+			for (Method method : proxiedInterface.getMethods()) {
+				chains.put(method, this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
+			}
+		}
+		return chains;
+	}
+
+
 	/**
 	 * Implementation of {@code InvocationHandler.invoke}.
 	 * <p>Callers will see exactly the exception thrown by the target,
@@ -229,7 +267,14 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			}
 
 			// Get the interception chain for this method.
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			List<Object> chain = null;
+			Map<Method, List<Object>> fixedChains = this.fixedChains;
+			if (fixedChains != null && this.advised.isFrozen()) {
+				chain = fixedChains.get(method);
+			}
+			if (chain == null) {
+				chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			}
 
 			// Check whether we have any advice. If we don't, we can fallback on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -0,0 +1,244 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.BytecodeGenerationUtils;
+import org.springframework.core.BytecodeGenerationUtils.ChildClassLoader;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Generates a {@link GeneratedBeanAccessor} subclass for a given bean class,
+ * using the bundled ASM library. The generated accessor invokes all public
+ * read and write methods declared on public classes directly; any other
+ * methods are left to reflective invocation.
+ *
+ * <p>Generated classes are defined in a child class loader of the bean's class
+ * loader. No accessor is generated if that class loader cannot see the Spring
+ * beans classes, or if a {@link SecurityManager} is active (in order to retain
+ * the access control context of the reflective invocation).
+ *
+ * <p>
+ *  使用捆绑的ASM库为给定的bean类生成{@link GeneratedBeanAccessor}子类生成的访问器直接调用在公共类上声明的所有公共读写方法;任何其他方法都留给反射调用
+ * 
+ *  <p>生成的类在bean的类加载器的子类加载器中定义如果该类加载器看不到Spring bean类,或者{@link SecurityManager}处于活动状态(为了保留反射调用的访问控制上下文),则不会生成访问器
+ * 
+ * 
+ * @since 4.3.6
+ * @see CachedIntrospectionResults#GENERATE_ACCESSORS_PROPERTY_NAME
+ */
+final class BeanAccessorGenerator implements Opcodes {
+
+	private static final String ACCESSOR_CLASS_SUFFIX = "$$BeanAccessor$$";
+
+	private static final String SUPERCLASS_NAME = Type.getInternalName(GeneratedBeanAccessor.class);
+
+	private static final Log logger = LogFactory.getLog(BeanAccessorGenerator.class);
+
+	private static final AtomicInteger suffixCounter = new AtomicInteger();
+
+
+	private BeanAccessorGenerator() {
+	}
+
+
+	/**
+	 * Generate an accessor for the given bean class and property descriptors.
+	 * <p>
+	 *  为给定的bean类和属性描述符生成访问器
+	 * 
+	 * 
+	 * @param beanClass the bean class
+	 * @param pds the property descriptors of the bean class
+	 * @return the generated accessor, or {@code null} if no accessor
+	 * could be generated (in which case reflection is to be used)
+	 */
+	public static GeneratedBeanAccessor generate(Class<?> beanClass, PropertyDescriptor[] pds) {
+		ClassLoader classLoader = beanClass.getClassLoader();
+		if (!BytecodeGenerationUtils.isGenerationSupported(classLoader, GeneratedBeanAccessor.class)) {
+			return null;
+		}
+
+		List<Method> readMethods = new ArrayList<Method>();
+		List<Method> writeMethods = new ArrayList<Method>();
+		Map<String, Integer> readMethodIndexes = new HashMap<String, Integer>();
+		Map<String, Integer> writeMethodIndexes = new HashMap<String, Integer>();
+		for (PropertyDescriptor pd : pds) {
+			Method readMethod = pd.getReadMethod();
+			if (isAccessible(readMethod, beanClass)) {
+				readMethodIndexes.put(pd.getName(), readMethods.size());
+				readMethods.add(readMethod);
+			}
+			Method writeMethod = (pd instanceof GenericTypeAwarePropertyDescriptor ?
+					((GenericTypeAwarePropertyDescriptor) pd).getWriteMethodForActualAccess() : pd.getWriteMethod());
+			if (isAccessible(writeMethod, beanClass) && writeMethod.getParameterTypes().length == 1) {
+				writeMethodIndexes.put(pd.getName(), writeMethods.size());
+				writeMethods.add(writeMethod);
+			}
+		}
+		if (readMethods.isEmpty() && writeMethods.isEmpty()) {
+			return null;
+		}
+
+		String className = beanClass.getName() + ACCESSOR_CLASS_SUFFIX + suffixCounter.incrementAndGet();
+		try {
+			ChildClassLoader childClassLoader = BytecodeGenerationUtils.getChildClassLoader(classLoader);
+			byte[] bytes = generateClass(className.replace('.', '/'), readMethods, writeMethods, childClassLoader);
+			Class<?> accessorClass = childClassLoader.defineClass(className, bytes);
+			GeneratedBeanAccessor accessor = (GeneratedBeanAccessor) accessorClass.getDeclaredConstructor().newInstance();
+			Class<?>[] writeMethodParameterTypes = new Class<?>[writeMethods.size()];
+			for (int i = 0; i < writeMethodParameterTypes.length; i++) {
+				writeMethodParameterTypes[i] = writeMethods.get(i).getParameterTypes()[0];
+			}
+			accessor.initialize(readMethodIndexes, writeMethodIndexes, writeMethodParameterTypes);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Generated bean accessor for class [" + beanClass.getName() + "] with " +
+						readMethods.size() + " read methods and " + writeMethods.size() + " write methods");
+			}
+			return accessor;
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not generate bean accessor for class [" + beanClass.getName() +
+						"] - falling back to reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	private static boolean isAccessible(Method method, Class<?> beanClass) {
+		return (method != null && !method.isBridge() && Modifier.isPublic(method.getModifiers()) &&
+				Modifier.isPublic(method.getDeclaringClass().getModifiers()) &&
+				!Modifier.isStatic(method.getModifiers()) && method.getDeclaringClass().isAssignableFrom(beanClass) &&
+				ClassUtils.isVisible(method.getDeclaringClass(), beanClass.getClassLoader()));
+	}
+
+	private static byte[] generateClass(String internalName, List<Method> readMethods, List<Method> writeMethods,
+			final ClassLoader classLoader) {
+
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+			@Override
+			protected ClassLoader getClassLoader() {
+				return classLoader;
+			}
+		};
+		cw.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, SUPERCLASS_NAME, null);
+
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, SUPERCLASS_NAME, "<init>", "()V", false);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Object doGetValue(int index, Object target)
+		mv = cw.visitMethod(ACC_PROTECTED, "doGetValue", "(ILjava/lang/Object;)Ljava/lang/Object;", null, null);
+		mv.visitCode();
+		Label[] labels = switchOnIndex(mv, readMethods.size());
+		for (int i = 0; i < labels.length; i++) {
+			Method readMethod = readMethods.get(i);
+			mv.visitLabel(labels[i]);
+			mv.visitVarInsn(ALOAD, 2);
+			mv.visitTypeInsn(CHECKCAST, Type.getInternalName(readMethod.getDeclaringClass()));
+			invoke(mv, readMethod);
+			BytecodeGenerationUtils.box(mv, Type.getType(readMethod.getReturnType()));
+			mv.visitInsn(ARETURN);
+		}
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// void doSetValue(int index, Object target, Object value)
+		mv = cw.visitMethod(ACC_PROTECTED, "doSetValue", "(ILjava/lang/Object;Ljava/lang/Object;)V", null, null);
+		mv.visitCode();
+		labels = switchOnIndex(mv, writeMethods.size());
+		for (int i = 0; i < labels.length; i++) {
+			Method writeMethod = writeMethods.get(i);
+			mv.visitLabel(labels[i]);
+			mv.visitVarInsn(ALOAD, 2);
+			mv.visitTypeInsn(CHECKCAST, Type.getInternalName(writeMethod.getDeclaringClass()));
+			mv.visitVarInsn(ALOAD, 3);
+			BytecodeGenerationUtils.unbox(mv, Type.getType(writeMethod.getParameterTypes()[0]));
+			invoke(mv, writeMethod);
+			Type returnType = Type.getType(writeMethod.getReturnType());
+			if (returnType.getSize() == 2) {
+				mv.visitInsn(POP2);
+			}
+			else if (returnType.getSize() == 1) {
+				mv.visitInsn(POP);
+			}
+			mv.visitInsn(RETURN);
+		}
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Emit a switch on the index argument, throwing an {@link IllegalArgumentException}
+	 * for an unknown index, and return the labels to visit for each index.
+	 * <p>
+	 *  发出对索引参数的切换,对于未知索引抛出{@link IllegalArgumentException},并返回每个索引要访问的标签
+	 * 
+	 */
+	private static Label[] switchOnIndex(MethodVisitor mv, int count) {
+		Label[] labels = new Label[count];
+		for (int i = 0; i < count; i++) {
+			labels[i] = new Label();
+		}
+		Label defaultLabel = new Label();
+		if (count > 0) {
+			mv.visitVarInsn(ILOAD, 1);
+			mv.visitTableSwitchInsn(0, count - 1, defaultLabel, labels);
+		}
+		mv.visitLabel(defaultLabel);
+		mv.visitTypeInsn(NEW, "java/lang/IllegalArgumentException");
+		mv.visitInsn(DUP);
+		mv.visitLdcInsn("Unknown method index");
+		mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IllegalArgumentException", "<init>", "(Ljava/lang/String;)V", false);
+		mv.visitInsn(ATHROW);
+		return labels;
+	}
+
+	private static void invoke(MethodVisitor mv, Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		String owner = Type.getInternalName(declaringClass);
+		boolean isInterface = declaringClass.isInterface();
+		mv.visitMethodInsn(isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL, owner, method.getName(),
+				Type.getMethodDescriptor(method), isInterface);
+	}
+
+}
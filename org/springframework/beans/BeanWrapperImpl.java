@@ -334,21 +334,50 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 		@Override
 		public ResolvableType getResolvableType() {
-			return ResolvableType.forMethodReturnType(this.pd.getReadMethod());
+			CachedIntrospectionResults cachedIntrospectionResults = getCachedIntrospectionResults();
+			ResolvableType type = cachedIntrospectionResults.getResolvableType(this.pd);
+			if (type == null) {
+				type = cachedIntrospectionResults.addResolvableType(
+						this.pd, ResolvableType.forMethodReturnType(this.pd.getReadMethod()));
+			}
+			return type;
 		}
 
 		@Override
 		public TypeDescriptor toTypeDescriptor() {
-			return new TypeDescriptor(property(this.pd));
+			CachedIntrospectionResults cachedIntrospectionResults = getCachedIntrospectionResults();
+			TypeDescriptor td = cachedIntrospectionResults.getTypeDescriptor(this.pd);
+			if (td == null) {
+				td = cachedIntrospectionResults.addTypeDescriptor(this.pd, new TypeDescriptor(property(this.pd)));
+			}
+			return td;
 		}
 
 		@Override
 		public TypeDescriptor nested(int level) {
-			return TypeDescriptor.nested(property(pd), level);
+			if (level != 1) {
+				return TypeDescriptor.nested(property(this.pd), level);
+			}
+			CachedIntrospectionResults cachedIntrospectionResults = getCachedIntrospectionResults();
+			TypeDescriptor td = cachedIntrospectionResults.getNestedTypeDescriptor(this.pd);
+			if (td == null) {
+				td = TypeDescriptor.nested(property(this.pd), level);
+				if (td != null) {
+					td = cachedIntrospectionResults.addNestedTypeDescriptor(this.pd, td);
+				}
+			}
+			return td;
 		}
 
 		@Override
 		public Object getValue() throws Exception {
+			GeneratedBeanAccessor accessor = getCachedIntrospectionResults().getGeneratedAccessor();
+			if (accessor != null) {
+				int index = accessor.getReadMethodIndex(this.pd.getName());
+				if (index != -1) {
+					return accessor.getValue(index, getWrappedInstance());
+				}
+			}
 			final Method readMethod = this.pd.getReadMethod();
 			if (!Modifier.isPublic(readMethod.getDeclaringClass().getModifiers()) && !readMethod.isAccessible()) {
 				if (System.getSecurityManager() != null) {
@@ -384,6 +413,13 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 		@Override
 		public void setValue(final Object object, Object valueToApply) throws Exception {
+			GeneratedBeanAccessor accessor = getCachedIntrospectionResults().getGeneratedAccessor();
+			if (accessor != null) {
+				int index = accessor.getWriteMethodIndex(this.pd.getName());
+				if (index != -1 && accessor.setValue(index, getWrappedInstance(), valueToApply)) {
+					return;
+				}
+			}
 			final Method writeMethod = (this.pd instanceof GenericTypeAwarePropertyDescriptor ?
 					((GenericTypeAwarePropertyDescriptor) this.pd).getWriteMethodForActualAccess() :
 					this.pd.getWriteMethod());
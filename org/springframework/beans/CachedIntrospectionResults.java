@@ -33,6 +33,7 @@ import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.core.ResolvableType;
 import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.support.SpringFactoriesLoader;
@@ -118,10 +119,37 @@ public class CachedIntrospectionResults {
 	 */
 	public static final String IGNORE_BEANINFO_PROPERTY_NAME = "spring.beaninfo.ignore";
 
+	/**
+	 * System property that instructs Spring to generate bytecode for invoking the
+	 * read and write methods of bean properties: "spring.beaninfo.generate-accessors",
+	 * with a value of "true" generating one accessor class per introspected bean class,
+	 * the first time any of its properties gets accessed through a {@link BeanWrapperImpl}.
+	 * <p>The default is "false", invoking read and write methods through reflection.
+	 * Consider switching this flag to "true" if property access dominates, e.g. for
+	 * data binding of large forms. Methods that are not accessible from generated
+	 * code (e.g. on non-public classes) are invoked through reflection either way,
+	 * as are all methods if the bean's ClassLoader does not allow for defining the
+	 * generated classes.
+	 * <p>
+	 *  系统属性指示Spring生成用于调用bean属性的读写方法的字节码："spring.beaninfo.generate-accessors",值为"true"时,每个内省的bean类在其任何属性首次通过
+	 * {@link BeanWrapperImpl}访问时生成一个访问器类<p>默认值为"false",通过反射调用读写方法如果属性访问占主导地位(例如对于大型表单的数据绑定),请考虑将此标志切换为"true"
+	 * 无法从生成的代码访问的方法(例如在非公共类上)无论如何都通过反射调用,如果bean的ClassLoader不允许定义生成的类,则所有方法都通过反射调用
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public static final String GENERATE_ACCESSORS_PROPERTY_NAME = "spring.beaninfo.generate-accessors";
+
 
 	private static final boolean shouldIntrospectorIgnoreBeaninfoClasses =
 			SpringProperties.getFlag(IGNORE_BEANINFO_PROPERTY_NAME);
 
+	private static final boolean shouldGenerateAccessors =
+			SpringProperties.getFlag(GENERATE_ACCESSORS_PROPERTY_NAME);
+
+	/** Marker for a bean class that no accessor could be generated for */
+	private static final Object NO_GENERATED_ACCESSOR = new Object();
+
 	/** Stores the BeanInfoFactory instances */
 	private static List<BeanInfoFactory> beanInfoFactories = SpringFactoriesLoader.loadFactories(
 			BeanInfoFactory.class, CachedIntrospectionResults.class.getClassLoader());
@@ -310,6 +338,15 @@ public class CachedIntrospectionResults {
 	/** TypeDescriptor objects keyed by PropertyDescriptor */
 	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
 
+	/** TypeDescriptor objects for the first nesting level, keyed by PropertyDescriptor */
+	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> nestedTypeDescriptorCache;
+
+	/** ResolvableType objects for read method return types, keyed by PropertyDescriptor */
+	private final ConcurrentMap<PropertyDescriptor, ResolvableType> resolvableTypeCache;
+
+	/** The GeneratedBeanAccessor for the bean class, or NO_GENERATED_ACCESSOR */
+	private volatile Object generatedAccessor;
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -382,6 +419,8 @@ public class CachedIntrospectionResults {
 			}
 
 			this.typeDescriptorCache = new ConcurrentReferenceHashMap<PropertyDescriptor, TypeDescriptor>();
+			this.nestedTypeDescriptorCache = new ConcurrentReferenceHashMap<PropertyDescriptor, TypeDescriptor>();
+			this.resolvableTypeCache = new ConcurrentReferenceHashMap<PropertyDescriptor, ResolvableType>();
 		}
 		catch (IntrospectionException ex) {
 			throw new FatalBeanException("Failed to obtain BeanInfo for class [" + beanClass.getName() + "]", ex);
@@ -439,4 +478,52 @@ public class CachedIntrospectionResults {
 		return this.typeDescriptorCache.get(pd);
 	}
 
+	TypeDescriptor addNestedTypeDescriptor(PropertyDescriptor pd, TypeDescriptor td) {
+		TypeDescriptor existing = this.nestedTypeDescriptorCache.putIfAbsent(pd, td);
+		return (existing != null ? existing : td);
+	}
+
+	TypeDescriptor getNestedTypeDescriptor(PropertyDescriptor pd) {
+		return this.nestedTypeDescriptorCache.get(pd);
+	}
+
+	ResolvableType addResolvableType(PropertyDescriptor pd, ResolvableType type) {
+		ResolvableType existing = this.resolvableTypeCache.putIfAbsent(pd, type);
+		return (existing != null ? existing : type);
+	}
+
+	ResolvableType getResolvableType(PropertyDescriptor pd) {
+		return this.resolvableTypeCache.get(pd);
+	}
+
+	/**
+	 * Return the generated accessor for the bean class, generating it on first access.
+	 * <p>
+	 *  返回bean类的生成访问器,在首次访问时生成
+	 * 
+	 * 
+	 * @return the accessor, or {@code null} if accessor generation is not enabled
+	 * or not possible for the bean class
+	 * @see #GENERATE_ACCESSORS_PROPERTY_NAME
+	 */
+	GeneratedBeanAccessor getGeneratedAccessor() {
+		if (!shouldGenerateAccessors) {
+			return null;
+		}
+		Object accessor = this.generatedAccessor;
+		if (accessor == null) {
+			synchronized (this) {
+				accessor = this.generatedAccessor;
+				if (accessor == null) {
+					accessor = BeanAccessorGenerator.generate(getBeanClass(), getPropertyDescriptors());
+					if (accessor == null) {
+						accessor = NO_GENERATED_ACCESSOR;
+					}
+					this.generatedAccessor = accessor;
+				}
+			}
+		}
+		return (accessor != NO_GENERATED_ACCESSOR ? (GeneratedBeanAccessor) accessor : null);
+	}
+
 }
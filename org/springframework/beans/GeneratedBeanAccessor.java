@@ -0,0 +1,150 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Base class for the property accessors that {@link BeanAccessorGenerator}
+ * generates for a bean class, invoking the bean's read and write methods
+ * directly instead of through reflection.
+ *
+ * <p>Each accessible read and write method gets an index, with the generated
+ * subclass switching on that index. Failures are reported the same way as
+ * for a reflective {@link java.lang.reflect.Method#invoke} call, so callers
+ * may use either path interchangeably.
+ *
+ * <p>Only to be extended by generated classes; not intended for direct use.
+ *
+ * <p>
+ *  {@link BeanAccessorGenerator}为bean类生成的属性访问器的基类,直接调用bean的读写方法,而不是通过反射
+ * 
+ *  <p>每个可访问的读写方法都有一个索引,生成的子类根据该索引进行切换报告失败的方式与反射{@link java.lang.reflect.Method#invoke}调用相同,因此调用者可以互换使用任一路径
+ * 
+ *  <p>仅由生成的类扩展;不打算直接使用
+ * 
+ * 
+ * @since 4.3.6
+ * @see CachedIntrospectionResults#GENERATE_ACCESSORS_PROPERTY_NAME
+ */
+public abstract class GeneratedBeanAccessor {
+
+	private Map<String, Integer> readMethodIndexes;
+
+	private Map<String, Integer> writeMethodIndexes;
+
+	private Class<?>[] writeMethodParameterTypes;
+
+
+	void initialize(Map<String, Integer> readMethodIndexes, Map<String, Integer> writeMethodIndexes,
+			Class<?>[] writeMethodParameterTypes) {
+
+		this.readMethodIndexes = readMethodIndexes;
+		this.writeMethodIndexes = writeMethodIndexes;
+		this.writeMethodParameterTypes = writeMethodParameterTypes;
+	}
+
+	/**
+	 * Return the index of the read method of the given property,
+	 * or -1 if it cannot be invoked through this accessor.
+	 * <p>
+	 *  返回给定属性的读取方法的索引,如果无法通过此访问器调用,则返回-1
+	 * 
+	 */
+	int getReadMethodIndex(String propertyName) {
+		Integer index = this.readMethodIndexes.get(propertyName);
+		return (index != null ? index : -1);
+	}
+
+	/**
+	 * Return the index of the write method of the given property,
+	 * or -1 if it cannot be invoked through this accessor.
+	 * <p>
+	 *  返回给定属性的写入方法的索引,如果无法通过此访问器调用,则返回-1
+	 * 
+	 */
+	int getWriteMethodIndex(String propertyName) {
+		Integer index = this.writeMethodIndexes.get(propertyName);
+		return (index != null ? index : -1);
+	}
+
+	/**
+	 * Invoke the read method with the given index on the given target.
+	 * <p>
+	 *  在给定目标上调用具有给定索引的读取方法
+	 * 
+	 * 
+	 * @throws InvocationTargetException if the read method threw an exception
+	 */
+	Object getValue(int index, Object target) throws InvocationTargetException {
+		try {
+			return doGetValue(index, target);
+		}
+		catch (Throwable ex) {
+			throw new InvocationTargetException(ex);
+		}
+	}
+
+	/**
+	 * Invoke the write method with the given index on the given target,
+	 * provided that the given value can be passed to it as-is.
+	 * <p>
+	 *  在给定目标上调用具有给定索引的写入方法,前提是给定值可以按原样传递给它
+	 * 
+	 * 
+	 * @return {@code true} if the write method has been invoked, or {@code false}
+	 * if the value requires reflective invocation (for a widening conversion of
+	 * a primitive value or for reporting an illegal argument)
+	 * @throws InvocationTargetException if the write method threw an exception
+	 */
+	boolean setValue(int index, Object target, Object value) throws InvocationTargetException {
+		Class<?> parameterType = this.writeMethodParameterTypes[index];
+		if (value == null ? parameterType.isPrimitive() :
+				(parameterType.isPrimitive() ? ClassUtils.resolvePrimitiveIfNecessary(parameterType) != value.getClass() :
+						!parameterType.isInstance(value))) {
+			return false;
+		}
+		try {
+			doSetValue(index, target, value);
+			return true;
+		}
+		catch (Throwable ex) {
+			throw new InvocationTargetException(ex);
+		}
+	}
+
+	/**
+	 * Invoke the read method with the given index on the given target.
+	 * <p>
+	 *  在给定目标上调用具有给定索引的读取方法
+	 * 
+	 */
+	protected abstract Object doGetValue(int index, Object target);
+
+	/**
+	 * Invoke the write method with the given index on the given target.
+	 * <p>
+	 *  在给定目标上调用具有给定索引的写入方法
+	 * 
+	 */
+	protected abstract void doSetValue(int index, Object target, Object value);
+
+}
@@ -41,6 +41,7 @@ public abstract class PropertyAccessorFactory {
 	 * @param target the target object to wrap
 	 * @return the property accessor
 	 * @see BeanWrapperImpl
+	 * @see CachedIntrospectionResults#GENERATE_ACCESSORS_PROPERTY_NAME
 	 */
 	public static BeanWrapper forBeanPropertyAccess(Object target) {
 		return new BeanWrapperImpl(target);
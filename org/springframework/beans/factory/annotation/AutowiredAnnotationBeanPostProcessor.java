@@ -52,6 +52,7 @@ import org.springframework.beans.factory.UnsatisfiedDependencyException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.LookupOverride;
 import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
 import org.springframework.beans.factory.support.RootBeanDefinition;
@@ -581,6 +582,20 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 		}
 	}
 
+	/**
+	 * Return the current registration version of the bean factory, for detecting
+	 * stale pre-resolved singletons, or 0 if the bean factory does not track changes.
+	 * <p>
+	 *  返回bean工厂的当前注册版本,用于检测过时的预解析单例,如果bean工厂不跟踪更改,则返回0
+	 * 
+	 * 
+	 * @see DefaultListableBeanFactory#getRegistrationVersion()
+	 */
+	private int getRegistrationVersion() {
+		return (this.beanFactory instanceof DefaultListableBeanFactory ?
+				((DefaultListableBeanFactory) this.beanFactory).getRegistrationVersion() : 0);
+	}
+
 	/**
 	 * Resolve the specified cached method argument or field value.
 	 * <p>
@@ -588,7 +603,23 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 	 * 
 	 */
 	private Object resolvedCachedArgument(String beanName, Object cachedArgument) {
-		if (cachedArgument instanceof DependencyDescriptor) {
+		if (cachedArgument instanceof ShortcutDependencyDescriptor) {
+			ShortcutDependencyDescriptor shortcut = (ShortcutDependencyDescriptor) cachedArgument;
+			int registrationVersion = getRegistrationVersion();
+			Object singleton = shortcut.getResolvedSingleton(registrationVersion);
+			if (singleton != null) {
+				// Pre-resolved singleton, with no changes to the registered beans since...
+				return singleton;
+			}
+			Object value = this.beanFactory.resolveDependency(shortcut, beanName, null, null);
+			if (value != null && this.beanFactory instanceof DefaultListableBeanFactory &&
+					!this.beanFactory.isCurrentlyInCreation(shortcut.shortcutName) &&
+					this.beanFactory.getSingleton(shortcut.shortcutName) == value) {
+				shortcut.setResolvedSingleton(value, registrationVersion);
+			}
+			return value;
+		}
+		else if (cachedArgument instanceof DependencyDescriptor) {
 			DependencyDescriptor descriptor = (DependencyDescriptor) cachedArgument;
 			return this.beanFactory.resolveDependency(descriptor, beanName, null, null);
 		}
@@ -772,8 +803,13 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 
 	/**
 	 * DependencyDescriptor variant with a pre-resolved target bean name.
+	 * <p>For a fully initialized singleton target, also keeps the bean instance
+	 * itself, along with the registration version of the bean factory that it
+	 * has been resolved for, skipping dependency resolution until the registered
+	 * beans change.
 	 * <p>
 	 * 具有预解析目标bean名称的DependencyDescriptor变体
+	 * <p>对于完全初始化的单例目标,还保留bean实例本身以及解析它时bean工厂的注册版本,在注册的bean更改之前跳过依赖项解析
 	 */
 	@SuppressWarnings("serial")
 	private static class ShortcutDependencyDescriptor extends DependencyDescriptor {
@@ -782,6 +818,8 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 
 		private final Class<?> requiredType;
 
+		private transient volatile ResolvedSingleton resolvedSingleton;
+
 		public ShortcutDependencyDescriptor(DependencyDescriptor original, String shortcutName, Class<?> requiredType) {
 			super(original);
 			this.shortcutName = shortcutName;
@@ -792,6 +830,36 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 		public Object resolveShortcut(BeanFactory beanFactory) {
 			return resolveCandidate(this.shortcutName, this.requiredType, beanFactory);
 		}
+
+		public Object getResolvedSingleton(int registrationVersion) {
+			ResolvedSingleton resolved = this.resolvedSingleton;
+			return (resolved != null && resolved.registrationVersion == registrationVersion ?
+					resolved.singleton : null);
+		}
+
+		public void setResolvedSingleton(Object singleton, int registrationVersion) {
+			this.resolvedSingleton = new ResolvedSingleton(singleton, registrationVersion);
+		}
+	}
+
+
+	/**
+	 * Holder for a pre-resolved singleton bean and the registration version
+	 * of the bean factory that it has been resolved for.
+	 * <p>
+	 *  预解析的单例bean及其解析时bean工厂的注册版本的持有者
+	 * 
+	 */
+	private static class ResolvedSingleton {
+
+		private final Object singleton;
+
+		private final int registrationVersion;
+
+		public ResolvedSingleton(Object singleton, int registrationVersion) {
+			this.singleton = singleton;
+			this.registrationVersion = registrationVersion;
+		}
 	}
 
 }
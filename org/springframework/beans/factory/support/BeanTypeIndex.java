@@ -0,0 +1,247 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index from types to the names of bean definitions whose beans may match them,
+ * maintained incrementally by {@link DefaultListableBeanFactory} as bean
+ * definitions get registered and singletons get created or destroyed.
+ *
+ * <p>Each bean is indexed under its type, all of its superclasses and all of
+ * its interfaces. Beans whose eventual type cannot be determined upfront
+ * (e.g. FactoryBeans, non-singletons, or beans currently in creation) remain
+ * unindexed and are returned as candidates for every type. The index only
+ * narrows down the beans to check: callers still perform a full type match
+ * for every candidate.
+ *
+ * <p>Thread-safe, guarded by the index itself: the index never calls out while
+ * holding its monitor, so it can be accessed with or without other locks held.
+ * Types get determined outside of the index, and only get published for beans
+ * which have not been invalidated again in the meantime.
+ *
+ * <p>
+ *  从类型到其bean可能与之匹配的bean定义名称的索引,由{@link DefaultListableBeanFactory}在注册bean定义以及创建或销毁单例时增量维护
+ * 
+ *  <p>每个bean都以其类型,所有超类和所有接口为索引无法预先确定最终类型的bean(例如FactoryBean,非单例或当前正在创建的bean)保持未索引状态,并作为每种类型的候选者返回索引仅缩小要检查的bean的范围：调用者仍然对每个候选者执行完整的类型匹配
+ * 
+ *  <p>线程安全,由索引本身保护：索引在持有其监视器时从不调用外部代码,因此无论是否持有其他锁都可以访问它
+ * 类型在索引之外确定,并且仅针对在此期间未再次失效的bean发布
+ * 
+ * 
+ * @since 4.3.6
+ * @see DefaultListableBeanFactory#getBeanNamesForType(Class, boolean, boolean)
+ */
+final class BeanTypeIndex {
+
+	private final Map<String, Integer> registrationOrder = new HashMap<String, Integer>(256);
+
+	private int nextRegistrationOrder = 0;
+
+	private final Map<String, Integer> pendingBeanNames = new LinkedHashMap<String, Integer>(256);
+
+	private int invalidationCount = 0;
+
+	private final Set<String> unindexedBeanNames = new HashSet<String>(64);
+
+	private final Map<String, Class<?>> indexedBeanTypes = new HashMap<String, Class<?>>(256);
+
+	private final Map<Class<?>, Set<String>> beanNamesByType = new HashMap<Class<?>, Set<String>>(256);
+
+	private final Map<Class<?>, Set<Class<?>>> typeHierarchyCache = new HashMap<Class<?>, Set<Class<?>>>(64);
+
+	private final Comparator<String> registrationOrderComparator = new Comparator<String>() {
+		@Override
+		public int compare(String name1, String name2) {
+			return registrationOrder.get(name1).compareTo(registrationOrder.get(name2));
+		}
+	};
+
+
+	/**
+	 * Register the given bean definition name, keeping its position
+	 * in case of an overriding bean definition.
+	 * <p>
+	 *  注册给定的bean定义名称,在覆盖bean定义的情况下保留其位置
+	 * 
+	 */
+	public synchronized void register(String beanName) {
+		if (!this.registrationOrder.containsKey(beanName)) {
+			this.registrationOrder.put(beanName, this.nextRegistrationOrder++);
+		}
+		invalidate(beanName);
+	}
+
+	/**
+	 * Remove the given bean definition name from the index.
+	 * <p>
+	 *  从索引中删除给定的bean定义名称
+	 * 
+	 */
+	public synchronized void remove(String beanName) {
+		unindex(beanName);
+		this.pendingBeanNames.remove(beanName);
+		this.registrationOrder.remove(beanName);
+	}
+
+	/**
+	 * Mark the given bean for re-determining its type on next access,
+	 * if it is a registered bean definition.
+	 * <p>
+	 *  如果给定的bean是已注册的bean定义,则将其标记为在下次访问时重新确定其类型
+	 * 
+	 */
+	public synchronized void invalidate(String beanName) {
+		if (this.registrationOrder.containsKey(beanName)) {
+			unindex(beanName);
+			this.pendingBeanNames.put(beanName, ++this.invalidationCount);
+		}
+	}
+
+	/**
+	 * Mark all beans for re-determining their types on next access.
+	 * <p>
+	 *  将所有bean标记为在下次访问时重新确定其类型
+	 * 
+	 */
+	public synchronized void invalidateAll() {
+		this.unindexedBeanNames.clear();
+		this.indexedBeanTypes.clear();
+		this.beanNamesByType.clear();
+		this.typeHierarchyCache.clear();
+		Integer invalidation = ++this.invalidationCount;
+		for (String beanName : this.registrationOrder.keySet()) {
+			this.pendingBeanNames.put(beanName, invalidation);
+		}
+	}
+
+	/**
+	 * Return the names of the beans whose types need to be determined, along
+	 * with the invalidation to pass back to {@link #index} for each of them.
+	 * The beans remain pending, i.e. candidates for every type, until indexed.
+	 * <p>
+	 *  返回需要确定其类型的bean的名称,以及每个bean要传回{@link #index}的失效标记在建立索引之前,这些bean保持挂起状态,即每种类型的候选者
+	 * 
+	 */
+	public synchronized Map<String, Integer> getPendingBeanNames() {
+		if (this.pendingBeanNames.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		return new LinkedHashMap<String, Integer>(this.pendingBeanNames);
+	}
+
+	/**
+	 * Index the given bean under the given type and all of its supertypes,
+	 * unless the bean has been invalidated again since the type was determined.
+	 * <p>
+	 *  以给定类型及其所有超类型为给定bean建立索引,除非自确定类型以来该bean已再次失效
+	 * 
+	 * 
+	 * @param beanName the name of the bean
+	 * @param beanType the type that the bean is known to match, or {@code null}
+	 * to keep the bean as a candidate for every type
+	 * @param invalidation the invalidation that the type was determined for,
+	 * as returned by {@link #getPendingBeanNames()}
+	 */
+	public synchronized void index(String beanName, Class<?> beanType, Integer invalidation) {
+		if (!invalidation.equals(this.pendingBeanNames.get(beanName))) {
+			return;
+		}
+		this.pendingBeanNames.remove(beanName);
+		if (beanType == null) {
+			this.unindexedBeanNames.add(beanName);
+			return;
+		}
+		this.indexedBeanTypes.put(beanName, beanType);
+		for (Class<?> type : getTypeHierarchy(beanType)) {
+			Set<String> beanNames = this.beanNamesByType.get(type);
+			if (beanNames == null) {
+				beanNames = new HashSet<String>(4);
+				this.beanNamesByType.put(type, beanNames);
+			}
+			beanNames.add(beanName);
+		}
+	}
+
+	/**
+	 * Return the names of all beans that may match the given type,
+	 * in registration order.
+	 * <p>
+	 *  按注册顺序返回可能与给定类型匹配的所有bean的名称
+	 * 
+	 */
+	public synchronized List<String> getCandidateBeanNames(Class<?> type) {
+		Set<String> indexedBeanNames = this.beanNamesByType.get(type);
+		List<String> candidates = new ArrayList<String>(this.unindexedBeanNames.size() +
+				this.pendingBeanNames.size() + (indexedBeanNames != null ? indexedBeanNames.size() : 0));
+		candidates.addAll(this.unindexedBeanNames);
+		candidates.addAll(this.pendingBeanNames.keySet());
+		if (indexedBeanNames != null) {
+			candidates.addAll(indexedBeanNames);
+		}
+		Collections.sort(candidates, this.registrationOrderComparator);
+		return candidates;
+	}
+
+	private void unindex(String beanName) {
+		this.unindexedBeanNames.remove(beanName);
+		Class<?> beanType = this.indexedBeanTypes.remove(beanName);
+		if (beanType != null) {
+			for (Class<?> type : getTypeHierarchy(beanType)) {
+				Set<String> beanNames = this.beanNamesByType.get(type);
+				if (beanNames != null) {
+					beanNames.remove(beanName);
+					if (beanNames.isEmpty()) {
+						this.beanNamesByType.remove(type);
+					}
+				}
+			}
+		}
+	}
+
+	private Set<Class<?>> getTypeHierarchy(Class<?> beanType) {
+		Set<Class<?>> types = this.typeHierarchyCache.get(beanType);
+		if (types == null) {
+			types = new LinkedHashSet<Class<?>>();
+			collectTypeHierarchy(beanType, types);
+			types.add(Object.class);
+			this.typeHierarchyCache.put(beanType, types);
+		}
+		return types;
+	}
+
+	private static void collectTypeHierarchy(Class<?> type, Set<Class<?>> types) {
+		if (type != null && types.add(type)) {
+			collectTypeHierarchy(type.getSuperclass(), types);
+			for (Class<?> ifc : type.getInterfaces()) {
+				collectTypeHierarchy(ifc, types);
+			}
+		}
+	}
+
+}
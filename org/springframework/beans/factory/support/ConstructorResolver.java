@@ -40,6 +40,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.InjectionPoint;
 import org.springframework.beans.factory.UnsatisfiedDependencyException;
@@ -774,11 +775,15 @@ class ConstructorResolver {
 							"] - did you specify the correct bean references as arguments?");
 				}
 				try {
+					int registrationVersion = getRegistrationVersion();
+					Set<String> argumentBeanNames = new LinkedHashSet<String>(2);
 					Object autowiredArgument =
-							resolveAutowiredArgument(methodParam, beanName, autowiredBeanNames, converter);
+							resolveAutowiredArgument(methodParam, beanName, argumentBeanNames, converter);
+					autowiredBeanNames.addAll(argumentBeanNames);
 					args.rawArguments[paramIndex] = autowiredArgument;
 					args.arguments[paramIndex] = autowiredArgument;
-					args.preparedArguments[paramIndex] = new AutowiredArgumentMarker();
+					args.preparedArguments[paramIndex] = new AutowiredArgumentMarker(
+							determineShortcutName(argumentBeanNames, paramType), registrationVersion);
 					args.resolveNecessary = true;
 				}
 				catch (BeansException ex) {
@@ -800,6 +805,41 @@ class ConstructorResolver {
 		return args;
 	}
 
+	/**
+	 * Determine the name of the single bean that an autowired argument has been
+	 * resolved to, for resolving the argument by name on subsequent creations.
+	 * <p>
+	 *  确定自动装配参数已解析到的单个bean的名称,以便在后续创建时按名称解析该参数
+	 * 
+	 * 
+	 * @return the bean name, or {@code null} if the argument needs to be
+	 * resolved by type again
+	 */
+	private String determineShortcutName(Set<String> argumentBeanNames, Class<?> paramType) {
+		if (argumentBeanNames.size() == 1) {
+			String argumentBeanName = argumentBeanNames.iterator().next();
+			if (this.beanFactory.containsBean(argumentBeanName) &&
+					this.beanFactory.isTypeMatch(argumentBeanName, paramType)) {
+				return argumentBeanName;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the registration version of the bean factory, indicating changes to
+	 * the registered beans which may invalidate argument shortcuts.
+	 * <p>
+	 *  返回bean工厂的注册版本,指示可能使参数快捷方式失效的已注册bean的更改
+	 * 
+	 * 
+	 * @see DefaultListableBeanFactory#getRegistrationVersion()
+	 */
+	private int getRegistrationVersion() {
+		return (this.beanFactory instanceof DefaultListableBeanFactory ?
+				((DefaultListableBeanFactory) this.beanFactory).getRegistrationVersion() : 0);
+	}
+
 	/**
 	 * Resolve the prepared arguments stored in the given bean definition.
 	 * <p>
@@ -822,7 +862,22 @@ class ConstructorResolver {
 			MethodParameter methodParam = MethodParameter.forMethodOrConstructor(methodOrCtor, argIndex);
 			GenericTypeResolver.resolveParameterType(methodParam, methodOrCtor.getDeclaringClass());
 			if (argValue instanceof AutowiredArgumentMarker) {
-				argValue = resolveAutowiredArgument(methodParam, beanName, null, converter);
+				AutowiredArgumentMarker marker = (AutowiredArgumentMarker) argValue;
+				int registrationVersion = getRegistrationVersion();
+				if (marker.shortcutName != null && marker.registrationVersion == registrationVersion) {
+					argValue = this.beanFactory.resolveDependency(new ShortcutDependencyDescriptor(
+							methodParam, marker.shortcutName, paramTypes[argIndex]), beanName, null, converter);
+				}
+				else if (marker.registrationVersion != registrationVersion) {
+					// Registered beans changed since the shortcut was determined: resolve by type again
+					Set<String> argumentBeanNames = new LinkedHashSet<String>(2);
+					argValue = resolveAutowiredArgument(methodParam, beanName, argumentBeanNames, converter);
+					argsToResolve[argIndex] = new AutowiredArgumentMarker(
+							determineShortcutName(argumentBeanNames, paramTypes[argIndex]), registrationVersion);
+				}
+				else {
+					argValue = resolveAutowiredArgument(methodParam, beanName, null, converter);
+				}
 			}
 			else if (argValue instanceof BeanMetadataElement) {
 				argValue = valueResolver.resolveValueIfNecessary("constructor argument", argValue);
@@ -967,6 +1022,42 @@ class ConstructorResolver {
 	 * 
  	 */
 	private static class AutowiredArgumentMarker {
+
+		/** Name of the single bean that the argument has been resolved to, if any */
+		private final String shortcutName;
+
+		/** Registration version of the bean factory that the shortcut is valid for */
+		private final int registrationVersion;
+
+		public AutowiredArgumentMarker(String shortcutName, int registrationVersion) {
+			this.shortcutName = shortcutName;
+			this.registrationVersion = registrationVersion;
+		}
+	}
+
+
+	/**
+	 * DependencyDescriptor variant with a pre-resolved target bean name.
+	 * <p>
+	 *  具有预解析目标bean名称的DependencyDescriptor变体
+	 */
+	@SuppressWarnings("serial")
+	private static class ShortcutDependencyDescriptor extends DependencyDescriptor {
+
+		private final String shortcutName;
+
+		private final Class<?> requiredType;
+
+		public ShortcutDependencyDescriptor(MethodParameter methodParameter, String shortcutName, Class<?> requiredType) {
+			super(methodParameter, true);
+			this.shortcutName = shortcutName;
+			this.requiredType = requiredType;
+		}
+
+		@Override
+		public Object resolveShortcut(BeanFactory beanFactory) {
+			return resolveCandidate(this.shortcutName, this.requiredType, beanFactory);
+		}
 	}
 
 
@@ -33,6 +33,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -42,9 +43,15 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -65,10 +72,13 @@ import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -185,6 +195,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<Class<?>, String[]>(64);
 
+	/** Counter for changes to the set of registered beans, along with the by-type caches */
+	private final AtomicInteger registrationVersion = new AtomicInteger();
+
+	/** Index of bean definition names by type, narrowing down by-type lookups */
+	private final BeanTypeIndex beanTypeIndex = new BeanTypeIndex();
+
 	/** List of bean definition names, in registration order */
 	private volatile List<String> beanDefinitionNames = new ArrayList<String>(256);
 
@@ -197,6 +213,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans */
 	private volatile boolean configurationFrozen = false;
 
+	/** Executor for pre-instantiating singletons in parallel, if any */
+	private Executor preInstantiationExecutor;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -334,6 +353,48 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.dependencyComparator;
 	}
 
+	/**
+	 * Specify an {@link Executor} for pre-instantiating singletons in parallel,
+	 * e.g. a {@link java.util.concurrent.ForkJoinPool}.
+	 * <p>Default is none, instantiating all non-lazy singletons one after the
+	 * other in the calling thread, in registration order. With an executor,
+	 * each singleton is requested in a separate task: singletons which do not
+	 * depend on each other get created in parallel, while a task which requires
+	 * a singleton that is currently being created by another task waits for it.
+	 * Singletons with circular references between their bean definitions are
+	 * requested within a single task, in registration order.
+	 * {@link SmartInitializingSingleton} callbacks are always invoked in the
+	 * calling thread, once all singletons have been instantiated.
+	 * <p>Only recommended for bean definitions that do not rely on a specific
+	 * instantiation order beyond their declared dependencies.
+	 * <p>
+	 *  指定用于并行预实例化单例的{@link Executor},例如{@link java.util.concurrent.ForkJoinPool}
+	 * 
+	 *  <p>默认值为无,在调用线程中按注册顺序一个接一个地实例化所有非延迟单例使用执行器时,每个单例都在单独的任务中请求：彼此不依赖的单例并行创建,
+	 * 而需要当前由另一个任务创建的单例的任务将等待它在其bean定义之间具有循环引用的单例在单个任务中按注册顺序请求一旦所有单例都已实例化,{@link SmartInitializingSingleton}回调始终在调用线程中调用
+	 * 
+	 *  <p>仅建议用于除声明的依赖关系之外不依赖于特定实例化顺序的bean定义
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setPreInstantiationExecutor(Executor preInstantiationExecutor) {
+		this.preInstantiationExecutor = preInstantiationExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for pre-instantiating singletons in parallel, if any.
+	 * <p>
+	 *  返回用于并行预实例化单例的{@link Executor}(如果有)
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public Executor getPreInstantiationExecutor() {
+		return this.preInstantiationExecutor;
+	}
+
 	/**
 	 * Set a custom autowire candidate resolver for this BeanFactory to use
 	 * when deciding whether a bean definition should be considered as a
@@ -381,6 +442,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.autowireCandidateResolver = otherListableFactory.autowireCandidateResolver;
+			this.preInstantiationExecutor = otherListableFactory.preInstantiationExecutor;
 			this.resolvableDependencies.putAll(otherListableFactory.resolvableDependencies);
 		}
 	}
@@ -465,8 +527,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
 		List<String> result = new ArrayList<String>();
 
-		// Check all bean definitions.
-		for (String beanName : this.beanDefinitionNames) {
+		// Check all bean definitions that may match, in registration order.
+		for (String beanName : getCandidateBeanNames(type)) {
 			// Only consider bean as eligible if the bean name
 			// is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
@@ -542,6 +604,85 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Return the names of all bean definitions that may match the given type,
+	 * in registration order, as indicated by the bean type index.
+	 * <p>Falls back to all bean definition names for types that the index cannot
+	 * narrow down, i.e. primitives, arrays and unresolvable types, as well as
+	 * in case of a temporary ClassLoader for type matching.
+	 * <p>
+	 *  按注册顺序返回可能与给定类型匹配的所有bean定义的名称,由bean类型索引指示<p>对于索引无法缩小范围的类型(即原始类型,数组和不可解析的类型)以及在用于类型匹配的临时ClassLoader的情况下,回退到所有bean定义名称
+	 * 
+	 */
+	private Collection<String> getCandidateBeanNames(ResolvableType type) {
+		Class<?> rawType = type.resolve();
+		if (rawType == null || rawType.isPrimitive() || rawType.isArray() || getTempClassLoader() != null) {
+			return this.beanDefinitionNames;
+		}
+		// Determine pending types without holding any lock, only publishing them to the index
+		for (Map.Entry<String, Integer> entry : this.beanTypeIndex.getPendingBeanNames().entrySet()) {
+			String beanName = entry.getKey();
+			this.beanTypeIndex.index(beanName, determineIndexedType(beanName), entry.getValue());
+		}
+		return this.beanTypeIndex.getCandidateBeanNames(rawType);
+	}
+
+	/**
+	 * Determine the type to index the given bean under: the type of its singleton
+	 * instance if already created, or its predicted type otherwise, provided that
+	 * it cannot change through FactoryBean or post-processor involvement.
+	 * <p>
+	 *  确定为给定bean建立索引的类型：如果已创建,则为其单例实例的类型,否则为其预测类型,前提是它不会因FactoryBean或后处理器的参与而更改
+	 * 
+	 * 
+	 * @param beanName the name of the bean
+	 * @return the type to index the bean under, or {@code null} to keep the
+	 * bean as a candidate for every type
+	 */
+	private Class<?> determineIndexedType(String beanName) {
+		try {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			if (mbd.isAbstract() || !mbd.isSingleton() || isSingletonCurrentlyInCreation(beanName)) {
+				return null;
+			}
+			Object beanInstance = getSingleton(beanName, false);
+			if (beanInstance != null) {
+				return (beanInstance instanceof FactoryBean ? null : beanInstance.getClass());
+			}
+			// Only predict the type if doing so does not involve any initialization
+			// that a by-type lookup without eager initialization would avoid.
+			if (mbd.getFactoryBeanName() != null ||
+					!(mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading())) {
+				return null;
+			}
+			Class<?> targetType = determineTargetType(beanName, mbd);
+			if (targetType == null || FactoryBean.class.isAssignableFrom(targetType)) {
+				return null;
+			}
+			return (predictBeanType(beanName, mbd) == targetType ? targetType : null);
+		}
+		catch (BeansException ex) {
+			// To be reported by the regular type check for this bean, if at all.
+			return null;
+		}
+	}
+
+	/**
+	 * Mark the given bean, or all beans if {@code null}, for re-determining
+	 * their types in the bean type index.
+	 * <p>
+	 *  在bean类型索引中标记给定的bean(如果为{@code null}则标记所有bean)以重新确定其类型
+	 * 
+	 */
+	private void invalidateBeanTypeIndex(String beanName) {
+		if (beanName != null) {
+			this.beanTypeIndex.invalidate(beanName);
+		}
+		else {
+			this.beanTypeIndex.invalidateAll();
+		}
+	}
+
 	/**
 	 * Check whether the specified bean would need to be eagerly initialized
 	 * in order to determine its type.
@@ -767,6 +908,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void clearMetadataCache() {
 		super.clearMetadataCache();
 		clearByTypeCache();
+		invalidateBeanTypeIndex(null);
 	}
 
 	@Override
@@ -780,6 +922,22 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.configurationFrozen;
 	}
 
+	/**
+	 * Return a counter that changes whenever bean definitions or singletons get
+	 * registered, removed or destroyed, i.e. whenever dependencies resolved by
+	 * type may have become stale. Only meant to be compared for equality with
+	 * a previously obtained value.
+	 * <p>
+	 *  返回一个计数器,每当注册,删除或销毁bean定义或单例时,即每当按类型解析的依赖项可能已过时时,该计数器就会更改仅用于与先前获得的值进行相等比较
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor
+	 */
+	public int getRegistrationVersion() {
+		return this.registrationVersion.get();
+	}
+
 	/**
 	 * Considers all beans as eligible for metadata caching
 	 * if the factory's configuration has been marked as frozen.
@@ -805,30 +963,19 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<String>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					final FactoryBean<?> factory = (FactoryBean<?>) getBean(FACTORY_BEAN_PREFIX + beanName);
-					boolean isEagerInit;
-					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-						isEagerInit = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
-							@Override
-							public Boolean run() {
-								return ((SmartFactoryBean<?>) factory).isEagerInit();
-							}
-						}, getAccessControlContext());
-					}
-					else {
-						isEagerInit = (factory instanceof SmartFactoryBean &&
-								((SmartFactoryBean<?>) factory).isEagerInit());
-					}
-					if (isEagerInit) {
-						getBean(beanName);
-					}
+		if (this.preInstantiationExecutor != null) {
+			List<String> singletonNames = new ArrayList<String>(beanNames.size());
+			for (String beanName : beanNames) {
+				if (isEagerSingleton(beanName)) {
+					singletonNames.add(beanName);
 				}
-				else {
-					getBean(beanName);
+			}
+			preInstantiateSingletonsInParallel(singletonNames, this.preInstantiationExecutor);
+		}
+		else {
+			for (String beanName : beanNames) {
+				if (isEagerSingleton(beanName)) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -855,6 +1002,276 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	private boolean isEagerSingleton(String beanName) {
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+		return (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit());
+	}
+
+	/**
+	 * Instantiate the given non-lazy singleton, or the object exposed by it
+	 * in case of an eagerly initializing {@link SmartFactoryBean}.
+	 * <p>
+	 *  实例化给定的非延迟单例,或者在急切初始化{@link SmartFactoryBean}的情况下实例化由它公开的对象
+	 * 
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {
+			final FactoryBean<?> factory = (FactoryBean<?>) getBean(FACTORY_BEAN_PREFIX + beanName);
+			boolean isEagerInit;
+			if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+				isEagerInit = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+					@Override
+					public Boolean run() {
+						return ((SmartFactoryBean<?>) factory).isEagerInit();
+					}
+				}, getAccessControlContext());
+			}
+			else {
+				isEagerInit = (factory instanceof SmartFactoryBean &&
+						((SmartFactoryBean<?>) factory).isEagerInit());
+			}
+			if (isEagerInit) {
+				getBean(beanName);
+			}
+		}
+		else {
+			getBean(beanName);
+		}
+	}
+
+	/**
+	 * Instantiate the given singletons in tasks submitted to the given executor,
+	 * waiting for all of them to complete. Singletons with circular references
+	 * between their bean definitions share a task.
+	 * <p>
+	 *  在提交给给定执行器的任务中实例化给定的单例,等待它们全部完成在其bean定义之间具有循环引用的单例共享一个任务
+	 * 
+	 * 
+	 * @throws BeansException the first exception thrown by any of the tasks
+	 * @see #groupByCircularReferences
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, Executor executor) {
+		List<List<String>> groups = groupByCircularReferences(beanNames);
+		final CountDownLatch latch = new CountDownLatch(groups.size());
+		final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+		for (final List<String> group : groups) {
+			Runnable task = new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (String beanName : group) {
+							if (!failures.isEmpty()) {
+								break;
+							}
+							preInstantiateSingleton(beanName);
+						}
+					}
+					catch (Throwable ex) {
+						failures.add(ex);
+					}
+					finally {
+						latch.countDown();
+					}
+				}
+			};
+			try {
+				executor.execute(task);
+			}
+			catch (RejectedExecutionException ex) {
+				task.run();
+			}
+		}
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new FatalBeanException("Interrupted while pre-instantiating singletons", ex);
+		}
+		if (!failures.isEmpty()) {
+			Throwable ex = failures.get(0);
+			if (ex instanceof RuntimeException) {
+				throw (RuntimeException) ex;
+			}
+			if (ex instanceof Error) {
+				throw (Error) ex;
+			}
+			throw new FatalBeanException("Failed to pre-instantiate singletons", ex);
+		}
+	}
+
+
+	/**
+	 * Group the given singletons by the strongly connected components of the
+	 * dependency graph between their bean definitions, as declared through
+	 * "depends-on", factory beans and bean references in property values and
+	 * constructor arguments. Each circular reference ends up within a single
+	 * group, to be resolved in one thread through early singleton references;
+	 * autowired dependencies only get resolved at runtime and are therefore
+	 * not considered here.
+	 * <p>
+	 *  根据给定单例的bean定义之间的依赖关系图的强连通分量对其进行分组,依赖关系通过"depends-on",工厂bean以及属性值和构造函数参数中的bean引用声明
+	 * 每个循环引用最终都在一个组中,以便通过早期单例引用在一个线程中解决;自动装配的依赖关系仅在运行时解析,因此此处不予考虑
+	 * 
+	 * 
+	 * @param beanNames the names of the singletons, in registration order
+	 * @return the groups of singletons, each in registration order
+	 */
+	private List<List<String>> groupByCircularReferences(List<String> beanNames) {
+		int count = beanNames.size();
+		Map<String, Integer> indexes = new HashMap<String, Integer>(count * 2);
+		for (int i = 0; i < count; i++) {
+			indexes.put(beanNames.get(i), i);
+		}
+		int[][] edges = new int[count][];
+		boolean[] selfReferences = new boolean[count];
+		for (int i = 0; i < count; i++) {
+			Set<String> references = new LinkedHashSet<String>();
+			collectReferences(getMergedLocalBeanDefinition(beanNames.get(i)), references);
+			int[] targets = new int[references.size()];
+			int length = 0;
+			for (String reference : references) {
+				Integer target = indexes.get(canonicalName(transformedBeanName(reference)));
+				if (target != null) {
+					targets[length++] = target;
+					if (target == i) {
+						selfReferences[i] = true;
+					}
+				}
+			}
+			edges[i] = Arrays.copyOf(targets, length);
+		}
+
+		// Tarjan's algorithm, with an explicit stack instead of recursion
+		int[] order = new int[count];
+		int[] lowLinks = new int[count];
+		int[] components = new int[count];
+		int[] componentSizes = new int[count];
+		Arrays.fill(order, -1);
+		int[] stack = new int[count];
+		boolean[] onStack = new boolean[count];
+		int[] callStack = new int[count];
+		int[] edgePositions = new int[count];
+		int stackSize = 0;
+		int nextOrder = 0;
+		int componentCount = 0;
+		for (int root = 0; root < count; root++) {
+			if (order[root] != -1) {
+				continue;
+			}
+			int depth = 0;
+			callStack[0] = root;
+			order[root] = lowLinks[root] = nextOrder++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			while (depth >= 0) {
+				int node = callStack[depth];
+				if (edgePositions[node] < edges[node].length) {
+					int target = edges[node][edgePositions[node]++];
+					if (order[target] == -1) {
+						order[target] = lowLinks[target] = nextOrder++;
+						stack[stackSize++] = target;
+						onStack[target] = true;
+						callStack[++depth] = target;
+					}
+					else if (onStack[target]) {
+						lowLinks[node] = Math.min(lowLinks[node], order[target]);
+					}
+				}
+				else {
+					if (lowLinks[node] == order[node]) {
+						int member;
+						do {
+							member = stack[--stackSize];
+							onStack[member] = false;
+							components[member] = componentCount;
+							componentSizes[componentCount]++;
+						}
+						while (member != node);
+						componentCount++;
+					}
+					depth--;
+					if (depth >= 0) {
+						int caller = callStack[depth];
+						lowLinks[caller] = Math.min(lowLinks[caller], lowLinks[node]);
+					}
+				}
+			}
+		}
+
+		List<List<String>> groups = new ArrayList<List<String>>(componentCount);
+		Map<Integer, List<String>> circularGroups = new HashMap<Integer, List<String>>();
+		for (int i = 0; i < count; i++) {
+			int component = components[i];
+			if (componentSizes[component] > 1 || selfReferences[i]) {
+				List<String> group = circularGroups.get(component);
+				if (group == null) {
+					group = new ArrayList<String>(componentSizes[component]);
+					circularGroups.put(component, group);
+					groups.add(group);
+				}
+				group.add(beanNames.get(i));
+			}
+			else {
+				groups.add(Collections.singletonList(beanNames.get(i)));
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Collect the names of the beans that the given bean definition refers to,
+	 * including references from its inner bean definitions.
+	 * <p>
+	 *  收集给定bean定义引用的bean的名称,包括来自其内部bean定义的引用
+	 * 
+	 */
+	private void collectReferences(BeanDefinition bd, Set<String> references) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependsOnBean : dependsOn) {
+				references.add(dependsOnBean);
+			}
+		}
+		if (bd.getFactoryBeanName() != null) {
+			references.add(bd.getFactoryBeanName());
+		}
+		for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+			collectReferences(pv.getValue(), references);
+		}
+		ConstructorArgumentValues cargs = bd.getConstructorArgumentValues();
+		for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getIndexedArgumentValues().values()) {
+			collectReferences(valueHolder.getValue(), references);
+		}
+		for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getGenericArgumentValues()) {
+			collectReferences(valueHolder.getValue(), references);
+		}
+	}
+
+	private void collectReferences(Object value, Set<String> references) {
+		if (value instanceof RuntimeBeanReference) {
+			references.add(((RuntimeBeanReference) value).getBeanName());
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			collectReferences(((BeanDefinitionHolder) value).getBeanDefinition(), references);
+		}
+		else if (value instanceof BeanDefinition) {
+			collectReferences((BeanDefinition) value, references);
+		}
+		else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectReferences(element, references);
+			}
+		}
+		else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectReferences(entry.getKey(), references);
+				collectReferences(entry.getValue(), references);
+			}
+		}
+	}
+
+
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
 	//---------------------------------------------------------------------
@@ -934,9 +1351,14 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.frozenBeanDefinitionNames = null;
 		}
 
+		this.beanTypeIndex.register(beanName);
+
 		if (oldBeanDefinition != null || containsSingleton(beanName)) {
 			resetBeanDefinition(beanName);
 		}
+		else {
+			clearByTypeCache();
+		}
 	}
 
 	@Override
@@ -965,6 +1387,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 		this.frozenBeanDefinitionNames = null;
 
+		this.beanTypeIndex.remove(beanName);
+
 		resetBeanDefinition(beanName);
 	}
 
@@ -980,6 +1404,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	protected void resetBeanDefinition(String beanName) {
 		// Remove the merged bean definition for the given bean, if already created.
 		clearMergedBeanDefinition(beanName);
+		invalidateBeanTypeIndex(beanName);
 
 		// Remove corresponding bean from singleton cache, if any. Shouldn't usually
 		// be necessary, rather just meant for overriding a context's default beans
@@ -1038,6 +1463,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		super.destroySingleton(beanName);
 		this.manualSingletonNames.remove(beanName);
 		clearByTypeCache();
+		invalidateBeanTypeIndex(beanName);
 	}
 
 	@Override
@@ -1045,6 +1471,28 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		super.destroySingletons();
 		this.manualSingletonNames.clear();
 		clearByTypeCache();
+		invalidateBeanTypeIndex(null);
+	}
+
+	@Override
+	protected void addSingleton(String beanName, Object singletonObject) {
+		super.addSingleton(beanName, singletonObject);
+		// Index by the type of the singleton instance from now on
+		invalidateBeanTypeIndex(beanName);
+	}
+
+	@Override
+	protected void beforeSingletonCreation(String beanName) {
+		super.beforeSingletonCreation(beanName);
+		// Early references may differ in type from the prediction
+		invalidateBeanTypeIndex(beanName);
+	}
+
+	@Override
+	public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
+		super.addBeanPostProcessor(beanPostProcessor);
+		// Type predictions may differ with the new post-processor in place
+		invalidateBeanTypeIndex(null);
 	}
 
 	/**
@@ -1056,6 +1504,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private void clearByTypeCache() {
 		this.allBeanNamesByType.clear();
 		this.singletonBeanNamesByType.clear();
+		this.registrationVersion.incrementAndGet();
 	}
 
 
@@ -26,6 +26,7 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,6 +37,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -115,16 +117,24 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Set of registered singletons, containing the bean names in registration order */
 	private final Set<String> registeredSingletons = new LinkedHashSet<String>(256);
 
-	/** Names of beans that are currently in creation */
-	private final Set<String> singletonsCurrentlyInCreation =
-			Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>(16));
+	/** Names of beans that are currently in creation: bean name --> creation lock */
+	private final ConcurrentMap<String, SingletonCreationLock> singletonsCurrentlyInCreation =
+			new ConcurrentHashMap<String, SingletonCreationLock>(16);
+
+	/** Creation locks awaited by threads other than their owners: waiting thread --> creation lock */
+	private final Map<Thread, SingletonCreationLock> creationLocksAwaitedByThreads =
+			new HashMap<Thread, SingletonCreationLock>(16);
+
+	/** Number of threads waiting for a creation lock on the singleton mutex itself */
+	private int singletonMutexWaiters = 0;
 
 	/** Names of beans currently excluded from in creation checks */
 	private final Set<String> inCreationCheckExclusions =
 			Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>(16));
 
 	/** List of suppressed Exceptions, available for associating related causes */
-	private Set<Exception> suppressedExceptions;
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<Set<Exception>>("Suppressed exceptions of singleton creation");
 
 	/** Flag that indicates whether we're currently within destroySingletons */
 	private boolean singletonsCurrentlyInDestruction = false;
@@ -216,27 +226,52 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected Object getSingleton(String beanName, boolean allowEarlyReference) {
 		Object singletonObject = this.singletonObjects.get(beanName);
-		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+		// Early references are only exposed to the thread creating the singleton
+		if (singletonObject == null && isSingletonCurrentlyInCreationByCurrentThread(beanName)) {
 			synchronized (this.singletonObjects) {
-				singletonObject = this.earlySingletonObjects.get(beanName);
-				if (singletonObject == null && allowEarlyReference) {
-					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-					if (singletonFactory != null) {
-						singletonObject = singletonFactory.getObject();
-						this.earlySingletonObjects.put(beanName, singletonObject);
-						this.singletonFactories.remove(beanName);
-					}
-				}
+				singletonObject = getEarlySingleton(beanName, allowEarlyReference);
 			}
 		}
 		return (singletonObject != NULL_OBJECT ? singletonObject : null);
 	}
 
+	private boolean isSingletonCurrentlyInCreationByCurrentThread(String beanName) {
+		SingletonCreationLock lock = this.singletonsCurrentlyInCreation.get(beanName);
+		return (lock != null && lock.isHeldByCurrentThread());
+	}
+
+	/**
+	 * Return the early reference to a singleton that is currently in creation,
+	 * if any. To be called while holding the singleton mutex.
+	 * <p>
+	 *  返回对当前正在创建的单例的早期引用(如果有)在持有单例互斥锁时调用
+	 * 
+	 */
+	private Object getEarlySingleton(String beanName, boolean allowEarlyReference) {
+		Object singletonObject = this.earlySingletonObjects.get(beanName);
+		if (singletonObject == null && allowEarlyReference) {
+			ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+			if (singletonFactory != null) {
+				singletonObject = singletonFactory.getObject();
+				this.earlySingletonObjects.put(beanName, singletonObject);
+				this.singletonFactories.remove(beanName);
+			}
+		}
+		return singletonObject;
+	}
+
 	/**
 	 * Return the (raw) singleton object registered under the given name,
 	 * creating and registering a new one if none registered yet.
+	 * <p>The singleton mutex is only held while checking for and registering
+	 * the singleton, not during its actual creation: unrelated singletons may
+	 * get created by different threads in parallel, whereas threads requesting
+	 * a singleton that another thread is currently creating wait on the creation
+	 * lock of that particular singleton.
 	 * <p>
-	 *  返回以给定名称注册的(原始)单例对象,如果尚未注册,则创建并注册新对象
+	 *  返回以给定名称注册的(原始)单例对象,如果尚未注册,则创建并注册新对象
+	 * 
+	 *  <p>单例互斥锁仅在检查和注册单例时持有,而不是在其实际创建期间持有：不相关的单例可以由不同的线程并行创建,而请求另一个线程当前正在创建的单例的线程将在该特定单例的创建锁上等待
 	 * 
 	 * 
 	 * @param beanName the name of the bean
@@ -246,54 +281,241 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "'beanName' must not be null");
-		synchronized (this.singletonObjects) {
-			Object singletonObject = this.singletonObjects.get(beanName);
-			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while the singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
-				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
-				}
-				beforeSingletonCreation(beanName);
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
-				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<Exception>();
-				}
-				try {
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
-				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
+		// A caller holding the singleton mutex already cannot release it by waiting on a creation lock
+		boolean mutexHeld = Thread.holdsLock(this.singletonObjects);
+		Thread currentThread = Thread.currentThread();
+		Object singletonObject;
+		SingletonCreationLock awaitedLock = null;
+		try {
+			while (true) {
+				int signalCount;
+				synchronized (this.singletonObjects) {
+					if (awaitedLock != null) {
+						this.creationLocksAwaitedByThreads.remove(currentThread);
+						awaitedLock = null;
+					}
 					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						throw ex;
+					if (singletonObject != null) {
+						return (singletonObject != NULL_OBJECT ? singletonObject : null);
 					}
-				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
+					SingletonCreationLock lock = this.singletonsCurrentlyInCreation.get(beanName);
+					if (lock == null || lock.isHeldByCurrentThread()) {
+						if (this.singletonsCurrentlyInDestruction) {
+							throw new BeanCreationNotAllowedException(beanName,
+									"Singleton bean creation not allowed while the singletons of this factory are in destruction " +
+									"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
 						}
+						if (logger.isDebugEnabled()) {
+							logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+						}
+						beforeSingletonCreation(beanName);
+						break;
 					}
-					throw ex;
-				}
-				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+					singletonObject = checkCreationLockWait(beanName, lock);
+					if (singletonObject != null) {
+						return (singletonObject != NULL_OBJECT ? singletonObject : null);
 					}
-					afterSingletonCreation(beanName);
+					this.creationLocksAwaitedByThreads.put(currentThread, lock);
+					awaitedLock = lock;
+					signalCount = lock.getSignalCount();
+					if (mutexHeld) {
+						awaitCreationLockOnMutex(beanName, lock, signalCount);
+						continue;
+					}
+				}
+				awaitCreationLock(beanName, awaitedLock, signalCount);
+			}
+		}
+		finally {
+			if (awaitedLock != null) {
+				synchronized (this.singletonObjects) {
+					this.creationLocksAwaitedByThreads.remove(currentThread);
+				}
+			}
+		}
+
+		boolean newSingleton = false;
+		boolean recordSuppressedExceptions = (this.suppressedExceptions.get() == null);
+		if (recordSuppressedExceptions) {
+			this.suppressedExceptions.set(new LinkedHashSet<Exception>());
+		}
+		try {
+			singletonObject = singletonFactory.getObject();
+			newSingleton = true;
+		}
+		catch (IllegalStateException ex) {
+			// Has the singleton object implicitly appeared in the meantime ->
+			// if yes, proceed with it since the exception indicates that state.
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				throw ex;
+			}
+		}
+		catch (BeanCreationException ex) {
+			if (recordSuppressedExceptions) {
+				for (Exception suppressedException : this.suppressedExceptions.get()) {
+					ex.addRelatedCause(suppressedException);
 				}
+			}
+			throw ex;
+		}
+		finally {
+			if (recordSuppressedExceptions) {
+				this.suppressedExceptions.remove();
+			}
+			// Register the singleton before any waiting thread gets a chance to check for it
+			synchronized (this.singletonObjects) {
+				afterSingletonCreation(beanName);
 				if (newSingleton) {
 					addSingleton(beanName, singletonObject);
 				}
 			}
-			return (singletonObject != NULL_OBJECT ? singletonObject : null);
+		}
+		return (singletonObject != NULL_OBJECT ? singletonObject : null);
+	}
+
+	/**
+	 * Check whether the current thread may wait for the given creation lock,
+	 * held by another thread. To be called while holding the singleton mutex.
+	 * <p>If the owner of the lock is in turn (directly or indirectly) waiting
+	 * for a lock held by the current thread, the early reference to the requested
+	 * singleton is returned instead, just like for a circular reference within a
+	 * single thread. Without such an early reference, another thread in the cycle
+	 * which can proceed with an early reference gets signalled to do so.
+	 * <p>
+	 *  检查当前线程是否可以等待由另一个线程持有的给定创建锁在持有单例互斥锁时调用
+	 * 
+	 *  <p>如果锁的持有者反过来(直接或间接)等待当前线程持有的锁,则返回对所请求单例的早期引用,就像单个线程内的循环引用一样
+	 * 如果没有这样的早期引用,则通知循环中可以使用早期引用继续的另一个线程这样做
+	 * 
+	 * 
+	 * @param beanName the name of the bean
+	 * @param lock the creation lock of the bean, held by another thread
+	 * @return the early singleton reference to use instead of waiting,
+	 * or {@code null} if the current thread is supposed to wait for the lock
+	 * @throws BeanCurrentlyInCreationException if the owner of the lock waits
+	 * for the current thread and no early reference is available within the cycle
+	 */
+	Object checkCreationLockWait(String beanName, SingletonCreationLock lock) {
+		Thread currentThread = Thread.currentThread();
+		Thread owner = lock.getOwner();
+		SingletonCreationLock[] cycle = new SingletonCreationLock[this.creationLocksAwaitedByThreads.size()];
+		int length = 0;
+		while (owner != currentThread) {
+			SingletonCreationLock awaitedLock = this.creationLocksAwaitedByThreads.get(owner);
+			if (awaitedLock == null || awaitedLock.isReleased() || length == cycle.length) {
+				return null;
+			}
+			cycle[length++] = awaitedLock;
+			owner = awaitedLock.getOwner();
+		}
+		if (lock.isEarlyReferenceAllowed()) {
+			Object singletonObject = getEarlySingleton(beanName, true);
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+		}
+		for (int i = 0; i < length; i++) {
+			SingletonCreationLock awaitedLock = cycle[i];
+			if (awaitedLock.isEarlyReferenceAllowed() && hasEarlySingleton(awaitedLock.getBeanName())) {
+				signalCreationLock(awaitedLock);
+				return null;
+			}
+		}
+		throw new BeanCurrentlyInCreationException(beanName, "Requested bean is currently in creation " +
+				"by another thread which is waiting for a bean created by this thread: " +
+				"Is there an unresolvable circular reference?");
+	}
+
+	private boolean hasEarlySingleton(String beanName) {
+		return (this.earlySingletonObjects.containsKey(beanName) || this.singletonFactories.containsKey(beanName));
+	}
+
+	/**
+	 * Wait for the given creation lock to be released or signalled,
+	 * without holding the singleton mutex.
+	 * <p>
+	 *  等待给定的创建锁被释放或通知,不持有单例互斥锁
+	 * 
+	 */
+	private void awaitCreationLock(String beanName, SingletonCreationLock lock, int signalCount) {
+		try {
+			lock.await(signalCount);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException(beanName,
+					"Interrupted while waiting for singleton creation in another thread", ex);
+		}
+	}
+
+	/**
+	 * Wait for the given creation lock to be released or signalled, on the
+	 * singleton mutex that the current thread is holding (possibly more than
+	 * once): waiting on the mutex is the only way to release it for the owner
+	 * of the lock. To be called while holding the singleton mutex.
+	 * <p>
+	 *  在当前线程持有的单例互斥锁(可能不止一次)上等待给定的创建锁被释放或通知：在互斥锁上等待是为锁的持有者释放它的唯一方法在持有单例互斥锁时调用
+	 * 
+	 */
+	private void awaitCreationLockOnMutex(String beanName, SingletonCreationLock lock, int signalCount) {
+		this.singletonMutexWaiters++;
+		try {
+			while (lock.getSignalCount() == signalCount) {
+				this.singletonObjects.wait();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException(beanName,
+					"Interrupted while waiting for singleton creation in another thread", ex);
+		}
+		finally {
+			this.singletonMutexWaiters--;
+		}
+	}
+
+	/**
+	 * Wait for the given creation lock, held by another thread, to be released
+	 * or signalled. To be called while holding the singleton mutex, for creation
+	 * locks without early references (e.g. for objects exposed by FactoryBeans).
+	 * <p>
+	 *  等待由另一个线程持有的给定创建锁被释放或通知在持有单例互斥锁时调用,用于没有早期引用的创建锁(例如,用于FactoryBean公开的对象)
+	 * 
+	 * 
+	 * @param beanName the name of the bean
+	 * @param lock the creation lock of the bean, held by another thread
+	 * @throws BeanCurrentlyInCreationException if the owner of the lock waits
+	 * for the current thread and no early reference is available within the cycle
+	 */
+	void awaitCreationLockOnMutex(String beanName, SingletonCreationLock lock) {
+		checkCreationLockWait(beanName, lock);
+		Thread currentThread = Thread.currentThread();
+		this.creationLocksAwaitedByThreads.put(currentThread, lock);
+		try {
+			awaitCreationLockOnMutex(beanName, lock, lock.getSignalCount());
+		}
+		finally {
+			this.creationLocksAwaitedByThreads.remove(currentThread);
+		}
+	}
+
+	/**
+	 * Release the given creation lock, waking up all threads waiting for it.
+	 * To be called while holding the singleton mutex.
+	 * <p>
+	 *  释放给定的创建锁,唤醒所有等待它的线程在持有单例互斥锁时调用
+	 * 
+	 */
+	void releaseCreationLock(SingletonCreationLock lock) {
+		lock.release();
+		signalCreationLock(lock);
+	}
+
+	private void signalCreationLock(SingletonCreationLock lock) {
+		lock.signal();
+		if (this.singletonMutexWaiters > 0) {
+			this.singletonObjects.notifyAll();
 		}
 	}
 
@@ -307,10 +529,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param ex the Exception to register
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -382,7 +603,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param beanName the name of the bean
 	 */
 	public boolean isSingletonCurrentlyInCreation(String beanName) {
-		return this.singletonsCurrentlyInCreation.contains(beanName);
+		return this.singletonsCurrentlyInCreation.containsKey(beanName);
 	}
 
 	/**
@@ -396,7 +617,8 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #isSingletonCurrentlyInCreation
 	 */
 	protected void beforeSingletonCreation(String beanName) {
-		if (!this.inCreationCheckExclusions.contains(beanName) && !this.singletonsCurrentlyInCreation.add(beanName)) {
+		if (!this.inCreationCheckExclusions.contains(beanName) && this.singletonsCurrentlyInCreation.putIfAbsent(
+				beanName, new SingletonCreationLock(beanName, Thread.currentThread(), true)) != null) {
 			throw new BeanCurrentlyInCreationException(beanName);
 		}
 	}
@@ -412,8 +634,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #isSingletonCurrentlyInCreation
 	 */
 	protected void afterSingletonCreation(String beanName) {
-		if (!this.inCreationCheckExclusions.contains(beanName) && !this.singletonsCurrentlyInCreation.remove(beanName)) {
-			throw new IllegalStateException("Singleton '" + beanName + "' isn't currently in creation");
+		if (!this.inCreationCheckExclusions.contains(beanName)) {
+			SingletonCreationLock lock = this.singletonsCurrentlyInCreation.remove(beanName);
+			if (lock == null) {
+				throw new IllegalStateException("Singleton '" + beanName + "' isn't currently in creation");
+			}
+			// Wake up threads waiting for the singleton to be created
+			synchronized (this.singletonObjects) {
+				releaseCreationLock(lock);
+			}
 		}
 	}
 
@@ -714,4 +943,72 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * Lock for a singleton currently in creation, held by the creating thread.
+	 * Threads waiting for the singleton wait on this lock only, until it gets
+	 * released once the singleton has been created, or until it gets signalled
+	 * to check for an early reference to the singleton.
+	 * <p>
+	 *  当前正在创建的单例的锁,由创建线程持有等待单例的线程仅在此锁上等待,直到单例创建后释放锁,或者直到收到检查单例的早期引用的通知
+	 * 
+	 */
+	static final class SingletonCreationLock {
+
+		private final String beanName;
+
+		private final Thread owner;
+
+		private final boolean earlyReferenceAllowed;
+
+		private boolean released;
+
+		private int signalCount;
+
+		SingletonCreationLock(String beanName, Thread owner, boolean earlyReferenceAllowed) {
+			this.beanName = beanName;
+			this.owner = owner;
+			this.earlyReferenceAllowed = earlyReferenceAllowed;
+		}
+
+		public String getBeanName() {
+			return this.beanName;
+		}
+
+		public Thread getOwner() {
+			return this.owner;
+		}
+
+		public boolean isHeldByCurrentThread() {
+			return (this.owner == Thread.currentThread());
+		}
+
+		public boolean isEarlyReferenceAllowed() {
+			return this.earlyReferenceAllowed;
+		}
+
+		public synchronized boolean isReleased() {
+			return this.released;
+		}
+
+		public synchronized int getSignalCount() {
+			return this.signalCount;
+		}
+
+		public synchronized void release() {
+			this.released = true;
+		}
+
+		public synchronized void signal() {
+			this.signalCount++;
+			notifyAll();
+		}
+
+		public synchronized void await(int signalCount) throws InterruptedException {
+			while (this.signalCount == signalCount) {
+				wait();
+			}
+		}
+	}
+
 }
@@ -22,6 +22,7 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -53,6 +54,10 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	/** Cache of singleton objects created by FactoryBeans: FactoryBean name --> object */
 	private final Map<String, Object> factoryBeanObjectCache = new ConcurrentHashMap<String, Object>(16);
 
+	/** Objects currently obtained from singleton FactoryBeans: FactoryBean name --> creation lock */
+	private final Map<String, SingletonCreationLock> factoryBeanObjectsCurrentlyInCreation =
+			new HashMap<String, SingletonCreationLock>(16);
+
 
 	/**
 	 * Determine the type for the given FactoryBean.
@@ -119,25 +124,28 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		if (factory.isSingleton() && containsSingleton(beanName)) {
 			synchronized (getSingletonMutex()) {
 				Object object = this.factoryBeanObjectCache.get(beanName);
+				SingletonCreationLock lock = this.factoryBeanObjectsCurrentlyInCreation.get(beanName);
+				// Wait for another thread currently obtaining the object from the same FactoryBean,
+				// which may have released the singleton mutex while waiting for a bean in turn
+				while (object == null && lock != null && !lock.isHeldByCurrentThread()) {
+					awaitCreationLockOnMutex(beanName, lock);
+					object = this.factoryBeanObjectCache.get(beanName);
+					lock = this.factoryBeanObjectsCurrentlyInCreation.get(beanName);
+				}
 				if (object == null) {
-					object = doGetObjectFromFactoryBean(factory, beanName);
-					// Only post-process and store if not put there already during getObject() call above
-					// (e.g. because of circular reference processing triggered by custom getBean calls)
-					Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
-					if (alreadyThere != null) {
-						object = alreadyThere;
+					boolean newLock = (lock == null);
+					if (newLock) {
+						lock = new SingletonCreationLock(beanName, Thread.currentThread(), false);
+						this.factoryBeanObjectsCurrentlyInCreation.put(beanName, lock);
 					}
-					else {
-						if (object != null && shouldPostProcess) {
-							try {
-								object = postProcessObjectFromFactoryBean(object, beanName);
-							}
-							catch (Throwable ex) {
-								throw new BeanCreationException(beanName,
-										"Post-processing of FactoryBean's singleton object failed", ex);
-							}
+					try {
+						object = getObjectFromFactoryBeanForCache(factory, beanName, shouldPostProcess);
+					}
+					finally {
+						if (newLock) {
+							this.factoryBeanObjectsCurrentlyInCreation.remove(beanName);
+							releaseCreationLock(lock);
 						}
-						this.factoryBeanObjectCache.put(beanName, (object != null ? object : NULL_OBJECT));
 					}
 				}
 				return (object != NULL_OBJECT ? object : null);
@@ -157,6 +165,36 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		}
 	}
 
+	/**
+	 * Obtain the object to cache for the given singleton FactoryBean, storing it
+	 * in the cache unless put there already. To be called while holding the
+	 * singleton mutex.
+	 * <p>
+	 *  获取给定单例FactoryBean要缓存的对象,除非已经存在,否则将其存储在缓存中在持有单例互斥锁时调用
+	 * 
+	 */
+	private Object getObjectFromFactoryBeanForCache(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
+		Object object = doGetObjectFromFactoryBean(factory, beanName);
+		// Only post-process and store if not put there already during getObject() call above
+		// (e.g. because of circular reference processing triggered by custom getBean calls)
+		Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
+		if (alreadyThere != null) {
+			return alreadyThere;
+		}
+		if (object != null && shouldPostProcess) {
+			try {
+				object = postProcessObjectFromFactoryBean(object, beanName);
+			}
+			catch (Throwable ex) {
+				throw new BeanCreationException(beanName,
+						"Post-processing of FactoryBean's singleton object failed", ex);
+			}
+		}
+		object = (object != null ? object : NULL_OBJECT);
+		this.factoryBeanObjectCache.put(beanName, object);
+		return object;
+	}
+
 	/**
 	 * Obtain an object to expose from the given FactoryBean.
 	 * <p>
@@ -0,0 +1,123 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Base class for the instantiators that {@link InstantiatorGenerator} generates
+ * for a constructor or factory method, invoking it directly instead of through
+ * reflection.
+ *
+ * <p>Failures are reported the same way as for a reflective invocation, so
+ * callers may use either path interchangeably.
+ *
+ * <p>Only to be extended by generated classes; not intended for direct use.
+ *
+ * <p>
+ *  {@link InstantiatorGenerator}为构造函数或工厂方法生成的实例化器的基类,直接调用它,而不是通过反射
+ * 
+ *  <p>报告失败的方式与反射调用相同,因此调用者可以互换使用任一路径
+ * 
+ *  <p>仅由生成的类扩展;不打算直接使用
+ * 
+ * 
+ * @since 4.3.6
+ * @see GeneratingInstantiationStrategy
+ */
+public abstract class GeneratedInstantiator {
+
+	private Member member;
+
+	private Class<?>[] parameterTypes;
+
+
+	void initialize(Member member, Class<?>[] parameterTypes) {
+		this.member = member;
+		this.parameterTypes = parameterTypes;
+	}
+
+	/**
+	 * Return the constructor or factory method that this instantiator invokes.
+	 * <p>
+	 *  返回此实例化器调用的构造函数或工厂方法
+	 * 
+	 */
+	Member getMember() {
+		return this.member;
+	}
+
+	/**
+	 * Determine whether the given arguments can be passed as-is.
+	 * <p>
+	 *  确定给定参数是否可以按原样传递
+	 * 
+	 * 
+	 * @return {@code true} if the arguments match the parameter types, or
+	 * {@code false} if they require reflective invocation (for a widening
+	 * conversion of a primitive value or for reporting illegal arguments)
+	 */
+	boolean canInvoke(Object[] args) {
+		int argCount = (args != null ? args.length : 0);
+		if (argCount != this.parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < argCount; i++) {
+			Class<?> parameterType = this.parameterTypes[i];
+			Object arg = args[i];
+			if (arg == null ? parameterType.isPrimitive() :
+					(parameterType.isPrimitive() ? ClassUtils.resolvePrimitiveIfNecessary(parameterType) != arg.getClass() :
+							!parameterType.isInstance(arg))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Invoke the constructor or factory method with the given arguments.
+	 * <p>
+	 *  使用给定参数调用构造函数或工厂方法
+	 * 
+	 * 
+	 * @param target the instance to invoke a factory method on,
+	 * or {@code null} for a constructor or a static factory method
+	 * @param args the arguments, as checked by {@link #canInvoke}
+	 * @throws InvocationTargetException if the invoked code threw an exception
+	 */
+	Object invoke(Object target, Object[] args) throws InvocationTargetException {
+		try {
+			return doInvoke(target, args);
+		}
+		catch (Throwable ex) {
+			throw new InvocationTargetException(ex);
+		}
+	}
+
+	/**
+	 * Invoke the constructor or factory method with the given arguments.
+	 * <p>
+	 *  使用给定参数调用构造函数或工厂方法
+	 * 
+	 */
+	protected abstract Object doInvoke(Object target, Object[] args);
+
+}
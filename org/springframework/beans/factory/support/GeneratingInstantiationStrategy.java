@@ -0,0 +1,120 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Object instantiation strategy that invokes constructors and factory methods
+ * through generated classes instead of through reflection, for bean definitions
+ * whose instances get created repeatedly (i.e. any non-singleton scope, e.g.
+ * prototypes obtained through an {@code ObjectFactory} or {@code Provider}).
+ *
+ * <p>An instantiator class gets generated once per resolved constructor or
+ * factory method, on first instantiation of a non-singleton bean. Singletons
+ * are created once and keep using reflection, as do constructors and methods
+ * which cannot be invoked from a generated class (see
+ * {@link InstantiatorGenerator}) and invocations with arguments that would
+ * require a widening conversion. Like {@link CglibSubclassingInstantiationStrategy},
+ * this strategy supports <em>Method Injection</em> through CGLIB subclasses.
+ *
+ * <p>
+ *  对象实例化策略,通过生成的类而不是通过反射来调用构造函数和工厂方法,适用于其实例被重复创建的bean定义(即任何非单例作用域,例如通过{@code ObjectFactory}或{@code Provider}获取的原型)
+ * 
+ *  <p>在非单例bean首次实例化时,每个已解析的构造函数或工厂方法生成一次实例化器类单例只创建一次并继续使用反射,无法从生成的类中调用的构造函数和方法(请参阅{@link InstantiatorGenerator})以及需要扩展转换的参数的调用也是如此与{@link CglibSubclassingInstantiationStrategy}一样,此策略通过CGLIB子类支持<em>方法注入</em>
+ * 
+ * 
+ * @since 4.3.6
+ * @see AbstractAutowireCapableBeanFactory#setInstantiationStrategy
+ */
+public class GeneratingInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	/** Marker for a constructor or factory method that no instantiator could be generated for */
+	private static final Object NO_INSTANTIATOR = new Object();
+
+	private final Map<Member, Object> instantiatorCache = new ConcurrentReferenceHashMap<Member, Object>(64);
+
+
+	@Override
+	protected Object instantiateClass(RootBeanDefinition bd, Constructor<?> ctor, Object... args)
+			throws BeanInstantiationException {
+
+		GeneratedInstantiator instantiator = getInstantiator(bd, ctor);
+		if (instantiator != null && instantiator.canInvoke(args)) {
+			try {
+				return instantiator.invoke(null, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw new BeanInstantiationException(ctor, "Constructor threw exception", ex.getTargetException());
+			}
+		}
+		return super.instantiateClass(bd, ctor, args);
+	}
+
+	@Override
+	protected Object invokeFactoryMethod(RootBeanDefinition bd, Object factoryBean, Method factoryMethod,
+			Object... args) throws IllegalAccessException, InvocationTargetException {
+
+		if (Modifier.isStatic(factoryMethod.getModifiers()) || factoryMethod.getDeclaringClass().isInstance(factoryBean)) {
+			GeneratedInstantiator instantiator = getInstantiator(bd, factoryMethod);
+			if (instantiator != null && instantiator.canInvoke(args)) {
+				return instantiator.invoke(factoryBean, args);
+			}
+		}
+		return super.invokeFactoryMethod(bd, factoryBean, factoryMethod, args);
+	}
+
+	/**
+	 * Return the generated instantiator for the given constructor or factory method,
+	 * generating it on first access and caching it in the bean definition.
+	 * <p>
+	 *  返回给定构造函数或工厂方法的生成实例化器,在首次访问时生成它并缓存在bean定义中
+	 * 
+	 * 
+	 * @return the instantiator, or {@code null} if reflection is to be used
+	 */
+	private GeneratedInstantiator getInstantiator(RootBeanDefinition bd, Member member) {
+		GeneratedInstantiator instantiator = bd.generatedInstantiator;
+		if (instantiator != null && instantiator.getMember() == member) {
+			return instantiator;
+		}
+		if (bd.isSingleton()) {
+			return null;
+		}
+		Object cached = this.instantiatorCache.get(member);
+		if (cached == null) {
+			cached = InstantiatorGenerator.generate(member);
+			this.instantiatorCache.put(member, (cached != null ? cached : NO_INSTANTIATOR));
+		}
+		if (cached == NO_INSTANTIATOR) {
+			return null;
+		}
+		instantiator = (GeneratedInstantiator) cached;
+		bd.generatedInstantiator = instantiator;
+		return instantiator;
+	}
+
+}
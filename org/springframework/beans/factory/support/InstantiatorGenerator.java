@@ -0,0 +1,210 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.BytecodeGenerationUtils;
+import org.springframework.core.BytecodeGenerationUtils.ChildClassLoader;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Generates a {@link GeneratedInstantiator} subclass for a given constructor
+ * or factory method, using the bundled ASM library.
+ *
+ * <p>Only public constructors and methods of public classes with public
+ * parameter types are supported. Generated classes are defined in a child
+ * class loader of the declaring class's class loader. No instantiator is
+ * generated if that class loader cannot see the Spring beans classes, or if a
+ * {@link SecurityManager} is active (in order to retain the access control
+ * context of the reflective invocation).
+ *
+ * <p>
+ *  使用捆绑的ASM库为给定的构造函数或工厂方法生成{@link GeneratedInstantiator}子类
+ * 
+ *  <p>仅支持公共类的具有公共参数类型的公共构造函数和方法生成的类在声明类的类加载器的子类加载器中定义如果该类加载器看不到Spring bean类,或者{@link SecurityManager}处于活动状态(为了保留反射调用的访问控制上下文),则不会生成实例化器
+ * 
+ * 
+ * @since 4.3.6
+ * @see GeneratingInstantiationStrategy
+ */
+final class InstantiatorGenerator implements Opcodes {
+
+	private static final String INSTANTIATOR_CLASS_SUFFIX = "$$Instantiator$$";
+
+	private static final String SUPERCLASS_NAME = Type.getInternalName(GeneratedInstantiator.class);
+
+	private static final Log logger = LogFactory.getLog(InstantiatorGenerator.class);
+
+	private static final AtomicInteger suffixCounter = new AtomicInteger();
+
+
+	private InstantiatorGenerator() {
+	}
+
+
+	/**
+	 * Generate an instantiator for the given constructor or factory method.
+	 * <p>
+	 *  为给定的构造函数或工厂方法生成实例化器
+	 * 
+	 * 
+	 * @param member the constructor or factory method
+	 * @return the generated instantiator, or {@code null} if no instantiator
+	 * could be generated (in which case reflection is to be used)
+	 */
+	public static GeneratedInstantiator generate(Member member) {
+		Class<?> declaringClass = member.getDeclaringClass();
+		ClassLoader classLoader = declaringClass.getClassLoader();
+		if (!BytecodeGenerationUtils.isGenerationSupported(classLoader, GeneratedInstantiator.class)) {
+			return null;
+		}
+
+		Class<?>[] parameterTypes = (member instanceof Method ?
+				((Method) member).getParameterTypes() : ((Constructor<?>) member).getParameterTypes());
+		if (!isAccessible(member, parameterTypes, classLoader)) {
+			return null;
+		}
+
+		String className = declaringClass.getName() + INSTANTIATOR_CLASS_SUFFIX + suffixCounter.incrementAndGet();
+		try {
+			ChildClassLoader childClassLoader = BytecodeGenerationUtils.getChildClassLoader(classLoader);
+			byte[] bytes = generateClass(className.replace('.', '/'), member, parameterTypes, childClassLoader);
+			Class<?> instantiatorClass = childClassLoader.defineClass(className, bytes);
+			GeneratedInstantiator instantiator =
+					(GeneratedInstantiator) instantiatorClass.getDeclaredConstructor().newInstance();
+			instantiator.initialize(member, parameterTypes);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Generated instantiator for " + member);
+			}
+			return instantiator;
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not generate instantiator for " + member + " - falling back to reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	private static boolean isAccessible(Member member, Class<?>[] parameterTypes, ClassLoader classLoader) {
+		Class<?> declaringClass = member.getDeclaringClass();
+		if (!Modifier.isPublic(member.getModifiers()) || !isAccessible(declaringClass, classLoader)) {
+			return false;
+		}
+		if (member instanceof Method) {
+			Method method = (Method) member;
+			if (method.isBridge() || (declaringClass.isInterface() && Modifier.isStatic(method.getModifiers()))) {
+				return false;
+			}
+		}
+		else if (Modifier.isAbstract(declaringClass.getModifiers())) {
+			return false;
+		}
+		for (Class<?> parameterType : parameterTypes) {
+			if (!isAccessible(parameterType, classLoader)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAccessible(Class<?> type, ClassLoader classLoader) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		return (type.isPrimitive() ||
+				(Modifier.isPublic(type.getModifiers()) && ClassUtils.isVisible(type, classLoader)));
+	}
+
+	private static byte[] generateClass(String internalName, Member member, Class<?>[] parameterTypes,
+			final ClassLoader classLoader) {
+
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+			@Override
+			protected ClassLoader getClassLoader() {
+				return classLoader;
+			}
+		};
+		cw.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, SUPERCLASS_NAME, null);
+
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, SUPERCLASS_NAME, "<init>", "()V", false);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Object doInvoke(Object target, Object[] args)
+		mv = cw.visitMethod(ACC_PROTECTED, "doInvoke", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;",
+				null, null);
+		mv.visitCode();
+		String owner = Type.getInternalName(member.getDeclaringClass());
+		if (member instanceof Constructor) {
+			mv.visitTypeInsn(NEW, owner);
+			mv.visitInsn(DUP);
+			loadArguments(mv, parameterTypes);
+			mv.visitMethodInsn(INVOKESPECIAL, owner, "<init>",
+					Type.getConstructorDescriptor((Constructor<?>) member), false);
+		}
+		else {
+			Method method = (Method) member;
+			boolean isInterface = method.getDeclaringClass().isInterface();
+			if (Modifier.isStatic(method.getModifiers())) {
+				loadArguments(mv, parameterTypes);
+				mv.visitMethodInsn(INVOKESTATIC, owner, method.getName(), Type.getMethodDescriptor(method), false);
+			}
+			else {
+				mv.visitVarInsn(ALOAD, 1);
+				mv.visitTypeInsn(CHECKCAST, owner);
+				loadArguments(mv, parameterTypes);
+				mv.visitMethodInsn(isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL, owner, method.getName(),
+						Type.getMethodDescriptor(method), isInterface);
+			}
+			BytecodeGenerationUtils.box(mv, Type.getType(method.getReturnType()));
+		}
+		mv.visitInsn(ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void loadArguments(MethodVisitor mv, Class<?>[] parameterTypes) {
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(ALOAD, 2);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(AALOAD);
+			BytecodeGenerationUtils.unbox(mv, Type.getType(parameterTypes[i]));
+		}
+	}
+
+}
@@ -92,6 +92,9 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	/** Package-visible field for caching partly prepared constructor arguments */
 	Object[] preparedConstructorArguments;
 
+	/** Package-visible field for caching a generated instantiator for the resolved constructor or factory method */
+	volatile GeneratedInstantiator generatedInstantiator;
+
 	/** Common lock for the two post-processing fields below */
 	final Object postProcessingLock = new Object();
 
@@ -96,7 +96,7 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 					}
 				}
 			}
-			return BeanUtils.instantiateClass(constructorToUse);
+			return instantiateClass(bd, constructorToUse);
 		}
 		else {
 			// Must generate CGLIB subclass.
@@ -132,7 +132,7 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 					}
 				});
 			}
-			return BeanUtils.instantiateClass(ctor, args);
+			return instantiateClass(bd, ctor, args);
 		}
 		else {
 			return instantiateWithMethodInjection(bd, beanName, owner, ctor, args);
@@ -175,15 +175,11 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 			Method priorInvokedFactoryMethod = currentlyInvokedFactoryMethod.get();
 			try {
 				currentlyInvokedFactoryMethod.set(factoryMethod);
-				return factoryMethod.invoke(factoryBean, args);
+				return invokeFactoryMethod(bd, factoryBean, factoryMethod, args);
 			}
 			finally {
-				if (priorInvokedFactoryMethod != null) {
-					currentlyInvokedFactoryMethod.set(priorInvokedFactoryMethod);
-				}
-				else {
-					currentlyInvokedFactoryMethod.remove();
-				}
+				// Reset rather than remove: avoids re-creating the thread's map entry on every invocation.
+				currentlyInvokedFactoryMethod.set(priorInvokedFactoryMethod);
 			}
 		}
 		catch (IllegalArgumentException ex) {
@@ -206,4 +202,52 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 		}
 	}
 
+	/**
+	 * Create a new instance of the bean class through the given constructor.
+	 * <p>The default implementation delegates to
+	 * {@link BeanUtils#instantiateClass(Constructor, Object...)}.
+	 * Subclasses may override this in order to avoid reflective invocation.
+	 * <p>
+	 *  通过给定的构造函数创建bean类的新实例<p>默认实现委托给{@link BeanUtils#instantiateClass(Constructor, Object...)}子类可以覆盖此方法以避免反射调用
+	 * 
+	 * 
+	 * @param bd the bean definition
+	 * @param ctor the constructor to use
+	 * @param args the constructor arguments to apply
+	 * @return the new instance
+	 * @throws BeanInstantiationException if the instantiation attempt failed
+	 * @since 4.3.6
+	 */
+	protected Object instantiateClass(RootBeanDefinition bd, Constructor<?> ctor, Object... args)
+			throws BeanInstantiationException {
+
+		return BeanUtils.instantiateClass(ctor, args);
+	}
+
+	/**
+	 * Invoke the given factory method, with the
+	 * {@link #getCurrentlyInvokedFactoryMethod() currently invoked factory method}
+	 * already exposed. The default implementation uses reflection.
+	 * Subclasses may override this in order to avoid reflective invocation.
+	 * <p>
+	 *  调用给定的工厂方法,此时{@link #getCurrentlyInvokedFactoryMethod() 当前调用的工厂方法}已经公开默认实现使用反射子类可以覆盖此方法以避免反射调用
+	 * 
+	 * 
+	 * @param bd the bean definition
+	 * @param factoryBean the factory bean instance to call the factory method on,
+	 * or {@code null} in case of a static factory method
+	 * @param factoryMethod the factory method to use
+	 * @param args the factory method arguments to apply
+	 * @return the object returned by the factory method
+	 * @throws IllegalAccessException if the factory method is not accessible
+	 * @throws InvocationTargetException if the factory method threw an exception
+	 * @since 4.3.6
+	 * @see Method#invoke
+	 */
+	protected Object invokeFactoryMethod(RootBeanDefinition bd, Object factoryBean, Method factoryMethod,
+			Object... args) throws IllegalAccessException, InvocationTargetException {
+
+		return factoryMethod.invoke(factoryBean, args);
+	}
+
 }
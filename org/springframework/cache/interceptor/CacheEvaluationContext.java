@@ -17,17 +17,17 @@
 
 package org.springframework.cache.interceptor;
 
-import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.springframework.context.expression.MethodArgumentLayout;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
-import org.springframework.core.ParameterNameDiscoverer;
 
 /**
  * Cache specific evaluation context that adds a method parameters as SpEL
- * variables, in a lazy manner. The lazy nature eliminates unneeded
- * parsing of classes byte code for parameter discovery.
+ * variables, looked up in the actual arguments through a pre-resolved
+ * {@link MethodArgumentLayout}. This eliminates parameter discovery for
+ * every evaluation.
  *
  * <p>Also define a set of "unavailable variables" (i.e. variables that should
  * lead to an exception right the way when they are accessed). This can be useful
@@ -52,13 +52,11 @@ import org.springframework.core.ParameterNameDiscoverer;
  */
 class CacheEvaluationContext extends MethodBasedEvaluationContext {
 
-	private final Set<String> unavailableVariables = new HashSet<String>(1);
+	private Set<String> unavailableVariables;
 
 
-	CacheEvaluationContext(Object rootObject, Method method, Object[] arguments,
-			ParameterNameDiscoverer parameterNameDiscoverer) {
-
-		super(rootObject, method, arguments, parameterNameDiscoverer);
+	CacheEvaluationContext(Object rootObject, MethodArgumentLayout argumentLayout, Object[] arguments) {
+		super(rootObject, argumentLayout, arguments);
 	}
 
 
@@ -71,9 +69,25 @@ class CacheEvaluationContext extends MethodBasedEvaluationContext {
 	 * <p>
 	 */
 	public void addUnavailableVariable(String name) {
+		if (this.unavailableVariables == null) {
+			this.unavailableVariables = new HashSet<String>(1);
+		}
 		this.unavailableVariables.add(name);
 	}
 
+	/**
+	 * Return whether any variable has been declared as unavailable.
+	 * <p>
+	 *  返回是否已将任何变量声明为不可用
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see #addUnavailableVariable(String)
+	 */
+	boolean hasUnavailableVariables() {
+		return (this.unavailableVariables != null);
+	}
+
 
 	/**
 	 * Load the param information only when needed.
@@ -83,7 +97,7 @@ class CacheEvaluationContext extends MethodBasedEvaluationContext {
 	 */
 	@Override
 	public Object lookupVariable(String name) {
-		if (this.unavailableVariables.contains(name)) {
+		if (this.unavailableVariables != null && this.unavailableVariables.contains(name)) {
 			throw new VariableNotAvailableException(name);
 		}
 		return super.lookupVariable(name);
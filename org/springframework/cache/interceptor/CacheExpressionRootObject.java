@@ -25,6 +25,7 @@ import org.springframework.util.Assert;
 
 /**
  * Class describing the root object used during the expression evaluation.
+ * Public so that compiled expressions are able to access its properties.
  *
  * <p>
  *  除非适用法律要求或以书面形式同意,根据许可证分发的软件以"按原样"分发,不附带任何明示或暗示的担保或条件,请参阅许可证中有关特定语言的权限和限制许可证
@@ -34,7 +35,7 @@ import org.springframework.util.Assert;
  * @author Sam Brannen
  * @since 3.1
  */
-class CacheExpressionRootObject {
+public class CacheExpressionRootObject {
 
 	private final Collection<? extends Cache> caches;
 
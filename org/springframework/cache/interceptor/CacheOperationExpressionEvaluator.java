@@ -28,8 +28,12 @@ import org.springframework.cache.Cache;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
+import org.springframework.context.expression.MethodArgumentLayout;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 /**
  * Utility class handling the SpEL expression parsing.
@@ -77,14 +81,35 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	public static final String RESULT_VARIABLE = "result";
 
 
-	private final Map<ExpressionKey, Expression> keyCache = new ConcurrentHashMap<ExpressionKey, Expression>(64);
+	private final Map<ExpressionKey, Expression> keyCache = createExpressionCache();
 
-	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<ExpressionKey, Expression>(64);
+	private final Map<ExpressionKey, Expression> conditionCache = createExpressionCache();
 
-	private final Map<ExpressionKey, Expression> unlessCache = new ConcurrentHashMap<ExpressionKey, Expression>(64);
+	// Conditions evaluated before the result is available get expressions of their own: a compiled
+	// condition failing on an unavailable #result would otherwise revert to interpretation on every
+	// such evaluation, getting recompiled over and over again.
+	private final Map<ExpressionKey, Expression> resultUnavailableConditionCache = createExpressionCache();
 
-	private final Map<AnnotatedElementKey, Method> targetMethodCache =
-			new ConcurrentHashMap<AnnotatedElementKey, Method>(64);
+	private final Map<ExpressionKey, Expression> unlessCache = createExpressionCache();
+
+	private final Map<AnnotatedElementKey, MethodArgumentLayout> argumentLayoutCache =
+			new ConcurrentHashMap<AnnotatedElementKey, MethodArgumentLayout>(64);
+
+
+	/**
+	 * Create a new instance with a {@link SpelExpressionParser} that compiles
+	 * expressions once they have been evaluated often enough, falling back to
+	 * interpretation if a compiled expression fails at runtime.
+	 * <p>
+	 *  使用{@link SpelExpressionParser}创建一个新实例,该解析器在表达式被评估足够多次后对其进行编译,如果编译后的表达式在运行时失败,则回退到解释模式
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see SpelCompilerMode#MIXED
+	 */
+	public CacheOperationExpressionEvaluator() {
+		super(new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null)));
+	}
 
 
 	/**
@@ -122,9 +147,8 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 
 		CacheExpressionRootObject rootObject = new CacheExpressionRootObject(
 				caches, method, args, target, targetClass);
-		Method targetMethod = getTargetMethod(targetClass, method);
 		CacheEvaluationContext evaluationContext = new CacheEvaluationContext(
-				rootObject, targetMethod, args, getParameterNameDiscoverer());
+				rootObject, getArgumentLayout(targetClass, method), args);
 		if (result == RESULT_UNAVAILABLE) {
 			evaluationContext.addUnavailableVariable(RESULT_VARIABLE);
 		}
@@ -142,7 +166,10 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	}
 
 	public boolean condition(String conditionExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-		return getExpression(this.conditionCache, methodKey, conditionExpression).getValue(evalContext, boolean.class);
+		Map<ExpressionKey, Expression> cache = (evalContext instanceof CacheEvaluationContext &&
+				((CacheEvaluationContext) evalContext).hasUnavailableVariables() ?
+				this.resultUnavailableConditionCache : this.conditionCache);
+		return getExpression(cache, methodKey, conditionExpression).getValue(evalContext, boolean.class);
 	}
 
 	public boolean unless(String unlessExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
@@ -157,21 +184,23 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	void clear() {
 		this.keyCache.clear();
 		this.conditionCache.clear();
+		this.resultUnavailableConditionCache.clear();
 		this.unlessCache.clear();
-		this.targetMethodCache.clear();
+		this.argumentLayoutCache.clear();
 	}
 
-	private Method getTargetMethod(Class<?> targetClass, Method method) {
+	private MethodArgumentLayout getArgumentLayout(Class<?> targetClass, Method method) {
 		AnnotatedElementKey methodKey = new AnnotatedElementKey(method, targetClass);
-		Method targetMethod = this.targetMethodCache.get(methodKey);
-		if (targetMethod == null) {
-			targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+		MethodArgumentLayout argumentLayout = this.argumentLayoutCache.get(methodKey);
+		if (argumentLayout == null) {
+			Method targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
 			if (targetMethod == null) {
 				targetMethod = method;
 			}
-			this.targetMethodCache.put(methodKey, targetMethod);
+			argumentLayout = new MethodArgumentLayout(targetMethod, getParameterNameDiscoverer());
+			this.argumentLayoutCache.put(methodKey, argumentLayout);
 		}
-		return targetMethod;
+		return argumentLayout;
 	}
 
 
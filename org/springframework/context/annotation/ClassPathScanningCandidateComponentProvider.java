@@ -23,6 +23,7 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,6 +33,9 @@ import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ResourceLoaderAware;
+import org.springframework.context.index.CandidateComponentsIndex;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
 import org.springframework.core.env.StandardEnvironment;
@@ -44,9 +48,11 @@ import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.TypeFilter;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Indexed;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
@@ -60,12 +66,18 @@ import org.springframework.util.ClassUtils;
  * {@link org.springframework.core.type.classreading.MetadataReader MetadataReader}
  * facility, backed by an ASM {@link org.springframework.asm.ClassReader ClassReader}.
  *
+ * <p>If a {@code META-INF/spring.components} index generated at compile time is
+ * available on the classpath, candidate classes are looked up in the index rather
+ * than by scanning the class files of the base package.
+ *
  * <p>
  *  从基础包扫描类路径的组件提供程序然后对所生成的类应用exclude和include过滤器以查找候选项
  * 
  * <p>此实现基于Spring的{@link orgspringframeworkcoretypeclassreadingMetadataReader MetadataReader}工具,由ASM {@link orgspringframeworkasmClassReader ClassReader}
  * 支持,。
  * 
+ * <p>如果类路径上有在编译时生成的{@code META-INF/spring.components}索引,则在索引中查找候选类,而不是扫描基础包的类文件
+ * 
  * 
  * @author Mark Fisher
  * @author Juergen Hoeller
@@ -75,6 +87,7 @@ import org.springframework.util.ClassUtils;
  * @see org.springframework.core.type.classreading.MetadataReaderFactory
  * @see org.springframework.core.type.AnnotationMetadata
  * @see ScannedGenericBeanDefinition
+ * @see CandidateComponentsIndex
  */
 public class ClassPathScanningCandidateComponentProvider implements EnvironmentCapable, ResourceLoaderAware {
 
@@ -97,6 +110,10 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	private ConditionEvaluator conditionEvaluator;
 
+	private CandidateComponentsIndex componentsIndex;
+
+	private Executor parsingExecutor;
+
 
 	/**
 	 * Create a ClassPathScanningCandidateComponentProvider with a {@link StandardEnvironment}.
@@ -151,6 +168,7 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		}
 		Assert.notNull(environment, "Environment must not be null");
 		this.environment = environment;
+		this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(this.resourcePatternResolver.getClassLoader());
 	}
 
 
@@ -171,6 +189,7 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	public void setResourceLoader(ResourceLoader resourceLoader) {
 		this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
 		this.metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
+		this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(this.resourcePatternResolver.getClassLoader());
 	}
 
 	/**
@@ -208,6 +227,36 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return this.metadataReaderFactory;
 	}
 
+	/**
+	 * Specify an {@link Executor} for reading the class files of candidate
+	 * components in parallel, e.g. a {@link java.util.concurrent.ForkJoinPool}.
+	 * <p>Default is none, reading the class files one after the other. Type filters
+	 * are always applied sequentially, so the resulting candidate components and
+	 * their order are the same either way; the {@link MetadataReaderFactory}
+	 * needs to be thread-safe though, as all the default implementations are.
+	 * <p>
+	 *  指定用于并行读取候选组件的类文件的{@link Executor},例如{@link java.util.concurrent.ForkJoinPool}
+	 * <p>默认值为无,逐个读取类文件类型过滤器始终按顺序应用,因此无论哪种方式,生成的候选组件及其顺序都是相同的;但是{@link MetadataReaderFactory}需要是线程安全的,所有默认实现都是如此
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public void setParsingExecutor(Executor parsingExecutor) {
+		this.parsingExecutor = parsingExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for reading class files in parallel, if any.
+	 * <p>
+	 *  返回用于并行读取类文件的{@link Executor}(如果有)
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public final Executor getParsingExecutor() {
+		return this.parsingExecutor;
+	}
+
 	/**
 	 * Set the Environment to use when resolving placeholders and evaluating
 	 * {@link Conditional @Conditional}-annotated component classes.
@@ -334,28 +383,140 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	/**
 	 * Scan the class path for candidate components.
+	 * <p>If a {@link CandidateComponentsIndex components index} is available on
+	 * the classpath and supports all include filters, the candidates are looked
+	 * up in the index instead of scanning the class files of the base package.
 	 * <p>
-	 *  扫描候选组件的类路径
+	 *  扫描候选组件的类路径
+	 * 
+	 *  <p>如果类路径上有可用的{@link CandidateComponentsIndex组件索引}并且它支持所有包含过滤器,则在索引中查找候选项,而不是扫描基础包的类文件
 	 * 
 	 * 
 	 * @param basePackage the package to check for annotated classes
 	 * @return a corresponding Set of autodetected bean definitions
+	 * @see CandidateComponentsIndexLoader
 	 */
 	public Set<BeanDefinition> findCandidateComponents(String basePackage) {
+		if (this.componentsIndex != null && indexSupportsIncludeFilters()) {
+			return addCandidateComponentsFromIndex(this.componentsIndex, basePackage);
+		}
+		else {
+			return scanCandidateComponents(basePackage);
+		}
+	}
+
+	/**
+	 * Determine if the index can be used by this instance.
+	 * <p>
+	 *  确定此实例是否可以使用索引
+	 * 
+	 * 
+	 * @return {@code true} if the index is available and the configuration of this
+	 * instance is supported by it, {@code false} otherwise
+	 */
+	private boolean indexSupportsIncludeFilters() {
+		if (!DEFAULT_RESOURCE_PATTERN.equals(this.resourcePattern)) {
+			return false;
+		}
+		for (TypeFilter includeFilter : this.includeFilters) {
+			if (extractStereotype(includeFilter) == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Extract the stereotype to use for the specified compatible filter.
+	 * <p>
+	 *  提取用于指定兼容过滤器的构造型
+	 * 
+	 * 
+	 * @param filter the filter to handle
+	 * @return the stereotype in the index matching this filter, or {@code null}
+	 * if the filter is not supported by the index
+	 */
+	private String extractStereotype(TypeFilter filter) {
+		if (filter instanceof AnnotationTypeFilter) {
+			Class<? extends Annotation> annotationType = ((AnnotationTypeFilter) filter).getAnnotationType();
+			if (AnnotationUtils.isAnnotationDeclaredLocally(Indexed.class, annotationType) ||
+					annotationType.getName().startsWith("javax.")) {
+				return annotationType.getName();
+			}
+		}
+		if (filter instanceof AssignableTypeFilter) {
+			Class<?> targetType = ((AssignableTypeFilter) filter).getTargetType();
+			if (AnnotationUtils.isAnnotationDeclaredLocally(Indexed.class, targetType)) {
+				return targetType.getName();
+			}
+		}
+		return null;
+	}
+
+	private Set<BeanDefinition> addCandidateComponentsFromIndex(CandidateComponentsIndex index, String basePackage) {
+		Set<BeanDefinition> candidates = new LinkedHashSet<BeanDefinition>();
+		String packageName = ClassUtils.convertResourcePathToClassName(resolveBasePackage(basePackage));
+		Set<String> types = new LinkedHashSet<String>();
+		for (TypeFilter filter : this.includeFilters) {
+			types.addAll(index.getCandidateTypes(packageName, extractStereotype(filter)));
+		}
+		boolean traceEnabled = logger.isTraceEnabled();
+		boolean debugEnabled = logger.isDebugEnabled();
+		for (String type : types) {
+			try {
+				MetadataReader metadataReader = this.metadataReaderFactory.getMetadataReader(type);
+				if (isCandidateComponent(metadataReader)) {
+					ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
+					sbd.setResource(metadataReader.getResource());
+					sbd.setSource(metadataReader.getResource());
+					if (isCandidateComponent(sbd)) {
+						if (debugEnabled) {
+							logger.debug("Using candidate component class from index: " + type);
+						}
+						candidates.add(sbd);
+					}
+					else {
+						if (debugEnabled) {
+							logger.debug("Ignored because not a concrete top-level class: " + type);
+						}
+					}
+				}
+				else {
+					if (traceEnabled) {
+						logger.trace("Ignored because matching an exclude filter: " + type);
+					}
+				}
+			}
+			catch (Throwable ex) {
+				throw new BeanDefinitionStoreException(
+						"Failed to read candidate component class: " + type, ex);
+			}
+		}
+		return candidates;
+	}
+
+	private Set<BeanDefinition> scanCandidateComponents(String basePackage) {
 		Set<BeanDefinition> candidates = new LinkedHashSet<BeanDefinition>();
 		try {
 			String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
 					resolveBasePackage(basePackage) + "/" + this.resourcePattern;
 			Resource[] resources = this.resourcePatternResolver.getResources(packageSearchPath);
+			MetadataReader[] metadataReaders = (this.parsingExecutor != null && resources.length > 1 ?
+					ParallelMetadataReading.getMetadataReaders(this.metadataReaderFactory, resources, this.parsingExecutor) :
+					null);
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
-			for (Resource resource : resources) {
+			for (int i = 0; i < resources.length; i++) {
+				Resource resource = resources[i];
 				if (traceEnabled) {
 					logger.trace("Scanning " + resource);
 				}
 				if (resource.isReadable()) {
 					try {
-						MetadataReader metadataReader = this.metadataReaderFactory.getMetadataReader(resource);
+						MetadataReader metadataReader = (metadataReaders != null ? metadataReaders[i] : null);
+						if (metadataReader == null) {
+							metadataReader = this.metadataReaderFactory.getMetadataReader(resource);
+						}
 						if (isCandidateComponent(metadataReader)) {
 							ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
 							sbd.setResource(resource);
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.BeanUtils;
@@ -33,6 +34,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.core.type.filter.AbstractTypeHierarchyTraversingFilter;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AspectJTypeFilter;
@@ -63,18 +65,25 @@ class ComponentScanAnnotationParser {
 
 	private final ResourceLoader resourceLoader;
 
+	private final MetadataReaderFactory metadataReaderFactory;
+
 	private final BeanNameGenerator beanNameGenerator;
 
 	private final BeanDefinitionRegistry registry;
 
+	private final Executor parsingExecutor;
+
 
 	public ComponentScanAnnotationParser(Environment environment, ResourceLoader resourceLoader,
-			BeanNameGenerator beanNameGenerator, BeanDefinitionRegistry registry) {
+			MetadataReaderFactory metadataReaderFactory, BeanNameGenerator beanNameGenerator,
+			BeanDefinitionRegistry registry, Executor parsingExecutor) {
 
 		this.resourceLoader = resourceLoader;
+		this.metadataReaderFactory = metadataReaderFactory;
 		this.environment = environment;
 		this.beanNameGenerator = beanNameGenerator;
 		this.registry = registry;
+		this.parsingExecutor = parsingExecutor;
 	}
 
 
@@ -86,6 +95,11 @@ class ComponentScanAnnotationParser {
 				new ClassPathBeanDefinitionScanner(this.registry, componentScan.getBoolean("useDefaultFilters"));
 		scanner.setEnvironment(this.environment);
 		scanner.setResourceLoader(this.resourceLoader);
+		if (this.metadataReaderFactory != null) {
+			// Share class metadata with configuration class processing
+			scanner.setMetadataReaderFactory(this.metadataReaderFactory);
+		}
+		scanner.setParsingExecutor(this.parsingExecutor);
 
 		Class<? extends BeanNameGenerator> generatorClass = componentScan.getClass("nameGenerator");
 		boolean useInheritedGenerator = (BeanNameGenerator.class == generatorClass);
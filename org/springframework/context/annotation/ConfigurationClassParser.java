@@ -33,6 +33,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -138,6 +139,8 @@ class ConfigurationClassParser {
 
 	private final BeanDefinitionRegistry registry;
 
+	private final Executor parsingExecutor;
+
 	private final ComponentScanAnnotationParser componentScanParser;
 
 	private final ConditionEvaluator conditionEvaluator;
@@ -165,13 +168,33 @@ class ConfigurationClassParser {
 			ProblemReporter problemReporter, Environment environment, ResourceLoader resourceLoader,
 			BeanNameGenerator componentScanBeanNameGenerator, BeanDefinitionRegistry registry) {
 
+		this(metadataReaderFactory, problemReporter, environment, resourceLoader,
+				componentScanBeanNameGenerator, registry, null);
+	}
+
+	/**
+	 * Create a new {@link ConfigurationClassParser} instance that will be used
+	 * to populate the set of configuration classes, reading class files with
+	 * the given {@link Executor} in parallel where possible.
+	 * <p>
+	 *  创建一个新的{@link ConfigurationClassParser}实例,用于填充一组配置类,并在可能的情况下使用给定的{@link Executor}并行读取类文件
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public ConfigurationClassParser(MetadataReaderFactory metadataReaderFactory,
+			ProblemReporter problemReporter, Environment environment, ResourceLoader resourceLoader,
+			BeanNameGenerator componentScanBeanNameGenerator, BeanDefinitionRegistry registry,
+			Executor parsingExecutor) {
+
 		this.metadataReaderFactory = metadataReaderFactory;
 		this.problemReporter = problemReporter;
 		this.environment = environment;
 		this.resourceLoader = resourceLoader;
 		this.registry = registry;
-		this.componentScanParser = new ComponentScanAnnotationParser(
-				environment, resourceLoader, componentScanBeanNameGenerator, registry);
+		this.parsingExecutor = parsingExecutor;
+		this.componentScanParser = new ComponentScanAnnotationParser(environment, resourceLoader,
+				metadataReaderFactory, componentScanBeanNameGenerator, registry, parsingExecutor);
 		this.conditionEvaluator = new ConditionEvaluator(registry, environment, resourceLoader);
 	}
 
@@ -179,8 +202,22 @@ class ConfigurationClassParser {
 	public void parse(Set<BeanDefinitionHolder> configCandidates) {
 		this.deferredImportSelectors = new LinkedList<DeferredImportSelectorHolder>();
 
+		MetadataReader[] metadataReaders = null;
+		if (this.parsingExecutor != null && configCandidates.size() > 1) {
+			List<String> classNames = new ArrayList<String>(configCandidates.size());
+			for (BeanDefinitionHolder holder : configCandidates) {
+				BeanDefinition bd = holder.getBeanDefinition();
+				boolean needsReading = !(bd instanceof AnnotatedBeanDefinition) &&
+						!(bd instanceof AbstractBeanDefinition && ((AbstractBeanDefinition) bd).hasBeanClass());
+				classNames.add(needsReading ? bd.getBeanClassName() : null);
+			}
+			metadataReaders = getMetadataReaders(classNames);
+		}
+
+		int index = 0;
 		for (BeanDefinitionHolder holder : configCandidates) {
 			BeanDefinition bd = holder.getBeanDefinition();
+			MetadataReader metadataReader = (metadataReaders != null ? metadataReaders[index++] : null);
 			try {
 				if (bd instanceof AnnotatedBeanDefinition) {
 					parse(((AnnotatedBeanDefinition) bd).getMetadata(), holder.getBeanName());
@@ -188,6 +225,9 @@ class ConfigurationClassParser {
 				else if (bd instanceof AbstractBeanDefinition && ((AbstractBeanDefinition) bd).hasBeanClass()) {
 					parse(((AbstractBeanDefinition) bd).getBeanClass(), holder.getBeanName());
 				}
+				else if (metadataReader != null) {
+					processConfigurationClass(new ConfigurationClass(metadataReader, holder.getBeanName()));
+				}
 				else {
 					parse(bd.getBeanClassName(), holder.getBeanName());
 				}
@@ -217,6 +257,20 @@ class ConfigurationClassParser {
 		processConfigurationClass(new ConfigurationClass(metadata, beanName));
 	}
 
+	/**
+	 * Read the metadata for the given classes in parallel.
+	 * <p>
+	 *  并行读取给定类的元数据
+	 * 
+	 * 
+	 * @param classNames the class names ({@code null} entries are skipped)
+	 * @return the metadata readers in the order of the given class names,
+	 * with {@code null} entries for classes to be read sequentially
+	 * @see ParallelMetadataReading
+	 */
+	private MetadataReader[] getMetadataReaders(List<String> classNames) {
+		return ParallelMetadataReading.getMetadataReaders(this.metadataReaderFactory, classNames, this.parsingExecutor);
+	}
 
 	protected void processConfigurationClass(ConfigurationClass configClass) throws IOException {
 		if (this.conditionEvaluator.shouldSkip(configClass.getMetadata(), ConfigurationPhase.PARSE_CONFIGURATION)) {
@@ -291,8 +345,26 @@ class ConfigurationClassParser {
 				Set<BeanDefinitionHolder> scannedBeanDefinitions =
 						this.componentScanParser.parse(componentScan, sourceClass.getMetadata().getClassName());
 				// Check the set of scanned definitions for any further config classes and parse recursively if necessary
+				List<BeanDefinitionHolder> configCandidates = new ArrayList<BeanDefinitionHolder>();
 				for (BeanDefinitionHolder holder : scannedBeanDefinitions) {
 					if (ConfigurationClassUtils.checkConfigurationClassCandidate(holder.getBeanDefinition(), this.metadataReaderFactory)) {
+						configCandidates.add(holder);
+					}
+				}
+				MetadataReader[] metadataReaders = null;
+				if (this.parsingExecutor != null && configCandidates.size() > 1) {
+					List<String> classNames = new ArrayList<String>(configCandidates.size());
+					for (BeanDefinitionHolder holder : configCandidates) {
+						classNames.add(holder.getBeanDefinition().getBeanClassName());
+					}
+					metadataReaders = getMetadataReaders(classNames);
+				}
+				for (int i = 0; i < configCandidates.size(); i++) {
+					BeanDefinitionHolder holder = configCandidates.get(i);
+					if (metadataReaders != null && metadataReaders[i] != null) {
+						processConfigurationClass(new ConfigurationClass(metadataReaders[i], holder.getBeanName()));
+					}
+					else {
 						parse(holder.getBeanDefinition().getBeanClassName(), holder.getBeanName());
 					}
 				}
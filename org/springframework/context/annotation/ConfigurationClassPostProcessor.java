@@ -28,6 +28,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -128,6 +129,8 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 	private boolean setMetadataReaderFactoryCalled = false;
 
+	private Executor parsingExecutor;
+
 	private final Set<Integer> registriesPostProcessed = new HashSet<Integer>();
 
 	private final Set<Integer> factoriesPostProcessed = new HashSet<Integer>();
@@ -182,10 +185,17 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	 * Set the {@link MetadataReaderFactory} to use.
 	 * <p>Default is a {@link CachingMetadataReaderFactory} for the specified
 	 * {@linkplain #setBeanClassLoader bean class loader}.
+	 * <p>The given factory is also used for component scanning triggered by
+	 * {@link ComponentScan @ComponentScan}. Consider a
+	 * {@link org.springframework.core.type.classreading.PersistentMetadataReaderFactory}
+	 * for reusing class metadata across restarts.
 	 * <p>
 	 *  将{@link MetadataReaderFactory}设置为使用<p>对于指定的{@linkplain #setBeanClassLoader bean类加载器,Default是一个{@link CachingMetadataReaderFactory}
 	 * 。
 	 * 
+	 *  <p>给定的工厂也用于由{@link ComponentScan @ComponentScan}触发的组件扫描考虑使用
+	 * {@link org.springframework.core.type.classreading.PersistentMetadataReaderFactory}在重新启动之间重用类元数据
+	 * 
 	 */
 	public void setMetadataReaderFactory(MetadataReaderFactory metadataReaderFactory) {
 		Assert.notNull(metadataReaderFactory, "MetadataReaderFactory must not be null");
@@ -193,6 +203,30 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		this.setMetadataReaderFactoryCalled = true;
 	}
 
+	/**
+	 * Specify an {@link Executor} for reading class files in parallel, e.g. a
+	 * {@link java.util.concurrent.ForkJoinPool}: for classpath scanning triggered by
+	 * {@link ComponentScan @ComponentScan} as well as for configuration classes
+	 * that are not known by their metadata yet.
+	 * <p>Default is none, reading class files one after the other. Configuration
+	 * classes are still processed sequentially, so bean definitions get registered
+	 * in the same order either way. The {@link #setMetadataReaderFactory
+	 * MetadataReaderFactory} needs to be thread-safe for this purpose, as all
+	 * the default implementations are.
+	 * <p>
+	 *  指定用于并行读取类文件的{@link Executor},例如{@link java.util.concurrent.ForkJoinPool}：用于由{@link ComponentScan @ComponentScan}
+	 * 触发的类路径扫描以及尚不知道其元数据的配置类
+	 * <p>默认值为无,逐个读取类文件配置类仍按顺序处理,因此无论哪种方式,bean定义都以相同的顺序注册为此,{@link #setMetadataReaderFactory MetadataReaderFactory}
+	 * 需要是线程安全的,所有默认实现都是如此
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see ClassPathScanningCandidateComponentProvider#setParsingExecutor
+	 */
+	public void setParsingExecutor(Executor parsingExecutor) {
+		this.parsingExecutor = parsingExecutor;
+	}
+
 	/**
 	 * Set the {@link BeanNameGenerator} to be used when triggering component scanning
 	 * from {@link Configuration} classes and when registering {@link Import}'ed
@@ -354,7 +388,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		// Parse each @Configuration class
 		ConfigurationClassParser parser = new ConfigurationClassParser(
 				this.metadataReaderFactory, this.problemReporter, this.environment,
-				this.resourceLoader, this.componentScanBeanNameGenerator, registry);
+				this.resourceLoader, this.componentScanBeanNameGenerator, registry, this.parsingExecutor);
 
 		Set<BeanDefinitionHolder> candidates = new LinkedHashSet<BeanDefinitionHolder>(configCandidates);
 		Set<ConfigurationClass> alreadyParsed = new HashSet<ConfigurationClass>(configCandidates.size());
@@ -0,0 +1,167 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+/**
+ * Utilities for reading the metadata of a number of classes in parallel.
+ *
+ * <p>Reading is a best-effort optimization: the returned readers are in the
+ * order of the given classes, with {@code null} entries for any class that
+ * could not be read. Callers are expected to process the classes sequentially
+ * in their original order, reading such classes again through the
+ * {@link MetadataReaderFactory} in order to report the failure the same way
+ * as without parallel reading.
+ *
+ * <p>The calling thread takes part in the reading: it reads any classes that
+ * no executor task has picked up yet, and then only waits for reads already in
+ * progress. The executor may therefore be the pool that the caller runs in
+ * (or be saturated), without starving or deadlocking the caller.
+ *
+ * <p>
+ *  用于并行读取多个类的元数据的实用程序
+ * 
+ *  <p>读取是一种尽力而为的优化：返回的读取器与给定类的顺序相同,对于无法读取的任何类,条目为{@code null}
+ * 调用者应按原始顺序依次处理这些类,通过{@link MetadataReaderFactory}再次读取此类类,以便以与不进行并行读取时相同的方式报告失败
+ * 
+ *  <p>调用线程参与读取：它读取尚未被任何执行器任务获取的类,然后只等待已在进行中的读取因此,执行器可以是调用者所在的线程池(或已饱和),而不会使调用者饥饿或死锁
+ * 
+ * 
+ * @since 4.3.6
+ * @see ConfigurationClassPostProcessor#setParsingExecutor
+ * @see ClassPathScanningCandidateComponentProvider#setParsingExecutor
+ */
+abstract class ParallelMetadataReading {
+
+	private static final Log logger = LogFactory.getLog(ParallelMetadataReading.class);
+
+
+	/**
+	 * Read the metadata for the given class file resources.
+	 * <p>
+	 *  读取给定类文件资源的元数据
+	 * 
+	 * 
+	 * @param metadataReaderFactory the factory to read the metadata with (must be thread-safe)
+	 * @param resources the class file resources
+	 * @param executor the executor to read the metadata with
+	 * @return the metadata readers, in the order of the given resources
+	 */
+	public static MetadataReader[] getMetadataReaders(final MetadataReaderFactory metadataReaderFactory,
+			final Resource[] resources, Executor executor) {
+
+		return getMetadataReaders(resources.length, new ReadCallback() {
+			@Override
+			public MetadataReader read(int index) throws Exception {
+				Resource resource = resources[index];
+				return (resource.isReadable() ? metadataReaderFactory.getMetadataReader(resource) : null);
+			}
+		}, executor);
+	}
+
+	/**
+	 * Read the metadata for the given classes.
+	 * <p>
+	 *  读取给定类的元数据
+	 * 
+	 * 
+	 * @param metadataReaderFactory the factory to read the metadata with (must be thread-safe)
+	 * @param classNames the fully qualified class names ({@code null} entries are skipped)
+	 * @param executor the executor to read the metadata with
+	 * @return the metadata readers, in the order of the given class names
+	 */
+	public static MetadataReader[] getMetadataReaders(final MetadataReaderFactory metadataReaderFactory,
+			final List<String> classNames, Executor executor) {
+
+		return getMetadataReaders(classNames.size(), new ReadCallback() {
+			@Override
+			public MetadataReader read(int index) throws Exception {
+				String className = classNames.get(index);
+				return (className != null ? metadataReaderFactory.getMetadataReader(className) : null);
+			}
+		}, executor);
+	}
+
+	private static MetadataReader[] getMetadataReaders(final int count, final ReadCallback callback, Executor executor) {
+		final MetadataReader[] result = new MetadataReader[count];
+		final CountDownLatch latch = new CountDownLatch(count);
+		final AtomicInteger nextIndex = new AtomicInteger();
+		Runnable task = new Runnable() {
+			@Override
+			public void run() {
+				int index = nextIndex.getAndIncrement();
+				if (index < count) {
+					try {
+						result[index] = callback.read(index);
+					}
+					catch (Throwable ex) {
+						// Left to the caller to read again and to handle the failure
+						if (logger.isTraceEnabled()) {
+							logger.trace("Failed to read class metadata in parallel", ex);
+						}
+					}
+					finally {
+						latch.countDown();
+					}
+				}
+			}
+		};
+		for (int i = 0; i < count; i++) {
+			try {
+				executor.execute(task);
+			}
+			catch (RejectedExecutionException ex) {
+				// Remaining classes get read by the calling thread below
+				break;
+			}
+		}
+		// Read whatever has not been picked up by the executor yet, rather than waiting for it:
+		// the executor may be busy, or even be the pool that the calling thread belongs to.
+		while (nextIndex.get() < count) {
+			task.run();
+		}
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			// Leave all classes to be read sequentially
+			Thread.currentThread().interrupt();
+			return new MetadataReader[count];
+		}
+		return result;
+	}
+
+
+	private interface ReadCallback {
+
+		MetadataReader read(int index) throws Exception;
+	}
+
+}
@@ -17,12 +17,15 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanFactory;
@@ -31,10 +34,13 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Abstract implementation of the {@link ApplicationEventMulticaster} interface,
@@ -50,6 +56,12 @@ import org.springframework.util.ObjectUtils;
  * all events to all registered listeners, invoking them in the calling thread.
  * Alternative implementations could be more sophisticated in those respects.
  *
+ * <p>Registered listeners are kept in an immutable dispatch table which gets
+ * replaced whenever a listener is added or removed. Retrieving the listeners
+ * for an event does not lock, and for events that do not carry generic type
+ * information, {@link #getApplicationListeners(ApplicationEvent)} resolves
+ * them by event class without resolving a {@link ResolvableType} at all.
+ *
  * <p>
  *  抽象实现{@link ApplicationEventMulticaster}界面,提供基本的监听器注册功能
  * 
@@ -59,6 +71,9 @@ import org.springframework.util.ObjectUtils;
  * 只需将所有事件组播到所有注册的监听器,在调用线程中调用它们。
  * 替代实现在这些方面可能更复杂。
  * 
+ *  <p>已注册的侦听器保存在不可变的分派表中,每当添加或删除侦听器时都会替换该表检索事件的侦听器不会加锁,对于不携带泛型类型信息的事件,
+ * {@link #getApplicationListeners(ApplicationEvent)}按事件类解析它们,根本不需要解析{@link ResolvableType}
+ * 
  * 
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -69,16 +84,23 @@ import org.springframework.util.ObjectUtils;
 public abstract class AbstractApplicationEventMulticaster
 		implements ApplicationEventMulticaster, BeanClassLoaderAware, BeanFactoryAware {
 
-	private final ListenerRetriever defaultRetriever = new ListenerRetriever(false);
+	private final Set<ApplicationListener<?>> applicationListeners = new LinkedHashSet<ApplicationListener<?>>();
 
-	final Map<ListenerCacheKey, ListenerRetriever> retrieverCache =
-			new ConcurrentHashMap<ListenerCacheKey, ListenerRetriever>(64);
+	private final Set<String> applicationListenerBeans = new LinkedHashSet<String>();
+
+	private volatile DispatchTable dispatchTable = new DispatchTable(
+			this.applicationListeners, this.applicationListenerBeans);
 
 	private ClassLoader beanClassLoader;
 
 	private BeanFactory beanFactory;
 
-	private Object retrievalMutex = this.defaultRetriever;
+	private Object retrievalMutex = this.applicationListeners;
+
+	/** Whether a subclass customizes {@link #getApplicationListeners(ApplicationEvent, ResolvableType)} */
+	private final boolean customListenerRetrieval = ReflectionUtils.findMethod(getClass(),
+			"getApplicationListeners", ApplicationEvent.class, ResolvableType.class).getDeclaringClass() !=
+			AbstractApplicationEventMulticaster.class;
 
 
 	@Override
@@ -110,65 +132,183 @@ public abstract class AbstractApplicationEventMulticaster
 	@Override
 	public void addApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			this.applicationListeners.add(listener);
+			refreshDispatchTable();
 		}
 	}
 
 	@Override
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			this.applicationListenerBeans.add(listenerBeanName);
+			refreshDispatchTable();
 		}
 	}
 
 	@Override
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			this.applicationListeners.remove(listener);
+			refreshDispatchTable();
 		}
 	}
 
 	@Override
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			this.applicationListenerBeans.remove(listenerBeanName);
+			refreshDispatchTable();
 		}
 	}
 
 	@Override
 	public void removeAllListeners() {
 		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListeners.clear();
-			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			this.applicationListeners.clear();
+			this.applicationListenerBeans.clear();
+			refreshDispatchTable();
 		}
 	}
 
+	/**
+	 * Replace the dispatch table with one reflecting the current listeners,
+	 * discarding all listener retrieval results cached so far.
+	 * <p>To be called while holding the retrieval mutex.
+	 * <p>
+	 *  用反映当前侦听器的分派表替换现有分派表,丢弃到目前为止缓存的所有侦听器检索结果<p>在持有检索互斥锁时调用
+	 * 
+	 */
+	private void refreshDispatchTable() {
+		this.dispatchTable = new DispatchTable(this.applicationListeners, this.applicationListenerBeans);
+	}
+
 
 	/**
 	 * Return a Collection containing all ApplicationListeners.
 	 * <p>
-	 *  返回一个包含所有ApplicationListeners的集合
+	 *  返回一个包含所有ApplicationListeners的集合
 	 * 
 	 * 
 	 * @return a Collection of ApplicationListeners
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners() {
-		synchronized (this.retrievalMutex) {
-			return this.defaultRetriever.getApplicationListeners();
+		DispatchTable table = this.dispatchTable;
+		LinkedList<ApplicationListener<?>> allListeners =
+				new LinkedList<ApplicationListener<?>>(table.applicationListeners);
+		if (!table.applicationListenerBeans.isEmpty()) {
+			BeanFactory beanFactory = getBeanFactory();
+			for (String listenerBeanName : table.applicationListenerBeans) {
+				try {
+					ApplicationListener<?> listener = beanFactory.getBean(listenerBeanName, ApplicationListener.class);
+					if (!allListeners.contains(listener)) {
+						allListeners.add(listener);
+					}
+				}
+				catch (NoSuchBeanDefinitionException ex) {
+					// Singleton listener instance (without backing bean definition) disappeared -
+					// probably in the middle of the destruction phase
+				}
+			}
 		}
+		AnnotationAwareOrderComparator.sort(allListeners);
+		return allListeners;
+	}
+
+	/**
+	 * Return a Collection of ApplicationListeners matching the given
+	 * event, with the event type derived from the event instance itself.
+	 * <p>Equivalent to {@link #getApplicationListeners(ApplicationEvent, ResolvableType)}
+	 * with {@link ResolvableType#forInstance(Object)}, but for events that do not
+	 * expose a {@link ResolvableType} of their own (as well as for plain
+	 * {@link PayloadApplicationEvent PayloadApplicationEvents}), the listeners
+	 * are looked up by event class (or payload class) and source class, without
+	 * resolving the event type again once the listeners have been determined.
+	 * <p>If a subclass overrides {@link #getApplicationListeners(ApplicationEvent, ResolvableType)},
+	 * this method always delegates to it, so that the customized retrieval applies.
+	 * <p>
+	 *  返回与给定事件匹配的ApplicationListeners集合,事件类型从事件实例本身派生
+	 * 
+	 *  <p>等同于使用{@link ResolvableType#forInstance(Object)}调用{@link #getApplicationListeners(ApplicationEvent, ResolvableType)},
+	 * 但对于不公开其自身{@link ResolvableType}的事件(以及普通的{@link PayloadApplicationEvent PayloadApplicationEvents}),
+	 * 侦听器按事件类(或有效负载类)和源类进行查找,一旦确定了侦听器,就不会再次解析事件类型
+	 * <p>如果子类覆盖了{@link #getApplicationListeners(ApplicationEvent, ResolvableType)},此方法始终委托给它,以便应用自定义的检索
+	 * 
+	 * 
+	 * @param event the event to be propagated
+	 * @return a Collection of ApplicationListeners
+	 * @since 4.3.6
+	 * @see #getApplicationListeners(ApplicationEvent, ResolvableType)
+	 */
+	protected Collection<ApplicationListener<?>> getApplicationListeners(ApplicationEvent event) {
+		Object source = event.getSource();
+		Class<?> dispatchType = getDispatchType(event);
+		if (dispatchType == null || source == null || this.customListenerRetrieval) {
+			return getApplicationListeners(event, ResolvableType.forInstance(event));
+		}
+
+		DispatchTable table = this.dispatchTable;
+		ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, ListenerRetriever>> dispatchCache =
+				(event instanceof PayloadApplicationEvent ? table.payloadClassCache : table.eventClassCache);
+		Class<?> sourceType = source.getClass();
+
+		// Quick check for existing entry, without any event type resolution...
+		ConcurrentMap<Class<?>, ListenerRetriever> retrieversBySource = dispatchCache.get(dispatchType);
+		if (retrieversBySource != null) {
+			ListenerRetriever retriever = retrieversBySource.get(sourceType);
+			if (retriever != null) {
+				return retriever.getApplicationListeners();
+			}
+		}
+
+		ResolvableType eventType = ResolvableType.forInstance(event);
+		ListenerRetriever retriever = getListenerRetriever(table, event, eventType, sourceType);
+		if (retriever == null) {
+			return retrieveApplicationListeners(table, eventType, sourceType, null, null);
+		}
+		if (isCacheSafe(dispatchType)) {
+			if (retrieversBySource == null) {
+				retrieversBySource = new ConcurrentHashMap<Class<?>, ListenerRetriever>(4);
+				ConcurrentMap<Class<?>, ListenerRetriever> existing =
+						dispatchCache.putIfAbsent(dispatchType, retrieversBySource);
+				if (existing != null) {
+					retrieversBySource = existing;
+				}
+			}
+			retrieversBySource.putIfAbsent(sourceType, retriever);
+		}
+		return retriever.getApplicationListeners();
+	}
+
+	/**
+	 * Determine the class which, together with the source class, fully determines
+	 * the type of the given event: the event class itself, or the payload class
+	 * in case of a plain {@link PayloadApplicationEvent}.
+	 * <p>
+	 *  确定与源类一起完全确定给定事件类型的类：事件类本身,或者在普通{@link PayloadApplicationEvent}的情况下为有效负载类
+	 * 
+	 * 
+	 * @return the dispatch type, or {@code null} if the event type needs to be
+	 * resolved for the given event instance
+	 */
+	private Class<?> getDispatchType(ApplicationEvent event) {
+		if (!(event instanceof ResolvableTypeProvider)) {
+			return event.getClass();
+		}
+		if (event.getClass() == PayloadApplicationEvent.class) {
+			Object payload = ((PayloadApplicationEvent<?>) event).getPayload();
+			if (payload != null && !(payload instanceof ResolvableTypeProvider)) {
+				return payload.getClass();
+			}
+		}
+		return null;
 	}
 
 	/**
 	 * Return a Collection of ApplicationListeners matching the given
 	 * event type. Non-matching listeners get excluded early.
 	 * <p>
-	 *  返回与给定事件类型匹配的ApplicationListeners集合非匹配的侦听器得到早期排除
+	 *  返回与给定事件类型匹配的ApplicationListeners集合非匹配的侦听器得到早期排除
 	 * 
 	 * 
 	 * @param event the event to be propagated. Allows for excluding
@@ -182,34 +322,52 @@ public abstract class AbstractApplicationEventMulticaster
 
 		Object source = event.getSource();
 		Class<?> sourceType = (source != null ? source.getClass() : null);
+		DispatchTable table = this.dispatchTable;
+		ListenerRetriever retriever = getListenerRetriever(table, event, eventType, sourceType);
+		if (retriever != null) {
+			return retriever.getApplicationListeners();
+		}
+		else {
+			// No ListenerRetriever caching for event or source types from a different ClassLoader
+			return retrieveApplicationListeners(table, eventType, sourceType, null, null);
+		}
+	}
+
+	/**
+	 * Obtain the (cached) ListenerRetriever for the given event type and source type.
+	 * <p>
+	 *  获取给定事件类型和源类型的(缓存的)ListenerRetriever
+	 * 
+	 * 
+	 * @return the ListenerRetriever, or {@code null} if the result is not
+	 * supposed to be cached
+	 */
+	private ListenerRetriever getListenerRetriever(DispatchTable table, ApplicationEvent event,
+			ResolvableType eventType, Class<?> sourceType) {
+
 		ListenerCacheKey cacheKey = new ListenerCacheKey(eventType, sourceType);
 
 		// Quick check for existing entry on ConcurrentHashMap...
-		ListenerRetriever retriever = this.retrieverCache.get(cacheKey);
+		ListenerRetriever retriever = table.retrieverCache.get(cacheKey);
 		if (retriever != null) {
-			return retriever.getApplicationListeners();
+			return retriever;
 		}
 
-		if (this.beanClassLoader == null ||
-				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
-						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-			// Fully synchronized building and caching of a ListenerRetriever
-			synchronized (this.retrievalMutex) {
-				retriever = this.retrieverCache.get(cacheKey);
-				if (retriever != null) {
-					return retriever.getApplicationListeners();
-				}
-				retriever = new ListenerRetriever(true);
-				Collection<ApplicationListener<?>> listeners =
-						retrieveApplicationListeners(eventType, sourceType, retriever);
-				this.retrieverCache.put(cacheKey, retriever);
-				return listeners;
-			}
-		}
-		else {
-			// No ListenerRetriever caching -> no synchronization necessary
-			return retrieveApplicationListeners(eventType, sourceType, null);
+		if (isCacheSafe(event.getClass()) && (sourceType == null || isCacheSafe(sourceType))) {
+			// Building a ListenerRetriever from the immutable dispatch table does not need
+			// any synchronization: a concurrent listener change replaces the table as a whole.
+			List<ApplicationListener<?>> listeners = new ArrayList<ApplicationListener<?>>();
+			List<String> listenerBeans = new ArrayList<String>();
+			retrieveApplicationListeners(table, eventType, sourceType, listeners, listenerBeans);
+			retriever = new ListenerRetriever(listeners, listenerBeans);
+			ListenerRetriever existing = table.retrieverCache.putIfAbsent(cacheKey, retriever);
+			return (existing != null ? existing : retriever);
 		}
+		return null;
+	}
+
+	private boolean isCacheSafe(Class<?> clazz) {
+		return (this.beanClassLoader == null || ClassUtils.isCacheSafe(clazz, this.beanClassLoader));
 	}
 
 	/**
@@ -218,40 +376,39 @@ public abstract class AbstractApplicationEventMulticaster
 	 * 实际检索给定事件和源类型的应用程序侦听器
 	 * 
 	 * 
+	 * @param table the dispatch table to retrieve the listeners from
 	 * @param eventType the event type
 	 * @param sourceType the event source type
-	 * @param retriever the ListenerRetriever, if supposed to populate one (for caching purposes)
+	 * @param retrieverListeners the listener instances to populate, if supposed
+	 * to populate a ListenerRetriever (for caching purposes)
+	 * @param retrieverListenerBeans the listener bean names to populate, if supposed
+	 * to populate a ListenerRetriever (for caching purposes)
 	 * @return the pre-filtered list of application listeners for the given event and source type
 	 */
-	private Collection<ApplicationListener<?>> retrieveApplicationListeners(
-			ResolvableType eventType, Class<?> sourceType, ListenerRetriever retriever) {
+	private Collection<ApplicationListener<?>> retrieveApplicationListeners(DispatchTable table,
+			ResolvableType eventType, Class<?> sourceType, List<ApplicationListener<?>> retrieverListeners,
+			List<String> retrieverListenerBeans) {
 
 		LinkedList<ApplicationListener<?>> allListeners = new LinkedList<ApplicationListener<?>>();
-		Set<ApplicationListener<?>> listeners;
-		Set<String> listenerBeans;
-		synchronized (this.retrievalMutex) {
-			listeners = new LinkedHashSet<ApplicationListener<?>>(this.defaultRetriever.applicationListeners);
-			listenerBeans = new LinkedHashSet<String>(this.defaultRetriever.applicationListenerBeans);
-		}
-		for (ApplicationListener<?> listener : listeners) {
+		for (ApplicationListener<?> listener : table.applicationListeners) {
 			if (supportsEvent(listener, eventType, sourceType)) {
-				if (retriever != null) {
-					retriever.applicationListeners.add(listener);
+				if (retrieverListeners != null) {
+					retrieverListeners.add(listener);
 				}
 				allListeners.add(listener);
 			}
 		}
-		if (!listenerBeans.isEmpty()) {
+		if (!table.applicationListenerBeans.isEmpty()) {
 			BeanFactory beanFactory = getBeanFactory();
-			for (String listenerBeanName : listenerBeans) {
+			for (String listenerBeanName : table.applicationListenerBeans) {
 				try {
 					Class<?> listenerType = beanFactory.getType(listenerBeanName);
 					if (listenerType == null || supportsEvent(listenerType, eventType)) {
 						ApplicationListener<?> listener =
 								beanFactory.getBean(listenerBeanName, ApplicationListener.class);
 						if (!allListeners.contains(listener) && supportsEvent(listener, eventType, sourceType)) {
-							if (retriever != null) {
-								retriever.applicationListenerBeans.add(listenerBeanName);
+							if (retrieverListenerBeans != null) {
+								retrieverListenerBeans.add(listenerBeanName);
 							}
 							allListeners.add(listener);
 						}
@@ -367,45 +524,83 @@ public abstract class AbstractApplicationEventMulticaster
 	}
 
 
+	/**
+	 * Immutable snapshot of the registered listeners, along with the listener
+	 * retrieval results derived from it. A new instance replaces the current
+	 * one whenever a listener gets added or removed.
+	 * <p>
+	 *  已注册侦听器的不可变快照,以及从中派生的侦听器检索结果每当添加或删除侦听器时,新实例都会替换当前实例
+	 * 
+	 */
+	private static class DispatchTable {
+
+		public final Set<ApplicationListener<?>> applicationListeners;
+
+		public final Set<String> applicationListenerBeans;
+
+		/** ListenerRetrievers by event type and source type */
+		public final ConcurrentMap<ListenerCacheKey, ListenerRetriever> retrieverCache =
+				new ConcurrentHashMap<ListenerCacheKey, ListenerRetriever>(64);
+
+		/** ListenerRetrievers by event class and source class */
+		public final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, ListenerRetriever>> eventClassCache =
+				new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, ListenerRetriever>>(64);
+
+		/** ListenerRetrievers for PayloadApplicationEvents by payload class and source class */
+		public final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, ListenerRetriever>> payloadClassCache =
+				new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, ListenerRetriever>>(64);
+
+		public DispatchTable(Set<ApplicationListener<?>> applicationListeners, Set<String> applicationListenerBeans) {
+			this.applicationListeners = Collections.unmodifiableSet(
+					new LinkedHashSet<ApplicationListener<?>>(applicationListeners));
+			this.applicationListenerBeans = Collections.unmodifiableSet(
+					new LinkedHashSet<String>(applicationListenerBeans));
+		}
+	}
+
+
 	/**
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
 	 * <p>An instance of this helper gets cached per event type and source type.
+	 * If no listener beans are involved, the sorted listeners are computed
+	 * once and shared by all subsequent retrievals.
 	 * <p>
-	 *  Helper类封装了一组特定的目标侦听器,可以有效地检索预先筛选的侦听器<p>该帮助器的一个实例根据事件类型和源类型进行缓存
+	 *  Helper类封装了一组特定的目标侦听器,可以有效地检索预先筛选的侦听器<p>该帮助器的一个实例根据事件类型和源类型进行缓存如果不涉及侦听器bean,则排序后的侦听器只计算一次,并由所有后续检索共享
 	 */
 	private class ListenerRetriever {
 
-		public final Set<ApplicationListener<?>> applicationListeners;
-
-		public final Set<String> applicationListenerBeans;
+		private final List<ApplicationListener<?>> applicationListeners;
 
-		private final boolean preFiltered;
+		private final String[] applicationListenerBeans;
 
-		public ListenerRetriever(boolean preFiltered) {
-			this.applicationListeners = new LinkedHashSet<ApplicationListener<?>>();
-			this.applicationListenerBeans = new LinkedHashSet<String>();
-			this.preFiltered = preFiltered;
+		public ListenerRetriever(List<ApplicationListener<?>> applicationListeners, List<String> applicationListenerBeans) {
+			this.applicationListenerBeans = applicationListenerBeans.toArray(new String[applicationListenerBeans.size()]);
+			if (this.applicationListenerBeans.length == 0) {
+				List<ApplicationListener<?>> sortedListeners = new ArrayList<ApplicationListener<?>>(applicationListeners);
+				AnnotationAwareOrderComparator.sort(sortedListeners);
+				this.applicationListeners = Collections.unmodifiableList(sortedListeners);
+			}
+			else {
+				this.applicationListeners = applicationListeners;
+			}
 		}
 
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
-			LinkedList<ApplicationListener<?>> allListeners = new LinkedList<ApplicationListener<?>>();
-			for (ApplicationListener<?> listener : this.applicationListeners) {
-				allListeners.add(listener);
+			if (this.applicationListenerBeans.length == 0) {
+				return this.applicationListeners;
 			}
-			if (!this.applicationListenerBeans.isEmpty()) {
-				BeanFactory beanFactory = getBeanFactory();
-				for (String listenerBeanName : this.applicationListenerBeans) {
-					try {
-						ApplicationListener<?> listener = beanFactory.getBean(listenerBeanName, ApplicationListener.class);
-						if (this.preFiltered || !allListeners.contains(listener)) {
-							allListeners.add(listener);
-						}
-					}
-					catch (NoSuchBeanDefinitionException ex) {
-						// Singleton listener instance (without backing bean definition) disappeared -
-						// probably in the middle of the destruction phase
-					}
+			List<ApplicationListener<?>> allListeners = new ArrayList<ApplicationListener<?>>(
+					this.applicationListeners.size() + this.applicationListenerBeans.length);
+			allListeners.addAll(this.applicationListeners);
+			BeanFactory beanFactory = getBeanFactory();
+			for (String listenerBeanName : this.applicationListenerBeans) {
+				try {
+					allListeners.add(beanFactory.getBean(listenerBeanName, ApplicationListener.class));
+				}
+				catch (NoSuchBeanDefinitionException ex) {
+					// Singleton listener instance (without backing bean definition) disappeared -
+					// probably in the middle of the destruction phase
 				}
 			}
 			AnnotationAwareOrderComparator.sort(allListeners);
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -34,10 +35,12 @@ import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
@@ -84,19 +87,36 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final AnnotatedElementKey methodKey;
 
+	private final Map<Class<?>, ResolvableType> payloadTypeCache =
+			new ConcurrentReferenceHashMap<Class<?>, ResolvableType>(4);
+
 	private ApplicationContext applicationContext;
 
 	private EventExpressionEvaluator evaluator;
 
 
 	public ApplicationListenerMethodAdapter(String beanName, Class<?> targetClass, Method method) {
+		this(beanName, targetClass, method, false);
+	}
+
+	/**
+	 * Create a new adapter for the given method.
+	 * <p>
+	 *  为给定的方法创建一个新的适配器
+	 * 
+	 * 
+	 * @param batchListener whether the method accepts a {@link List} of events,
+	 * in which case the declared event type is the element type of that list
+	 * @since 4.3.6
+	 */
+	ApplicationListenerMethodAdapter(String beanName, Class<?> targetClass, Method method, boolean batchListener) {
 		this.beanName = beanName;
 		this.method = method;
 		this.targetClass = targetClass;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(method, EventListener.class);
-		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
+		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann, batchListener);
 		this.condition = (ann != null ? ann.condition() : null);
 		this.order = resolveOrder(method);
 
@@ -104,12 +124,17 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	}
 
 
-	private List<ResolvableType> resolveDeclaredEventTypes(Method method, EventListener ann) {
+	private List<ResolvableType> resolveDeclaredEventTypes(Method method, EventListener ann, boolean batchListener) {
 		int count = method.getParameterTypes().length;
 		if (count > 1) {
 			throw new IllegalStateException(
 					"Maximum one parameter is allowed for event listener method: " + method);
 		}
+		if (batchListener && (count == 0 || !Collection.class.isAssignableFrom(method.getParameterTypes()[0]) ||
+				!method.getParameterTypes()[0].isAssignableFrom(ArrayList.class))) {
+			throw new IllegalStateException(
+					"A List parameter is mandatory for batch event listener method: " + method);
+		}
 		if (ann != null && ann.classes().length > 0) {
 			List<ResolvableType> types = new ArrayList<ResolvableType>(ann.classes().length);
 			for (Class<?> eventType : ann.classes()) {
@@ -122,7 +147,15 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 				throw new IllegalStateException(
 						"Event parameter is mandatory for event listener method: " + method);
 			}
-			return Collections.singletonList(ResolvableType.forMethodParameter(method, 0));
+			ResolvableType parameterType = ResolvableType.forMethodParameter(method, 0);
+			if (batchListener) {
+				parameterType = parameterType.getGeneric();
+				if (parameterType.resolve() == null) {
+					throw new IllegalStateException(
+							"Unresolvable List element type for batch event listener method: " + method);
+				}
+			}
+			return Collections.singletonList(parameterType);
 		}
 	}
 
@@ -247,7 +280,14 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		}
 	}
 
-	private boolean shouldHandle(ApplicationEvent event, Object[] args) {
+	/**
+	 * Determine whether the given event is to be handled, i.e. whether arguments
+	 * could be resolved for it and the condition (if any) matches.
+	 * <p>
+	 *  确定是否要处理给定的事件,即是否可以为其解析参数以及条件(如果有)是否匹配
+	 * 
+	 */
+	boolean shouldHandle(ApplicationEvent event, Object[] args) {
 		if (args == null) {
 			return false;
 		}
@@ -261,6 +301,22 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		return true;
 	}
 
+	/**
+	 * Evaluate the given SpEL expression against the specified event and the
+	 * arguments resolved for it, with the same variables as for the condition.
+	 * <p>
+	 *  针对指定的事件及为其解析的参数评估给定的SpEL表达式,使用与条件相同的变量
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	Object evaluateExpression(String expression, ApplicationEvent event, Object[] args) {
+		Assert.notNull(this.evaluator, "EventExpressionEvaluator must no be null");
+		EvaluationContext evaluationContext = this.evaluator.createEvaluationContext(
+				event, this.targetClass, this.method, args, this.applicationContext);
+		return this.evaluator.value(expression, this.methodKey, evaluationContext);
+	}
+
 	/**
 	 * Invoke the event listener method with the given argument values.
 	 * <p>
@@ -373,6 +429,23 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 
 	private ResolvableType getResolvableType(ApplicationEvent event) {
+		if (event.getClass() == PayloadApplicationEvent.class) {
+			Object payload = ((PayloadApplicationEvent<?>) event).getPayload();
+			if (!(payload instanceof ResolvableTypeProvider)) {
+				// The outcome depends on the payload class only: no need to resolve it again
+				ResolvableType declaredEventType = this.payloadTypeCache.get(payload.getClass());
+				if (declaredEventType == null) {
+					declaredEventType = resolveDeclaredEventType(event);
+					this.payloadTypeCache.put(payload.getClass(),
+							(declaredEventType != null ? declaredEventType : ResolvableType.NONE));
+				}
+				return (declaredEventType != ResolvableType.NONE ? declaredEventType : null);
+			}
+		}
+		return resolveDeclaredEventType(event);
+	}
+
+	private ResolvableType resolveDeclaredEventType(ApplicationEvent event) {
 		ResolvableType payloadType = null;
 		if (event instanceof PayloadApplicationEvent) {
 			PayloadApplicationEvent<?> payloadEvent = (PayloadApplicationEvent<?>) event;
@@ -0,0 +1,241 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link GenericApplicationListener} adapter that delegates the processing of
+ * an event to a {@link QueuedEventListener} annotated method.
+ *
+ * <p>Arguments and the condition are resolved in the publishing thread; the
+ * resolved arguments are then put on one of the listener's queues, which get
+ * drained by the given {@link Executor}. A queue is drained by at most one task
+ * at any time, preserving the order of the events assigned to it.
+ *
+ * <p>
+ *  {@link GenericApplicationListener}适配器,将事件的处理委托给{@link QueuedEventListener}注释方法
+ * 
+ *  <p>参数和条件在发布线程中解析;然后将解析的参数放入侦听器的队列之一,由给定的{@link Executor}清空队列在任何时候最多由一个任务清空,从而保留分配给它的事件的顺序
+ * 
+ * 
+ * @since 4.3.6
+ * @see QueuedEventListenerFactory
+ */
+class ApplicationListenerMethodQueuedAdapter extends ApplicationListenerMethodAdapter {
+
+	private static final ThreadLocal<Set<EventQueue>> drainingQueues =
+			new NamedThreadLocal<Set<EventQueue>>("Draining event queues");
+
+	private final Executor executor;
+
+	private final ErrorHandler errorHandler;
+
+	private final String key;
+
+	private final int batchSize;
+
+	private final EventQueue[] queues;
+
+
+	public ApplicationListenerMethodQueuedAdapter(String beanName, Class<?> targetClass, Method method,
+			Executor executor, ErrorHandler errorHandler) {
+
+		this(beanName, targetClass, method, executor, errorHandler,
+				AnnotatedElementUtils.findMergedAnnotation(method, QueuedEventListener.class));
+	}
+
+	private ApplicationListenerMethodQueuedAdapter(String beanName, Class<?> targetClass, Method method,
+			Executor executor, ErrorHandler errorHandler, QueuedEventListener ann) {
+
+		super(beanName, targetClass, method, ann.batchSize() > 0);
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(ann.capacity() > 0, "Queue capacity must be greater than 0");
+		Assert.isTrue(ann.concurrency() > 0, "Concurrency must be greater than 0");
+		this.executor = executor;
+		this.errorHandler = errorHandler;
+		this.key = ann.key();
+		this.batchSize = ann.batchSize();
+		this.queues = new EventQueue[StringUtils.hasText(this.key) ? ann.concurrency() : 1];
+		for (int i = 0; i < this.queues.length; i++) {
+			this.queues[i] = new EventQueue(ann.capacity());
+		}
+	}
+
+
+	@Override
+	public void processEvent(ApplicationEvent event) {
+		Object[] args = resolveArguments(event);
+		if (shouldHandle(event, args)) {
+			getQueue(event, args).add(args);
+		}
+	}
+
+	private EventQueue getQueue(ApplicationEvent event, Object[] args) {
+		if (this.queues.length == 1) {
+			return this.queues[0];
+		}
+		Object key = evaluateExpression(this.key, event, args);
+		int hash = (key != null ? key.hashCode() : 0);
+		hash ^= (hash >>> 16);
+		return this.queues[(hash & Integer.MAX_VALUE) % this.queues.length];
+	}
+
+	/**
+	 * Invoke the listener method for the given batch of resolved arguments,
+	 * either once per event or once for all of them.
+	 * <p>
+	 *  为给定的一批已解析参数调用侦听器方法,每个事件调用一次或为所有事件调用一次
+	 * 
+	 */
+	private void processBatch(List<Object[]> batch) {
+		if (this.batchSize > 0) {
+			List<Object> events = new ArrayList<Object>(batch.size());
+			for (Object[] args : batch) {
+				events.add(args[0]);
+			}
+			invoke(events);
+		}
+		else {
+			for (Object[] args : batch) {
+				invoke(args);
+			}
+		}
+	}
+
+	private void invoke(Object... args) {
+		try {
+			Object result = doInvoke(args);
+			if (result != null) {
+				handleResult(result);
+			}
+		}
+		catch (Throwable ex) {
+			if (this.errorHandler == null) {
+				ReflectionUtils.rethrowRuntimeException(ex);
+			}
+			this.errorHandler.handleError(ex);
+		}
+	}
+
+
+	/**
+	 * A bounded queue of resolved listener arguments, drained by a task that
+	 * gets submitted to the executor whenever the queue is not empty and no
+	 * such task is active yet.
+	 * <p>
+	 *  已解析侦听器参数的有界队列,每当队列不为空且尚无此类任务处于活动状态时,由提交给执行器的任务清空
+	 * 
+	 */
+	private class EventQueue implements Runnable {
+
+		private final BlockingQueue<Object[]> queue;
+
+		private final int maxEventsPerRun;
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		public EventQueue(int capacity) {
+			this.queue = new ArrayBlockingQueue<Object[]>(capacity);
+			this.maxEventsPerRun = capacity;
+		}
+
+		public void add(Object[] args) {
+			if (!this.queue.offer(args)) {
+				Set<EventQueue> draining = drainingQueues.get();
+				if (draining != null && draining.contains(this)) {
+					// Published from the listener while this thread drains this very queue:
+					// blocking would mean waiting for ourselves, so process the event right away.
+					processBatch(Collections.singletonList(args));
+					return;
+				}
+				try {
+					this.queue.put(args);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting to queue event for " +
+							ApplicationListenerMethodQueuedAdapter.this, ex);
+				}
+			}
+			schedule();
+		}
+
+		private void schedule() {
+			if (this.scheduled.compareAndSet(false, true)) {
+				try {
+					executor.execute(this);
+				}
+				catch (RejectedExecutionException ex) {
+					// Executor shut down: process the queued events in the current thread
+					run();
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			Set<EventQueue> draining = drainingQueues.get();
+			if (draining == null) {
+				draining = new HashSet<EventQueue>(4);
+				drainingQueues.set(draining);
+			}
+			draining.add(this);
+			try {
+				int maxBatchSize = (batchSize > 0 ? batchSize : this.maxEventsPerRun);
+				List<Object[]> batch = new ArrayList<Object[]>(Math.min(maxBatchSize, 64));
+				int processed = 0;
+				// Limit the number of events per run, giving other queues a chance to be processed
+				while (processed < this.maxEventsPerRun && this.queue.drainTo(batch, maxBatchSize) > 0) {
+					processed += batch.size();
+					processBatch(batch);
+					batch.clear();
+				}
+			}
+			finally {
+				draining.remove(this);
+				if (draining.isEmpty()) {
+					drainingQueues.remove();
+				}
+				this.scheduled.set(false);
+				if (!this.queue.isEmpty()) {
+					schedule();
+				}
+			}
+		}
+	}
+
+}
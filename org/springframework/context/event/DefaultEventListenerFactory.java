@@ -21,6 +21,7 @@ import java.lang.reflect.Method;
 
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 
 /**
  * Default {@link EventListenerFactory} implementation that supports the
@@ -53,6 +54,10 @@ public class DefaultEventListenerFactory implements EventListenerFactory, Ordere
 
 	@Override
 	public ApplicationListener<?> createApplicationListener(String beanName, Class<?> type, Method method) {
+		if (AnnotatedElementUtils.hasAnnotation(method, QueuedEventListener.class)) {
+			throw new IllegalStateException("@QueuedEventListener method [" + method + "] on bean '" + beanName +
+					"' requires a QueuedEventListenerFactory bean to be registered in the application context");
+		}
 		return new ApplicationListenerMethodAdapter(beanName, type, method);
 	}
 
@@ -27,9 +27,13 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
+import org.springframework.context.expression.MethodArgumentLayout;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 /**
  * Utility class handling the SpEL expression parsing. Meant to be used
@@ -45,9 +49,28 @@ import org.springframework.expression.Expression;
  */
 class EventExpressionEvaluator extends CachedExpressionEvaluator {
 
-	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<ExpressionKey, Expression>(64);
+	private final Map<ExpressionKey, Expression> conditionCache = createExpressionCache();
 
-	private final Map<AnnotatedElementKey, Method> targetMethodCache = new ConcurrentHashMap<AnnotatedElementKey, Method>(64);
+	private final Map<ExpressionKey, Expression> valueCache = createExpressionCache();
+
+	private final Map<AnnotatedElementKey, MethodArgumentLayout> argumentLayoutCache =
+			new ConcurrentHashMap<AnnotatedElementKey, MethodArgumentLayout>(64);
+
+
+	/**
+	 * Create a new instance with a {@link SpelExpressionParser} that compiles
+	 * conditions once they have been evaluated often enough, falling back to
+	 * interpretation if a compiled condition fails at runtime.
+	 * <p>
+	 *  使用{@link SpelExpressionParser}创建一个新实例,该解析器在条件被评估足够多次后对其进行编译,如果编译后的条件在运行时失败,则回退到解释模式
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see SpelCompilerMode#MIXED
+	 */
+	public EventExpressionEvaluator() {
+		super(new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null)));
+	}
 
 
 	/**
@@ -60,10 +83,9 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 	public EvaluationContext createEvaluationContext(ApplicationEvent event, Class<?> targetClass,
 			Method method, Object[] args, BeanFactory beanFactory) {
 
-		Method targetMethod = getTargetMethod(targetClass, method);
 		EventExpressionRootObject root = new EventExpressionRootObject(event, args);
 		MethodBasedEvaluationContext evaluationContext = new MethodBasedEvaluationContext(
-				root, targetMethod, args, getParameterNameDiscoverer());
+				root, getArgumentLayout(targetClass, method), args);
 		if (beanFactory != null) {
 			evaluationContext.setBeanResolver(new BeanFactoryResolver(beanFactory));
 		}
@@ -82,17 +104,30 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 				.getValue(evalContext, boolean.class);
 	}
 
-	private Method getTargetMethod(Class<?> targetClass, Method method) {
+	/**
+	 * Evaluate the specified expression, e.g. a key expression.
+	 * <p>
+	 *  评估指定的表达式,例如键表达式
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public Object value(String expression, AnnotatedElementKey elementKey, EvaluationContext evalContext) {
+		return getExpression(this.valueCache, elementKey, expression).getValue(evalContext);
+	}
+
+	private MethodArgumentLayout getArgumentLayout(Class<?> targetClass, Method method) {
 		AnnotatedElementKey methodKey = new AnnotatedElementKey(method, targetClass);
-		Method targetMethod = this.targetMethodCache.get(methodKey);
-		if (targetMethod == null) {
-			targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+		MethodArgumentLayout argumentLayout = this.argumentLayoutCache.get(methodKey);
+		if (argumentLayout == null) {
+			Method targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
 			if (targetMethod == null) {
 				targetMethod = method;
 			}
-			this.targetMethodCache.put(methodKey, targetMethod);
+			argumentLayout = new MethodArgumentLayout(targetMethod, getParameterNameDiscoverer());
+			this.argumentLayoutCache.put(methodKey, argumentLayout);
 		}
-		return targetMethod;
+		return argumentLayout;
 	}
 
 }
@@ -21,6 +21,7 @@ import org.springframework.context.ApplicationEvent;
 
 /**
  * Root object used during event listener expression evaluation.
+ * Public so that compiled expressions are able to access its properties.
  *
  * <p>
  *  除非适用法律要求或以书面形式同意,根据许可证分发的软件以"按原样"分发,不附带任何明示或暗示的担保或条件,请参阅许可证中有关特定语言的权限和限制许可证
@@ -29,7 +30,7 @@ import org.springframework.context.ApplicationEvent;
  * @author Stephane Nicoll
  * @since 4.2
  */
-class EventExpressionRootObject {
+public class EventExpressionRootObject {
 
 	private final ApplicationEvent event;
 
@@ -0,0 +1,146 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.core.annotation.AliasFor;
+
+/**
+ * An {@link EventListener} that is invoked asynchronously, with the events
+ * handed over through a dedicated bounded queue instead of being processed
+ * in the publishing thread.
+ *
+ * <p>Events are delivered in publication order for each {@link #key}: events
+ * with the same key are always processed one after the other, while up to
+ * {@link #concurrency} events with different keys may be processed in parallel.
+ * If a queue is full, the publisher blocks until the listener has caught up,
+ * unless the event is published while draining that very queue, i.e. from
+ * the listener itself: such events are processed right away in the publishing
+ * thread, out of order, since blocking would wait for the publishing thread to
+ * drain the queue. Events published to other full queues block as usual.
+ *
+ * <p>If a {@link #batchSize} is specified, the annotated method must declare
+ * a single {@link java.util.List} parameter, receiving all events that were
+ * queued at the time (up to the batch size) in one invocation.
+ *
+ * <p>Processing of {@code @QueuedEventListener} annotations requires a
+ * {@link QueuedEventListenerFactory} bean to be registered in the application
+ * context, which also allows for configuring the executor to use. Without it,
+ * the {@link DefaultEventListenerFactory} rejects the annotated methods.
+ *
+ * <p>
+ *  一个异步调用的{@link EventListener},事件通过专用的有界队列移交,而不是在发布线程中处理
+ * 
+ *  <p>事件对于每个{@link #key}按发布顺序传递：具有相同键的事件总是一个接一个地处理,而最多{@link #concurrency}个具有不同键的事件可以并行处理如果队列已满,发布者将阻塞,直到侦听器跟上为止,除非事件是在清空该队列本身时(即从侦听器本身)发布的：此类事件将在发布线程中立即(不按顺序)处理,因为阻塞将等待发布线程清空队列发布到其他已满队列的事件照常阻塞
+ * 
+ *  <p>如果指定了{@link #batchSize},则带注释的方法必须声明单个{@link java.util.List}参数,在一次调用中接收当时排队的所有事件(最多为批量大小)
+ * 
+ *  <p>处理{@code @QueuedEventListener}注释需要在应用程序上下文中注册{@link QueuedEventListenerFactory} bean,它还允许配置要使用的执行器
+ * 没有它,{@link DefaultEventListenerFactory}会拒绝带注释的方法
+ * 
+ * 
+ * @since 4.3.6
+ * @see QueuedEventListenerFactory
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@EventListener
+public @interface QueuedEventListener {
+
+	/**
+	 * Alias for {@link #classes}.
+	 * <p>
+	 *  别名为{@link #classes}
+	 * 
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "classes")
+	Class<?>[] value() default {};
+
+	/**
+	 * The event classes that this listener handles.
+	 * <p>If this attribute is specified with a single value, the annotated
+	 * method may optionally accept a single parameter. However, if this
+	 * attribute is specified with multiple values, the annotated method
+	 * must <em>not</em> declare any parameters (unless it is a batch listener).
+	 * <p>
+	 *  该侦听器处理的事件类<p>如果使用单个值指定此属性,则带注释的方法可以可选地接受单个参数。但是,如果此属性使用多个值指定,则注释方法必须<em>不</em>声明任何参数(除非它是批量侦听器)
+	 * 
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "classes")
+	Class<?>[] classes() default {};
+
+	/**
+	 * Spring Expression Language (SpEL) attribute used for making the event
+	 * handling conditional. The condition is evaluated in the publishing thread,
+	 * so events that do not match are not queued at all.
+	 * <p>Default is "", meaning the event is always handled.
+	 * <p>
+	 *  用于使事件处理有条件的Spring表达式语言(SpEL)属性该条件在发布线程中进行评估,因此不匹配的事件根本不会排队<p>默认值为"",表示始终处理该事件
+	 * 
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "condition")
+	String condition() default "";
+
+	/**
+	 * Spring Expression Language (SpEL) attribute used for computing the key
+	 * that events are ordered by, with the same variables as the {@link #condition}.
+	 * <p>Default is "", meaning that all events are processed in publication
+	 * order, one at a time.
+	 * <p>
+	 *  用于计算事件排序所依据的键的Spring表达式语言(SpEL)属性,具有与{@link #condition}相同的变量<p>默认值为"",表示所有事件按发布顺序一次处理一个
+	 * 
+	 */
+	String key() default "";
+
+	/**
+	 * The maximum number of events with different keys to be processed in parallel.
+	 * <p>Each of these has its own queue; events are assigned to a queue by the
+	 * hash code of their {@link #key}. Only relevant if a key has been specified.
+	 * <p>
+	 *  要并行处理的具有不同键的事件的最大数量<p>每个都有自己的队列;事件按其{@link #key}的哈希码分配给队列仅在指定了键时相关
+	 * 
+	 */
+	int concurrency() default 1;
+
+	/**
+	 * The maximum number of events waiting to be processed per queue, before
+	 * the publisher gets blocked.
+	 * <p>
+	 *  在发布者被阻塞之前,每个队列中等待处理的最大事件数
+	 * 
+	 */
+	int capacity() default 1000;
+
+	/**
+	 * The maximum number of events to pass to the listener method at once.
+	 * <p>Default is 0, meaning that the method is invoked for each event.
+	 * Otherwise, the method must declare a single {@link java.util.List}
+	 * parameter, the element type of which is the event type to listen to.
+	 * <p>
+	 *  一次传递给侦听器方法的最大事件数<p>默认值为0,表示为每个事件调用该方法否则,该方法必须声明单个{@link java.util.List}参数,其元素类型是要侦听的事件类型
+	 * 
+	 */
+	int batchSize() default 0;
+
+}
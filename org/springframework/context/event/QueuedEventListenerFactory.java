@@ -0,0 +1,124 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link EventListenerFactory} implementation that handles {@link QueuedEventListener}
+ * annotated methods.
+ *
+ * <p>Queued events are processed by the configured {@link #setTaskExecutor task
+ * executor}, or by a cached thread pool owned by this factory by default (which
+ * gets shut down along with the application context). Once the executor does
+ * not accept any further tasks, remaining and newly published events get
+ * processed in the publishing thread.
+ *
+ * <p>
+ *  处理{@link QueuedEventListener}注释方法的{@link EventListenerFactory}实现
+ * 
+ *  <p>排队的事件由配置的{@link #setTaskExecutor任务执行器}处理,默认情况下由此工厂拥有的缓存线程池处理(它与应用程序上下文一起关闭)
+ * 一旦执行器不再接受任何任务,剩余的和新发布的事件将在发布线程中处理
+ * 
+ * 
+ * @since 4.3.6
+ * @see QueuedEventListener
+ */
+public class QueuedEventListenerFactory implements EventListenerFactory, Ordered, DisposableBean {
+
+	private int order = 50;
+
+	private Executor taskExecutor;
+
+	private ErrorHandler errorHandler = TaskUtils.LOG_AND_SUPPRESS_ERROR_HANDLER;
+
+	private ExecutorService defaultTaskExecutor;
+
+
+	@Override
+	public int getOrder() {
+		return this.order;
+	}
+
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	/**
+	 * Set the {@link Executor} to process queued events with.
+	 * <p>Default is a cached thread pool owned by this factory.
+	 * <p>
+	 *  设置用于处理排队事件的{@link Executor}<p>默认值是此工厂拥有的缓存线程池
+	 * 
+	 */
+	public void setTaskExecutor(Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Set the {@link ErrorHandler} to invoke in case an exception is thrown
+	 * from a listener.
+	 * <p>Default is to log the exception and to continue with the next event.
+	 * <p>
+	 *  设置{@link ErrorHandler}以在侦听器引发异常时调用<p>默认情况下记录异常并继续处理下一个事件
+	 * 
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+
+	@Override
+	public boolean supportsMethod(Method method) {
+		return AnnotatedElementUtils.hasAnnotation(method, QueuedEventListener.class);
+	}
+
+	@Override
+	public ApplicationListener<?> createApplicationListener(String beanName, Class<?> type, Method method) {
+		return new ApplicationListenerMethodQueuedAdapter(beanName, type, method, getTaskExecutor(), this.errorHandler);
+	}
+
+	private synchronized Executor getTaskExecutor() {
+		if (this.taskExecutor != null) {
+			return this.taskExecutor;
+		}
+		if (this.defaultTaskExecutor == null) {
+			this.defaultTaskExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("event-listener-"));
+		}
+		return this.defaultTaskExecutor;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (this.defaultTaskExecutor != null) {
+			this.defaultTaskExecutor.shutdown();
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 
 package org.springframework.context.event;
 
+import java.util.Collection;
 import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.LogFactory;
@@ -155,14 +156,15 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 
 	@Override
 	public void multicastEvent(ApplicationEvent event) {
-		multicastEvent(event, resolveDefaultEventType(event));
+		multicastEvent(event, null);
 	}
 
 	@Override
 	public void multicastEvent(final ApplicationEvent event, ResolvableType eventType) {
-		ResolvableType type = (eventType != null ? eventType : resolveDefaultEventType(event));
-		for (final ApplicationListener<?> listener : getApplicationListeners(event, type)) {
-			Executor executor = getTaskExecutor();
+		Collection<ApplicationListener<?>> listeners = (eventType != null ?
+				getApplicationListeners(event, eventType) : getApplicationListeners(event));
+		Executor executor = getTaskExecutor();
+		for (final ApplicationListener<?> listener : listeners) {
 			if (executor != null) {
 				executor.execute(new Runnable() {
 					@Override
@@ -177,10 +179,6 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
-	private ResolvableType resolveDefaultEventType(ApplicationEvent event) {
-		return ResolvableType.forInstance(event);
-	}
-
 	/**
 	 * Invoke the given listener with the given event.
 	 * <p>
@@ -17,11 +17,15 @@
 
 package org.springframework.context.expression;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -44,6 +48,9 @@ public abstract class CachedExpressionEvaluator {
 
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	private final List<Map<ExpressionKey, Expression>> expressionCaches =
+			new CopyOnWriteArrayList<Map<ExpressionKey, Expression>>();
+
 
 	/**
 	 * Create a new instance with the specified {@link SpelExpressionParser}.
@@ -90,6 +97,67 @@ public abstract class CachedExpressionEvaluator {
 	}
 
 
+	/**
+	 * Create a cache for the parsed expressions of a given kind, to be passed to
+	 * {@link #getExpression}. The expressions held by such caches are covered by
+	 * {@link #getCompiledExpressionCount()} and {@link #getInterpretedExpressionCount()}.
+	 * <p>
+	 *  为给定类型的已解析表达式创建缓存,以传递给{@link #getExpression}此类缓存所持有的表达式由{@link #getCompiledExpressionCount()}和{@link #getInterpretedExpressionCount()}覆盖
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	protected Map<ExpressionKey, Expression> createExpressionCache() {
+		Map<ExpressionKey, Expression> cache = new ConcurrentHashMap<ExpressionKey, Expression>(64);
+		this.expressionCaches.add(cache);
+		return cache;
+	}
+
+	/**
+	 * Return the number of cached expressions that currently evaluate through
+	 * compiled code.
+	 * <p>
+	 *  返回当前通过编译代码进行评估的缓存表达式的数量
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see #createExpressionCache()
+	 */
+	public int getCompiledExpressionCount() {
+		int count = 0;
+		for (Map<ExpressionKey, Expression> cache : this.expressionCaches) {
+			for (Expression expression : cache.values()) {
+				if (expression instanceof SpelExpression && ((SpelExpression) expression).isCompiled()) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of cached expressions that are currently interpreted:
+	 * not evaluated often enough to be compiled yet, not compilable at all,
+	 * or fallen back to interpretation after their compiled code failed.
+	 * <p>
+	 *  返回当前被解释的缓存表达式的数量：尚未被评估足够多次以进行编译,根本无法编译,或在其编译代码失败后回退到解释
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see #createExpressionCache()
+	 */
+	public int getInterpretedExpressionCount() {
+		int count = 0;
+		for (Map<ExpressionKey, Expression> cache : this.expressionCaches) {
+			for (Expression expression : cache.values()) {
+				if (!(expression instanceof SpelExpression) || !((SpelExpression) expression).isCompiled()) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
 	 * <p>Parse the expression if it hasn't been already.
@@ -0,0 +1,150 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.util.Assert;
+
+/**
+ * Pre-resolved layout of the variables that a {@link MethodBasedEvaluationContext}
+ * exposes for the arguments of a given method: {@code aX}, {@code pX} and the
+ * discovered parameter names, each mapped to the index of its parameter.
+ *
+ * <p>Resolved once per method and shared across evaluation contexts, so that
+ * an argument variable can be looked up directly in the actual arguments,
+ * without discovering parameter names and registering every argument as a
+ * variable for each evaluation.
+ *
+ * <p>
+ *  {@link MethodBasedEvaluationContext}为给定方法的参数公开的变量的预解析布局：{@code aX},{@code pX}和发现的参数名称,每个都映射到其参数的索引
+ * 
+ *  <p>每个方法解析一次并在评估上下文之间共享,因此可以直接在实际参数中查找参数变量,而无需为每次评估发现参数名称并将每个参数注册为变量
+ * 
+ * 
+ * @since 4.3.6
+ * @see MethodBasedEvaluationContext#MethodBasedEvaluationContext(Object, MethodArgumentLayout, Object[])
+ */
+public final class MethodArgumentLayout {
+
+	private final Method method;
+
+	private final String[] parameterNames;
+
+	private final int parameterCount;
+
+	private final Map<String, Integer> parameterIndexes;
+
+
+	/**
+	 * Resolve the argument layout for the given method.
+	 * <p>
+	 *  解析给定方法的参数布局
+	 * 
+	 * 
+	 * @param method the method whose arguments are to be exposed
+	 * @param parameterNameDiscoverer the discoverer for the parameter names
+	 */
+	public MethodArgumentLayout(Method method, ParameterNameDiscoverer parameterNameDiscoverer) {
+		Assert.notNull(method, "Method must not be null");
+		Assert.notNull(parameterNameDiscoverer, "ParameterNameDiscoverer must not be null");
+		this.method = method;
+		this.parameterNames = parameterNameDiscoverer.getParameterNames(method);
+		this.parameterCount = (this.parameterNames != null ?
+				this.parameterNames.length : method.getParameterTypes().length);
+		this.parameterIndexes = new HashMap<String, Integer>(this.parameterCount * 4);
+		for (int i = 0; i < this.parameterCount; i++) {
+			this.parameterIndexes.put("a" + i, i);
+			this.parameterIndexes.put("p" + i, i);
+			if (this.parameterNames != null) {
+				this.parameterIndexes.put(this.parameterNames[i], i);
+			}
+		}
+	}
+
+
+	/**
+	 * Return the method whose arguments are exposed.
+	 * <p>
+	 *  返回其参数被公开的方法
+	 * 
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Return the discovered parameter names, or {@code null} if not discoverable.
+	 * <p>
+	 *  返回发现的参数名称,如果无法发现,则返回{@code null}
+	 * 
+	 */
+	public String[] getParameterNames() {
+		return this.parameterNames;
+	}
+
+	/**
+	 * Return the number of parameters of the method.
+	 * <p>
+	 *  返回方法的参数数量
+	 * 
+	 */
+	public int getParameterCount() {
+		return this.parameterCount;
+	}
+
+	/**
+	 * Return the index of the parameter exposed under the given variable name.
+	 * <p>
+	 *  返回以给定变量名称公开的参数的索引
+	 * 
+	 * 
+	 * @param variableName the name of the variable
+	 * @return the parameter index, or -1 if no argument is exposed under that name
+	 */
+	public int getParameterIndex(String variableName) {
+		Integer index = this.parameterIndexes.get(variableName);
+		return (index != null ? index : -1);
+	}
+
+	/**
+	 * Return the value to expose for the given parameter, given the actual arguments.
+	 * <p>Remaining arguments are exposed as a vararg array for the last parameter,
+	 * and parameters without an actual argument are exposed as {@code null}.
+	 * <p>
+	 *  根据实际参数返回要为给定参数公开的值<p>剩余的参数作为最后一个参数的可变参数数组公开,没有实际参数的参数公开为{@code null}
+	 * 
+	 * 
+	 * @param parameterIndex the index of the parameter
+	 * @param arguments the actual method arguments (may be {@code null})
+	 */
+	public Object getArgument(int parameterIndex, Object[] arguments) {
+		int argsCount = (arguments != null ? arguments.length : 0);
+		if (argsCount > this.parameterCount && parameterIndex == this.parameterCount - 1) {
+			// Expose remaining arguments as vararg array for last parameter
+			return Arrays.copyOfRange(arguments, parameterIndex, argsCount);
+		}
+		// Actual argument found - otherwise null
+		return (argsCount > parameterIndex ? arguments[parameterIndex] : null);
+	}
+
+}
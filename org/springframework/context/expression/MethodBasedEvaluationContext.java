@@ -35,6 +35,9 @@ import org.springframework.util.ObjectUtils;
  * <li>the name of the parameter as discovered by a configurable {@link ParameterNameDiscoverer}</li>
  * </ol>
  *
+ * <p>Given a pre-resolved {@link MethodArgumentLayout}, arguments are looked up
+ * directly instead of being registered as variables on first access.
+ *
  * <p>
  *  基于方法的{@link orgspringframeworkexpressionEvaluationContext}为基于方法的调用提供了明确的支持
  * 
@@ -55,6 +58,8 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 
 	private final ParameterNameDiscoverer parameterNameDiscoverer;
 
+	private final MethodArgumentLayout argumentLayout;
+
 	private boolean argumentsLoaded = false;
 
 
@@ -65,6 +70,24 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		this.method = method;
 		this.arguments = arguments;
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
+		this.argumentLayout = null;
+	}
+
+	/**
+	 * Create a new context exposing the given arguments according to the given
+	 * pre-resolved layout.
+	 * <p>
+	 *  创建一个新的上下文,根据给定的预解析布局公开给定的参数
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public MethodBasedEvaluationContext(Object rootObject, MethodArgumentLayout argumentLayout, Object[] arguments) {
+		super(rootObject);
+		this.method = argumentLayout.getMethod();
+		this.arguments = arguments;
+		this.parameterNameDiscoverer = null;
+		this.argumentLayout = argumentLayout;
 	}
 
 
@@ -74,6 +97,10 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		if (variable != null) {
 			return variable;
 		}
+		if (this.argumentLayout != null) {
+			int parameterIndex = this.argumentLayout.getParameterIndex(name);
+			return (parameterIndex >= 0 ? this.argumentLayout.getArgument(parameterIndex, this.arguments) : null);
+		}
 		if (!this.argumentsLoaded) {
 			lazyLoadArguments();
 			this.argumentsLoaded = true;
@@ -95,7 +122,8 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		}
 
 		// Expose indexed variables as well as parameter names (if discoverable)
-		String[] paramNames = this.parameterNameDiscoverer.getParameterNames(this.method);
+		String[] paramNames = (this.argumentLayout != null ? this.argumentLayout.getParameterNames() :
+				this.parameterNameDiscoverer.getParameterNames(this.method));
 		int paramCount = (paramNames != null ? paramNames.length : this.method.getParameterTypes().length);
 		int argsCount = this.arguments.length;
 
@@ -0,0 +1,146 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Provide access to the candidates that are defined in {@code META-INF/spring.components}.
+ *
+ * <p>An arbitrary number of stereotypes can be registered (and queried) on the index:
+ * a typical example is the fully qualified name of an annotation that flags the
+ * class for a certain use case. The following call returns all the {@code @Component}
+ * <b>candidate</b> types for the {@code com.example} package (and its sub-packages):
+ * <pre class="code">
+ * Set&lt;String&gt; candidates = index.getCandidateTypes(
+ *         "com.example", "org.springframework.stereotype.Component");
+ * </pre>
+ *
+ * <p>The {@code type} is usually the fully qualified name of a class, though this is
+ * not a rule. Similarly, the {@code stereotype} is usually the fully qualified name of
+ * a target type but it can be any marker really.
+ *
+ * <p>
+ *  提供对{@code META-INF/spring.components}中定义的候选项的访问
+ * 
+ *  <p>可以在索引上注册(和查询)任意数量的构造型：一个典型的例子是为某个用例标记类的注释的完全限定名称以下调用返回{@code com.example}包(及其子包)的所有
+ * {@code @Component} <b>候选</b>类型：
+ * <pre class="code">
+ * Set&lt;String&gt; candidates = index.getCandidateTypes(
+ *         "com.example", "org.springframework.stereotype.Component");
+ * </pre>
+ * 
+ *  <p> {@code type}通常是类的完全限定名称,但这不是规则类似地,{@code stereotype}通常是目标类型的完全限定名称,但它实际上可以是任何标记
+ * 
+ * 
+ * @since 4.3.6
+ * @see CandidateComponentsIndexLoader
+ */
+public class CandidateComponentsIndex {
+
+	private static final AntPathMatcher pathMatcher = new AntPathMatcher(".");
+
+	private final MultiValueMap<String, Entry> index;
+
+
+	CandidateComponentsIndex(List<Properties> content) {
+		this.index = parseIndex(content);
+	}
+
+
+	/**
+	 * Return the candidate types that are associated with the specified stereotype.
+	 * <p>
+	 *  返回与指定构造型关联的候选类型
+	 * 
+	 * 
+	 * @param basePackage the package to check for candidates, possibly using
+	 * {@code *} or {@code **} wildcards
+	 * @param stereotype the stereotype to use
+	 * @return the candidate types associated with the specified {@code stereotype}
+	 * or an empty set if none has been found for the specified {@code basePackage}
+	 */
+	public Set<String> getCandidateTypes(String basePackage, String stereotype) {
+		List<Entry> candidates = this.index.get(stereotype);
+		if (candidates == null) {
+			return Collections.emptySet();
+		}
+		Set<String> result = new LinkedHashSet<String>();
+		for (Entry candidate : candidates) {
+			if (candidate.match(basePackage)) {
+				result.add(candidate.type);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return whether the index holds any candidate types for the specified stereotype.
+	 * <p>
+	 *  返回索引是否包含指定构造型的任何候选类型
+	 * 
+	 */
+	public boolean hasStereotype(String stereotype) {
+		return this.index.containsKey(stereotype);
+	}
+
+
+	private static MultiValueMap<String, Entry> parseIndex(List<Properties> content) {
+		MultiValueMap<String, Entry> index = new LinkedMultiValueMap<String, Entry>();
+		for (Properties entry : content) {
+			for (String type : entry.stringPropertyNames()) {
+				String[] stereotypes = StringUtils.commaDelimitedListToStringArray(entry.getProperty(type));
+				for (String stereotype : stereotypes) {
+					index.add(stereotype.trim(), new Entry(type));
+				}
+			}
+		}
+		return index;
+	}
+
+
+	private static class Entry {
+
+		private final String type;
+
+		private final String packageName;
+
+		public Entry(String type) {
+			this.type = type;
+			this.packageName = ClassUtils.getPackageName(type);
+		}
+
+		public boolean match(String basePackage) {
+			if (pathMatcher.isPattern(basePackage)) {
+				return pathMatcher.match(basePackage + ".**", this.packageName);
+			}
+			return (this.packageName.equals(basePackage) || this.packageName.startsWith(basePackage + "."));
+		}
+	}
+
+}
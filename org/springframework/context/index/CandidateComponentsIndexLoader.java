@@ -0,0 +1,150 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Candidate components index loading mechanism for internal use within the framework.
+ *
+ * <p>The index is built at compile time by the
+ * {@link org.springframework.context.index.processor.CandidateComponentsIndexer}
+ * annotation processor, which writes a {@value #COMPONENTS_RESOURCE_LOCATION}
+ * file in {@link Properties} format: the key is the fully qualified name of a
+ * candidate type, and the value is a comma-separated list of its stereotypes.
+ *
+ * <p>
+ *  框架内部使用的候选组件索引加载机制
+ * 
+ *  <p>索引在编译时由{@link org.springframework.context.index.processor.CandidateComponentsIndexer}注释处理器构建,
+ * 它以{@link Properties}格式写入{@value #COMPONENTS_RESOURCE_LOCATION}文件：键是候选类型的完全限定名称,值是以逗号分隔的构造型列表
+ * 
+ * 
+ * @since 4.3.6
+ */
+public abstract class CandidateComponentsIndexLoader {
+
+	/**
+	 * The location to look for components.
+	 * <p>Can be present in multiple JAR files.
+	 * <p>
+	 *  寻找组件的位置<p>可以存在于多个JAR文件中
+	 * 
+	 */
+	public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
+
+	/**
+	 * System property that instructs Spring to ignore the index, i.e.
+	 * to always return {@code null} from {@link #loadIndex(ClassLoader)}.
+	 * <p>The default is "false", allowing for regular use of the index. Switching this
+	 * flag to {@code true} fulfills a corner case scenario when an index is partially
+	 * available for some libraries (or use cases) but couldn't be built for the whole
+	 * application. In this case, the application context fallbacks to a regular
+	 * classpath arrangement (i.e. as no index was present at all).
+	 * <p>
+	 *  指示Spring忽略索引的系统属性,即始终从{@link #loadIndex(ClassLoader)}返回{@code null}
+	 *  <p>默认值为"false",允许正常使用索引当索引部分可用于某些库(或用例)但无法为整个应用程序构建时,将此标志切换为{@code true}可满足极端情况
+	 * 在这种情况下,应用程序上下文将回退到常规类路径排列(即根本不存在索引)
+	 * 
+	 */
+	public static final String IGNORE_INDEX = "spring.index.ignore";
+
+
+	private static final boolean shouldIgnoreIndex = SpringProperties.getFlag(IGNORE_INDEX);
+
+	private static final Log logger = LogFactory.getLog(CandidateComponentsIndexLoader.class);
+
+	private static final ConcurrentMap<ClassLoader, CandidateComponentsIndex> cache =
+			new ConcurrentReferenceHashMap<ClassLoader, CandidateComponentsIndex>();
+
+
+	/**
+	 * Load and instantiate the {@link CandidateComponentsIndex} from
+	 * {@value #COMPONENTS_RESOURCE_LOCATION}, using the given class loader. If no
+	 * index is available, return {@code null}.
+	 * <p>
+	 *  使用给定的类加载器从{@value #COMPONENTS_RESOURCE_LOCATION}加载并实例化{@link CandidateComponentsIndex}如果没有可用的索引,则返回{@code null}
+	 * 
+	 * 
+	 * @param classLoader the ClassLoader to use for loading (can be {@code null} to use the default)
+	 * @return the index to use or {@code null} if no index was found
+	 * @throws IllegalStateException if any module index cannot
+	 * be loaded or if an error occurs while creating {@link CandidateComponentsIndex}
+	 */
+	public static CandidateComponentsIndex loadIndex(ClassLoader classLoader) {
+		ClassLoader classLoaderToUse = classLoader;
+		if (classLoaderToUse == null) {
+			classLoaderToUse = CandidateComponentsIndexLoader.class.getClassLoader();
+		}
+		CandidateComponentsIndex index = cache.get(classLoaderToUse);
+		if (index == null && !cache.containsKey(classLoaderToUse)) {
+			index = doLoadIndex(classLoaderToUse);
+			// A null value marks the absence of an index for the given ClassLoader
+			CandidateComponentsIndex existing = cache.putIfAbsent(classLoaderToUse, index);
+			if (existing != null) {
+				index = existing;
+			}
+		}
+		return index;
+	}
+
+	private static CandidateComponentsIndex doLoadIndex(ClassLoader classLoader) {
+		if (shouldIgnoreIndex) {
+			return null;
+		}
+		try {
+			Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+			if (!urls.hasMoreElements()) {
+				return null;
+			}
+			List<Properties> result = new ArrayList<Properties>();
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(url));
+				result.add(properties);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Loaded [" + result.size() + "] index(es)");
+			}
+			int totalCount = 0;
+			for (Properties properties : result) {
+				totalCount += properties.size();
+			}
+			return (totalCount > 0 ? new CandidateComponentsIndex(result) : null);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to load indexes from location [" +
+					COMPONENTS_RESOURCE_LOCATION + "]", ex);
+		}
+	}
+
+}
@@ -0,0 +1,5 @@
+/***** Lobxxx Translate Finished ******/
+/**
+ * Support package for reading and managing the components index.
+ */
+package org.springframework.context.index;
@@ -0,0 +1,153 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+/**
+ * Annotation {@link javax.annotation.processing.Processor Processor} that writes
+ * {@link org.springframework.context.index.CandidateComponentsIndex candidate
+ * components} metadata to a {@code META-INF/spring.components} file.
+ *
+ * <p>Every top-level or static nested class and interface with at least one
+ * stereotype is indexed: stereotypes are {@link org.springframework.stereotype.Indexed
+ * indexed} annotations and types (e.g. {@code @Component} and all annotations
+ * meta-annotated with it), as well as any {@code javax.*} annotation.
+ *
+ * <p>The processor is not registered as a service on purpose, since a partial
+ * index would hide the components of all non-indexed jars from scanning:
+ * it needs to be declared explicitly for each module to be indexed, e.g.
+ * through {@code javac -processor} or the annotation processor path of the
+ * build tool.
+ *
+ * <p>
+ *  将{@link org.springframework.context.index.CandidateComponentsIndex候选组件}元数据写入{@code META-INF/spring.components}文件的注释
+ * {@link javax.annotation.processing.Processor Processor}
+ * 
+ *  <p>每个具有至少一个构造型的顶级或静态嵌套类和接口都会被索引：构造型是{@link org.springframework.stereotype.Indexed索引}注释和类型
+ * (例如{@code @Component}以及使用它进行元注释的所有注释),以及任何{@code javax.*}注释
+ * 
+ *  <p>该处理器有意未注册为服务,因为部分索引会对扫描隐藏所有未索引jar的组件：需要为每个要索引的模块显式声明它,例如通过{@code javac -processor}或构建工具的注释处理器路径
+ * 
+ * 
+ * @since 4.3.6
+ */
+public class CandidateComponentsIndexer extends AbstractProcessor {
+
+	private MetadataStore metadataStore;
+
+	private List<StereotypesProvider> stereotypesProviders;
+
+	private final Map<String, Set<String>> metadata = new LinkedHashMap<String, Set<String>>();
+
+	private final Set<String> processedTypes = new HashSet<String>();
+
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton("*");
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public synchronized void init(ProcessingEnvironment env) {
+		super.init(env);
+		TypeHelper typeHelper = new TypeHelper(env);
+		this.stereotypesProviders = new ArrayList<StereotypesProvider>(2);
+		this.stereotypesProviders.add(new IndexedStereotypesProvider(typeHelper));
+		this.stereotypesProviders.add(new StandardStereotypesProvider(typeHelper));
+		this.metadataStore = new MetadataStore(env);
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getRootElements()) {
+			processElement(element);
+		}
+		if (roundEnv.processingOver()) {
+			writeMetadata();
+		}
+		return false;
+	}
+
+	private void processElement(Element element) {
+		if (!(element instanceof TypeElement)) {
+			return;
+		}
+		String type = this.processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+		this.processedTypes.add(type);
+		Set<String> stereotypes = new LinkedHashSet<String>();
+		for (StereotypesProvider provider : this.stereotypesProviders) {
+			stereotypes.addAll(provider.getStereotypes(element));
+		}
+		if (!stereotypes.isEmpty()) {
+			this.metadata.put(type, stereotypes);
+		}
+		for (Element enclosed : element.getEnclosedElements()) {
+			if (enclosed.getModifiers().contains(Modifier.STATIC) &&
+					(enclosed.getKind() == ElementKind.CLASS || enclosed.getKind() == ElementKind.INTERFACE)) {
+				processElement(enclosed);
+			}
+		}
+	}
+
+	private void writeMetadata() {
+		Map<String, Set<String>> result = new LinkedHashMap<String, Set<String>>();
+		Map<String, Set<String>> previousMetadata = this.metadataStore.readMetadata();
+		if (previousMetadata != null) {
+			// Incremental build: keep entries of types that have not been compiled again but still exist
+			for (Map.Entry<String, Set<String>> entry : previousMetadata.entrySet()) {
+				String type = entry.getKey();
+				if (!this.processedTypes.contains(type) &&
+						this.processingEnv.getElementUtils().getTypeElement(type.replace('$', '.')) != null) {
+					result.put(type, entry.getValue());
+				}
+			}
+		}
+		result.putAll(this.metadata);
+		try {
+			this.metadataStore.writeMetadata(result);
+		}
+		catch (IOException ex) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Failed to write metadata: " + ex);
+		}
+	}
+
+}
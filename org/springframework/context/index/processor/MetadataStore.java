@@ -0,0 +1,162 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Store {@link CandidateComponentsIndexer} metadata: reads the index of a
+ * previous compilation (for incremental builds) and writes the new one in
+ * properties format, with keys and stereotypes in a stable order so that
+ * the output does not change unless the indexed components do.
+ *
+ * <p>
+ *  存储{@link CandidateComponentsIndexer}元数据：读取先前编译的索引(用于增量构建)并以属性格式写入新索引,键和构造型的顺序稳定,因此除非索引的组件发生变化,否则输出不会改变
+ * 
+ * 
+ * @since 4.3.6
+ */
+class MetadataStore {
+
+	static final String METADATA_PATH = "META-INF/spring.components";
+
+	private static final String ENCODING = "ISO-8859-1";
+
+	private final ProcessingEnvironment environment;
+
+
+	MetadataStore(ProcessingEnvironment environment) {
+		this.environment = environment;
+	}
+
+
+	/**
+	 * Read the index written by a previous compilation, if any.
+	 * <p>
+	 *  读取先前编译写入的索引(如果有)
+	 * 
+	 * 
+	 * @return a map of type name to stereotypes, or {@code null} if not available
+	 */
+	public Map<String, Set<String>> readMetadata() {
+		try {
+			FileObject resource = this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+			InputStream in = resource.openInputStream();
+			try {
+				return readMetadata(in);
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch (FileNotFoundException ex) {
+			// No previous index
+			return null;
+		}
+		catch (IOException ex) {
+			return null;
+		}
+		catch (IllegalArgumentException ex) {
+			// Some build tools do not support reading from the class output location
+			return null;
+		}
+	}
+
+	/**
+	 * Write the given index.
+	 * <p>
+	 *  写入给定的索引
+	 * 
+	 * 
+	 * @param metadata a map of type name to stereotypes
+	 */
+	public void writeMetadata(Map<String, Set<String>> metadata) throws IOException {
+		if (!metadata.isEmpty()) {
+			FileObject resource = this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+			OutputStream out = resource.openOutputStream();
+			try {
+				writeMetadata(new TreeMap<String, Set<String>>(metadata), out);
+			}
+			finally {
+				out.close();
+			}
+		}
+	}
+
+
+	private static Map<String, Set<String>> readMetadata(InputStream in) throws IOException {
+		Properties properties = new Properties();
+		properties.load(in);
+		Map<String, Set<String>> metadata = new TreeMap<String, Set<String>>();
+		for (String type : properties.stringPropertyNames()) {
+			Set<String> stereotypes = new LinkedHashSet<String>();
+			for (String stereotype : properties.getProperty(type).split(",")) {
+				if (!stereotype.trim().isEmpty()) {
+					stereotypes.add(stereotype.trim());
+				}
+			}
+			metadata.put(type, stereotypes);
+		}
+		return metadata;
+	}
+
+	private static void writeMetadata(Map<String, Set<String>> metadata, OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, ENCODING));
+		for (Map.Entry<String, Set<String>> entry : metadata.entrySet()) {
+			writeEscaped(writer, entry.getKey());
+			writer.write('=');
+			boolean first = true;
+			for (String stereotype : entry.getValue()) {
+				if (!first) {
+					writer.write(',');
+				}
+				writeEscaped(writer, stereotype);
+				first = false;
+			}
+			writer.write('\n');
+		}
+		writer.flush();
+	}
+
+	private static void writeEscaped(Writer writer, String value) throws IOException {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < 0x20 || c > 0x7e) {
+				writer.write(String.format("\\u%04x", (int) c));
+			}
+			else {
+				writer.write(c);
+			}
+		}
+	}
+
+}
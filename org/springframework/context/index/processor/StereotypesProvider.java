@@ -0,0 +1,47 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.util.Set;
+import javax.lang.model.element.Element;
+
+/**
+ * Provide the list of stereotypes that match an {@link Element}.
+ * If an element has one or more stereotypes, it is referenced in the index
+ * of candidate components and each stereotype can be queried individually.
+ *
+ * <p>
+ *  提供与{@link Element}匹配的构造型列表如果元素具有一个或多个构造型,则在候选组件的索引中引用它,并且可以单独查询每个构造型
+ * 
+ * 
+ * @since 4.3.6
+ */
+interface StereotypesProvider {
+
+	/**
+	 * Return the stereotypes that are present on the given {@link Element}.
+	 * <p>
+	 *  返回给定{@link Element}上存在的构造型
+	 * 
+	 * 
+	 * @param element the element to handle
+	 * @return the stereotypes or an empty set if none were found
+	 */
+	Set<String> getStereotypes(Element element);
+
+}
@@ -0,0 +1,128 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+
+/**
+ * Type utilities.
+ *
+ * <p>
+ *  类型工具
+ * 
+ * 
+ * @since 4.3.6
+ */
+class TypeHelper {
+
+	private final ProcessingEnvironment env;
+
+	private final Types types;
+
+
+	TypeHelper(ProcessingEnvironment env) {
+		this.env = env;
+		this.types = env.getTypeUtils();
+	}
+
+
+	/**
+	 * Return the fully qualified (binary) name of the given element.
+	 * <p>
+	 *  返回给定元素的完全限定(二进制)名称
+	 * 
+	 */
+	public String getType(Element element) {
+		if (element instanceof TypeElement) {
+			return this.env.getElementUtils().getBinaryName((TypeElement) element).toString();
+		}
+		return element.toString();
+	}
+
+	/**
+	 * Return the fully qualified (binary) name of the given annotation's type.
+	 * <p>
+	 *  返回给定注释类型的完全限定(二进制)名称
+	 * 
+	 */
+	public String getType(AnnotationMirror annotation) {
+		return getType(annotation.getAnnotationType().asElement());
+	}
+
+	/**
+	 * Return the super class of the specified {@link Element} or null if this
+	 * {@code element} represents {@link Object}.
+	 * <p>
+	 *  返回指定{@link Element}的超类,如果此{@code element}表示{@link Object},则返回null
+	 * 
+	 */
+	public Element getSuperClass(Element element) {
+		List<? extends TypeMirror> superTypes = this.types.directSupertypes(element.asType());
+		if (superTypes.isEmpty()) {
+			return null;  // reached java.lang.Object
+		}
+		return this.types.asElement(superTypes.get(0));
+	}
+
+	/**
+	 * Return the interfaces that are <strong>directly</strong> implemented by the
+	 * specified {@link Element} or an empty list if this {@code element} does not
+	 * implement any interface.
+	 * <p>
+	 *  返回由指定{@link Element} <strong>直接</strong>实现的接口,如果此{@code element}未实现任何接口,则返回空列表
+	 * 
+	 */
+	public List<Element> getDirectInterfaces(Element element) {
+		List<? extends TypeMirror> superTypes = this.types.directSupertypes(element.asType());
+		List<Element> directInterfaces = new ArrayList<Element>();
+		if (superTypes.size() > 1) {  // index 0 is the super class
+			for (int i = 1; i < superTypes.size(); i++) {
+				Element e = this.types.asElement(superTypes.get(i));
+				if (e != null) {
+					directInterfaces.add(e);
+				}
+			}
+		}
+		return directInterfaces;
+	}
+
+	/**
+	 * Return all annotations present on the given element, including inherited ones.
+	 * <p>
+	 *  返回给定元素上存在的所有注释,包括继承的注释
+	 * 
+	 */
+	public List<? extends AnnotationMirror> getAllAnnotationMirrors(Element e) {
+		try {
+			return this.env.getElementUtils().getAllAnnotationMirrors(e);
+		}
+		catch (Exception ex) {
+			// This may fail if one of the annotations is not available.
+			return Collections.emptyList();
+		}
+	}
+
+}
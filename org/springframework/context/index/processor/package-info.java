@@ -0,0 +1,5 @@
+/***** Lobxxx Translate Finished ******/
+/**
+ * Annotation processor generating the components index at compile time.
+ */
+package org.springframework.context.index.processor;
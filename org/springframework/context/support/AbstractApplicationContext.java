@@ -67,6 +67,7 @@ import org.springframework.context.expression.StandardBeanExpressionResolver;
 import org.springframework.context.weaving.LoadTimeWeaverAware;
 import org.springframework.context.weaving.LoadTimeWeaverAwareProcessor;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
@@ -445,10 +446,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 			applicationEvent = (ApplicationEvent) event;
 		}
 		else {
+			// The multicaster derives the event type from the payload if necessary
 			applicationEvent = new PayloadApplicationEvent<Object>(this, event);
-			if (eventType == null) {
-				eventType = ((PayloadApplicationEvent)applicationEvent).getResolvableType();
-			}
 		}
 
 		// Multicast right now if possible - or lazily once the multicaster is initialized
@@ -1051,19 +1050,21 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 
 	/**
 	 * Reset Spring's common core caches, in particular the {@link ReflectionUtils},
-	 * {@link ResolvableType} and {@link CachedIntrospectionResults} caches.
+	 * {@link AnnotationUtils}, {@link ResolvableType} and {@link CachedIntrospectionResults} caches.
 	 * <p>
-	 *  重置Spring的常见核心缓存,特别是{@link ReflectionUtils},{@link ResolvableType}和{@link CachedIntrospectionResults}
+	 *  重置Spring的常见核心缓存,特别是{@link ReflectionUtils},{@link AnnotationUtils},{@link ResolvableType}和{@link CachedIntrospectionResults}
 	 * 缓存。
 	 * 
 	 * 
 	 * @since 4.2
 	 * @see ReflectionUtils#clearCache()
+	 * @see AnnotationUtils#clearCache()
 	 * @see ResolvableType#clearCache()
 	 * @see CachedIntrospectionResults#clearClassLoader(ClassLoader)
 	 */
 	protected void resetCommonCaches() {
 		ReflectionUtils.clearCache();
+		AnnotationUtils.clearCache();
 		ResolvableType.clearCache();
 		CachedIntrospectionResults.clearClassLoader(getClassLoader());
 	}
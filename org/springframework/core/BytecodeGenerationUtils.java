@@ -0,0 +1,204 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Miscellaneous utility methods for generating classes at runtime with the
+ * bundled ASM library: defining the generated classes in a child class loader
+ * of a given class loader, and boxing/unboxing values in generated methods.
+ *
+ * <p>Mainly for internal use within the framework.
+ *
+ * <p>
+ *  用于使用捆绑的ASM库在运行时生成类的各种实用方法:在给定类加载器的子类加载器中定义生成的类,以及在生成的方法中装箱/拆箱值
+ * 
+ *  <p>主要用于框架内部
+ * 
+ * 
+ * @since 4.3.6
+ */
+public abstract class BytecodeGenerationUtils implements Opcodes {
+
+	private static final Map<ClassLoader, ChildClassLoader> childClassLoaders =
+			new ConcurrentReferenceHashMap<ClassLoader, ChildClassLoader>();
+
+
+	/**
+	 * Determine whether classes extending or implementing the given type
+	 * can be generated for the given class loader.
+	 * <p>This is not the case for the bootstrap class loader, for class loaders
+	 * that cannot see the given type, or if a {@link SecurityManager} is active
+	 * (in order to retain the access control context of reflective invocation).
+	 * <p>
+	 *  确定是否可以为给定的类加载器生成扩展或实现给定类型的类
+	 * <p>对于引导类加载器、看不到给定类型的类加载器,或者{@link SecurityManager}处于活动状态(为了保留反射调用的访问控制上下文)时,情况并非如此
+	 * 
+	 * 
+	 * @param classLoader the class loader to generate classes for (may be {@code null})
+	 * @param baseType the type that generated classes extend or implement
+	 * @return whether classes can be generated
+	 */
+	@SuppressWarnings("deprecation")
+	public static boolean isGenerationSupported(ClassLoader classLoader, Class<?> baseType) {
+		return (classLoader != null && System.getSecurityManager() == null &&
+				ClassUtils.isVisible(baseType, classLoader));
+	}
+
+	/**
+	 * Return the shared child class loader for the given class loader,
+	 * creating it if necessary.
+	 * <p>
+	 *  返回给定类加载器的共享子类加载器,必要时创建它
+	 * 
+	 * 
+	 * @param classLoader the parent class loader
+	 * @return the child class loader to define generated classes in
+	 */
+	public static ChildClassLoader getChildClassLoader(ClassLoader classLoader) {
+		ChildClassLoader childClassLoader = childClassLoaders.get(classLoader);
+		if (childClassLoader == null) {
+			synchronized (childClassLoaders) {
+				childClassLoader = childClassLoaders.get(classLoader);
+				if (childClassLoader == null) {
+					childClassLoader = new ChildClassLoader(classLoader);
+					childClassLoaders.put(classLoader, childClassLoader);
+				}
+			}
+		}
+		return childClassLoader;
+	}
+
+	/**
+	 * Emit the instructions boxing a primitive value of the given type on top
+	 * of the operand stack; {@code void} results in {@code null}, and
+	 * reference types are left as-is.
+	 * <p>
+	 *  发出将操作数栈顶部的给定类型的原始值装箱的指令; {@code void}产生{@code null},引用类型保持不变
+	 * 
+	 * 
+	 * @param mv the method visitor to emit instructions to
+	 * @param type the type of the value on top of the operand stack
+	 */
+	public static void box(MethodVisitor mv, Type type) {
+		switch (type.getSort()) {
+			case Type.VOID:
+				mv.visitInsn(ACONST_NULL);
+				break;
+			case Type.BOOLEAN:
+				mv.visitMethodInsn(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;", false);
+				break;
+			case Type.CHAR:
+				mv.visitMethodInsn(INVOKESTATIC, "java/lang/Character", "valueOf", "(C)Ljava/lang/Character;", false);
+				break;
+			case Type.BYTE:
+				mv.visitMethodInsn(INVOKESTATIC, "java/lang/Byte", "valueOf", "(B)Ljava/lang/Byte;", false);
+				break;
+			case Type.SHORT:
+				mv.visitMethodInsn(INVOKESTATIC, "java/lang/Short", "valueOf", "(S)Ljava/lang/Short;", false);
+				break;
+			case Type.INT:
+				mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", false);
+				break;
+			case Type.LONG:
+				mv.visitMethodInsn(INVOKESTATIC, "java/lang/Long", "valueOf", "(J)Ljava/lang/Long;", false);
+				break;
+			case Type.FLOAT:
+				mv.visitMethodInsn(INVOKESTATIC, "java/lang/Float", "valueOf", "(F)Ljava/lang/Float;", false);
+				break;
+			case Type.DOUBLE:
+				mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;", false);
+				break;
+		}
+	}
+
+	/**
+	 * Emit the instructions converting the object on top of the operand stack
+	 * to the given type: unboxing it for primitive types, casting it otherwise.
+	 * <p>
+	 *  发出将操作数栈顶部的对象转换为给定类型的指令:对于原始类型进行拆箱,否则进行强制转换
+	 * 
+	 * 
+	 * @param mv the method visitor to emit instructions to
+	 * @param type the type to convert to
+	 */
+	public static void unbox(MethodVisitor mv, Type type) {
+		switch (type.getSort()) {
+			case Type.BOOLEAN:
+				unbox(mv, "java/lang/Boolean", "booleanValue", "()Z");
+				break;
+			case Type.CHAR:
+				unbox(mv, "java/lang/Character", "charValue", "()C");
+				break;
+			case Type.BYTE:
+				unbox(mv, "java/lang/Byte", "byteValue", "()B");
+				break;
+			case Type.SHORT:
+				unbox(mv, "java/lang/Short", "shortValue", "()S");
+				break;
+			case Type.INT:
+				unbox(mv, "java/lang/Integer", "intValue", "()I");
+				break;
+			case Type.LONG:
+				unbox(mv, "java/lang/Long", "longValue", "()J");
+				break;
+			case Type.FLOAT:
+				unbox(mv, "java/lang/Float", "floatValue", "()F");
+				break;
+			case Type.DOUBLE:
+				unbox(mv, "java/lang/Double", "doubleValue", "()D");
+				break;
+			default:
+				mv.visitTypeInsn(CHECKCAST, type.getInternalName());
+		}
+	}
+
+	private static void unbox(MethodVisitor mv, String wrapperType, String methodName, String descriptor) {
+		mv.visitTypeInsn(CHECKCAST, wrapperType);
+		mv.visitMethodInsn(INVOKEVIRTUAL, wrapperType, methodName, descriptor, false);
+	}
+
+
+	/**
+	 * Child class loader for generated classes.
+	 * <p>
+	 *  生成的类的子类加载器
+	 */
+	public static class ChildClassLoader extends URLClassLoader {
+
+		private static final URL[] NO_URLS = new URL[0];
+
+		public ChildClassLoader(ClassLoader classLoader) {
+			super(NO_URLS, classLoader);
+		}
+
+		public Class<?> defineClass(String name, byte[] bytes) {
+			return super.defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
@@ -18,6 +18,8 @@
 package org.springframework.core;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -31,13 +33,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.springframework.core.SerializableTypeWrapper.FieldTypeProvider;
 import org.springframework.core.SerializableTypeWrapper.MethodParameterTypeProvider;
 import org.springframework.core.SerializableTypeWrapper.TypeProvider;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
@@ -107,8 +110,7 @@ public class ResolvableType implements Serializable {
 
 	private static final ResolvableType[] EMPTY_TYPES_ARRAY = new ResolvableType[0];
 
-	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
-			new ConcurrentReferenceHashMap<ResolvableType, ResolvableType>(256);
+	private static final TypeCache cache = new TypeCache(8192);
 
 
 	/**
@@ -160,22 +162,6 @@ public class ResolvableType implements Serializable {
 	private ResolvableType[] generics;
 
 
-	/**
-	 * Private constructor used to create a new {@link ResolvableType} for cache key purposes,
-	 * with no upfront resolution.
-	 * <p>
-	 *  私有构造函数用于为缓存关键目的创建一个新的{@link ResolvableType},没有预先分辨率
-	 * 
-	 */
-	private ResolvableType(Type type, TypeProvider typeProvider, VariableResolver variableResolver) {
-		this.type = type;
-		this.typeProvider = typeProvider;
-		this.variableResolver = variableResolver;
-		this.componentType = null;
-		this.resolved = null;
-		this.hash = calculateHashCode();
-	}
-
 	/**
 	 * Private constructor used to create a new {@link ResolvableType} for cache value purposes,
 	 * with upfront resolution and a pre-calculated hash.
@@ -1605,28 +1591,34 @@ public class ResolvableType implements Serializable {
 	 * @return a {@link ResolvableType} for the specified {@link Type} and {@link VariableResolver}
 	 */
 	static ResolvableType forType(Type type, TypeProvider typeProvider, VariableResolver variableResolver) {
-		if (type == null && typeProvider != null) {
-			type = SerializableTypeWrapper.forTypeProvider(typeProvider);
-		}
-		if (type == null) {
+		// Look up the plain Java type: the serializable wrapper is only needed for new instances.
+		Type lookupType = (type != null ? SerializableTypeWrapper.unwrap(type) :
+				(typeProvider != null ? typeProvider.getType() : null));
+		if (lookupType == null) {
 			return NONE;
 		}
 
 		// For simple Class references, build the wrapper right away -
 		// no expensive resolution necessary, so not worth caching...
-		if (type instanceof Class) {
-			return new ResolvableType(type, typeProvider, variableResolver, (ResolvableType) null);
+		if (lookupType instanceof Class) {
+			return new ResolvableType(lookupType, typeProvider, variableResolver, (ResolvableType) null);
 		}
 
-		// Purge empty entries on access since we don't have a clean-up thread or the like.
-		cache.purgeUnreferencedEntries();
-
 		// Check the cache - we may have a ResolvableType which has been resolved before...
-		ResolvableType key = new ResolvableType(type, typeProvider, variableResolver);
-		ResolvableType resolvableType = cache.get(key);
+		int hash = lookupType.hashCode();
+		if (typeProvider != null) {
+			hash = 31 * hash + ObjectUtils.nullSafeHashCode(typeProvider.getSource());
+		}
+		if (variableResolver != null) {
+			hash = 31 * hash + ObjectUtils.nullSafeHashCode(variableResolver.getSource());
+		}
+		ResolvableType resolvableType = cache.get(hash, lookupType, typeProvider, variableResolver);
 		if (resolvableType == null) {
-			resolvableType = new ResolvableType(type, typeProvider, variableResolver, key.hash);
-			cache.put(resolvableType, resolvableType);
+			if (type == null) {
+				type = SerializableTypeWrapper.forTypeProvider(typeProvider);
+			}
+			resolvableType = new ResolvableType(type, typeProvider, variableResolver, hash);
+			cache.put(hash, lookupType, resolvableType);
 		}
 		return resolvableType;
 	}
@@ -1643,6 +1635,47 @@ public class ResolvableType implements Serializable {
 		cache.clear();
 	}
 
+	/**
+	 * Return the number of lookups that have been served from the internal
+	 * {@code ResolvableType} cache.
+	 * <p>
+	 *  返回由内部{@code ResolvableType}缓存提供服务的查找次数
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see #getCacheMissCount()
+	 */
+	public static long getCacheHitCount() {
+		return cache.hitCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that had to create a new {@code ResolvableType}
+	 * since it was not present in the internal cache.
+	 * <p>
+	 *  返回由于内部缓存中不存在而必须创建新{@code ResolvableType}的查找次数
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see #getCacheHitCount()
+	 */
+	public static long getCacheMissCount() {
+		return cache.missCount.get();
+	}
+
+	/**
+	 * Return the number of {@code ResolvableType} instances currently held in the
+	 * internal cache, which never exceeds a fixed capacity.
+	 * <p>
+	 *  返回当前保存在内部缓存中的{@code ResolvableType}实例的数量,该数量永远不会超过固定容量
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public static int getCacheSize() {
+		return cache.size();
+	}
+
 
 	/**
 	 * Strategy interface used to resolve {@link TypeVariable}s.
@@ -1871,4 +1904,118 @@ public class ResolvableType implements Serializable {
 		enum Kind {UPPER, LOWER}
 	}
 
+
+	/**
+	 * Bounded, lock-free cache of {@link ResolvableType} instances: a table of soft
+	 * references where each type may live in one of two adjacent slots, evicting the
+	 * older entry when both are taken. Lookups compare the plain Java type along with
+	 * the type provider and variable resolver sources, without allocating a key.
+	 * <p>
+	 *  {@link ResolvableType}实例的有界无锁缓存：一个软引用表,其中每个类型可能位于两个相邻槽之一中,当两者都被占用时逐出较旧的条目查找会比较纯Java类型以及类型提供程序和变量解析器源,而无需分配键
+	 * 
+	 */
+	private static class TypeCache {
+
+		private final AtomicReferenceArray<Reference<CacheEntry>> table;
+
+		private final int mask;
+
+		final AtomicLong hitCount = new AtomicLong();
+
+		final AtomicLong missCount = new AtomicLong();
+
+		public TypeCache(int capacity) {
+			this.table = new AtomicReferenceArray<Reference<CacheEntry>>(capacity);
+			this.mask = capacity - 1;
+		}
+
+		public ResolvableType get(int hash, Type type, TypeProvider typeProvider, VariableResolver variableResolver) {
+			int index = indexFor(hash);
+			CacheEntry entry = getEntry(index);
+			if (entry == null || !entry.matches(hash, type, typeProvider, variableResolver)) {
+				entry = getEntry((index + 1) & this.mask);
+				if (entry == null || !entry.matches(hash, type, typeProvider, variableResolver)) {
+					this.missCount.incrementAndGet();
+					return null;
+				}
+			}
+			this.hitCount.incrementAndGet();
+			return entry.resolvableType;
+		}
+
+		public void put(int hash, Type type, ResolvableType resolvableType) {
+			int index = indexFor(hash);
+			Reference<CacheEntry> ref = new SoftReference<CacheEntry>(new CacheEntry(hash, type, resolvableType));
+			if (getEntry(index) != null) {
+				// Move the previous entry to the second slot, evicting whatever was there
+				this.table.set((index + 1) & this.mask, this.table.get(index));
+			}
+			this.table.set(index, ref);
+		}
+
+		public int size() {
+			int size = 0;
+			for (int i = 0; i < this.table.length(); i++) {
+				if (getEntry(i) != null) {
+					size++;
+				}
+			}
+			return size;
+		}
+
+		public void clear() {
+			for (int i = 0; i < this.table.length(); i++) {
+				this.table.set(i, null);
+			}
+		}
+
+		private int indexFor(int hash) {
+			return (hash ^ (hash >>> 16)) & this.mask;
+		}
+
+		private CacheEntry getEntry(int index) {
+			Reference<CacheEntry> ref = this.table.get(index);
+			return (ref != null ? ref.get() : null);
+		}
+	}
+
+
+	/**
+	 * A {@link TypeCache} entry, keeping the plain Java type for comparison.
+	 * <p>
+	 *  {@link TypeCache}条目,保留纯Java类型用于比较
+	 * 
+	 */
+	private static class CacheEntry {
+
+		private final int hash;
+
+		private final Type type;
+
+		final ResolvableType resolvableType;
+
+		public CacheEntry(int hash, Type type, ResolvableType resolvableType) {
+			this.hash = hash;
+			this.type = type;
+			this.resolvableType = resolvableType;
+		}
+
+		public boolean matches(int hash, Type type, TypeProvider typeProvider, VariableResolver variableResolver) {
+			if (this.hash != hash || !(this.type == type || this.type.equals(type))) {
+				return false;
+			}
+			TypeProvider otherTypeProvider = this.resolvableType.typeProvider;
+			if (typeProvider != otherTypeProvider && (typeProvider == null || otherTypeProvider == null ||
+					!ObjectUtils.nullSafeEquals(typeProvider.getSource(), otherTypeProvider.getSource()))) {
+				return false;
+			}
+			VariableResolver otherVariableResolver = this.resolvableType.variableResolver;
+			if (variableResolver != otherVariableResolver && (variableResolver == null || otherVariableResolver == null ||
+					!ObjectUtils.nullSafeEquals(variableResolver.getSource(), otherVariableResolver.getSource()))) {
+				return false;
+			}
+			return true;
+		}
+	}
+
 }
@@ -183,24 +183,25 @@ abstract class SerializableTypeWrapper {
 	 */
 	static Type forTypeProvider(final TypeProvider provider) {
 		Assert.notNull(provider, "Provider must not be null");
-		if (provider.getType() instanceof Serializable || provider.getType() == null) {
-			return provider.getType();
+		Type providedType = provider.getType();
+		if (providedType instanceof Serializable || providedType == null) {
+			return providedType;
 		}
-		Type cached = cache.get(provider.getType());
+		Type cached = cache.get(providedType);
 		if (cached != null) {
 			return cached;
 		}
 		for (Class<?> type : SUPPORTED_SERIALIZABLE_TYPES) {
-			if (type.isAssignableFrom(provider.getType().getClass())) {
+			if (type.isAssignableFrom(providedType.getClass())) {
 				ClassLoader classLoader = provider.getClass().getClassLoader();
 				Class<?>[] interfaces = new Class<?>[] {type, SerializableTypeProxy.class, Serializable.class};
 				InvocationHandler handler = new TypeProxyInvocationHandler(provider);
 				cached = (Type) Proxy.newProxyInstance(classLoader, interfaces, handler);
-				cache.put(provider.getType(), cached);
+				cache.put(providedType, cached);
 				return cached;
 			}
 		}
-		throw new IllegalArgumentException("Unsupported Type class: " + provider.getType().getClass().getName());
+		throw new IllegalArgumentException("Unsupported Type class: " + providedType.getClass().getName());
 	}
 
 
@@ -336,6 +336,18 @@ public class AnnotatedElementUtils {
 			return true;
 		}
 
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		return (index != null ? index.isAnnotated(element, annotationType) : doIsAnnotated(element, annotationType));
+	}
+
+	/**
+	 * Exhaustive check behind {@link #isAnnotated(AnnotatedElement, Class)},
+	 * invoked once per indexed element and annotation type by {@link MergedAnnotationIndex}.
+	 * <p>
+	 *  {@link #isAnnotated(AnnotatedElement,Class)}背后的详尽检查,由{@link MergedAnnotationIndex}对每个索引元素和注释类型调用一次
+	 * 
+	 */
+	static boolean doIsAnnotated(AnnotatedElement element, Class<? extends Annotation> annotationType) {
 		return Boolean.TRUE.equals(searchWithGetSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
 	}
 
@@ -412,6 +424,20 @@ public class AnnotatedElementUtils {
 			AnnotatedElement element, Class<? extends Annotation> annotationType) {
 
 		Assert.notNull(annotationType, "annotationType must not be null");
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		return (index != null ? index.getMergedAnnotationAttributes(element, annotationType) : doGetMergedAnnotationAttributes(element, annotationType));
+	}
+
+	/**
+	 * Exhaustive retrieval behind {@link #getMergedAnnotationAttributes(AnnotatedElement, Class)},
+	 * invoked once per indexed element and annotation type by {@link MergedAnnotationIndex}.
+	 * <p>
+	 *  {@link #getMergedAnnotationAttributes(AnnotatedElement,Class)}背后的详尽检索,由{@link MergedAnnotationIndex}对每个索引元素和注释类型调用一次
+	 * 
+	 */
+	static AnnotationAttributes doGetMergedAnnotationAttributes(
+			AnnotatedElement element, Class<? extends Annotation> annotationType) {
+
 		AnnotationAttributes attributes = searchWithGetSemantics(element, annotationType, null,
 				new MergedAnnotationAttributesProcessor());
 		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, false, false);
@@ -526,8 +552,20 @@ public class AnnotatedElementUtils {
 			}
 		}
 
-		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, annotationType);
+		// Exhaustive retrieval of merged annotation attributes, once per element...
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		return (index != null ? index.getMergedAnnotation(element, annotationType) : doGetMergedAnnotation(element, annotationType));
+	}
+
+	/**
+	 * Exhaustive retrieval behind {@link #getMergedAnnotation(AnnotatedElement, Class)},
+	 * invoked once per indexed element and annotation type by {@link MergedAnnotationIndex}.
+	 * <p>
+	 *  {@link #getMergedAnnotation(AnnotatedElement,Class)}背后的详尽检索,由{@link MergedAnnotationIndex}对每个索引元素和注释类型调用一次
+	 * 
+	 */
+	static <A extends Annotation> A doGetMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
+		AnnotationAttributes attributes = doGetMergedAnnotationAttributes(element, annotationType);
 		return AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element);
 	}
 
@@ -750,6 +788,18 @@ public class AnnotatedElementUtils {
 			return true;
 		}
 
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		return (index != null ? index.hasAnnotation(element, annotationType) : doHasAnnotation(element, annotationType));
+	}
+
+	/**
+	 * Exhaustive check behind {@link #hasAnnotation(AnnotatedElement, Class)},
+	 * invoked once per indexed element and annotation type by {@link MergedAnnotationIndex}.
+	 * <p>
+	 *  {@link #hasAnnotation(AnnotatedElement,Class)}背后的详尽检查,由{@link MergedAnnotationIndex}对每个索引元素和注释类型调用一次
+	 * 
+	 */
+	static boolean doHasAnnotation(AnnotatedElement element, Class<? extends Annotation> annotationType) {
 		return Boolean.TRUE.equals(searchWithFindSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
 	}
 
@@ -878,7 +928,19 @@ public class AnnotatedElementUtils {
 			}
 		}
 
-		// Exhaustive retrieval of merged annotation attributes...
+		// Exhaustive retrieval of merged annotation attributes, once per element...
+		MergedAnnotationIndex index = MergedAnnotationIndex.forElement(element);
+		return (index != null ? index.findMergedAnnotation(element, annotationType) : doFindMergedAnnotation(element, annotationType));
+	}
+
+	/**
+	 * Exhaustive retrieval behind {@link #findMergedAnnotation(AnnotatedElement, Class)},
+	 * invoked once per indexed element and annotation type by {@link MergedAnnotationIndex}.
+	 * <p>
+	 *  {@link #findMergedAnnotation(AnnotatedElement,Class)}背后的详尽检索,由{@link MergedAnnotationIndex}对每个索引元素和注释类型调用一次
+	 * 
+	 */
+	static <A extends Annotation> A doFindMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
 		return AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element);
 	}
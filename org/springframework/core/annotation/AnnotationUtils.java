@@ -38,6 +38,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.SpringProperties;
 import org.springframework.util.Assert;
 import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
@@ -142,6 +143,28 @@ public abstract class AnnotationUtils {
 	 */
 	public static final String VALUE = "value";
 
+	/**
+	 * System property that instructs Spring to synthesize annotations as instances of
+	 * generated implementation classes instead of JDK dynamic proxies: {@code true}
+	 * resolves all attribute values (including {@link AliasFor @AliasFor} semantics)
+	 * upfront and reads them from final fields afterwards.
+	 * <p>The default is "false", always creating
+	 * {@link java.lang.reflect.Proxy JDK proxies}. Switch this flag to "true" for
+	 * infrastructure that reads attributes of synthesized annotations frequently.
+	 * Annotation types that cannot be implemented by a generated class, e.g. since
+	 * they are not public, are still synthesized as proxies in that case.
+	 * <p>
+	 *  指示Spring将注释合成为生成的实现类的实例而不是JDK动态代理的系统属性：{@code true}预先解析所有属性值(包括{@link AliasFor @AliasFor}语义),之后从final字段读取它们
+	 * 
+	 *  <p>默认值为"false",始终创建{@link java.lang.reflect.Proxy JDK代理}对于频繁读取合成注释属性的基础结构,请将此标志切换为"true"在这种情况下,
+	 * 无法由生成的类实现的注释类型(例如因为它们不是公共的)仍会被合成为代理
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see org.springframework.core.SpringProperties
+	 */
+	public static final String GENERATE_IMPLEMENTATIONS_PROPERTY_NAME = "spring.annotation.generate-implementations";
+
 	private static final String REPEATABLE_CLASS_NAME = "java.lang.annotation.Repeatable";
 
 	private static final Map<AnnotationCacheKey, Annotation> findAnnotationCache =
@@ -165,6 +188,9 @@ public abstract class AnnotationUtils {
 	private static final Map<Method, AliasDescriptor> aliasDescriptorCache =
 			new ConcurrentReferenceHashMap<Method, AliasDescriptor>(256);
 
+	private static final boolean generateImplementations =
+			SpringProperties.getFlag(GENERATE_IMPLEMENTATIONS_PROPERTY_NAME);
+
 	private static transient Log logger;
 
 
@@ -1697,6 +1723,12 @@ public abstract class AnnotationUtils {
 
 		DefaultAnnotationAttributeExtractor attributeExtractor =
 				new DefaultAnnotationAttributeExtractor(annotation, annotatedElement);
+		if (generateImplementations) {
+			Annotation generated = SynthesizedAnnotationGenerator.synthesize(attributeExtractor);
+			if (generated != null) {
+				return (A) generated;
+			}
+		}
 		InvocationHandler handler = new SynthesizedAnnotationInvocationHandler(attributeExtractor);
 
 		// Can always expose Spring's SynthesizedAnnotation marker since we explicitly check for a
@@ -1752,6 +1784,12 @@ public abstract class AnnotationUtils {
 
 		MapAnnotationAttributeExtractor attributeExtractor =
 				new MapAnnotationAttributeExtractor(attributes, annotationType, annotatedElement);
+		if (generateImplementations) {
+			Annotation generated = SynthesizedAnnotationGenerator.synthesize(attributeExtractor);
+			if (generated != null) {
+				return (A) generated;
+			}
+		}
 		InvocationHandler handler = new SynthesizedAnnotationInvocationHandler(attributeExtractor);
 		Class<?>[] exposedInterfaces = (canExposeSynthesizedMarker(annotationType) ?
 				new Class<?>[] {annotationType, SynthesizedAnnotation.class} : new Class<?>[] {annotationType});
@@ -2195,6 +2233,26 @@ public abstract class AnnotationUtils {
 		}
 	}
 
+	/**
+	 * Clear the internal annotation metadata cache, including the merged
+	 * annotations indexed by {@link AnnotatedElementUtils}.
+	 * <p>
+	 *  清除内部注释元数据缓存,包括由{@link AnnotatedElementUtils}索引的合并注释
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public static void clearCache() {
+		findAnnotationCache.clear();
+		metaPresentCache.clear();
+		annotatedInterfaceCache.clear();
+		synthesizableCache.clear();
+		attributeAliasesCache.clear();
+		attributeMethodsCache.clear();
+		aliasDescriptorCache.clear();
+		MergedAnnotationIndex.clearCache();
+	}
+
 
 	/**
 	 * Cache key for the AnnotatedElement cache.
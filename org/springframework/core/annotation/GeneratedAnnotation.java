@@ -0,0 +1,159 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Base class for the annotation implementations that {@link SynthesizedAnnotationGenerator}
+ * generates as an alternative to {@link SynthesizedAnnotationInvocationHandler} proxies.
+ *
+ * <p>The generated subclass implements the annotation interface itself, holding the
+ * attribute values in final fields that have been resolved (including
+ * {@link AliasFor @AliasFor} semantics) at construction time. Array values are cloned
+ * on each access, and {@link #equals}, {@link #hashCode} and {@link #toString} follow
+ * the contract of {@link Annotation}, exactly like synthesized annotation proxies do.
+ *
+ * <p>Only to be extended by generated classes; not intended for direct use.
+ *
+ * <p>
+ *  {@link SynthesizedAnnotationGenerator}作为{@link SynthesizedAnnotationInvocationHandler}代理的替代方案生成的注释实现的基类
+ * 
+ *  <p>生成的子类自身实现注释接口,将在构造时解析(包括{@link AliasFor @AliasFor}语义)的属性值保存在final字段中数组值在每次访问时都会被克隆,
+ * {@link #equals},{@link #hashCode}和{@link #toString}遵循{@link Annotation}的约定,与合成的注释代理完全相同
+ * 
+ *  <p>仅由生成的类扩展;不打算直接使用
+ * 
+ * 
+ * @since 4.3.6
+ * @see AnnotationUtils#GENERATE_IMPLEMENTATIONS_PROPERTY_NAME
+ */
+public abstract class GeneratedAnnotation implements Annotation, SynthesizedAnnotation {
+
+	private final Class<? extends Annotation> annotationType;
+
+	private final List<Method> attributeMethods;
+
+
+	protected GeneratedAnnotation(Class<? extends Annotation> annotationType, List<Method> attributeMethods) {
+		this.annotationType = annotationType;
+		this.attributeMethods = attributeMethods;
+	}
+
+
+	@Override
+	public Class<? extends Annotation> annotationType() {
+		return this.annotationType;
+	}
+
+	/**
+	 * Return the value of the attribute at the given index within the
+	 * attribute methods that this annotation has been generated for,
+	 * without cloning arrays.
+	 * <p>
+	 *  返回生成此注释所依据的属性方法中给定索引处的属性值,不克隆数组
+	 * 
+	 */
+	protected abstract Object getAttributeValue(int index);
+
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!this.annotationType.isInstance(other)) {
+			return false;
+		}
+		for (int i = 0; i < this.attributeMethods.size(); i++) {
+			Object otherValue = ReflectionUtils.invokeMethod(this.attributeMethods.get(i), other);
+			if (!ObjectUtils.nullSafeEquals(getAttributeValue(i), otherValue)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 0;
+		for (int i = 0; i < this.attributeMethods.size(); i++) {
+			Object value = getAttributeValue(i);
+			int hashCode = (value.getClass().isArray() ? hashCodeForArray(value) : value.hashCode());
+			result += (127 * this.attributeMethods.get(i).getName().hashCode()) ^ hashCode;
+		}
+		return result;
+	}
+
+	private static int hashCodeForArray(Object array) {
+		if (array instanceof boolean[]) {
+			return Arrays.hashCode((boolean[]) array);
+		}
+		if (array instanceof byte[]) {
+			return Arrays.hashCode((byte[]) array);
+		}
+		if (array instanceof char[]) {
+			return Arrays.hashCode((char[]) array);
+		}
+		if (array instanceof double[]) {
+			return Arrays.hashCode((double[]) array);
+		}
+		if (array instanceof float[]) {
+			return Arrays.hashCode((float[]) array);
+		}
+		if (array instanceof int[]) {
+			return Arrays.hashCode((int[]) array);
+		}
+		if (array instanceof long[]) {
+			return Arrays.hashCode((long[]) array);
+		}
+		if (array instanceof short[]) {
+			return Arrays.hashCode((short[]) array);
+		}
+		return Arrays.hashCode((Object[]) array);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("@").append(this.annotationType.getName()).append("(");
+		Iterator<Method> iterator = this.attributeMethods.iterator();
+		int index = 0;
+		while (iterator.hasNext()) {
+			sb.append(iterator.next().getName());
+			sb.append('=');
+			Object value = getAttributeValue(index++);
+			if (value instanceof Object[]) {
+				sb.append("[").append(StringUtils.arrayToDelimitedString((Object[]) value, ", ")).append("]");
+			}
+			else {
+				sb.append(value);
+			}
+			sb.append(iterator.hasNext() ? ", " : "");
+		}
+		return sb.append(")").toString();
+	}
+
+}
@@ -0,0 +1,247 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Index of the merged annotations of a particular {@link AnnotatedElement},
+ * holding the results of {@link AnnotatedElementUtils} lookups once they have
+ * been computed, including {@code null} results for absent annotations.
+ *
+ * <p>Annotations declared on an element (and on its type hierarchy) do not change
+ * at runtime, so the exhaustive traversal of the annotation hierarchy, including
+ * {@link AliasFor @AliasFor} resolution, only needs to happen once per element and
+ * annotation type. Synthesized annotations are immutable and therefore exposed as-is;
+ * merged {@link AnnotationAttributes} are mutable and therefore copied on retrieval.
+ *
+ * <p>
+ *  特定{@link AnnotatedElement}的合并注释索引,保存{@link AnnotatedElementUtils}查找计算后的结果,包括不存在的注释的{@code null}结果
+ * 
+ *  <p>在元素(及其类型层次结构)上声明的注释在运行时不会更改,因此注释层次结构的详尽遍历(包括{@link AliasFor @AliasFor}解析)只需要对每个元素和注释类型执行一次
+ * 合成注释是不可变的,因此按原样公开;合并的{@link AnnotationAttributes}是可变的,因此在检索时被复制
+ * 
+ * 
+ * @since 4.3.6
+ * @see AnnotatedElementUtils
+ */
+final class MergedAnnotationIndex {
+
+	private static final Object NOT_FOUND = new Object();
+
+	private static final ConcurrentMap<AnnotatedElement, MergedAnnotationIndex> indexCache =
+			new ConcurrentReferenceHashMap<AnnotatedElement, MergedAnnotationIndex>(256);
+
+	private static Class<?> javaLangReflectParameterClass = null;
+
+	static {
+		try {
+			javaLangReflectParameterClass =
+					ClassUtils.forName("java.lang.reflect.Parameter", MergedAnnotationIndex.class.getClassLoader());
+		}
+		catch (ClassNotFoundException ex) {
+			// Java 8 not available - no Parameter elements to index then.
+		}
+	}
+
+
+	private final Map<Class<?>, Object> mergedAnnotations = new ConcurrentHashMap<Class<?>, Object>(4);
+
+	private final Map<Class<?>, Object> foundMergedAnnotations = new ConcurrentHashMap<Class<?>, Object>(4);
+
+	private final Map<Class<?>, Object> mergedAttributes = new ConcurrentHashMap<Class<?>, Object>(4);
+
+	private final Map<Class<?>, Boolean> annotated = new ConcurrentHashMap<Class<?>, Boolean>(4);
+
+	private final Map<Class<?>, Boolean> found = new ConcurrentHashMap<Class<?>, Boolean>(4);
+
+
+	private MergedAnnotationIndex() {
+	}
+
+
+	/**
+	 * Return the merged annotation with <em>get semantics</em>, computing it on first access.
+	 * <p>
+	 *  返回具有<em>get语义</em>的合并注释,在首次访问时计算
+	 * 
+	 * 
+	 * @see AnnotatedElementUtils#getMergedAnnotation(AnnotatedElement, Class)
+	 */
+	@SuppressWarnings("unchecked")
+	public <A extends Annotation> A getMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
+		Object result = this.mergedAnnotations.get(annotationType);
+		if (result == null) {
+			result = AnnotatedElementUtils.doGetMergedAnnotation(element, annotationType);
+			this.mergedAnnotations.put(annotationType, (result != null ? result : NOT_FOUND));
+		}
+		return (result != NOT_FOUND ? (A) result : null);
+	}
+
+	/**
+	 * Return the merged annotation with <em>find semantics</em>, computing it on first access.
+	 * <p>
+	 *  返回具有<em>find语义</em>的合并注释,在首次访问时计算
+	 * 
+	 * 
+	 * @see AnnotatedElementUtils#findMergedAnnotation(AnnotatedElement, Class)
+	 */
+	@SuppressWarnings("unchecked")
+	public <A extends Annotation> A findMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
+		Object result = this.foundMergedAnnotations.get(annotationType);
+		if (result == null) {
+			result = AnnotatedElementUtils.doFindMergedAnnotation(element, annotationType);
+			this.foundMergedAnnotations.put(annotationType, (result != null ? result : NOT_FOUND));
+		}
+		return (result != NOT_FOUND ? (A) result : null);
+	}
+
+	/**
+	 * Return a copy of the merged annotation attributes with <em>get semantics</em>,
+	 * computing them on first access.
+	 * <p>
+	 *  返回具有<em>get语义</em>的合并注释属性的副本,在首次访问时计算
+	 * 
+	 * 
+	 * @see AnnotatedElementUtils#getMergedAnnotationAttributes(AnnotatedElement, Class)
+	 */
+	public AnnotationAttributes getMergedAnnotationAttributes(AnnotatedElement element,
+			Class<? extends Annotation> annotationType) {
+
+		Object result = this.mergedAttributes.get(annotationType);
+		if (result == null) {
+			result = AnnotatedElementUtils.doGetMergedAnnotationAttributes(element, annotationType);
+			if (result == null) {
+				result = NOT_FOUND;
+			}
+			this.mergedAttributes.put(annotationType, (result != NOT_FOUND ? copy((AnnotationAttributes) result) : result));
+		}
+		return (result != NOT_FOUND ? copy((AnnotationAttributes) result) : null);
+	}
+
+	/**
+	 * Determine whether the annotation is present with <em>get semantics</em>.
+	 * <p>
+	 *  确定注释是否以<em>get语义</em>存在
+	 * 
+	 * 
+	 * @see AnnotatedElementUtils#isAnnotated(AnnotatedElement, Class)
+	 */
+	public boolean isAnnotated(AnnotatedElement element, Class<? extends Annotation> annotationType) {
+		Boolean result = this.annotated.get(annotationType);
+		if (result == null) {
+			result = AnnotatedElementUtils.doIsAnnotated(element, annotationType);
+			this.annotated.put(annotationType, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Determine whether the annotation is present with <em>find semantics</em>.
+	 * <p>
+	 *  确定注释是否以<em>find语义</em>存在
+	 * 
+	 * 
+	 * @see AnnotatedElementUtils#hasAnnotation(AnnotatedElement, Class)
+	 */
+	public boolean hasAnnotation(AnnotatedElement element, Class<? extends Annotation> annotationType) {
+		Boolean result = this.found.get(annotationType);
+		if (result == null) {
+			result = AnnotatedElementUtils.doHasAnnotation(element, annotationType);
+			this.found.put(annotationType, result);
+		}
+		return result;
+	}
+
+
+	/**
+	 * Copy the given attributes, including nested attributes and arrays.
+	 * <p>
+	 *  复制给定的属性,包括嵌套属性和数组
+	 */
+	private static AnnotationAttributes copy(AnnotationAttributes attributes) {
+		AnnotationAttributes copy = new AnnotationAttributes(attributes);
+		for (Map.Entry<String, Object> entry : copy.entrySet()) {
+			entry.setValue(copyValue(entry.getValue()));
+		}
+		return copy;
+	}
+
+	private static Object copyValue(Object value) {
+		if (value instanceof AnnotationAttributes) {
+			return copy((AnnotationAttributes) value);
+		}
+		if (value != null && value.getClass().isArray()) {
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+			for (int i = 0; i < length; i++) {
+				Array.set(copy, i, copyValue(Array.get(value, i)));
+			}
+			return copy;
+		}
+		return value;
+	}
+
+
+	/**
+	 * Obtain the index for the given element, provided that it is a class, a
+	 * method, a field, a constructor or a parameter. Other elements, e.g. the
+	 * throwaway adapters from {@link AnnotatedElementUtils#forAnnotations},
+	 * are not indexed since they would only accumulate in the cache.
+	 * <p>
+	 *  获取给定元素的索引,前提是它是类,方法,字段,构造函数或参数其他元素(例如来自{@link AnnotatedElementUtils#forAnnotations}的一次性适配器)不会被索引,因为它们只会在缓存中累积
+	 * 
+	 * 
+	 * @return the index, or {@code null} if the element is not to be indexed
+	 */
+	public static MergedAnnotationIndex forElement(AnnotatedElement element) {
+		if (!(element instanceof Class || element instanceof Member ||
+				(javaLangReflectParameterClass != null && javaLangReflectParameterClass.isInstance(element)))) {
+			return null;
+		}
+		MergedAnnotationIndex index = indexCache.get(element);
+		if (index == null) {
+			index = new MergedAnnotationIndex();
+			MergedAnnotationIndex existing = indexCache.putIfAbsent(element, index);
+			if (existing != null) {
+				index = existing;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Clear the index of all elements.
+	 * <p>
+	 *  清除所有元素的索引
+	 * 
+	 */
+	static void clearCache() {
+		indexCache.clear();
+	}
+
+}
@@ -18,7 +18,8 @@
 package org.springframework.core.annotation;
 
 /**
- * Marker interface implemented by synthesized annotation proxies.
+ * Marker interface implemented by synthesized annotation proxies
+ * and generated annotation implementations.
  *
  * <p>Used to detect whether an annotation has already been synthesized.
  *
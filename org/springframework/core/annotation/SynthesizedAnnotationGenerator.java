@@ -0,0 +1,293 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.BytecodeGenerationUtils;
+import org.springframework.core.BytecodeGenerationUtils.ChildClassLoader;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Generates {@link GeneratedAnnotation} subclasses implementing a given annotation
+ * type, as a faster alternative to {@link SynthesizedAnnotationInvocationHandler}
+ * proxies: attribute methods simply read a final field instead of going through
+ * {@link java.lang.reflect.InvocationHandler#invoke} and a value cache lookup.
+ *
+ * <p>All attribute values are retrieved from the {@link AnnotationAttributeExtractor}
+ * upfront, with nested annotations synthesized as well. If any of that fails, e.g.
+ * because of an invalid {@link AliasFor @AliasFor} declaration, no instance gets
+ * generated, letting the caller fall back to a proxy which reports the problem on
+ * attribute access as usual. The same applies to annotation types that are not
+ * accessible from a generated class, and to environments with a security manager.
+ *
+ * <p>
+ *  生成实现给定注释类型的{@link GeneratedAnnotation}子类,作为{@link SynthesizedAnnotationInvocationHandler}代理的更快替代方案：属性方法仅读取final字段,而不是通过{@link java.lang.reflect.InvocationHandler#invoke}和值缓存查找
+ * 
+ *  <p>所有属性值都预先从{@link AnnotationAttributeExtractor}中检索,嵌套注释也被合成如果其中任何一项失败,例如由于无效的{@link AliasFor @AliasFor}声明,则不会生成实例,让调用者回退到代理,该代理照常在属性访问时报告问题
+ * 这同样适用于生成的类无法访问的注释类型以及具有安全管理器的环境
+ * 
+ * 
+ * @since 4.3.6
+ * @see AnnotationUtils#GENERATE_IMPLEMENTATIONS_PROPERTY_NAME
+ */
+final class SynthesizedAnnotationGenerator implements Opcodes {
+
+	private static final String IMPLEMENTATION_CLASS_SUFFIX = "$$SynthesizedAnnotation$$";
+
+	private static final String SUPERCLASS_NAME = Type.getInternalName(GeneratedAnnotation.class);
+
+	private static final String CONSTRUCTOR_DESCRIPTOR = "(Ljava/lang/Class;Ljava/util/List;[Ljava/lang/Object;)V";
+
+	private static final Object NO_IMPLEMENTATION = new Object();
+
+	private static final Log logger = LogFactory.getLog(SynthesizedAnnotationGenerator.class);
+
+	private static final Map<Class<? extends Annotation>, Object> implementationCache =
+			new ConcurrentReferenceHashMap<Class<? extends Annotation>, Object>(256);
+
+	private static final AtomicInteger suffixCounter = new AtomicInteger();
+
+
+	private SynthesizedAnnotationGenerator() {
+	}
+
+
+	/**
+	 * Synthesize an annotation from the given attribute extractor, backed by
+	 * a generated implementation class.
+	 * <p>
+	 *  从给定的属性提取器合成注释,由生成的实现类支持
+	 * 
+	 * 
+	 * @param attributeExtractor the source of the attribute values
+	 * @return the synthesized annotation, or {@code null} if no implementation
+	 * could be generated or the attribute values could not be resolved
+	 */
+	public static Annotation synthesize(AnnotationAttributeExtractor<?> attributeExtractor) {
+		Class<? extends Annotation> annotationType = attributeExtractor.getAnnotationType();
+		Object implementation = implementationCache.get(annotationType);
+		if (implementation == null) {
+			implementation = generate(annotationType);
+			implementationCache.put(annotationType, (implementation != null ? implementation : NO_IMPLEMENTATION));
+		}
+		if (implementation == NO_IMPLEMENTATION) {
+			return null;
+		}
+
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(annotationType);
+		Object[] values = new Object[attributeMethods.size()];
+		try {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = getAttributeValue(attributeExtractor, attributeMethods.get(i));
+			}
+		}
+		catch (RuntimeException ex) {
+			// Let the proxy report the problem on attribute access...
+			return null;
+		}
+
+		Constructor<?> constructor = (Constructor<?>) implementation;
+		try {
+			return (Annotation) constructor.newInstance(annotationType, attributeMethods, values);
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not instantiate generated implementation of annotation [" +
+						annotationType.getName() + "] - falling back to proxy", ex);
+			}
+			return null;
+		}
+	}
+
+	private static Object getAttributeValue(AnnotationAttributeExtractor<?> attributeExtractor, Method attributeMethod) {
+		Object value = attributeExtractor.getAttributeValue(attributeMethod);
+		if (value == null) {
+			throw new IllegalStateException("No value for attribute [" + attributeMethod.getName() + "]");
+		}
+		// Synthesize nested annotations upfront, just like the proxy does on access.
+		if (value instanceof Annotation) {
+			value = AnnotationUtils.synthesizeAnnotation((Annotation) value, attributeExtractor.getAnnotatedElement());
+		}
+		else if (value instanceof Annotation[]) {
+			value = AnnotationUtils.synthesizeAnnotationArray(
+					(Annotation[]) value, attributeExtractor.getAnnotatedElement());
+		}
+		return value;
+	}
+
+	private static Constructor<?> generate(Class<? extends Annotation> annotationType) {
+		ClassLoader classLoader = annotationType.getClassLoader();
+		if (!BytecodeGenerationUtils.isGenerationSupported(classLoader, GeneratedAnnotation.class) ||
+				!isAccessible(annotationType, classLoader)) {
+			return null;
+		}
+
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(annotationType);
+		for (Method attributeMethod : attributeMethods) {
+			Class<?> returnType = attributeMethod.getReturnType();
+			if (returnType.isArray()) {
+				returnType = returnType.getComponentType();
+			}
+			if (!returnType.isPrimitive() && !isAccessible(returnType, classLoader)) {
+				return null;
+			}
+		}
+
+		String className = annotationType.getName() + IMPLEMENTATION_CLASS_SUFFIX + suffixCounter.incrementAndGet();
+		try {
+			ChildClassLoader childClassLoader = BytecodeGenerationUtils.getChildClassLoader(classLoader);
+			byte[] bytes = generateClass(className.replace('.', '/'), annotationType, attributeMethods, childClassLoader);
+			Class<?> implementationClass = childClassLoader.defineClass(className, bytes);
+			Constructor<?> constructor = implementationClass.getConstructor(Class.class, List.class, Object[].class);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Generated implementation of annotation [" + annotationType.getName() + "] with " +
+						attributeMethods.size() + " attributes");
+			}
+			return constructor;
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not generate implementation of annotation [" + annotationType.getName() +
+						"] - falling back to proxy", ex);
+			}
+			return null;
+		}
+	}
+
+	private static boolean isAccessible(Class<?> type, ClassLoader classLoader) {
+		return (Modifier.isPublic(type.getModifiers()) && ClassUtils.isVisible(type, classLoader));
+	}
+
+	private static byte[] generateClass(String internalName, Class<? extends Annotation> annotationType,
+			List<Method> attributeMethods, final ClassLoader classLoader) {
+
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+			@Override
+			protected ClassLoader getClassLoader() {
+				return classLoader;
+			}
+		};
+		cw.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, SUPERCLASS_NAME,
+				new String[] {Type.getInternalName(annotationType)});
+
+		for (Method attributeMethod : attributeMethods) {
+			cw.visitField(ACC_PRIVATE | ACC_FINAL, attributeMethod.getName(),
+					Type.getDescriptor(attributeMethod.getReturnType()), null, null).visitEnd();
+		}
+
+		// Constructor: resolve each attribute value into its final field
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitVarInsn(ALOAD, 1);
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitMethodInsn(INVOKESPECIAL, SUPERCLASS_NAME, "<init>", "(Ljava/lang/Class;Ljava/util/List;)V", false);
+		for (int i = 0; i < attributeMethods.size(); i++) {
+			Method attributeMethod = attributeMethods.get(i);
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitVarInsn(ALOAD, 3);
+			pushInt(mv, i);
+			mv.visitInsn(AALOAD);
+			Type type = Type.getType(attributeMethod.getReturnType());
+			BytecodeGenerationUtils.unbox(mv, type);
+			mv.visitFieldInsn(PUTFIELD, internalName, attributeMethod.getName(), type.getDescriptor());
+		}
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Attribute methods: read the field, cloning arrays
+		for (Method attributeMethod : attributeMethods) {
+			Type type = Type.getType(attributeMethod.getReturnType());
+			mv = cw.visitMethod(ACC_PUBLIC, attributeMethod.getName(), Type.getMethodDescriptor(attributeMethod),
+					null, null);
+			mv.visitCode();
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitFieldInsn(GETFIELD, internalName, attributeMethod.getName(), type.getDescriptor());
+			if (type.getSort() == Type.ARRAY) {
+				mv.visitMethodInsn(INVOKEVIRTUAL, type.getDescriptor(), "clone", "()Ljava/lang/Object;", false);
+				mv.visitTypeInsn(CHECKCAST, type.getDescriptor());
+			}
+			mv.visitInsn(type.getOpcode(IRETURN));
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		// Object getAttributeValue(int index)
+		mv = cw.visitMethod(ACC_PROTECTED, "getAttributeValue", "(I)Ljava/lang/Object;", null, null);
+		mv.visitCode();
+		Label[] labels = new Label[attributeMethods.size()];
+		for (int i = 0; i < labels.length; i++) {
+			labels[i] = new Label();
+		}
+		Label defaultLabel = new Label();
+		if (labels.length > 0) {
+			mv.visitVarInsn(ILOAD, 1);
+			mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+		}
+		mv.visitLabel(defaultLabel);
+		mv.visitTypeInsn(NEW, "java/lang/IllegalArgumentException");
+		mv.visitInsn(DUP);
+		mv.visitLdcInsn("Unknown attribute index");
+		mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IllegalArgumentException", "<init>", "(Ljava/lang/String;)V", false);
+		mv.visitInsn(ATHROW);
+		for (int i = 0; i < labels.length; i++) {
+			Method attributeMethod = attributeMethods.get(i);
+			Type type = Type.getType(attributeMethod.getReturnType());
+			mv.visitLabel(labels[i]);
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitFieldInsn(GETFIELD, internalName, attributeMethod.getName(), type.getDescriptor());
+			BytecodeGenerationUtils.box(mv, type);
+			mv.visitInsn(ARETURN);
+		}
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void pushInt(MethodVisitor mv, int value) {
+		if (value <= 5) {
+			mv.visitInsn(ICONST_0 + value);
+		}
+		else if (value <= Byte.MAX_VALUE) {
+			mv.visitIntInsn(BIPUSH, value);
+		}
+		else {
+			mv.visitIntInsn(SIPUSH, value);
+		}
+	}
+
+}
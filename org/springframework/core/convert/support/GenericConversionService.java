@@ -20,6 +20,7 @@ package org.springframework.core.convert.support;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -83,6 +84,16 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 */
 	private static final GenericConverter NO_MATCH = new NoOpConverter("NO_MATCH");
 
+	/**
+	 * Used as a class converter cache entry for class pairs whose type descriptors
+	 * carry element or key/value types, requiring a lookup by full cache key.
+	 * This converter is never returned.
+	 * <p>
+	 *  用作类转换器缓存条目,用于类型描述符带有元素或键/值类型的类对,需要通过完整缓存键查找此转换器从不返回
+	 * 
+	 */
+	private static final GenericConverter NO_CLASS_MATCH = new NoOpConverter("NO_CLASS_MATCH");
+
 
 	/** Java 8's java.util.Optional.empty() */
 	private static Object javaUtilOptionalEmpty = null;
@@ -103,6 +114,9 @@ public class GenericConversionService implements ConfigurableConversionService {
 	private final Map<ConverterCacheKey, GenericConverter> converterCache =
 			new ConcurrentReferenceHashMap<ConverterCacheKey, GenericConverter>(64);
 
+	private final Map<Class<?>, Map<Class<?>, GenericConverter>> classConverterCache =
+			new ConcurrentReferenceHashMap<Class<?>, Map<Class<?>, GenericConverter>>(64);
+
 
 	// ConverterRegistry implementation
 
@@ -147,6 +161,13 @@ public class GenericConversionService implements ConfigurableConversionService {
 	@Override
 	public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
 		Assert.notNull(targetType, "targetType to convert to cannot be null");
+		if (sourceType != null) {
+			// Quick check on the class converter cache, without creating type descriptors...
+			GenericConverter converter = getClassConverter(sourceType, targetType);
+			if (converter != null && converter != NO_CLASS_MATCH) {
+				return (converter != NO_MATCH);
+			}
+		}
 		return canConvert((sourceType != null ? TypeDescriptor.valueOf(sourceType) : null),
 				TypeDescriptor.valueOf(targetType));
 	}
@@ -265,7 +286,8 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	/**
 	 * Hook method to lookup the converter for a given sourceType/targetType pair.
-	 * First queries this ConversionService's converter cache.
+	 * First queries this ConversionService's converter cache, keyed by class pair
+	 * for type descriptors without annotations and element or key/value types.
 	 * On a cache miss, then performs an exhaustive search for a matching converter.
 	 * If no converter matches, returns the default converter.
 	 * <p>
@@ -280,10 +302,29 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 * @see #getDefaultConverter(TypeDescriptor, TypeDescriptor)
 	 */
 	protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
-		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
-		GenericConverter converter = this.converterCache.get(key);
-		if (converter != null) {
-			return (converter != NO_MATCH ? converter : null);
+		// Plain descriptors without annotations? Look up by class pair, without building a cache key...
+		boolean classBased = false;
+		if (sourceType.getAnnotations().length == 0 && targetType.getAnnotations().length == 0) {
+			GenericConverter converter = getClassConverter(sourceType.getType(), targetType.getType());
+			if (converter == null) {
+				classBased = (isClassBased(sourceType) && isClassBased(targetType));
+				if (!classBased) {
+					putClassConverter(sourceType.getType(), targetType.getType(), NO_CLASS_MATCH);
+				}
+			}
+			else if (converter != NO_CLASS_MATCH) {
+				return (converter != NO_MATCH ? converter : null);
+			}
+		}
+
+		ConverterCacheKey key = null;
+		GenericConverter converter;
+		if (!classBased) {
+			key = new ConverterCacheKey(sourceType, targetType);
+			converter = this.converterCache.get(key);
+			if (converter != null) {
+				return (converter != NO_MATCH ? converter : null);
+			}
 		}
 
 		converter = this.converters.find(sourceType, targetType);
@@ -291,13 +332,14 @@ public class GenericConversionService implements ConfigurableConversionService {
 			converter = getDefaultConverter(sourceType, targetType);
 		}
 
-		if (converter != null) {
-			this.converterCache.put(key, converter);
-			return converter;
+		GenericConverter cacheValue = (converter != null ? converter : NO_MATCH);
+		if (classBased) {
+			putClassConverter(sourceType.getType(), targetType.getType(), cacheValue);
 		}
-
-		this.converterCache.put(key, NO_MATCH);
-		return null;
+		else {
+			this.converterCache.put(key, cacheValue);
+		}
+		return converter;
 	}
 
 	/**
@@ -336,6 +378,33 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private void invalidateCache() {
 		this.converterCache.clear();
+		this.classConverterCache.clear();
+	}
+
+	private GenericConverter getClassConverter(Class<?> sourceType, Class<?> targetType) {
+		Map<Class<?>, GenericConverter> convertersForSource = this.classConverterCache.get(sourceType);
+		return (convertersForSource != null ? convertersForSource.get(targetType) : null);
+	}
+
+	private void putClassConverter(Class<?> sourceType, Class<?> targetType, GenericConverter converter) {
+		Map<Class<?>, GenericConverter> convertersForSource = this.classConverterCache.get(sourceType);
+		// Copy on write: a concurrently lost entry simply gets resolved again on next access
+		Map<Class<?>, GenericConverter> updated = (convertersForSource != null ?
+				new HashMap<Class<?>, GenericConverter>(convertersForSource) : new HashMap<Class<?>, GenericConverter>(4));
+		updated.put(targetType, converter);
+		this.classConverterCache.put(sourceType, updated);
+	}
+
+	/**
+	 * Determine whether the given type descriptor without annotations is fully
+	 * described by its class, i.e. carries no element or key/value type descriptors,
+	 * so that it is equal to any other such descriptor for the same class.
+	 * <p>
+	 *  确定给定的没有注释的类型描述符是否完全由其类描述,即不带有元素或键/值类型描述符,因此它等于同一类的任何其他此类描述符
+	 * 
+	 */
+	private static boolean isClassBased(TypeDescriptor typeDescriptor) {
+		return !(typeDescriptor.isArray() || typeDescriptor.isCollection() || typeDescriptor.isMap());
 	}
 
 	private Object handleConverterNotFound(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
@@ -46,8 +46,27 @@ import org.springframework.util.NumberUtils;
  */
 final class NumberToNumberConverterFactory implements ConverterFactory<Number, Number>, ConditionalConverter {
 
+	// Shared converters for the common widening targets, avoiding a converter instance per conversion
+
+	private static final NumberToNumber<Integer> NUMBER_TO_INTEGER = new NumberToNumber<Integer>(Integer.class);
+
+	private static final NumberToNumber<Long> NUMBER_TO_LONG = new NumberToNumber<Long>(Long.class);
+
+	private static final NumberToNumber<Double> NUMBER_TO_DOUBLE = new NumberToNumber<Double>(Double.class);
+
+
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T extends Number> Converter<Number, T> getConverter(Class<T> targetType) {
+		if (Integer.class == targetType) {
+			return (Converter<Number, T>) NUMBER_TO_INTEGER;
+		}
+		else if (Long.class == targetType) {
+			return (Converter<Number, T>) NUMBER_TO_LONG;
+		}
+		else if (Double.class == targetType) {
+			return (Converter<Number, T>) NUMBER_TO_DOUBLE;
+		}
 		return new NumberToNumber<T>(targetType);
 	}
 
@@ -45,7 +45,17 @@ import org.springframework.util.NumberUtils;
 final class StringToNumberConverterFactory implements ConverterFactory<String, Number> {
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T extends Number> Converter<String, T> getConverter(Class<T> targetType) {
+		if (Integer.class == targetType) {
+			return (Converter<String, T>) StringToInteger.INSTANCE;
+		}
+		else if (Long.class == targetType) {
+			return (Converter<String, T>) StringToLong.INSTANCE;
+		}
+		else if (Double.class == targetType) {
+			return (Converter<String, T>) StringToDouble.INSTANCE;
+		}
 		return new StringToNumber<T>(targetType);
 	}
 
@@ -67,4 +77,67 @@ final class StringToNumberConverterFactory implements ConverterFactory<String, N
 		}
 	}
 
+
+	/**
+	 * Shared converter for {@code int} and {@code Integer} targets,
+	 * parsing straight into a primitive value before boxing it once.
+	 * <p>
+	 *  用于{@code int}和{@code Integer}目标的共享转换器,直接解析为原始值,然后只装箱一次
+	 * 
+	 */
+	private static final class StringToInteger implements Converter<String, Integer> {
+
+		static final StringToInteger INSTANCE = new StringToInteger();
+
+		@Override
+		public Integer convert(String source) {
+			if (source.length() == 0) {
+				return null;
+			}
+			return NumberUtils.parseInt(source);
+		}
+	}
+
+
+	/**
+	 * Shared converter for {@code long} and {@code Long} targets,
+	 * parsing straight into a primitive value before boxing it once.
+	 * <p>
+	 *  用于{@code long}和{@code Long}目标的共享转换器,直接解析为原始值,然后只装箱一次
+	 * 
+	 */
+	private static final class StringToLong implements Converter<String, Long> {
+
+		static final StringToLong INSTANCE = new StringToLong();
+
+		@Override
+		public Long convert(String source) {
+			if (source.length() == 0) {
+				return null;
+			}
+			return NumberUtils.parseLong(source);
+		}
+	}
+
+
+	/**
+	 * Shared converter for {@code double} and {@code Double} targets,
+	 * parsing straight into a primitive value before boxing it once.
+	 * <p>
+	 *  用于{@code double}和{@code Double}目标的共享转换器,直接解析为原始值,然后只装箱一次
+	 * 
+	 */
+	private static final class StringToDouble implements Converter<String, Double> {
+
+		static final StringToDouble INSTANCE = new StringToDouble();
+
+		@Override
+		public Double convert(String source) {
+			if (source.length() == 0) {
+				return null;
+			}
+			return NumberUtils.parseDouble(source);
+		}
+	}
+
 }
@@ -0,0 +1,450 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.LinkedMultiValueMap;
+
+/**
+ * Binary serialization of the state of an {@link AnnotationMetadataReadingVisitor},
+ * including the metadata of its annotated methods, as used by the
+ * {@link PersistentMetadataReaderFactory}.
+ *
+ * <p>Deserialization replays the class header into a fresh visitor and restores
+ * the collected annotation attributes as is, without parsing the class file.
+ * Class and enum attribute values are resolved against the given ClassLoader.
+ *
+ * <p>
+ *  {@link AnnotationMetadataReadingVisitor}状态的二进制序列化,包括其带注释方法的元数据,由{@link PersistentMetadataReaderFactory}使用
+ * 
+ *  <p>反序列化将类头重放到新的访问者中,并按原样恢复收集的注释属性,而无需解析类文件类和枚举属性值针对给定的ClassLoader进行解析
+ * 
+ * 
+ * @since 4.3.6
+ */
+final class AnnotationMetadataSerializer {
+
+	private static final int INTERFACE = 1;
+
+	private static final int ANNOTATION = 2;
+
+	private static final int ABSTRACT = 4;
+
+	private static final int FINAL = 8;
+
+	private static final int INDEPENDENT = 16;
+
+
+	private static final byte STRING = 's';
+
+	private static final byte BOOLEAN = 'Z';
+
+	private static final byte BYTE = 'B';
+
+	private static final byte CHAR = 'C';
+
+	private static final byte SHORT = 'S';
+
+	private static final byte INT = 'I';
+
+	private static final byte LONG = 'J';
+
+	private static final byte FLOAT = 'F';
+
+	private static final byte DOUBLE = 'D';
+
+	private static final byte ASM_TYPE = 't';
+
+	private static final byte CLASS = 'c';
+
+	private static final byte ENUM = 'e';
+
+	private static final byte NESTED_ANNOTATION = '@';
+
+	private static final byte ARRAY = '[';
+
+
+	private AnnotationMetadataSerializer() {
+	}
+
+
+	/**
+	 * Write the state of the given visitor to the given output.
+	 * <p>
+	 *  将给定访问者的状态写入给定的输出
+	 * 
+	 * 
+	 * @param visitor the visitor holding the metadata of a class
+	 * @param out the output to write to
+	 * @param dependencies a set to add the names of all annotation and enum types
+	 * to that the metadata has been derived from
+	 * @throws IOException if writing failed, or if the metadata contains an
+	 * attribute value that cannot be serialized
+	 */
+	public static void serialize(AnnotationMetadataReadingVisitor visitor, DataOutput out, Set<String> dependencies)
+			throws IOException {
+
+		out.writeUTF(visitor.getClassName());
+		int flags = 0;
+		flags |= (visitor.isInterface() ? INTERFACE : 0);
+		flags |= (visitor.isAnnotation() ? ANNOTATION : 0);
+		flags |= (visitor.isAbstract() ? ABSTRACT : 0);
+		flags |= (visitor.isFinal() ? FINAL : 0);
+		flags |= (visitor.isIndependent() ? INDEPENDENT : 0);
+		out.writeByte(flags);
+		writeNullableString(visitor.getSuperClassName(), out);
+		writeNullableString(visitor.getEnclosingClassName(), out);
+		writeStrings(visitor.getInterfaceNames(), out);
+		writeStrings(visitor.getMemberClassNames(), out);
+
+		writeStrings(visitor.annotationSet, out);
+		dependencies.addAll(visitor.annotationSet);
+		writeMetaAnnotationMap(visitor.metaAnnotationMap, out, dependencies);
+		writeAttributesMap(visitor.attributesMap, out, dependencies);
+
+		out.writeInt(visitor.methodMetadataSet.size());
+		for (MethodMetadata methodMetadata : visitor.methodMetadataSet) {
+			MethodMetadataReadingVisitor method = (MethodMetadataReadingVisitor) methodMetadata;
+			out.writeUTF(method.methodName);
+			out.writeInt(method.access);
+			out.writeUTF(method.returnTypeName);
+			writeMetaAnnotationMap(method.metaAnnotationMap, out, dependencies);
+			writeAttributesMap(method.attributesMap, out, dependencies);
+		}
+	}
+
+	/**
+	 * Read the state written by {@link #serialize} into a new visitor.
+	 * <p>
+	 *  将{@link #serialize}写入的状态读入新的访问者
+	 * 
+	 * 
+	 * @param in the input to read from
+	 * @param classLoader the ClassLoader to resolve class and enum values against
+	 * @return the restored visitor
+	 * @throws IOException if reading failed
+	 * @throws ClassNotFoundException if a class or enum value is not resolvable
+	 */
+	public static AnnotationMetadataReadingVisitor deserialize(DataInput in, ClassLoader classLoader)
+			throws IOException, ClassNotFoundException {
+
+		AnnotationMetadataReadingVisitor visitor = new AnnotationMetadataReadingVisitor(classLoader);
+		String className = in.readUTF();
+		int flags = in.readByte();
+		String superClassName = readNullableString(in);
+		String enclosingClassName = readNullableString(in);
+		String[] interfaceNames = readStrings(in);
+		String[] memberClassNames = readStrings(in);
+
+		// Replay the class header, as reported by the ASM ClassReader
+		int access = 0;
+		access |= ((flags & INTERFACE) != 0 ? Opcodes.ACC_INTERFACE : 0);
+		access |= ((flags & ANNOTATION) != 0 ? Opcodes.ACC_ANNOTATION : 0);
+		access |= ((flags & ABSTRACT) != 0 ? Opcodes.ACC_ABSTRACT : 0);
+		access |= ((flags & FINAL) != 0 ? Opcodes.ACC_FINAL : 0);
+		String[] internalInterfaceNames = new String[interfaceNames.length];
+		for (int i = 0; i < interfaceNames.length; i++) {
+			internalInterfaceNames[i] = ClassUtils.convertClassNameToResourcePath(interfaceNames[i]);
+		}
+		String internalName = ClassUtils.convertClassNameToResourcePath(className);
+		visitor.visit(Opcodes.V1_6, access, internalName, null,
+				(superClassName != null ? ClassUtils.convertClassNameToResourcePath(superClassName) : null),
+				internalInterfaceNames);
+		if (enclosingClassName != null) {
+			visitor.visitInnerClass(internalName, ClassUtils.convertClassNameToResourcePath(enclosingClassName),
+					null, ((flags & INDEPENDENT) != 0 ? Opcodes.ACC_STATIC : 0));
+		}
+		for (String memberClassName : memberClassNames) {
+			visitor.visitInnerClass(ClassUtils.convertClassNameToResourcePath(memberClassName), internalName, null, 0);
+		}
+
+		for (String annotationType : readStrings(in)) {
+			visitor.annotationSet.add(annotationType);
+		}
+		readMetaAnnotationMap(in, visitor.metaAnnotationMap);
+		readAttributesMap(in, classLoader, visitor.attributesMap);
+
+		int methodCount = in.readInt();
+		for (int i = 0; i < methodCount; i++) {
+			String methodName = in.readUTF();
+			int methodAccess = in.readInt();
+			String returnTypeName = in.readUTF();
+			MethodMetadataReadingVisitor method = new MethodMetadataReadingVisitor(
+					methodName, methodAccess, className, returnTypeName, classLoader, visitor.methodMetadataSet);
+			readMetaAnnotationMap(in, method.metaAnnotationMap);
+			readAttributesMap(in, classLoader, method.attributesMap);
+			visitor.methodMetadataSet.add(method);
+		}
+		return visitor;
+	}
+
+
+	private static void writeMetaAnnotationMap(Map<String, Set<String>> metaAnnotationMap, DataOutput out,
+			Set<String> dependencies) throws IOException {
+
+		out.writeInt(metaAnnotationMap.size());
+		for (Map.Entry<String, Set<String>> entry : metaAnnotationMap.entrySet()) {
+			out.writeUTF(entry.getKey());
+			writeStrings(entry.getValue(), out);
+			dependencies.add(entry.getKey());
+			dependencies.addAll(entry.getValue());
+		}
+	}
+
+	private static void readMetaAnnotationMap(DataInput in, Map<String, Set<String>> metaAnnotationMap)
+			throws IOException {
+
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			String annotationType = in.readUTF();
+			String[] metaAnnotationTypes = readStrings(in);
+			Set<String> metaAnnotationTypeNames = new LinkedHashSet<String>(metaAnnotationTypes.length);
+			for (String metaAnnotationType : metaAnnotationTypes) {
+				metaAnnotationTypeNames.add(metaAnnotationType);
+			}
+			metaAnnotationMap.put(annotationType, metaAnnotationTypeNames);
+		}
+	}
+
+	private static void writeAttributesMap(LinkedMultiValueMap<String, AnnotationAttributes> attributesMap,
+			DataOutput out, Set<String> dependencies) throws IOException {
+
+		out.writeInt(attributesMap.size());
+		for (Map.Entry<String, List<AnnotationAttributes>> entry : attributesMap.entrySet()) {
+			out.writeUTF(entry.getKey());
+			dependencies.add(entry.getKey());
+			out.writeInt(entry.getValue().size());
+			for (AnnotationAttributes attributes : entry.getValue()) {
+				writeAnnotationAttributes(attributes, out, dependencies);
+			}
+		}
+	}
+
+	private static void readAttributesMap(DataInput in, ClassLoader classLoader,
+			LinkedMultiValueMap<String, AnnotationAttributes> attributesMap)
+			throws IOException, ClassNotFoundException {
+
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			String annotationType = in.readUTF();
+			int count = in.readInt();
+			for (int j = 0; j < count; j++) {
+				attributesMap.add(annotationType, readAnnotationAttributes(in, classLoader));
+			}
+		}
+	}
+
+	private static void writeAnnotationAttributes(AnnotationAttributes attributes, DataOutput out,
+			Set<String> dependencies) throws IOException {
+
+		if (attributes.annotationType() == null) {
+			throw new IOException("Cannot serialize attributes of unresolvable annotation type");
+		}
+		out.writeUTF(attributes.annotationType().getName());
+		dependencies.add(attributes.annotationType().getName());
+		out.writeInt(attributes.size());
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			out.writeUTF(entry.getKey());
+			writeValue(entry.getValue(), out, dependencies);
+		}
+	}
+
+	private static AnnotationAttributes readAnnotationAttributes(DataInput in, ClassLoader classLoader)
+			throws IOException, ClassNotFoundException {
+
+		String annotationType = in.readUTF();
+		AnnotationAttributes attributes = new AnnotationAttributes(annotationType, classLoader);
+		if (attributes.annotationType() == null) {
+			throw new ClassNotFoundException(annotationType);
+		}
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			String attributeName = in.readUTF();
+			attributes.put(attributeName, readValue(in, classLoader));
+		}
+		return attributes;
+	}
+
+	private static void writeValue(Object value, DataOutput out, Set<String> dependencies) throws IOException {
+		if (value instanceof String) {
+			out.writeByte(STRING);
+			out.writeUTF((String) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Byte) {
+			out.writeByte(BYTE);
+			out.writeByte((Byte) value);
+		}
+		else if (value instanceof Character) {
+			out.writeByte(CHAR);
+			out.writeChar((Character) value);
+		}
+		else if (value instanceof Short) {
+			out.writeByte(SHORT);
+			out.writeShort((Short) value);
+		}
+		else if (value instanceof Integer) {
+			out.writeByte(INT);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Float) {
+			out.writeByte(FLOAT);
+			out.writeFloat((Float) value);
+		}
+		else if (value instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double) value);
+		}
+		else if (value instanceof Type) {
+			out.writeByte(ASM_TYPE);
+			out.writeUTF(((Type) value).getDescriptor());
+		}
+		else if (value instanceof Class) {
+			out.writeByte(CLASS);
+			out.writeUTF(((Class<?>) value).getName());
+		}
+		else if (value instanceof Enum) {
+			Class<?> enumType = ((Enum<?>) value).getDeclaringClass();
+			out.writeByte(ENUM);
+			out.writeUTF(enumType.getName());
+			out.writeUTF(((Enum<?>) value).name());
+			dependencies.add(enumType.getName());
+		}
+		else if (value instanceof AnnotationAttributes) {
+			out.writeByte(NESTED_ANNOTATION);
+			writeAnnotationAttributes((AnnotationAttributes) value, out, dependencies);
+		}
+		else if (value != null && value.getClass().isArray()) {
+			int length = Array.getLength(value);
+			out.writeByte(ARRAY);
+			out.writeUTF(value.getClass().getComponentType().getName());
+			out.writeInt(length);
+			for (int i = 0; i < length; i++) {
+				writeValue(Array.get(value, i), out, dependencies);
+			}
+		}
+		else {
+			throw new IOException("Cannot serialize annotation attribute value [" + value + "]");
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Object readValue(DataInput in, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+		byte tag = in.readByte();
+		switch (tag) {
+			case STRING:
+				return in.readUTF();
+			case BOOLEAN:
+				return in.readBoolean();
+			case BYTE:
+				return in.readByte();
+			case CHAR:
+				return in.readChar();
+			case SHORT:
+				return in.readShort();
+			case INT:
+				return in.readInt();
+			case LONG:
+				return in.readLong();
+			case FLOAT:
+				return in.readFloat();
+			case DOUBLE:
+				return in.readDouble();
+			case ASM_TYPE:
+				return Type.getType(in.readUTF());
+			case CLASS:
+				return ClassUtils.forName(in.readUTF(), classLoader);
+			case ENUM:
+				Class enumType = ClassUtils.forName(in.readUTF(), classLoader);
+				String constantName = in.readUTF();
+				try {
+					return Enum.valueOf(enumType, constantName);
+				}
+				catch (IllegalArgumentException ex) {
+					throw new ClassNotFoundException(enumType.getName() + "." + constantName, ex);
+				}
+			case NESTED_ANNOTATION:
+				return readAnnotationAttributes(in, classLoader);
+			case ARRAY:
+				Class<?> componentType = ClassUtils.forName(in.readUTF(), classLoader);
+				int length = in.readInt();
+				Object array = Array.newInstance(componentType, length);
+				for (int i = 0; i < length; i++) {
+					Array.set(array, i, readValue(in, classLoader));
+				}
+				return array;
+			default:
+				throw new IOException("Unknown annotation attribute value tag: " + tag);
+		}
+	}
+
+	private static void writeNullableString(String value, DataOutput out) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readNullableString(DataInput in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+	private static void writeStrings(String[] values, DataOutput out) throws IOException {
+		out.writeInt(values.length);
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static void writeStrings(Collection<String> values, DataOutput out) throws IOException {
+		out.writeInt(values.size());
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String[] readStrings(DataInput in) throws IOException {
+		String[] values = new String[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readUTF();
+		}
+		return values;
+	}
+
+}
@@ -116,16 +116,44 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
 		if (getCacheLimit() <= 0) {
-			return super.getMetadataReader(resource);
+			return createMetadataReader(resource);
 		}
+		MetadataReader metadataReader;
 		synchronized (this.metadataReaderCache) {
-			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
-			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
+			metadataReader = this.metadataReaderCache.get(resource);
+		}
+		if (metadataReader == null) {
+			// Read the class file outside of the lock, allowing for concurrent reading
+			metadataReader = createMetadataReader(resource);
+			synchronized (this.metadataReaderCache) {
+				MetadataReader existing = this.metadataReaderCache.get(resource);
+				if (existing != null) {
+					return existing;
+				}
 				this.metadataReaderCache.put(resource, metadataReader);
 			}
-			return metadataReader;
 		}
+		return metadataReader;
+	}
+
+	/**
+	 * Create a MetadataReader for the given resource on a cache miss.
+	 * <p>The default implementation reads the class file through
+	 * {@link SimpleMetadataReaderFactory#getMetadataReader(Resource)}.
+	 * Subclasses may override this to obtain the metadata from elsewhere,
+	 * with the result still being cached by this factory.
+	 * <p>
+	 *  在缓存未命中时为给定资源创建MetadataReader <p>默认实现通过{@link SimpleMetadataReaderFactory#getMetadataReader(Resource)}读取类文件
+	 * 子类可以覆盖此方法以从其他地方获取元数据,结果仍由此工厂缓存
+	 * 
+	 * 
+	 * @param resource the resource to create a MetadataReader for
+	 * @return the MetadataReader
+	 * @throws IOException in case of I/O failure
+	 * @since 4.3.6
+	 */
+	protected MetadataReader createMetadataReader(Resource resource) throws IOException {
+		return super.getMetadataReader(resource);
 	}
 
 	/**
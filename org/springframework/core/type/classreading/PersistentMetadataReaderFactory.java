@@ -0,0 +1,631 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * {@link CachingMetadataReaderFactory} that additionally persists the metadata
+ * it reads to a binary cache file, so that subsequent runs on an unchanged
+ * classpath do not need to parse the same class files again.
+ *
+ * <p>Metadata readers are kept in memory in the bounded cache inherited from
+ * {@link CachingMetadataReaderFactory} (see {@link #setCacheLimit}); the cache
+ * file is consulted whenever a class is not found in that cache.
+ *
+ * <p>The cache file is memory-mapped when first needed; its entries are only
+ * deserialized when the metadata of the corresponding class is requested.
+ * Each entry is keyed by the URL of the class file and validated against the
+ * last-modified timestamp and size of the file, and additionally against the
+ * CRC checksum of the entry in case of a class file within a jar. Entries for
+ * class files in other locations (e.g. in nested jars or application server
+ * specific file systems) are not persisted.
+ *
+ * <p>Since annotation metadata also reflects the annotation types that a class
+ * file refers to (e.g. meta-annotations and attribute defaults), the cache file
+ * records the same information for all annotation and enum types involved;
+ * a change to any of them invalidates the entire cache file.
+ *
+ * <p>The cache file gets written on {@link #flush()} and on {@link #clearCache()}
+ * (as performed by {@link org.springframework.context.annotation.ConfigurationClassPostProcessor}
+ * once configuration classes have been processed), if any metadata had to be
+ * read from the class files themselves. The file is written to a temporary file
+ * first and then renamed, so concurrently starting processes never observe a
+ * partially written file. Failures to read or write the cache file are logged
+ * and otherwise ignored.
+ *
+ * <p>
+ *  {@link CachingMetadataReaderFactory}还将其读取的元数据持久化到二进制缓存文件中,以便在类路径未更改的后续运行中不需要再次解析相同的类文件
+ * 
+ *  <p>元数据读取器保存在从{@link CachingMetadataReaderFactory}继承的有界缓存中(参见{@link #setCacheLimit});当在该缓存中找不到类时,会查询缓存文件
+ * 
+ *  <p>缓存文件在首次需要时进行内存映射;仅当请求相应类的元数据时,才会反序列化其条目每个条目都以类文件的URL为键,并根据文件的最后修改时间戳和大小进行验证,
+ * 如果类文件位于jar中,还会根据条目的CRC校验和进行验证其他位置(例如嵌套jar或应用服务器特定文件系统)中的类文件的条目不会被持久化
+ * 
+ *  <p>由于注释元数据还反映了类文件引用的注释类型(例如元注释和属性默认值),因此缓存文件会为所涉及的所有注释和枚举类型记录相同的信息;其中任何一个的更改都会使整个缓存文件无效
+ * 
+ *  <p>如果必须从类文件本身读取任何元数据,则在{@link #flush()}和{@link #clearCache()}(由
+ * {@link org.springframework.context.annotation.ConfigurationClassPostProcessor}在处理配置类后执行)时写入缓存文件
+ * 该文件首先写入临时文件,然后重命名,因此并发启动的进程永远不会看到部分写入的文件读取或写入缓存文件的失败会被记录,否则将被忽略
+ * 
+ * 
+ * @since 4.3.6
+ * @see org.springframework.context.annotation.ConfigurationClassPostProcessor#setMetadataReaderFactory
+ */
+public class PersistentMetadataReaderFactory extends CachingMetadataReaderFactory {
+
+	private static final int MAGIC = 0x534d5243;
+
+	private static final int VERSION = 1;
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataReaderFactory.class);
+
+
+	private final File cacheFile;
+
+	/** Entries of the cache, as loaded from the cache file and added since: class file URL --> Entry */
+	private volatile Map<String, Entry> entries;
+
+	/** Fingerprints of the annotation and enum types that the entries depend on */
+	private final Map<String, Fingerprint> dependencies = new LinkedHashMap<String, Fingerprint>();
+
+	/** Class file URLs that have been requested since the cache file was loaded */
+	private final Set<String> usedLocations = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+	private final Map<File, JarFile> jarFiles = new HashMap<File, JarFile>();
+
+	private boolean modified;
+
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the default class loader.
+	 * <p>
+	 *  为默认的类加载器创建一个新的PersistentMetadataReaderFactory
+	 * 
+	 * 
+	 * @param cacheFile the file to persist the metadata to
+	 */
+	public PersistentMetadataReaderFactory(File cacheFile) {
+		super();
+		Assert.notNull(cacheFile, "Cache file must not be null");
+		this.cacheFile = cacheFile;
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given resource loader.
+	 * <p>
+	 *  为给定的资源加载器创建一个新的PersistentMetadataReaderFactory
+	 * 
+	 * 
+	 * @param resourceLoader the Spring ResourceLoader to use
+	 * (also determines the ClassLoader to use)
+	 * @param cacheFile the file to persist the metadata to
+	 */
+	public PersistentMetadataReaderFactory(ResourceLoader resourceLoader, File cacheFile) {
+		super(resourceLoader);
+		Assert.notNull(cacheFile, "Cache file must not be null");
+		this.cacheFile = cacheFile;
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given class loader.
+	 * <p>
+	 *  为给定的类加载器创建一个新的PersistentMetadataReaderFactory
+	 * 
+	 * 
+	 * @param classLoader the ClassLoader to use
+	 * @param cacheFile the file to persist the metadata to
+	 */
+	public PersistentMetadataReaderFactory(ClassLoader classLoader, File cacheFile) {
+		super(classLoader);
+		Assert.notNull(cacheFile, "Cache file must not be null");
+		this.cacheFile = cacheFile;
+	}
+
+
+	/**
+	 * Return the file that the metadata gets persisted to.
+	 * <p>
+	 *  返回元数据持久化到的文件
+	 * 
+	 */
+	public File getCacheFile() {
+		return this.cacheFile;
+	}
+
+
+	/**
+	 * Restore the metadata of the given class file from the cache file if it
+	 * is still current, reading (and recording) it from the class file otherwise.
+	 * <p>
+	 *  如果给定类文件的元数据仍然是最新的,则从缓存文件中恢复它,否则从类文件中读取(并记录)它
+	 * 
+	 */
+	@Override
+	protected MetadataReader createMetadataReader(Resource resource) throws IOException {
+		String location;
+		Fingerprint fingerprint;
+		try {
+			URL url = resource.getURL();
+			location = url.toString();
+			fingerprint = getFingerprint(url, true);
+		}
+		catch (IOException ex) {
+			fingerprint = null;
+			location = null;
+		}
+		if (fingerprint == null) {
+			// Not a regular class file: no persistence
+			return super.createMetadataReader(resource);
+		}
+
+		this.usedLocations.add(location);
+		MetadataReader metadataReader = null;
+		Entry entry = getEntries().get(location);
+		if (entry != null && entry.fingerprint.equals(fingerprint)) {
+			metadataReader = readEntry(resource, entry);
+		}
+		if (metadataReader == null) {
+			metadataReader = super.createMetadataReader(resource);
+			addEntry(location, fingerprint, metadataReader);
+		}
+		return metadataReader;
+	}
+
+	/**
+	 * Write the cache file if any metadata has been read from class files
+	 * since the cache file was loaded or last written.
+	 * <p>
+	 *  如果自加载或上次写入缓存文件以来已从类文件中读取任何元数据,则写入缓存文件
+	 * 
+	 */
+	public void flush() {
+		Map<String, Entry> entriesToWrite;
+		Map<String, Fingerprint> dependenciesToWrite;
+		synchronized (this) {
+			if (!this.modified) {
+				return;
+			}
+			entriesToWrite = new LinkedHashMap<String, Entry>(getEntries());
+			dependenciesToWrite = new LinkedHashMap<String, Fingerprint>(this.dependencies);
+			this.modified = false;
+		}
+		try {
+			writeCacheFile(entriesToWrite, dependenciesToWrite);
+		}
+		catch (IOException ex) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Failed to write metadata cache file [" + this.cacheFile + "]", ex);
+			}
+		}
+	}
+
+	/**
+	 * Write the cache file if necessary, then clear the in-memory caches.
+	 * <p>
+	 *  必要时写入缓存文件,然后清除内存中的缓存
+	 * 
+	 */
+	@Override
+	public void clearCache() {
+		flush();
+		super.clearCache();
+		synchronized (this.jarFiles) {
+			for (JarFile jarFile : this.jarFiles.values()) {
+				try {
+					jarFile.close();
+				}
+				catch (IOException ex) {
+					// ignore
+				}
+			}
+			this.jarFiles.clear();
+		}
+	}
+
+
+	private Map<String, Entry> getEntries() {
+		Map<String, Entry> entries = this.entries;
+		if (entries == null) {
+			synchronized (this) {
+				entries = this.entries;
+				if (entries == null) {
+					entries = new ConcurrentHashMap<String, Entry>();
+					try {
+						readCacheFile(entries);
+					}
+					catch (Exception ex) {
+						// I/O failure or corrupt content (e.g. a truncated file or an invalid length)
+						entries.clear();
+						this.dependencies.clear();
+						if (logger.isDebugEnabled()) {
+							logger.debug("Ignoring unreadable metadata cache file [" + this.cacheFile + "]", ex);
+						}
+					}
+					this.entries = entries;
+				}
+			}
+		}
+		return entries;
+	}
+
+	private MetadataReader readEntry(Resource resource, Entry entry) {
+		try {
+			DataInput in = new DataInputStream(new ByteBufferInputStream(entry.data.duplicate()));
+			return new SimpleMetadataReader(resource, AnnotationMetadataSerializer.deserialize(in, getResourceLoader().getClassLoader()));
+		}
+		catch (Exception ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to restore persisted metadata for " + resource, ex);
+			}
+			return null;
+		}
+	}
+
+	private void addEntry(String location, Fingerprint fingerprint, MetadataReader metadataReader) {
+		if (!(metadataReader.getAnnotationMetadata() instanceof AnnotationMetadataReadingVisitor)) {
+			return;
+		}
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
+		Set<String> entryDependencies = new LinkedHashSet<String>();
+		try {
+			AnnotationMetadataSerializer.serialize((AnnotationMetadataReadingVisitor)
+					metadataReader.getAnnotationMetadata(), new DataOutputStream(bos), entryDependencies);
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Not persisting metadata for " + metadataReader.getResource() + ": " + ex.getMessage());
+			}
+			return;
+		}
+		Entry entry = new Entry(fingerprint, ByteBuffer.wrap(bos.toByteArray()));
+		synchronized (this) {
+			getEntries().put(location, entry);
+			for (String dependency : entryDependencies) {
+				if (!this.dependencies.containsKey(dependency)) {
+					this.dependencies.put(dependency, getDependencyFingerprint(dependency));
+				}
+			}
+			this.modified = true;
+		}
+	}
+
+
+	private void readCacheFile(Map<String, Entry> entries) throws IOException {
+		if (!this.cacheFile.isFile()) {
+			return;
+		}
+		ByteBuffer buffer;
+		FileInputStream fis = new FileInputStream(this.cacheFile);
+		try {
+			FileChannel channel = fis.getChannel();
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		finally {
+			fis.close();
+		}
+		DataInput in = new DataInputStream(new ByteBufferInputStream(buffer));
+		if (in.readInt() != MAGIC || in.readInt() != VERSION || !getJavaVersion().equals(in.readUTF())) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring incompatible metadata cache file [" + this.cacheFile + "]");
+			}
+			return;
+		}
+		int dependencyCount = in.readInt();
+		for (int i = 0; i < dependencyCount; i++) {
+			String dependency = in.readUTF();
+			Fingerprint fingerprint = Fingerprint.read(in);
+			if (!fingerprint.equals(getDependencyFingerprint(dependency))) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring metadata cache file [" + this.cacheFile +
+							"] since type [" + dependency + "] has changed");
+				}
+				this.dependencies.clear();
+				return;
+			}
+			this.dependencies.put(dependency, fingerprint);
+		}
+		int entryCount = in.readInt();
+		for (int i = 0; i < entryCount; i++) {
+			String location = in.readUTF();
+			Fingerprint fingerprint = Fingerprint.read(in);
+			int length = in.readInt();
+			if (length < 0 || length > buffer.remaining()) {
+				throw new IOException("Invalid length " + length + " of entry for [" + location + "]");
+			}
+			ByteBuffer data = buffer.duplicate();
+			data.limit(buffer.position() + length);
+			buffer.position(buffer.position() + length);
+			entries.put(location, new Entry(fingerprint, data.slice()));
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Loaded " + entryCount + " entries from metadata cache file [" + this.cacheFile + "]");
+		}
+	}
+
+	private void writeCacheFile(Map<String, Entry> entries, Map<String, Fingerprint> dependencies)
+			throws IOException {
+
+		File parentDir = this.cacheFile.getAbsoluteFile().getParentFile();
+		if (parentDir != null && !parentDir.isDirectory() && !parentDir.mkdirs()) {
+			throw new IOException("Cannot create directory " + parentDir);
+		}
+		// A unique temporary file per writer, so that concurrently flushing processes do not interfere
+		File tempFile = File.createTempFile(this.cacheFile.getName(), ".tmp", parentDir);
+		int entryCount = 0;
+		boolean written = false;
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeUTF(getJavaVersion());
+				out.writeInt(dependencies.size());
+				for (Map.Entry<String, Fingerprint> dependency : dependencies.entrySet()) {
+					out.writeUTF(dependency.getKey());
+					dependency.getValue().write(out);
+				}
+				Map<String, Entry> validEntries = new LinkedHashMap<String, Entry>(entries.size());
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					// Drop entries for class files that have been changed or removed in the meantime
+					if (this.usedLocations.contains(entry.getKey()) || isCurrent(entry.getKey(), entry.getValue())) {
+						validEntries.put(entry.getKey(), entry.getValue());
+					}
+				}
+				out.writeInt(validEntries.size());
+				for (Map.Entry<String, Entry> entry : validEntries.entrySet()) {
+					ByteBuffer data = entry.getValue().data.duplicate();
+					byte[] bytes = new byte[data.remaining()];
+					data.get(bytes);
+					out.writeUTF(entry.getKey());
+					entry.getValue().fingerprint.write(out);
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				}
+				entryCount = validEntries.size();
+			}
+			finally {
+				out.close();
+			}
+			// Atomically replaces an existing cache file on POSIX file systems;
+			// elsewhere (e.g. on Windows) the existing file needs to be deleted first.
+			if (!tempFile.renameTo(this.cacheFile)) {
+				this.cacheFile.delete();
+				if (!tempFile.renameTo(this.cacheFile)) {
+					throw new IOException("Cannot rename " + tempFile + " to " + this.cacheFile);
+				}
+			}
+			written = true;
+		}
+		finally {
+			if (!written) {
+				tempFile.delete();
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Wrote " + entryCount + " entries to metadata cache file [" + this.cacheFile + "]");
+		}
+	}
+
+	private boolean isCurrent(String location, Entry entry) {
+		try {
+			return entry.fingerprint.equals(getFingerprint(new URL(location), true));
+		}
+		catch (IOException ex) {
+			return false;
+		}
+	}
+
+	private Fingerprint getDependencyFingerprint(String typeName) {
+		ClassLoader classLoader = getResourceLoader().getClassLoader();
+		URL url = (classLoader != null ? classLoader.getResource(
+				ClassUtils.convertClassNameToResourcePath(typeName) + ClassUtils.CLASS_FILE_SUFFIX) : null);
+		if (url == null) {
+			return Fingerprint.ABSENT;
+		}
+		try {
+			Fingerprint fingerprint = getFingerprint(url, false);
+			return (fingerprint != null ? fingerprint : Fingerprint.ABSENT);
+		}
+		catch (IOException ex) {
+			return Fingerprint.ABSENT;
+		}
+	}
+
+	/**
+	 * Determine the fingerprint of the class file at the given URL.
+	 * <p>
+	 *  确定给定URL处的类文件的指纹
+	 * 
+	 * 
+	 * @param url the URL of the class file
+	 * @param exact whether the fingerprint needs to reflect the content of the
+	 * file; if {@code false}, the location is used for class files that are
+	 * neither in the file system nor in a jar file (e.g. JDK classes)
+	 * @return the fingerprint, or {@code null} if none can be determined
+	 */
+	private Fingerprint getFingerprint(URL url, boolean exact) throws IOException {
+		if (ResourceUtils.URL_PROTOCOL_FILE.equals(url.getProtocol())) {
+			File file = ResourceUtils.getFile(url);
+			return (file.isFile() ? new Fingerprint(file.lastModified(), file.length(), 0) : null);
+		}
+		if (ResourceUtils.URL_PROTOCOL_JAR.equals(url.getProtocol())) {
+			String urlFile = url.getFile();
+			int separatorIndex = urlFile.indexOf(ResourceUtils.JAR_URL_SEPARATOR);
+			URL jarFileUrl = ResourceUtils.extractJarFileURL(url);
+			if (separatorIndex != -1 && ResourceUtils.URL_PROTOCOL_FILE.equals(jarFileUrl.getProtocol())) {
+				JarFile jarFile = getJarFile(ResourceUtils.getFile(jarFileUrl));
+				JarEntry jarEntry = jarFile.getJarEntry(
+						urlFile.substring(separatorIndex + ResourceUtils.JAR_URL_SEPARATOR.length()));
+				return (jarEntry != null ? new Fingerprint(jarEntry.getTime(), jarEntry.getSize(), jarEntry.getCrc()) : null);
+			}
+		}
+		return (exact ? null : new Fingerprint(0, 0, url.toString().hashCode()));
+	}
+
+	private JarFile getJarFile(File file) throws IOException {
+		synchronized (this.jarFiles) {
+			JarFile jarFile = this.jarFiles.get(file);
+			if (jarFile == null) {
+				jarFile = new JarFile(file);
+				this.jarFiles.put(file, jarFile);
+			}
+			return jarFile;
+		}
+	}
+
+	private static String getJavaVersion() {
+		String javaVersion = System.getProperty("java.version");
+		return (javaVersion != null ? javaVersion : "");
+	}
+
+
+	/**
+	 * A persisted metadata entry: the serialized metadata of a class file,
+	 * along with the fingerprint of the class file it has been read from.
+	 * <p>
+	 *  持久化的元数据条目：类文件的序列化元数据,以及从中读取它的类文件的指纹
+	 * 
+	 */
+	private static class Entry {
+
+		private final Fingerprint fingerprint;
+
+		private final ByteBuffer data;
+
+		public Entry(Fingerprint fingerprint, ByteBuffer data) {
+			this.fingerprint = fingerprint;
+			this.data = data;
+		}
+	}
+
+
+	/**
+	 * Last-modified timestamp, size and checksum of a class file.
+	 * <p>
+	 *  类文件的最后修改时间戳、大小和校验和
+	 * 
+	 */
+	private static class Fingerprint {
+
+		public static final Fingerprint ABSENT = new Fingerprint(-1, -1, -1);
+
+		private final long lastModified;
+
+		private final long size;
+
+		private final long checksum;
+
+		public Fingerprint(long lastModified, long size, long checksum) {
+			this.lastModified = lastModified;
+			this.size = size;
+			this.checksum = checksum;
+		}
+
+		public static Fingerprint read(DataInput in) throws IOException {
+			return new Fingerprint(in.readLong(), in.readLong(), in.readLong());
+		}
+
+		public void write(DataOutput out) throws IOException {
+			out.writeLong(this.lastModified);
+			out.writeLong(this.size);
+			out.writeLong(this.checksum);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Fingerprint)) {
+				return false;
+			}
+			Fingerprint otherFingerprint = (Fingerprint) other;
+			return (this.lastModified == otherFingerprint.lastModified && this.size == otherFingerprint.size &&
+					this.checksum == otherFingerprint.checksum);
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (this.lastModified ^ this.size ^ this.checksum);
+		}
+	}
+
+
+	/**
+	 * {@link InputStream} that reads from a {@link ByteBuffer}.
+	 * <p>
+	 *  从{@link ByteBuffer}读取的{@link InputStream}
+	 * 
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		public ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return (this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			if (!this.buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(len, this.buffer.remaining());
+			this.buffer.get(bytes, off, count);
+			return count;
+		}
+	}
+
+}
@@ -73,6 +73,20 @@ final class SimpleMetadataReader implements MetadataReader {
 		this.resource = resource;
 	}
 
+	/**
+	 * Create a new SimpleMetadataReader for the given, previously read metadata.
+	 * <p>
+	 *  为给定的先前读取的元数据创建一个新的SimpleMetadataReader
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	SimpleMetadataReader(Resource resource, AnnotationMetadataReadingVisitor visitor) {
+		this.annotationMetadata = visitor;
+		this.classMetadata = visitor;
+		this.resource = resource;
+	}
+
 
 	@Override
 	public Resource getResource() {
@@ -95,6 +95,18 @@ public class AnnotationTypeFilter extends AbstractTypeHierarchyTraversingFilter
 		this.considerMetaAnnotations = considerMetaAnnotations;
 	}
 
+	/**
+	 * Return the {@link Annotation} that this instance is using to filter
+	 * candidates.
+	 * <p>
+	 *  返回此实例用于过滤候选项的{@link Annotation}
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public final Class<? extends Annotation> getAnnotationType() {
+		return this.annotationType;
+	}
 
 	@Override
 	protected boolean matchSelf(MetadataReader metadataReader) {
@@ -48,6 +48,17 @@ public class AssignableTypeFilter extends AbstractTypeHierarchyTraversingFilter
 		this.targetType = targetType;
 	}
 
+	/**
+	 * Return the {@code type} that this instance is using to filter candidates.
+	 * <p>
+	 *  返回此实例用于过滤候选项的{@code type}
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public final Class<?> getTargetType() {
+		return this.targetType;
+	}
 
 	@Override
 	protected boolean matchClassName(String className) {
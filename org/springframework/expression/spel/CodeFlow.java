@@ -102,12 +102,24 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context passed to
+	 * the main evaluation method).
 	 * <p>
-	 *  当代码生成需要一个方法中的中间变量时,该方法记录下一个可用变量(变量0是'this')
+	 *  当代码生成需要一个方法中的中间变量时,该方法记录下一个可用变量(变量0是'this',变量1和2是传递给主要评估方法的目标和评估上下文)
 	 * 
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * The local variables holding the active context objects established by
+	 * selection and projection expressions, the innermost one on top. When empty,
+	 * the active context object is the target passed to the main evaluation method.
+	 * <p>
+	 *  保存由选择和投影表达式建立的活动上下文对象的局部变量,最内层的位于顶部为空时,活动上下文对象是传递给主要评估方法的目标
+	 * 
+	 */
+	private final Stack<Integer> activeContextObjects = new Stack<Integer>();
 
 	public CodeFlow(String clazzName, ClassWriter cw) {
 		this.compilationScopes = new Stack<ArrayList<String>>();
@@ -118,15 +130,43 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the element currently being
+	 * processed if within the criteria of a selection or projection expression.
 	 * <p>
-	 *  推送字节码以加载目标(即作为CompiledExpressiongetValue(target,context)的第一个参数传递的内容)
+	 *  推送字节码以加载目标(即作为CompiledExpressiongetValue(target,context)的第一个参数传递的内容),如果处于选择或投影表达式的条件中,则加载当前正在处理的元素
 	 * 
 	 * 
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		mv.visitVarInsn(ALOAD, (this.activeContextObjects.isEmpty() ? 1 : this.activeContextObjects.peek()));
+	}
+
+	/**
+	 * Make the object held in the given local variable the active context object,
+	 * i.e. what {@link #loadTarget} loads, until {@link #popActiveContextObject} is called.
+	 * <p>
+	 *  使给定局部变量中保存的对象成为活动上下文对象,即{@link #loadTarget}加载的对象,直到调用{@link #popActiveContextObject}
+	 * 
+	 * 
+	 * @param variableId the local variable holding the new active context object
+	 * @since 4.3.6
+	 */
+	public void pushActiveContextObject(int variableId) {
+		this.activeContextObjects.push(variableId);
+	}
+
+	/**
+	 * Restore the active context object that was in place before the last call
+	 * to {@link #pushActiveContextObject}.
+	 * <p>
+	 *  恢复上次调用{@link #pushActiveContextObject}之前的活动上下文对象
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public void popActiveContextObject() {
+		this.activeContextObjects.pop();
 	}
 
 	/**
@@ -17,8 +17,11 @@
 
 package org.springframework.expression.spel.ast;
 
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Type;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 
 /**
@@ -44,6 +47,7 @@ public class Assign extends SpelNodeImpl {
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		TypedValue newValue = this.children[1].getValueInternal(state);
 		getChild(0).setValue(state, newValue.getValue());
+		this.exitTypeDescriptor = this.children[1].exitTypeDescriptor;
 		return newValue;
 	}
 
@@ -52,4 +56,38 @@ public class Assign extends SpelNodeImpl {
 		return getChild(0).toStringAST() + "=" + getChild(1).toStringAST();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		// Only assignments to variables are compiled: property assignments involve type conversion
+		SpelNodeImpl target = this.children[0];
+		return (this.exitTypeDescriptor != null && target instanceof VariableReference &&
+				((VariableReference) target).isContextVariable() && this.children[1].isCompilable());
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		String valueDesc = this.children[1].exitTypeDescriptor;
+		cf.enterCompilationScope();
+		this.children[1].generateCode(mv, cf);
+		cf.exitCompilationScope();
+
+		// Hold on to the value, which is the result of the assignment as well
+		boolean primitive = CodeFlow.isPrimitive(valueDesc);
+		Type valueType = (primitive ? Type.getType(valueDesc) : null);
+		int valueVariable = cf.nextFreeVariableId();
+		if (primitive && valueType.getSize() == 2) {
+			cf.nextFreeVariableId();
+		}
+		mv.visitVarInsn((primitive ? valueType.getOpcode(ISTORE) : ASTORE), valueVariable);
+
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitLdcInsn(((VariableReference) this.children[0]).getName());
+		mv.visitVarInsn((primitive ? valueType.getOpcode(ILOAD) : ALOAD), valueVariable);
+		CodeFlow.insertBoxIfNecessary(mv, valueDesc);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"setVariable", "(Ljava/lang/String;Ljava/lang/Object;)V", true);
+		mv.visitVarInsn((primitive ? valueType.getOpcode(ILOAD) : ALOAD), valueVariable);
+		cf.pushDescriptor(valueDesc);
+	}
+
 }
@@ -21,8 +21,11 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelNode;
 
@@ -169,4 +172,108 @@ public class InlineMap extends SpelNodeImpl {
 		return (Map<Object,Object>) this.constant.getValue();
 	}
 
+	@Override
+	public boolean isCompilable() {
+		if (isConstant()) {
+			return true;
+		}
+		for (int c = 0; c < this.children.length; c++) {
+			if ((c % 2) == 0 && this.children[c] instanceof PropertyOrFieldReference) {
+				continue;
+			}
+			if (!this.children[c].isCompilable()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+		if (isConstant()) {
+			final String constantFieldName = "inlineMap$" + codeflow.nextFieldId();
+			final String className = codeflow.getClassName();
+
+			codeflow.registerNewField(new CodeFlow.FieldAdder() {
+				public void generateField(ClassWriter cw, CodeFlow codeflow) {
+					cw.visitField(ACC_PRIVATE|ACC_STATIC|ACC_FINAL, constantFieldName, "Ljava/util/Map;", null, null);
+				}
+			});
+
+			codeflow.registerNewClinit(new CodeFlow.ClinitAdder() {
+				public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+					generateClinitCode(className, constantFieldName, mv, codeflow, false);
+				}
+			});
+
+			mv.visitFieldInsn(GETSTATIC, className, constantFieldName, "Ljava/util/Map;");
+		}
+		else {
+			// Build a fresh map on each evaluation, in the same way as getValueInternal()
+			mv.visitTypeInsn(NEW, "java/util/LinkedHashMap");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/LinkedHashMap", "<init>", "()V", false);
+			for (int c = 0; c < this.children.length; c++) {
+				mv.visitInsn(DUP);
+				SpelNodeImpl keyChild = this.children[c++];
+				if (keyChild instanceof PropertyOrFieldReference) {
+					mv.visitLdcInsn(((PropertyOrFieldReference) keyChild).getName());
+				}
+				else {
+					generateEntryCode(keyChild, mv, codeflow);
+				}
+				generateEntryCode(this.children[c], mv, codeflow);
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+						"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+				mv.visitInsn(POP);
+			}
+		}
+		codeflow.pushDescriptor("Ljava/util/Map");
+	}
+
+	private void generateEntryCode(SpelNodeImpl child, MethodVisitor mv, CodeFlow codeflow) {
+		codeflow.enterCompilationScope();
+		child.generateCode(mv, codeflow);
+		CodeFlow.insertBoxIfNecessary(mv, codeflow.lastDescriptor());
+		codeflow.exitCompilationScope();
+	}
+
+	void generateClinitCode(String clazzname, String constantFieldName, MethodVisitor mv, CodeFlow codeflow, boolean nested) {
+		mv.visitTypeInsn(NEW, "java/util/LinkedHashMap");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/LinkedHashMap", "<init>", "()V", false);
+		for (int c = 0; c < this.children.length; c++) {
+			mv.visitInsn(DUP);
+			SpelNodeImpl keyChild = this.children[c++];
+			SpelNodeImpl valueChild = this.children[c];
+			if (keyChild instanceof PropertyOrFieldReference) {
+				mv.visitLdcInsn(((PropertyOrFieldReference) keyChild).getName());
+			}
+			else {
+				keyChild.generateCode(mv, codeflow);
+				CodeFlow.insertBoxIfNecessary(mv, codeflow.lastDescriptor());
+			}
+			// As for InlineList, nested constant lists and maps are built right here
+			// since calling back into generateCode() would register another clinit adder.
+			if (valueChild instanceof InlineList) {
+				((InlineList) valueChild).generateClinitCode(clazzname, constantFieldName, mv, codeflow, true);
+			}
+			else if (valueChild instanceof InlineMap) {
+				((InlineMap) valueChild).generateClinitCode(clazzname, constantFieldName, mv, codeflow, true);
+			}
+			else {
+				valueChild.generateCode(mv, codeflow);
+				CodeFlow.insertBoxIfNecessary(mv, codeflow.lastDescriptor());
+			}
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+					"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			mv.visitInsn(POP);
+		}
+		mv.visitMethodInsn(INVOKESTATIC, "java/util/Collections", "unmodifiableMap",
+				"(Ljava/util/Map;)Ljava/util/Map;", false);
+		if (!nested) {
+			mv.visitFieldInsn(PUTSTATIC, clazzname, constantFieldName, "Ljava/util/Map;");
+		}
+	}
+
 }
@@ -43,9 +43,16 @@ import org.springframework.expression.spel.support.ReflectiveMethodResolver;
 /**
  * Expression language AST node that represents a method reference.
  *
+ * <p>Resolved executors are kept in a small inline cache per target type and
+ * argument types, so that a method reference evaluated against objects of
+ * several types does not go through method resolution on every type change.
+ * The reference only compiles if all of its cached executors invoke the same method.
+ *
  * <p>
  *  表达式语言AST节点,表示方法引用
  * 
+ *  <p>已解析的执行器按目标类型和参数类型保存在一个小型内联缓存中,这样针对多种类型的对象求值的方法引用不会在每次类型变化时都进行方法解析只有当所有缓存的执行器都调用同一个方法时,该引用才会被编译
+ * 
  * 
  * @author Andy Clement
  * @author Juergen Hoeller
@@ -53,10 +60,17 @@ import org.springframework.expression.spel.support.ReflectiveMethodResolver;
  */
 public class MethodReference extends SpelNodeImpl {
 
+	private static final int MAX_CACHED_EXECUTORS = 16;
+
+	private static final CachedMethodExecutor[] NO_CACHED_EXECUTORS = new CachedMethodExecutor[0];
+
+
 	private final String name;
 
 	private final boolean nullSafe;
 
+	private volatile CachedMethodExecutor[] cachedExecutors = NO_CACHED_EXECUTORS;
+
 	private volatile CachedMethodExecutor cachedExecutor;
 
 
@@ -101,10 +115,12 @@ public class MethodReference extends SpelNodeImpl {
 			return TypedValue.NULL;
 		}
 
-		MethodExecutor executorToUse = getCachedExecutor(evaluationContext, value, targetType, argumentTypes);
-		if (executorToUse != null) {
+		boolean useCache = isCacheApplicable(evaluationContext);
+		CachedMethodExecutor cachedExecutorToUse =
+				(useCache ? getCachedExecutor(value, targetType, argumentTypes) : null);
+		if (cachedExecutorToUse != null) {
 			try {
-				return executorToUse.execute(evaluationContext, value, arguments);
+				return cachedExecutorToUse.get().execute(evaluationContext, value, arguments);
 			}
 			catch (AccessException ex) {
 				// Two reasons this can occur:
@@ -122,14 +138,20 @@ public class MethodReference extends SpelNodeImpl {
 
 				// At this point we know it wasn't a user problem so worth a retry if a
 				// better candidate can be found.
-				this.cachedExecutor = null;
+				removeCachedExecutor(cachedExecutorToUse);
 			}
 		}
 
 		// either there was no accessor or it no longer existed
-		executorToUse = findAccessorForMethod(this.name, argumentTypes, value, evaluationContext);
-		this.cachedExecutor = new CachedMethodExecutor(
+		MethodExecutor executorToUse = findAccessorForMethod(this.name, argumentTypes, value, evaluationContext);
+		CachedMethodExecutor newCachedExecutor = new CachedMethodExecutor(
 				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes);
+		if (useCache) {
+			addCachedExecutor(newCachedExecutor);
+		}
+		else {
+			this.cachedExecutor = newCachedExecutor;
+		}
 		try {
 			return executorToUse.execute(evaluationContext, value, arguments);
 		}
@@ -173,22 +195,57 @@ public class MethodReference extends SpelNodeImpl {
 		return Collections.unmodifiableList(descriptors);
 	}
 
-	private MethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
-			TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
-
+	private boolean isCacheApplicable(EvaluationContext evaluationContext) {
 		List<MethodResolver> methodResolvers = evaluationContext.getMethodResolvers();
-		if (methodResolvers == null || methodResolvers.size() != 1 ||
-				!(methodResolvers.get(0) instanceof ReflectiveMethodResolver)) {
-			// Not a default ReflectiveMethodResolver - don't know whether caching is valid
-			return null;
+		// Not a default ReflectiveMethodResolver - don't know whether caching is valid
+		return (methodResolvers != null && methodResolvers.size() == 1 &&
+				methodResolvers.get(0) instanceof ReflectiveMethodResolver);
+	}
+
+	private CachedMethodExecutor getCachedExecutor(Object value, TypeDescriptor target,
+			List<TypeDescriptor> argumentTypes) {
+
+		for (CachedMethodExecutor executorToCheck : this.cachedExecutors) {
+			if (executorToCheck.isSuitable(value, target, argumentTypes)) {
+				if (this.cachedExecutor != executorToCheck) {
+					this.cachedExecutor = executorToCheck;
+				}
+				return executorToCheck;
+			}
 		}
+		return null;
+	}
 
-		CachedMethodExecutor executorToCheck = this.cachedExecutor;
-		if (executorToCheck != null && executorToCheck.isSuitable(value, target, argumentTypes)) {
-			return executorToCheck.get();
+	/**
+	 * Add the given executor to the inline cache, evicting the oldest executor
+	 * if the cache is full, and mark it as the most recently used one.
+	 * <p>
+	 *  将给定的执行器添加到内联缓存中,如果缓存已满则逐出最旧的执行器,并将其标记为最近使用的执行器
+	 * 
+	 */
+	private void addCachedExecutor(CachedMethodExecutor executorToAdd) {
+		synchronized (this) {
+			CachedMethodExecutor[] executors = this.cachedExecutors;
+			int retained = Math.min(executors.length, MAX_CACHED_EXECUTORS - 1);
+			CachedMethodExecutor[] newExecutors = new CachedMethodExecutor[retained + 1];
+			System.arraycopy(executors, executors.length - retained, newExecutors, 0, retained);
+			newExecutors[retained] = executorToAdd;
+			this.cachedExecutors = newExecutors;
+		}
+		this.cachedExecutor = executorToAdd;
+	}
+
+	private void removeCachedExecutor(CachedMethodExecutor executorToRemove) {
+		synchronized (this) {
+			List<CachedMethodExecutor> executors = new ArrayList<CachedMethodExecutor>();
+			for (CachedMethodExecutor executor : this.cachedExecutors) {
+				if (executor != executorToRemove) {
+					executors.add(executor);
+				}
+			}
+			this.cachedExecutors = executors.toArray(new CachedMethodExecutor[executors.size()]);
 		}
 		this.cachedExecutor = null;
-		return null;
 	}
 
 	private MethodExecutor findAccessorForMethod(String name, List<TypeDescriptor> argumentTypes,
@@ -260,7 +317,9 @@ public class MethodReference extends SpelNodeImpl {
 
 	/**
 	 * A method reference is compilable if it has been resolved to a reflectively accessible method
-	 * and the child nodes (arguments to the method) are also compilable.
+	 * and the child nodes (arguments to the method) are also compilable. All executors in the
+	 * inline cache need to invoke that same method or an override of it in a subclass, since
+	 * compiled code does not dispatch by type other than through virtual method invocation.
 	 * <p>
 	 * 如果方法引用已被解析为可反映可访问的方法,并且子节点(该方法的参数)也可编译,则该方法引用是可编译的
 	 */
@@ -270,6 +329,13 @@ public class MethodReference extends SpelNodeImpl {
 		if (executorToCheck == null || !(executorToCheck.get() instanceof ReflectiveMethodExecutor)) {
 			return false;
 		}
+		Method method = ((ReflectiveMethodExecutor) executorToCheck.get()).getMethod();
+		for (CachedMethodExecutor cachedExecutor : this.cachedExecutors) {
+			if (!(cachedExecutor.get() instanceof ReflectiveMethodExecutor) ||
+					!isInvokedThrough(((ReflectiveMethodExecutor) cachedExecutor.get()).getMethod(), method)) {
+				return false;
+			}
+		}
 
 		for (SpelNodeImpl child : this.children) {
 			if (!child.isCompilable()) {
@@ -281,7 +347,6 @@ public class MethodReference extends SpelNodeImpl {
 		if (executor.didArgumentConversionOccur()) {
 			return false;
 		}
-		Method method = executor.getMethod();
 		Class<?> clazz = method.getDeclaringClass();
 		if (!Modifier.isPublic(clazz.getModifiers()) && executor.getPublicDeclaringClass() == null) {
 			return false;
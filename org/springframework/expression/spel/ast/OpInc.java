@@ -20,9 +20,12 @@ package org.springframework.expression.spel.ast;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Type;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Operation;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -95,6 +98,13 @@ public class OpInc extends Operator {
 			}
 		}
 
+		// Only a variable holding an Integer, Long, Float or Double is compiled
+		this.exitTypeDescriptor = null;
+		if (operand instanceof VariableReference && ((VariableReference) operand).isContextVariable()) {
+			this.exitTypeDescriptor = (value instanceof Integer ? "I" : value instanceof Long ? "J" :
+					value instanceof Float ? "F" : value instanceof Double ? "D" : null);
+		}
+
 		if (newValue == null) {
 			try {
 				newValue = state.operate(Operation.ADD, returnValue.getValue(), 1);
@@ -141,4 +151,59 @@ public class OpInc extends Operator {
 		return null;
 	}
 
+	@Override
+	public boolean isCompilable() {
+		return (this.exitTypeDescriptor != null);
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		String variableName = ((VariableReference) getLeftOperand()).getName();
+		char primitiveType = this.exitTypeDescriptor.charAt(0);
+		Type valueType = Type.getType(this.exitTypeDescriptor);
+
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitLdcInsn(variableName);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"lookupVariable", "(Ljava/lang/String;)Ljava/lang/Object;", true);
+		CodeFlow.insertUnboxInsns(mv, primitiveType, "Ljava/lang/Object");
+		int originalValueVariable = cf.nextFreeVariableId();
+		if (valueType.getSize() == 2) {
+			cf.nextFreeVariableId();
+		}
+		mv.visitVarInsn(valueType.getOpcode(ISTORE), originalValueVariable);
+
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitLdcInsn(variableName);
+		mv.visitVarInsn(valueType.getOpcode(ILOAD), originalValueVariable);
+		insertIncrementInsns(mv, valueType);
+		CodeFlow.insertBoxIfNecessary(mv, primitiveType);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"setVariable", "(Ljava/lang/String;Ljava/lang/Object;)V", true);
+
+		mv.visitVarInsn(valueType.getOpcode(ILOAD), originalValueVariable);
+		if (!this.postfix) {
+			// The result is the new value, not the original value
+			insertIncrementInsns(mv, valueType);
+		}
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private static void insertIncrementInsns(MethodVisitor mv, Type valueType) {
+		switch (valueType.getSort()) {
+			case Type.LONG:
+				mv.visitInsn(LCONST_1);
+				break;
+			case Type.FLOAT:
+				mv.visitInsn(FCONST_1);
+				break;
+			case Type.DOUBLE:
+				mv.visitInsn(DCONST_1);
+				break;
+			default:
+				mv.visitInsn(ICONST_1);
+		}
+		mv.visitInsn(valueType.getOpcode(IADD));
+	}
+
 }
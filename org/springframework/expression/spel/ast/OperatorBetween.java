@@ -19,8 +19,11 @@ package org.springframework.expression.spel.ast;
 
 import java.util.List;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypeComparator;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -70,6 +73,7 @@ public class OperatorBetween extends Operator {
 		Object low = list.get(0);
 		Object high = list.get(1);
 		TypeComparator comp = state.getTypeComparator();
+		this.exitTypeDescriptor = "Z";
 		try {
 			return BooleanTypedValue.forValue(comp.compare(left, low) >= 0 && comp.compare(left, high) <= 0);
 		}
@@ -79,4 +83,57 @@ public class OperatorBetween extends Operator {
 		}
 	}
 
+	@Override
+	public boolean isCompilable() {
+		// Only compile for bounds given as an inline list, e.g. 'x between {1, 5}'
+		SpelNodeImpl right = getRightOperand();
+		return (this.exitTypeDescriptor != null && getLeftOperand().isCompilable() &&
+				right instanceof InlineList && right.getChildCount() == 2 &&
+				right.children[0].isCompilable() && right.children[1].isCompilable());
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		SpelNodeImpl right = getRightOperand();
+		int leftVariable = generateOperandCode(getLeftOperand(), mv, cf);
+		int lowVariable = generateOperandCode(right.children[0], mv, cf);
+		int highVariable = generateOperandCode(right.children[1], mv, cf);
+		mv.visitVarInsn(ALOAD, 2);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"getTypeComparator", "()Lorg/springframework/expression/TypeComparator;", true);
+		int comparatorVariable = cf.nextFreeVariableId();
+		mv.visitVarInsn(ASTORE, comparatorVariable);
+
+		Label outOfRange = new Label();
+		Label endOfBetween = new Label();
+		generateCompareCode(comparatorVariable, leftVariable, lowVariable, mv);
+		mv.visitJumpInsn(IFLT, outOfRange);
+		generateCompareCode(comparatorVariable, leftVariable, highVariable, mv);
+		mv.visitJumpInsn(IFGT, outOfRange);
+		mv.visitInsn(ICONST_1);
+		mv.visitJumpInsn(GOTO, endOfBetween);
+		mv.visitLabel(outOfRange);
+		mv.visitInsn(ICONST_0);
+		mv.visitLabel(endOfBetween);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private int generateOperandCode(SpelNodeImpl operand, MethodVisitor mv, CodeFlow cf) {
+		cf.enterCompilationScope();
+		operand.generateCode(mv, cf);
+		CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
+		cf.exitCompilationScope();
+		int variable = cf.nextFreeVariableId();
+		mv.visitVarInsn(ASTORE, variable);
+		return variable;
+	}
+
+	private void generateCompareCode(int comparatorVariable, int leftVariable, int boundVariable, MethodVisitor mv) {
+		mv.visitVarInsn(ALOAD, comparatorVariable);
+		mv.visitVarInsn(ALOAD, leftVariable);
+		mv.visitVarInsn(ALOAD, boundVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/TypeComparator",
+				"compare", "(Ljava/lang/Object;Ljava/lang/Object;)I", true);
+	}
+
 }
@@ -23,7 +23,10 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -89,6 +92,7 @@ public class OperatorMatches extends Operator {
 				this.patternCache.putIfAbsent(rightString, pattern);
 			}
 			Matcher matcher = pattern.matcher(leftString);
+			this.exitTypeDescriptor = "Z";
 			return BooleanTypedValue.forValue(matcher.matches());
 		}
 		catch (PatternSyntaxException ex) {
@@ -96,4 +100,43 @@ public class OperatorMatches extends Operator {
 		}
 	}
 
+	@Override
+	public boolean isCompilable() {
+		// Only a literal pattern can be precompiled into the generated class
+		SpelNodeImpl left = getLeftOperand();
+		return (this.exitTypeDescriptor != null && getRightOperand() instanceof StringLiteral &&
+				left.isCompilable() && "Ljava/lang/String".equals(left.exitTypeDescriptor));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		final String patternFieldName = "pattern$" + cf.nextFieldId();
+		final String className = cf.getClassName();
+		final String regex = (String) ((StringLiteral) getRightOperand()).getLiteralValue().getValue();
+
+		cf.registerNewField(new CodeFlow.FieldAdder() {
+			public void generateField(ClassWriter cw, CodeFlow codeflow) {
+				cw.visitField(ACC_PRIVATE|ACC_STATIC|ACC_FINAL, patternFieldName, "Ljava/util/regex/Pattern;", null, null);
+			}
+		});
+
+		cf.registerNewClinit(new CodeFlow.ClinitAdder() {
+			public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+				mv.visitLdcInsn(regex);
+				mv.visitMethodInsn(INVOKESTATIC, "java/util/regex/Pattern", "compile",
+						"(Ljava/lang/String;)Ljava/util/regex/Pattern;", false);
+				mv.visitFieldInsn(PUTSTATIC, className, patternFieldName, "Ljava/util/regex/Pattern;");
+			}
+		});
+
+		mv.visitFieldInsn(GETSTATIC, className, patternFieldName, "Ljava/util/regex/Pattern;");
+		cf.enterCompilationScope();
+		getLeftOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		mv.visitMethodInsn(INVOKEVIRTUAL, "java/util/regex/Pattern", "matcher",
+				"(Ljava/lang/CharSequence;)Ljava/util/regex/Matcher;", false);
+		mv.visitMethodInsn(INVOKEVIRTUAL, "java/util/regex/Matcher", "matches", "()Z", false);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 }
@@ -20,9 +20,11 @@ package org.springframework.expression.spel.ast;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Operation;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.util.NumberUtils;
 
@@ -65,17 +67,23 @@ public class OperatorPower extends Operator {
 				return new TypedValue(leftBigInteger.pow(rightNumber.intValue()));
 			}
 			else if (leftNumber instanceof Double || rightNumber instanceof Double) {
+				this.exitTypeDescriptor = "D";
 				return new TypedValue(Math.pow(leftNumber.doubleValue(), rightNumber.doubleValue()));
 			}
 			else if (leftNumber instanceof Float || rightNumber instanceof Float) {
+				this.exitTypeDescriptor = "D";
 				return new TypedValue(Math.pow(leftNumber.floatValue(), rightNumber.floatValue()));
 			}
 
 			double d = Math.pow(leftNumber.doubleValue(), rightNumber.doubleValue());
 			if (d > Integer.MAX_VALUE || leftNumber instanceof Long || rightNumber instanceof Long) {
+				// An int overflowing into a long depends on the values, so only compile for long operands
+				this.exitTypeDescriptor = (leftNumber instanceof Long || rightNumber instanceof Long ? "J" : null);
 				return new TypedValue((long) d);
 			}
 			else {
+				// Not compiled: the result type of int operands depends on their values
+				this.exitTypeDescriptor = null;
 				return new TypedValue((int) d);
 			}
 		}
@@ -83,4 +91,60 @@ public class OperatorPower extends Operator {
 		return state.operate(Operation.POWER, leftOperand, rightOperand);
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl left = getLeftOperand();
+		SpelNodeImpl right = getRightOperand();
+		// Only compile for declared numeric types, determining the same arithmetic as above
+		return (this.exitTypeDescriptor != null && left.isCompilable() && right.isCompilable() &&
+				CodeFlow.isPrimitiveOrUnboxableSupportedNumber(left.exitTypeDescriptor) &&
+				CodeFlow.isPrimitiveOrUnboxableSupportedNumber(right.exitTypeDescriptor));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		String leftDesc = getLeftOperand().exitTypeDescriptor;
+		String rightDesc = getRightOperand().exitTypeDescriptor;
+		boolean floatOperands = (!isDouble(leftDesc) && !isDouble(rightDesc) &&
+				(isFloat(leftDesc) || isFloat(rightDesc)));
+
+		getLeftOperand().generateCode(mv, cf);
+		insertPowerOperandCoercion(mv, leftDesc, floatOperands);
+		cf.enterCompilationScope();
+		getRightOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		insertPowerOperandCoercion(mv, rightDesc, floatOperands);
+		mv.visitMethodInsn(INVOKESTATIC, "java/lang/Math", "pow", "(DD)D", false);
+
+		switch (this.exitTypeDescriptor.charAt(0)) {
+			case 'D':
+				break;
+			case 'J':
+				mv.visitInsn(D2L);
+				break;
+			default:
+				throw new IllegalStateException(
+						"Unrecognized exit type descriptor: '" + this.exitTypeDescriptor + "'");
+		}
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private static void insertPowerOperandCoercion(MethodVisitor mv, String descriptor, boolean floatOperands) {
+		if (floatOperands) {
+			CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, descriptor, 'F');
+			mv.visitInsn(F2D);
+		}
+		else {
+			CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, descriptor, 'D');
+		}
+	}
+
+	private static boolean isDouble(String descriptor) {
+		return (descriptor.equals("D") || descriptor.equals("Ljava/lang/Double"));
+	}
+
+	private static boolean isFloat(String descriptor) {
+		return (descriptor.equals("F") || descriptor.equals("Ljava/lang/Float"));
+	}
+
 }
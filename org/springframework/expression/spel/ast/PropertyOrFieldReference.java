@@ -35,13 +35,20 @@ import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor.OptimalPropertyAccessor;
 
 /**
  * Represents a simple property or field reference.
  *
+ * <p>Read accessors are kept in a small inline cache per target type, so that
+ * a reference evaluated against objects of several types does not go through
+ * accessor resolution on every type change.
+ *
  * <p>
  *  表示一个简单的属性或字段引用
  * 
+ *  <p>读取访问器按目标类型保存在一个小型内联缓存中,这样针对多种类型的对象求值的引用不会在每次类型变化时都进行访问器解析
+ * 
  * 
  * @author Andy Clement
  * @author Juergen Hoeller
@@ -50,10 +57,17 @@ import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
  */
 public class PropertyOrFieldReference extends SpelNodeImpl {
 
+	private static final int MAX_CACHED_READ_ACCESSORS = 16;
+
+	private static final CachedReadAccessor[] NO_CACHED_READ_ACCESSORS = new CachedReadAccessor[0];
+
+
 	private final boolean nullSafe;
 
 	private final String name;
 
+	private volatile CachedReadAccessor[] cachedReadAccessors = NO_CACHED_READ_ACCESSORS;
+
 	private volatile PropertyAccessor cachedReadAccessor;
 
 	private volatile PropertyAccessor cachedWriteAccessor;
@@ -191,15 +205,15 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			return TypedValue.NULL;
 		}
 
-		PropertyAccessor accessorToUse = this.cachedReadAccessor;
-		if (accessorToUse != null) {
+		CachedReadAccessor cachedAccessorToUse = (targetObject != null ? getCachedReadAccessor(targetObject) : null);
+		if (cachedAccessorToUse != null) {
 			try {
-				return accessorToUse.read(evalContext, contextObject.getValue(), name);
+				return cachedAccessorToUse.get().read(evalContext, targetObject, name);
 			}
 			catch (Exception ex) {
 				// This is OK - it may have gone stale due to a class change,
 				// let's try to get a new one and call it before giving up...
-				this.cachedReadAccessor = null;
+				removeCachedReadAccessor(cachedAccessorToUse);
 			}
 		}
 
@@ -216,7 +230,12 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 							accessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
 									evalContext, contextObject.getValue(), name);
 						}
-						this.cachedReadAccessor = accessor;
+						if (targetObject != null) {
+							addCachedReadAccessor(new CachedReadAccessor(targetObject, accessor));
+						}
+						else {
+							this.cachedReadAccessor = accessor;
+						}
 						return accessor.read(evalContext, contextObject.getValue(), name);
 					}
 				}
@@ -234,6 +253,50 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+	private CachedReadAccessor getCachedReadAccessor(Object targetObject) {
+		for (CachedReadAccessor accessorToCheck : this.cachedReadAccessors) {
+			if (accessorToCheck.isSuitable(targetObject)) {
+				if (this.cachedReadAccessor != accessorToCheck.get()) {
+					this.cachedReadAccessor = accessorToCheck.get();
+				}
+				return accessorToCheck;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Add the given read accessor to the inline cache, evicting the oldest accessor
+	 * if the cache is full, and mark it as the most recently used one.
+	 * <p>
+	 *  将给定的读取访问器添加到内联缓存中,如果缓存已满则逐出最旧的访问器,并将其标记为最近使用的访问器
+	 * 
+	 */
+	private void addCachedReadAccessor(CachedReadAccessor accessorToAdd) {
+		synchronized (this) {
+			CachedReadAccessor[] accessors = this.cachedReadAccessors;
+			int retained = Math.min(accessors.length, MAX_CACHED_READ_ACCESSORS - 1);
+			CachedReadAccessor[] newAccessors = new CachedReadAccessor[retained + 1];
+			System.arraycopy(accessors, accessors.length - retained, newAccessors, 0, retained);
+			newAccessors[retained] = accessorToAdd;
+			this.cachedReadAccessors = newAccessors;
+		}
+		this.cachedReadAccessor = accessorToAdd.get();
+	}
+
+	private void removeCachedReadAccessor(CachedReadAccessor accessorToRemove) {
+		synchronized (this) {
+			List<CachedReadAccessor> accessors = new ArrayList<CachedReadAccessor>();
+			for (CachedReadAccessor accessor : this.cachedReadAccessors) {
+				if (accessor != accessorToRemove) {
+					accessors.add(accessor);
+				}
+			}
+			this.cachedReadAccessors = accessors.toArray(new CachedReadAccessor[accessors.size()]);
+		}
+		this.cachedReadAccessor = null;
+	}
+
 	private void writeProperty(TypedValue contextObject, EvaluationContext evalContext, String name, Object newValue)
 			throws EvaluationException {
 
@@ -349,8 +412,22 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	@Override
 	public boolean isCompilable() {
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
-		return (accessorToUse instanceof CompilablePropertyAccessor &&
-				((CompilablePropertyAccessor) accessorToUse).isCompilable());
+		if (!(accessorToUse instanceof CompilablePropertyAccessor &&
+				((CompilablePropertyAccessor) accessorToUse).isCompilable())) {
+			return false;
+		}
+		// Compiled code does not dispatch by type other than through virtual method invocation:
+		// all cached accessors need to read the same member or an overriding getter in a subclass
+		for (CachedReadAccessor cachedAccessor : this.cachedReadAccessors) {
+			PropertyAccessor accessor = cachedAccessor.get();
+			if (accessor != accessorToUse && !(accessor instanceof OptimalPropertyAccessor &&
+					accessorToUse instanceof OptimalPropertyAccessor &&
+					isInvokedThrough(((OptimalPropertyAccessor) accessor).member,
+							((OptimalPropertyAccessor) accessorToUse).member))) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
 	@Override
@@ -403,4 +480,29 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+
+	private static class CachedReadAccessor {
+
+		private final Class<?> targetType;
+
+		private final boolean classTarget;
+
+		private final PropertyAccessor accessor;
+
+		public CachedReadAccessor(Object target, PropertyAccessor accessor) {
+			this.classTarget = (target instanceof Class);
+			this.targetType = (this.classTarget ? (Class<?>) target : target.getClass());
+			this.accessor = accessor;
+		}
+
+		public boolean isSuitable(Object target) {
+			return (target instanceof Class ? this.classTarget && this.targetType == target :
+					!this.classTarget && this.targetType == target.getClass());
+		}
+
+		public PropertyAccessor get() {
+			return this.accessor;
+		}
+	}
+
 }
@@ -20,6 +20,8 @@ package org.springframework.expression.spel.ast;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
@@ -232,6 +234,33 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 	public abstract TypedValue getValueInternal(ExpressionState expressionState) throws EvaluationException;
 
 	
+	/**
+	 * Determine whether compiled code invoking the given compiled member also
+	 * invokes the given member: either the same member, or a method overriding
+	 * the compiled (non-private instance) method in a subclass of its declaring
+	 * class, reached through virtual dispatch.
+	 * <p>
+	 *  确定调用给定已编译成员的编译代码是否也调用给定成员：要么是同一个成员,要么是在其声明类的子类中重写已编译(非私有实例)方法的方法,通过虚拟分派到达
+	 * 
+	 * 
+	 * @param member the member resolved for another target type
+	 * @param compiledMember the member that the compiled code invokes
+	 */
+	protected static boolean isInvokedThrough(Member member, Member compiledMember) {
+		if (member.equals(compiledMember)) {
+			return true;
+		}
+		if (!(member instanceof Method && compiledMember instanceof Method)) {
+			return false;
+		}
+		Method method = (Method) member;
+		Method compiledMethod = (Method) compiledMember;
+		return (!Modifier.isStatic(compiledMethod.getModifiers()) && !Modifier.isPrivate(compiledMethod.getModifiers()) &&
+				method.getName().equals(compiledMethod.getName()) &&
+				Arrays.equals(method.getParameterTypes(), compiledMethod.getParameterTypes()) &&
+				compiledMethod.getDeclaringClass().isAssignableFrom(method.getDeclaringClass()));
+	}
+
 	/**
 	 * Generate code that handles building the argument values for the specified method. This method will take account
 	 * of whether the invoked method is a varargs method and if it is then the argument values will be appropriately
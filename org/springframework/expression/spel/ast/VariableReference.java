@@ -70,7 +70,9 @@ public class VariableReference extends SpelNodeImpl {
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws SpelEvaluationException {
 		if (this.name.equals(THIS)) {
-			return state.getActiveContextObject();
+			TypedValue result = state.getActiveContextObject();
+			this.exitTypeDescriptor = toAccessibleDescriptor(result.getValue());
+			return result;
 		}
 		if (this.name.equals(ROOT)) {
 			TypedValue result = state.getRootContextObject();
@@ -78,19 +80,20 @@ public class VariableReference extends SpelNodeImpl {
 			return result;
 		}
 		TypedValue result = state.lookupVariable(this.name);
-		Object value = result.getValue();
+		this.exitTypeDescriptor = toAccessibleDescriptor(result.getValue());
+		// a null value will mean either the value was null or the variable was not found
+		return result;
+	}
+
+	private static String toAccessibleDescriptor(Object value) {
 		if (value == null || !Modifier.isPublic(value.getClass().getModifiers())) {
 			// If the type is not public then when generateCode produces a checkcast to it
 			// then an IllegalAccessError will occur.
 			// If resorting to Object isn't sufficient, the hierarchy could be traversed for 
 			// the first public type.
-			this.exitTypeDescriptor = "Ljava/lang/Object";
-		}
-		else {
-			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(value);
+			return "Ljava/lang/Object";
 		}
-		// a null value will mean either the value was null or the variable was not found
-		return result;
+		return CodeFlow.toDescriptorFromObject(value);
 	}
 
 	@Override
@@ -103,9 +106,32 @@ public class VariableReference extends SpelNodeImpl {
 		return "#" + this.name;
 	}
 
+	/**
+	 * Return the name of the referenced variable.
+	 * <p>
+	 *  返回引用的变量的名称
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Determine whether this is a reference to a regular variable of the evaluation
+	 * context, as opposed to {@code #this} or {@code #root}.
+	 * <p>
+	 *  确定这是对评估上下文的常规变量的引用,而不是{@code #this}或{@code #root}
+	 * 
+	 */
+	boolean isContextVariable() {
+		return !(this.name.equals(THIS) || this.name.equals(ROOT));
+	}
+
 	@Override
 	public boolean isWritable(ExpressionState expressionState) throws SpelEvaluationException {
-		return !(this.name.equals(THIS) || this.name.equals(ROOT));
+		return isContextVariable();
 	}
 
 
@@ -152,6 +178,11 @@ public class VariableReference extends SpelNodeImpl {
 		if (this.name.equals(ROOT)) {
 			mv.visitVarInsn(ALOAD,1);
 		}
+		else if (this.name.equals(THIS)) {
+			if (cf.lastDescriptor() == null) {
+				cf.loadTarget(mv);
+			}
+		}
 		else {
 			mv.visitVarInsn(ALOAD, 2);
 			mv.visitLdcInsn(name);
@@ -348,15 +348,16 @@ class InternalSpelExpressionParser extends TemplateAwareExpressionParser {
 
 	// primaryExpression : startNode (node)? -> ^(EXPRESSION startNode (node)?);
 	private SpelNodeImpl eatPrimaryExpression() {
-		List<SpelNodeImpl> nodes = new ArrayList<SpelNodeImpl>();
 		SpelNodeImpl start = eatStartNode();  // always a start node
+		if (!maybeEatNode()) {
+			return start;
+		}
+		List<SpelNodeImpl> nodes = new ArrayList<SpelNodeImpl>(4);
 		nodes.add(start);
-		while (maybeEatNode()) {
+		do {
 			nodes.add(pop());
 		}
-		if (nodes.size() == 1) {
-			return nodes.get(0);
-		}
+		while (maybeEatNode());
 		return new CompoundExpression(toPos(start.getStartPosition(),
 				nodes.get(nodes.size() - 1).getEndPosition()),
 				nodes.toArray(new SpelNodeImpl[nodes.size()]));
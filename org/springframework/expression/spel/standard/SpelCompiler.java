@@ -20,8 +20,6 @@ package org.springframework.expression.spel.standard;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -31,6 +29,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.asm.ClassWriter;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
+import org.springframework.core.BytecodeGenerationUtils.ChildClassLoader;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.CompiledExpression;
@@ -124,7 +123,7 @@ public class SpelCompiler implements Opcodes {
 			Class<? extends CompiledExpression> clazz = createExpressionClass(expression);
 			if (clazz != null) {
 				try {
-					return clazz.newInstance();
+					return clazz.getDeclaredConstructor().newInstance();
 				}
 				catch (Throwable ex) {
 					throw new IllegalStateException("Failed to instantiate CompiledExpression", ex);
@@ -300,25 +299,6 @@ public class SpelCompiler implements Opcodes {
 	}
 
 
-	/**
-	 * A ChildClassLoader will load the generated compiled expression classes.
-	 * <p>
-	 *  ChildClassLoader将加载生成的编译表达式类
-	 */
-	private static class ChildClassLoader extends URLClassLoader {
-
-		private static final URL[] NO_URLS = new URL[0];
-
-		public ChildClassLoader(ClassLoader classLoader) {
-			super(NO_URLS, classLoader);
-		}
-
-		public Class<?> defineClass(String name, byte[] bytes) {
-			return super.defineClass(name, bytes, 0, bytes.length);
-		}
-	}
-
-
 	private class ExpressionClassWriter extends ClassWriter {
 
 		public ExpressionClassWriter() {
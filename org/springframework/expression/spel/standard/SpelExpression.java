@@ -30,6 +30,9 @@ import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.SpelNode;
 import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.Assign;
+import org.springframework.expression.spel.ast.OpDec;
+import org.springframework.expression.spel.ast.OpInc;
 import org.springframework.expression.spel.ast.SpelNodeImpl;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.Assert;
@@ -487,6 +490,11 @@ public class SpelExpression implements Expression {
 				if (this.compiledAst != null) {
 					return true;
 				}
+				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED &&
+						!isRepeatableAfterFailure(this.ast)) {
+					this.failedAttempts++;
+					return false;
+				}
 				SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
 				this.compiledAst = compiler.compile(this.ast);
 				if (this.compiledAst == null) {
@@ -497,6 +505,55 @@ public class SpelExpression implements Expression {
 		return (this.compiledAst != null);
 	}
 
+	/**
+	 * Determine whether the given AST can be evaluated by the interpreter after its
+	 * compiled form failed, as happens in {@link SpelCompilerMode#MIXED} mode: this
+	 * is not the case if the compiled form may have applied side effects (assignments,
+	 * increments or decrements) before failing. A single side effect at the root is
+	 * fine, since its operands are evaluated before it gets applied.
+	 * <p>
+	 *  确定在给定AST的编译形式失败后是否可以由解释器对其求值,如{@link SpelCompilerMode#MIXED}模式中所发生的那样：如果编译形式可能在失败之前已应用副作用(赋值,递增或递减),则情况并非如此
+	 * 根部的单个副作用是可以的,因为其操作数在应用它之前被求值
+	 * 
+	 */
+	private static boolean isRepeatableAfterFailure(SpelNodeImpl ast) {
+		if (ast instanceof Assign || ast instanceof OpInc || ast instanceof OpDec) {
+			for (int i = 0; i < ast.getChildCount(); i++) {
+				if (hasSideEffects(ast.getChild(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return !hasSideEffects(ast);
+	}
+
+	private static boolean hasSideEffects(SpelNode node) {
+		if (node instanceof Assign || node instanceof OpInc || node instanceof OpDec) {
+			return true;
+		}
+		for (int i = 0; i < node.getChildCount(); i++) {
+			if (hasSideEffects(node.getChild(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return whether this expression is currently evaluated through compiled code,
+	 * i.e. it has been compiled and has not reverted to being interpreted since.
+	 * <p>
+	 *  返回此表达式当前是否通过编译代码进行评估,即它已被编译并且此后未恢复为解释
+	 * 
+	 * 
+	 * @since 4.3.6
+	 * @see #compileExpression()
+	 */
+	public boolean isCompiled() {
+		return (this.compiledAst != null);
+	}
+
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
@@ -17,18 +17,29 @@
 
 package org.springframework.expression.spel.standard;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateAwareExpressionParser;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * SpEL parser. Instances are reusable and thread-safe.
  *
+ * <p>Can optionally cache parsed expressions, see {@link #setCacheLimit}.
+ *
  * <p>
  *  SpEL解析器实例是可重复使用和线程安全的
  * 
+ *  <p>可以选择缓存已解析的表达式,请参阅{@link #setCacheLimit}
+ * 
  * 
  * @author Andy Clement
  * @author Juergen Hoeller
@@ -38,6 +49,27 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 
 	private final SpelParserConfiguration configuration;
 
+	private volatile int cacheLimit = 0;
+
+	/** Fast access cache for parsed expressions, returning already cached instances without a global lock */
+	private final Map<ExpressionCacheKey, Expression> accessCache = new ConcurrentHashMap<ExpressionCacheKey, Expression>(256);
+
+	/** Map from expression key to parsed expression in insertion order, synchronized when accessed */
+	@SuppressWarnings("serial")
+	private final Map<ExpressionCacheKey, Expression> evictionCache =
+			new LinkedHashMap<ExpressionCacheKey, Expression>(256) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<ExpressionCacheKey, Expression> eldest) {
+					if (size() > getCacheLimit()) {
+						accessCache.remove(eldest.getKey());
+						return true;
+					}
+					else {
+						return false;
+					}
+				}
+			};
+
 
 	/**
 	 * Create a parser with default settings.
@@ -62,6 +94,83 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 	}
 
 
+	/**
+	 * Specify the maximum number of parsed expressions to cache, keyed by
+	 * expression string and {@link ParserContext} settings.
+	 * <p>Default is 0, i.e. every call to {@link #parseExpression} parses the
+	 * given expression string again. Once the limit is reached, the oldest cached
+	 * expressions are evicted in insertion order (FIFO): hits are served from a
+	 * concurrent map without any lock and therefore do not refresh an entry.
+	 * Lowering the limit evicts surplus entries right away.
+	 * <p>Note that cached {@link Expression} instances are shared between all callers
+	 * asking for the same expression string, including their compiled state. Callers
+	 * must not modify them, e.g. through {@link SpelExpression#setEvaluationContext}.
+	 * {@link #parseRaw} always returns a fresh expression.
+	 * <p>
+	 *  指定要缓存的已解析表达式的最大数量,以表达式字符串和{@link ParserContext}设置为键<p>默认值为0,即每次调用{@link #parseExpression}都会重新解析给定的表达式字符串
+	 * 一旦达到限制,最早缓存的表达式将按插入顺序(FIFO)逐出：命中是从并发映射中无锁提供的,因此不会刷新条目降低限制会立即逐出多余的条目<p>请注意,缓存的{@link Expression}实例在请求相同表达式字符串的所有调用者之间共享,包括其编译状态调用者不得修改它们,
+	 * 例如通过{@link SpelExpression#setEvaluationContext} {@link #parseRaw}始终返回新的表达式
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		this.cacheLimit = cacheLimit;
+		synchronized (this.evictionCache) {
+			Iterator<ExpressionCacheKey> it = this.evictionCache.keySet().iterator();
+			while (this.evictionCache.size() > Math.max(cacheLimit, 0)) {
+				this.accessCache.remove(it.next());
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Return the maximum number of parsed expressions to cache.
+	 * <p>
+	 *  返回要缓存的已解析表达式的最大数量
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+	/**
+	 * Clear the cache of parsed expressions.
+	 * <p>
+	 *  清除已解析表达式的缓存
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public void clearCache() {
+		synchronized (this.evictionCache) {
+			this.evictionCache.clear();
+			this.accessCache.clear();
+		}
+	}
+
+
+	@Override
+	public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+		if (this.cacheLimit <= 0) {
+			return super.parseExpression(expressionString, context);
+		}
+		ExpressionCacheKey cacheKey = new ExpressionCacheKey(expressionString, context);
+		Expression expression = this.accessCache.get(cacheKey);
+		if (expression == null) {
+			expression = super.parseExpression(expressionString, context);
+			synchronized (this.evictionCache) {
+				// Eviction on put also covers the new entry itself, e.g. after lowering the limit
+				this.accessCache.put(cacheKey, expression);
+				this.evictionCache.put(cacheKey, expression);
+			}
+		}
+		return expression;
+	}
+
 	public SpelExpression parseRaw(String expressionString) throws ParseException {
 		return doParseExpression(expressionString, null);
 	}
@@ -71,4 +180,49 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 		return new InternalSpelExpressionParser(this.configuration).doParseExpression(expressionString, context);
 	}
 
+
+	/**
+	 * Cache key for parsed expressions: the expression string plus the
+	 * template settings of the {@link ParserContext} it has been parsed with.
+	 * <p>
+	 *  已解析表达式的缓存键：表达式字符串以及解析时所用{@link ParserContext}的模板设置
+	 * 
+	 */
+	private static final class ExpressionCacheKey {
+
+		private final String expressionString;
+
+		private final String expressionPrefix;
+
+		private final String expressionSuffix;
+
+		private final boolean template;
+
+		public ExpressionCacheKey(String expressionString, ParserContext context) {
+			this.expressionString = expressionString;
+			this.template = (context != null && context.isTemplate());
+			this.expressionPrefix = (this.template ? context.getExpressionPrefix() : null);
+			this.expressionSuffix = (this.template ? context.getExpressionSuffix() : null);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ExpressionCacheKey)) {
+				return false;
+			}
+			ExpressionCacheKey otherKey = (ExpressionCacheKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) && this.template == otherKey.template &&
+					ObjectUtils.nullSafeEquals(this.expressionPrefix, otherKey.expressionPrefix) &&
+					ObjectUtils.nullSafeEquals(this.expressionSuffix, otherKey.expressionSuffix));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.expressionString.hashCode() * 29 + ObjectUtils.nullSafeHashCode(this.expressionPrefix);
+		}
+	}
+
 }
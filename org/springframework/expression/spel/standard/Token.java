@@ -54,9 +54,9 @@ class Token {
 		this.endPos = endPos;
 	}
 
-	Token(TokenKind tokenKind, char[] tokenData, int startPos, int endPos) {
+	Token(TokenKind tokenKind, String tokenData, int startPos, int endPos) {
 		this(tokenKind, startPos, endPos);
-		this.data = new String(tokenData);
+		this.data = tokenData;
 	}
 
 
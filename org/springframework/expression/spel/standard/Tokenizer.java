@@ -18,7 +18,6 @@
 package org.springframework.expression.spel.standard;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.expression.spel.InternalParseException;
@@ -83,7 +82,8 @@ class Tokenizer {
 
 	public Tokenizer(String inputData) {
 		this.expressionString = inputData;
-		this.toProcess = (inputData + "\0").toCharArray();
+		this.toProcess = new char[inputData.length() + 1];
+		inputData.getChars(0, inputData.length(), this.toProcess, 0);
 		this.max = this.toProcess.length;
 		this.pos = 0;
 		process();
@@ -305,7 +305,7 @@ class Tokenizer {
 			}
 		}
 		this.pos++;
-		this.tokens.add(new Token(TokenKind.LITERAL_STRING, subarray(start, this.pos), start, this.pos));
+		this.tokens.add(new Token(TokenKind.LITERAL_STRING, substring(start, this.pos), start, this.pos));
 	}
 
 	// DQ_STRING_LITERAL: '"'! (~'"')* '"'!;
@@ -330,7 +330,7 @@ class Tokenizer {
 			}
 		}
 		this.pos++;
-		this.tokens.add(new Token(TokenKind.LITERAL_STRING, subarray(start, this.pos), start, this.pos));
+		this.tokens.add(new Token(TokenKind.LITERAL_STRING, substring(start, this.pos), start, this.pos));
 	}
 
 	// REAL_LITERAL :
@@ -363,11 +363,11 @@ class Tokenizer {
 			}
 			while (isHexadecimalDigit(this.toProcess[this.pos]));
 			if (isChar('L', 'l')) {
-				pushHexIntToken(subarray(start + 2, this.pos), true, start, this.pos);
+				pushHexIntToken(substring(start + 2, this.pos), true, start, this.pos);
 				this.pos++;
 			}
 			else {
-				pushHexIntToken(subarray(start + 2, this.pos), false, start, this.pos);
+				pushHexIntToken(substring(start + 2, this.pos), false, start, this.pos);
 			}
 			return;
 		}
@@ -395,7 +395,7 @@ class Tokenizer {
 				// part of something like '3.toString()'. In this case process it as
 				// an int and leave the dot as a separate token.
 				this.pos = dotpos;
-				pushIntToken(subarray(start, this.pos), false, start, this.pos);
+				pushIntToken(substring(start, this.pos), false, start, this.pos);
 				return;
 			}
 		}
@@ -410,7 +410,7 @@ class Tokenizer {
 				throw new InternalParseException(new SpelParseException(this.expressionString,
 						start, SpelMessage.REAL_CANNOT_BE_LONG));
 			}
-			pushIntToken(subarray(start, endOfNumber), true, start, endOfNumber);
+			pushIntToken(substring(start, endOfNumber), true, start, endOfNumber);
 			this.pos++;
 		}
 		else if (isExponentChar(this.toProcess[this.pos])) {
@@ -434,7 +434,7 @@ class Tokenizer {
 			else if (isDoubleSuffix(this.toProcess[this.pos])) {
 				endOfNumber = ++this.pos;
 			}
-			pushRealToken(subarray(start, this.pos), isFloat, start, this.pos);
+			pushRealToken(substring(start, this.pos), isFloat, start, this.pos);
 		}
 		else {
 			ch = this.toProcess[this.pos];
@@ -449,10 +449,10 @@ class Tokenizer {
 				endOfNumber = ++this.pos;
 			}
 			if (isReal) {
-				pushRealToken(subarray(start, endOfNumber), isFloat, start, endOfNumber);
+				pushRealToken(substring(start, endOfNumber), isFloat, start, endOfNumber);
 			}
 			else {
-				pushIntToken(subarray(start, endOfNumber), false, start, endOfNumber);
+				pushIntToken(substring(start, endOfNumber), false, start, endOfNumber);
 			}
 		}
 	}
@@ -463,22 +463,22 @@ class Tokenizer {
 			this.pos++;
 		}
 		while (isIdentifier(this.toProcess[this.pos]));
-		char[] subarray = subarray(start, this.pos);
 
 		// Check if this is the alternative (textual) representation of an operator (see
 		// alternativeOperatorNames)
 		if ((this.pos - start) == 2 || (this.pos - start) == 3) {
-			String asString = new String(subarray).toUpperCase();
-			int idx = Arrays.binarySearch(ALTERNATIVE_OPERATOR_NAMES, asString);
-			if (idx >= 0) {
-				pushOneCharOrTwoCharToken(TokenKind.valueOf(asString), start, subarray);
-				return;
+			for (String operatorName : ALTERNATIVE_OPERATOR_NAMES) {
+				if (operatorName.length() == this.pos - start &&
+						this.expressionString.regionMatches(true, start, operatorName, 0, operatorName.length())) {
+					pushOneCharOrTwoCharToken(TokenKind.valueOf(operatorName), start, substring(start, this.pos));
+					return;
+				}
 			}
 		}
-		this.tokens.add(new Token(TokenKind.IDENTIFIER, subarray, start, this.pos));
+		this.tokens.add(new Token(TokenKind.IDENTIFIER, substring(start, this.pos), start, this.pos));
 	}
 
-	private void pushIntToken(char[] data, boolean isLong, int start, int end) {
+	private void pushIntToken(String data, boolean isLong, int start, int end) {
 		if (isLong) {
 			this.tokens.add(new Token(TokenKind.LITERAL_LONG, data, start, end));
 		}
@@ -487,8 +487,8 @@ class Tokenizer {
 		}
 	}
 
-	private void pushHexIntToken(char[] data, boolean isLong, int start, int end) {
-		if (data.length == 0) {
+	private void pushHexIntToken(String data, boolean isLong, int start, int end) {
+		if (data.length() == 0) {
 			if (isLong) {
 				throw new InternalParseException(new SpelParseException(this.expressionString,
 						start, SpelMessage.NOT_A_LONG, this.expressionString.substring(start,
@@ -508,7 +508,7 @@ class Tokenizer {
 		}
 	}
 
-	private void pushRealToken(char[] data, boolean isFloat, int start, int end) {
+	private void pushRealToken(String data, boolean isFloat, int start, int end) {
 		if (isFloat) {
 			this.tokens.add(new Token(TokenKind.LITERAL_REAL_FLOAT, data, start, end));
 		}
@@ -517,10 +517,8 @@ class Tokenizer {
 		}
 	}
 
-	private char[] subarray(int start, int end) {
-		char[] result = new char[end - start];
-		System.arraycopy(this.toProcess, start, result, 0, end - start);
-		return result;
+	private String substring(int start, int end) {
+		return new String(this.toProcess, start, end - start);
 	}
 
 	/**
@@ -556,7 +554,7 @@ class Tokenizer {
 		this.pos += 2;
 	}
 
-	private void pushOneCharOrTwoCharToken(TokenKind kind, int pos, char[] data) {
+	private void pushOneCharOrTwoCharToken(TokenKind kind, int pos, String data) {
 		this.tokens.add(new Token(kind, data, pos, pos + kind.getLength()));
 	}
 
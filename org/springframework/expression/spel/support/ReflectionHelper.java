@@ -18,6 +18,7 @@
 package org.springframework.expression.spel.support;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.List;
 
@@ -286,10 +287,33 @@ public class ReflectionHelper {
 	static boolean convertArguments(TypeConverter converter, Object[] arguments, Object methodOrCtor,
 			Integer varargsPosition) throws EvaluationException {
 
+		return convertArguments(converter, arguments, getParameterTypeDescriptors(methodOrCtor), varargsPosition);
+	}
+
+	/**
+	 * Takes an input set of argument values and converts them to the given parameter
+	 * types. The arguments are converted 'in-place' in the input array.
+	 * <p>
+	 *  获取输入参数值集,并将它们转换为给定的参数类型参数在输入数组中转换为"in-place"
+	 * 
+	 * 
+	 * @param converter the type converter to use for attempting conversions
+	 * @param arguments the actual arguments that need conversion
+	 * @param parameterTypes the parameter types of the target Method or Constructor
+	 * @param varargsPosition the known position of the varargs argument, if any
+	 * ({@code null} if not varargs)
+	 * @return {@code true} if some kind of conversion occurred on an argument
+	 * @throws EvaluationException if a problem occurs during conversion
+	 * @since 4.3.6
+	 * @see #getParameterTypeDescriptors
+	 */
+	static boolean convertArguments(TypeConverter converter, Object[] arguments, TypeDescriptor[] parameterTypes,
+			Integer varargsPosition) throws EvaluationException {
+
 		boolean conversionOccurred = false;
 		if (varargsPosition == null) {
 			for (int i = 0; i < arguments.length; i++) {
-				TypeDescriptor targetType = new TypeDescriptor(MethodParameter.forMethodOrConstructor(methodOrCtor, i));
+				TypeDescriptor targetType = parameterTypes[i];
 				Object argument = arguments[i];
 				arguments[i] = converter.convertValue(argument, TypeDescriptor.forObject(argument), targetType);
 				conversionOccurred |= (argument != arguments[i]);
@@ -298,16 +322,16 @@ public class ReflectionHelper {
 		else {
 			// Convert everything up to the varargs position
 			for (int i = 0; i < varargsPosition; i++) {
-				TypeDescriptor targetType = new TypeDescriptor(MethodParameter.forMethodOrConstructor(methodOrCtor, i));
+				TypeDescriptor targetType = parameterTypes[i];
 				Object argument = arguments[i];
 				arguments[i] = converter.convertValue(argument, TypeDescriptor.forObject(argument), targetType);
 				conversionOccurred |= (argument != arguments[i]);
 			}
-			MethodParameter methodParam = MethodParameter.forMethodOrConstructor(methodOrCtor, varargsPosition);
+			TypeDescriptor varargsType = parameterTypes[varargsPosition];
 			if (varargsPosition == arguments.length - 1) {
 				// If the target is varargs and there is just one more argument
 				// then convert it here
-				TypeDescriptor targetType = new TypeDescriptor(methodParam);
+				TypeDescriptor targetType = varargsType;
 				Object argument = arguments[varargsPosition];
 				TypeDescriptor sourceType = TypeDescriptor.forObject(argument);
 				arguments[varargsPosition] = converter.convertValue(argument, sourceType, targetType);
@@ -322,7 +346,7 @@ public class ReflectionHelper {
 			}
 			else {
 				// Convert remaining arguments to the varargs element type
-				TypeDescriptor targetType = new TypeDescriptor(methodParam).getElementTypeDescriptor();
+				TypeDescriptor targetType = varargsType.getElementTypeDescriptor();
 				for (int i = varargsPosition; i < arguments.length; i++) {
 					Object argument = arguments[i];
 					arguments[i] = converter.convertValue(argument, TypeDescriptor.forObject(argument), targetType);
@@ -333,6 +357,27 @@ public class ReflectionHelper {
 		return conversionOccurred;
 	}
 
+	/**
+	 * Build type descriptors for all parameters of the given Method or Constructor,
+	 * to be reused across {@link #convertArguments} calls for the same target.
+	 * <p>
+	 *  为给定Method或Constructor的所有参数构建类型描述符,以便在针对同一目标的{@link #convertArguments}调用之间重复使用
+	 * 
+	 * 
+	 * @param methodOrCtor the target Method or Constructor
+	 * @return the type descriptors, in parameter order
+	 * @since 4.3.6
+	 */
+	static TypeDescriptor[] getParameterTypeDescriptors(Object methodOrCtor) {
+		int parameterCount = (methodOrCtor instanceof Method ? ((Method) methodOrCtor).getParameterTypes().length :
+				((Constructor<?>) methodOrCtor).getParameterTypes().length);
+		TypeDescriptor[] parameterTypes = new TypeDescriptor[parameterCount];
+		for (int i = 0; i < parameterCount; i++) {
+			parameterTypes[i] = new TypeDescriptor(MethodParameter.forMethodOrConstructor(methodOrCtor, i));
+		}
+		return parameterTypes;
+	}
+
 	/**
 	 * Check if the supplied value is the first entry in the array represented by the possibleArray value.
 	 * <p>
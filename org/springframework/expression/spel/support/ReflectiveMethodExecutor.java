@@ -48,6 +48,10 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
 	private boolean argumentConversionOccurred = false;
 
+	private final TypeDescriptor[] parameterTypeDescriptors;
+
+	private final TypeDescriptor returnTypeDescriptor;
+
 	public ReflectiveMethodExecutor(Method method) {
 		this.method = method;
 		if (method.isVarArgs()) {
@@ -57,6 +61,8 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 		else {
 			this.varargsPosition = null;
 		}
+		this.parameterTypeDescriptors = ReflectionHelper.getParameterTypeDescriptors(method);
+		this.returnTypeDescriptor = new TypeDescriptor(new MethodParameter(method, -1));
 	}
 
 	public Method getMethod() {
@@ -109,14 +115,15 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 	public TypedValue execute(EvaluationContext context, Object target, Object... arguments) throws AccessException {
 		try {
 			if (arguments != null) {
-				this.argumentConversionOccurred = ReflectionHelper.convertArguments(context.getTypeConverter(), arguments, this.method, this.varargsPosition);
+				this.argumentConversionOccurred = ReflectionHelper.convertArguments(
+						context.getTypeConverter(), arguments, this.parameterTypeDescriptors, this.varargsPosition);
 			}
-			if (this.method.isVarArgs()) {
+			if (this.varargsPosition != null) {
 				arguments = ReflectionHelper.setupArgumentsForVarargsInvocation(this.method.getParameterTypes(), arguments);
 			}
 			ReflectionUtils.makeAccessible(this.method);
 			Object value = this.method.invoke(target, arguments);
-			return new TypedValue(value, new TypeDescriptor(new MethodParameter(this.method, -1)).narrow(value));
+			return new TypedValue(value, this.returnTypeDescriptor.narrow(value));
 		}
 		catch (Exception ex) {
 			throw new AccessException("Problem invoking method: " + this.method, ex);
@@ -17,7 +17,9 @@
 
 package org.springframework.messaging.simp.broker;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -25,13 +27,16 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.messaging.Message;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
 
 /**
  * A default, simple in-memory implementation of {@link SubscriptionRegistry}.
@@ -55,6 +60,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private final SubscriptionIndex subscriptionIndex = new SubscriptionIndex();
+
 	private final DestinationCache destinationCache = new DestinationCache();
 
 	private final SessionSubscriptionRegistry subscriptionRegistry = new SessionSubscriptionRegistry();
@@ -83,9 +90,18 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	/**
 	 * Specify the {@link PathMatcher} to use.
+	 * <p>Subscriptions to non-pattern destinations are looked up by exact
+	 * destination only for a plain {@link AntPathMatcher} with default case
+	 * sensitivity and token trimming; for any other PathMatcher, every
+	 * subscription destination goes through {@link PathMatcher#match}.
+	 * The PathMatcher is therefore to be configured before any subscriptions
+	 * get registered.
 	 * <p>
 	 *  指定要使用的{@link PathMatcher}
 	 * 
+	 *  <p>仅对于具有默认大小写敏感性和令牌修剪设置的普通{@link AntPathMatcher},对非模式目标的订阅才按确切的目标查找;对于任何其他PathMatcher,
+	 * 每个订阅目标都通过{@link PathMatcher#match}进行匹配因此,应在注册任何订阅之前配置PathMatcher
+	 * 
 	 */
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		this.pathMatcher = pathMatcher;
@@ -105,7 +121,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	@Override
 	protected void addSubscriptionInternal(String sessionId, String subsId, String destination, Message<?> message) {
 		this.subscriptionRegistry.addSubscription(sessionId, subsId, destination);
-		this.destinationCache.updateAfterNewSubscription(destination, sessionId, subsId);
+		this.subscriptionIndex.addSubscription(destination, sessionId, subsId);
 	}
 
 	@Override
@@ -114,7 +130,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		if (info != null) {
 			String destination = info.removeSubscription(subsId);
 			if (destination != null) {
-				this.destinationCache.updateAfterRemovedSubscription(sessionId, subsId);
+				this.subscriptionIndex.removeSubscription(destination, sessionId, subsId);
 			}
 		}
 	}
@@ -123,133 +139,414 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	public void unregisterAllSubscriptions(String sessionId) {
 		SessionSubscriptionInfo info = this.subscriptionRegistry.removeSubscriptions(sessionId);
 		if (info != null) {
-			this.destinationCache.updateAfterRemovedSession(info);
+			for (String destination : info.getDestinations()) {
+				this.subscriptionIndex.removeSession(destination, sessionId);
+			}
 		}
 	}
 
 	@Override
 	protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
-		MultiValueMap<String, String> result = this.destinationCache.getSubscriptions(destination);
-		if (result != null) {
-			return result;
-		}
-		result = new LinkedMultiValueMap<String, String>();
-		for (SessionSubscriptionInfo info : this.subscriptionRegistry.getAllSubscriptions()) {
-			for (String destinationPattern : info.getDestinations()) {
-				if (this.pathMatcher.match(destinationPattern, destination)) {
-					for (String subscriptionId : info.getSubscriptions(destinationPattern)) {
-						result.add(info.sessionId, subscriptionId);
-					}
-				}
-			}
+		DestinationSubscriptions exactMatch = null;
+		if (isExactLookupSupported()) {
+			exactMatch = this.subscriptionIndex.getExactSubscriptions(getExactLookupKey(destination));
+		}
+		DestinationSubscriptions[] patternMatches = this.destinationCache.getPatternSubscriptions(destination);
+		if (patternMatches.length == 0) {
+			return (exactMatch != null ? exactMatch.getSubscriptions() : new LinkedMultiValueMap<String, String>());
+		}
+		if (exactMatch == null && patternMatches.length == 1) {
+			return patternMatches[0].getSubscriptions();
 		}
-		if (!result.isEmpty()) {
-			this.destinationCache.addSubscriptions(destination, result);
+		MultiValueMap<String, String> result = new LinkedMultiValueMap<String, String>();
+		if (exactMatch != null) {
+			addAll(exactMatch.getSubscriptions(), result);
+		}
+		for (DestinationSubscriptions patternMatch : patternMatches) {
+			addAll(patternMatch.getSubscriptions(), result);
 		}
 		return result;
 	}
 
+	private static void addAll(MultiValueMap<String, String> subscriptions, MultiValueMap<String, String> result) {
+		for (Map.Entry<String, List<String>> entry : subscriptions.entrySet()) {
+			for (String subscriptionId : entry.getValue()) {
+				result.add(entry.getKey(), subscriptionId);
+			}
+		}
+	}
+
+	/**
+	 * Whether the given subscription destination needs to be matched through
+	 * the {@link PathMatcher}, as opposed to being looked up by exact destination.
+	 * <p>
+	 *  给定的订阅目标是否需要通过{@link PathMatcher}进行匹配,而不是按确切的目标进行查找
+	 * 
+	 */
+	private boolean isPatternDestination(String destination) {
+		if (!isExactLookupSupported()) {
+			return true;
+		}
+		String separator = ((AntPathMatcher) getPathMatcher()).getPathSeparator();
+		return (getPathMatcher().isPattern(destination) || destination.indexOf('{') != -1 ||
+				destination.contains(separator + separator));
+	}
+
+	/**
+	 * Whether matching a non-pattern subscription destination through the
+	 * configured {@link PathMatcher} is equivalent to an exact lookup, i.e.
+	 * whether it is a plain {@link AntPathMatcher} that neither ignores case
+	 * nor trims tokens.
+	 * <p>
+	 *  通过配置的{@link PathMatcher}匹配非模式订阅目标是否等同于精确查找,即它是否是既不忽略大小写也不修剪令牌的普通{@link AntPathMatcher}
+	 * 
+	 */
+	private boolean isExactLookupSupported() {
+		PathMatcher pathMatcher = getPathMatcher();
+		if (pathMatcher == null || pathMatcher.getClass() != AntPathMatcher.class) {
+			return false;
+		}
+		AntPathMatcher antPathMatcher = (AntPathMatcher) pathMatcher;
+		return (antPathMatcher.isCaseSensitive() && !antPathMatcher.isTrimTokens());
+	}
+
+	/**
+	 * Return the key for the exact lookup of the given message destination:
+	 * the destination with repeated path separators collapsed, since those
+	 * are ignored by the {@link AntPathMatcher} as well.
+	 * <p>
+	 *  返回用于精确查找给定消息目标的键：折叠了重复路径分隔符的目标,因为{@link AntPathMatcher}也会忽略它们
+	 * 
+	 */
+	private String getExactLookupKey(String destination) {
+		String separator = ((AntPathMatcher) getPathMatcher()).getPathSeparator();
+		String doubleSeparator = separator + separator;
+		while (destination.contains(doubleSeparator)) {
+			destination = StringUtils.replace(destination, doubleSeparator, separator);
+		}
+		return destination;
+	}
+
 	@Override
 	public String toString() {
-		return "DefaultSubscriptionRegistry[" + this.destinationCache + ", " + this.subscriptionRegistry + "]";
+		return "DefaultSubscriptionRegistry[" + this.subscriptionIndex + ", " + this.destinationCache + ", " +
+				this.subscriptionRegistry + "]";
 	}
 
 
 	/**
-	 * A cache for destinations previously resolved via
-	 * {@link DefaultSubscriptionRegistry#findSubscriptionsInternal(String, Message)}
+	 * Index of subscriptions by subscription destination, separating exact
+	 * destinations (resolved with a single hash lookup) from pattern destinations
+	 * (resolved through the {@link DestinationCache}).
+	 * <p>Both maps are concurrent, and structural changes to a destination's
+	 * subscriptions only lock that particular destination, so subscribe and
+	 * unsubscribe calls for different destinations do not contend with each
+	 * other, and lookups do not lock at all.
 	 * <p>
-	 *  以前通过{@link DefaultSubscriptionRegistry#findSubscriptionsInternal(String,Message)}解析的目标缓存
+	 *  按订阅目标的订阅索引,将确切的目标(通过单个哈希查找解析)与模式目标(通过{@link DestinationCache}解析)分开
+	 * 
+	 *  <p>两个映射都是并发的,对目标订阅的结构更改只锁定该特定目标,因此对不同目标的订阅和取消订阅调用不会相互竞争,查找根本不会锁定
 	 * 
 	 */
-	private class DestinationCache {
+	private class SubscriptionIndex {
 
-		/** Map from destination -> <sessionId, subscriptionId> for fast look-ups */
-		private final Map<String, MultiValueMap<String, String>> accessCache =
-				new ConcurrentHashMap<String, MultiValueMap<String, String>>(DEFAULT_CACHE_LIMIT);
+		/** Map from exact destination -> subscriptions */
+		private final ConcurrentMap<String, DestinationSubscriptions> exactSubscriptions =
+				new ConcurrentHashMap<String, DestinationSubscriptions>();
 
-		/** Map from destination -> <sessionId, subscriptionId> with locking */
-		@SuppressWarnings("serial")
-		private final Map<String, MultiValueMap<String, String>> updateCache =
-				new LinkedHashMap<String, MultiValueMap<String, String>>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
-					@Override
-					protected boolean removeEldestEntry(Map.Entry<String, MultiValueMap<String, String>> eldest) {
-						return size() > getCacheLimit();
-					}
-				};
+		/** Map from destination pattern -> subscriptions */
+		private final ConcurrentMap<String, DestinationSubscriptions> patternSubscriptions =
+				new ConcurrentHashMap<String, DestinationSubscriptions>();
+
+		/** Incremented whenever a destination pattern is added or removed */
+		private final AtomicInteger patternVersion = new AtomicInteger();
 
 
-		public MultiValueMap<String, String> getSubscriptions(String destination) {
-			return this.accessCache.get(destination);
+		public DestinationSubscriptions getExactSubscriptions(String destination) {
+			return this.exactSubscriptions.get(destination);
 		}
 
-		public void addSubscriptions(String destination, MultiValueMap<String, String> subscriptions) {
-			synchronized (this.updateCache) {
-				this.updateCache.put(destination, subscriptions);
-				this.accessCache.put(destination, new LinkedMultiValueMap<String, String>(subscriptions));
-			}
+		public Collection<DestinationSubscriptions> getPatternSubscriptions() {
+			return this.patternSubscriptions.values();
 		}
 
-		public void updateAfterNewSubscription(String destination, String sessionId, String subsId) {
-			synchronized (this.updateCache) {
-				for (Map.Entry<String, MultiValueMap<String, String>> entry : this.updateCache.entrySet()) {
-					String cachedDestination = entry.getKey();
-					if (getPathMatcher().match(destination, cachedDestination)) {
-						MultiValueMap<String, String> subs = entry.getValue();
-						subs.add(sessionId, subsId);
-						this.accessCache.put(cachedDestination, new LinkedMultiValueMap<String, String>(subs));
+		public boolean hasPatternSubscriptions() {
+			return !this.patternSubscriptions.isEmpty();
+		}
+
+		public int getPatternVersion() {
+			return this.patternVersion.get();
+		}
+
+		public void addSubscription(String destination, String sessionId, String subsId) {
+			boolean isPattern = isPatternDestination(destination);
+			ConcurrentMap<String, DestinationSubscriptions> map =
+					(isPattern ? this.patternSubscriptions : this.exactSubscriptions);
+			while (true) {
+				DestinationSubscriptions subscriptions = map.get(destination);
+				if (subscriptions == null) {
+					DestinationSubscriptions newSubscriptions = new DestinationSubscriptions(destination);
+					subscriptions = map.putIfAbsent(destination, newSubscriptions);
+					if (subscriptions == null) {
+						subscriptions = newSubscriptions;
+						if (isPattern) {
+							this.patternVersion.incrementAndGet();
+						}
 					}
 				}
+				if (subscriptions.addSubscription(sessionId, subsId)) {
+					return;
+				}
+				// Concurrently removed after its last subscription was gone - try again
 			}
 		}
 
-		public void updateAfterRemovedSubscription(String sessionId, String subsId) {
-			synchronized (this.updateCache) {
-				Set<String> destinationsToRemove = new HashSet<String>();
-				for (Map.Entry<String, MultiValueMap<String, String>> entry : this.updateCache.entrySet()) {
-					String destination = entry.getKey();
-					MultiValueMap<String, String> sessionMap = entry.getValue();
-					List<String> subscriptions = sessionMap.get(sessionId);
-					if (subscriptions != null) {
-						subscriptions.remove(subsId);
-						if (subscriptions.isEmpty()) {
-							sessionMap.remove(sessionId);
-						}
-						if (sessionMap.isEmpty()) {
-							destinationsToRemove.add(destination);
-						}
-						else {
-							this.accessCache.put(destination, new LinkedMultiValueMap<String, String>(sessionMap));
-						}
-					}
+		public void removeSubscription(String destination, String sessionId, String subsId) {
+			boolean isPattern = isPatternDestination(destination);
+			ConcurrentMap<String, DestinationSubscriptions> map =
+					(isPattern ? this.patternSubscriptions : this.exactSubscriptions);
+			DestinationSubscriptions subscriptions = map.get(destination);
+			if (subscriptions != null && subscriptions.removeSubscription(sessionId, subsId)) {
+				removeDestination(map, subscriptions, isPattern);
+			}
+		}
+
+		public void removeSession(String destination, String sessionId) {
+			boolean isPattern = isPatternDestination(destination);
+			ConcurrentMap<String, DestinationSubscriptions> map =
+					(isPattern ? this.patternSubscriptions : this.exactSubscriptions);
+			DestinationSubscriptions subscriptions = map.get(destination);
+			if (subscriptions != null && subscriptions.removeSession(sessionId)) {
+				removeDestination(map, subscriptions, isPattern);
+			}
+		}
+
+		private void removeDestination(ConcurrentMap<String, DestinationSubscriptions> map,
+				DestinationSubscriptions subscriptions, boolean isPattern) {
+
+			if (map.remove(subscriptions.getDestination(), subscriptions) && isPattern) {
+				this.patternVersion.incrementAndGet();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "index[" + this.exactSubscriptions.size() + " destination(s), " +
+					this.patternSubscriptions.size() + " pattern(s)]";
+		}
+	}
+
+
+	/**
+	 * The subscriptions for a specific subscription destination, i.e. a map from
+	 * sessionId -> subscriptionIds, exposed as an immutable snapshot.
+	 * <p>Changes are applied under the lock of this instance only. Readers never
+	 * lock: they get the current snapshot, which is re-created on first access
+	 * after a change (copy-on-write, but without copying on every single change).
+	 * <p>
+	 *  特定订阅目标的订阅,即从sessionId  - > subscriptionIds的映射,作为不可变快照公开
+	 * 
+	 *  <p>更改仅在此实例的锁定下应用读取器从不锁定：它们获取当前快照,该快照在更改后的首次访问时重新创建(写时复制,但不会在每次更改时都进行复制)
+	 * 
+	 */
+	private static class DestinationSubscriptions {
+
+		private final String destination;
+
+		// sessionId -> subscriptionIds (replaced on change, never modified)
+		private final ConcurrentMap<String, List<String>> sessions = new ConcurrentHashMap<String, List<String>>(4);
+
+		private volatile int version;
+
+		private volatile Snapshot snapshot;
+
+		private boolean removed;
+
+
+		public DestinationSubscriptions(String destination) {
+			this.destination = destination;
+		}
+
+		public String getDestination() {
+			return this.destination;
+		}
+
+		/**
+		 * Add the given subscription.
+		 * <p>
+		 *  添加给定的订阅
+		 * 
+		 * 
+		 * @return {@code false} if this instance has already been removed
+		 * from the index and the subscription needs to go to a new instance
+		 */
+		public synchronized boolean addSubscription(String sessionId, String subsId) {
+			if (this.removed) {
+				return false;
+			}
+			List<String> oldIds = this.sessions.get(sessionId);
+			if (oldIds == null) {
+				this.sessions.put(sessionId, Collections.singletonList(subsId));
+			}
+			else if (!oldIds.contains(subsId)) {
+				List<String> newIds = new ArrayList<String>(oldIds.size() + 1);
+				newIds.addAll(oldIds);
+				newIds.add(subsId);
+				this.sessions.put(sessionId, Collections.unmodifiableList(newIds));
+			}
+			this.version++;
+			return true;
+		}
+
+		/**
+		 * Remove the given subscription.
+		 * <p>
+		 *  删除给定的订阅
+		 * 
+		 * 
+		 * @return {@code true} if there are no subscriptions left, in which
+		 * case this instance needs to be removed from the index
+		 */
+		public synchronized boolean removeSubscription(String sessionId, String subsId) {
+			List<String> oldIds = this.sessions.get(sessionId);
+			if (oldIds != null && oldIds.contains(subsId)) {
+				if (oldIds.size() == 1) {
+					this.sessions.remove(sessionId);
 				}
-				for (String destination : destinationsToRemove) {
-					this.updateCache.remove(destination);
-					this.accessCache.remove(destination);
+				else {
+					List<String> newIds = new ArrayList<String>(oldIds);
+					newIds.remove(subsId);
+					this.sessions.put(sessionId, Collections.unmodifiableList(newIds));
 				}
+				this.version++;
 			}
+			return markRemovedIfEmpty();
 		}
 
-		public void updateAfterRemovedSession(SessionSubscriptionInfo info) {
-			synchronized (this.updateCache) {
-				Set<String> destinationsToRemove = new HashSet<String>();
-				for (Map.Entry<String, MultiValueMap<String, String>> entry : this.updateCache.entrySet()) {
-					String destination = entry.getKey();
-					MultiValueMap<String, String> sessionMap = entry.getValue();
-					if (sessionMap.remove(info.getSessionId()) != null) {
-						if (sessionMap.isEmpty()) {
-							destinationsToRemove.add(destination);
+		/**
+		 * Remove all subscriptions of the given session.
+		 * <p>
+		 *  删除给定会话的所有订阅
+		 * 
+		 * 
+		 * @return {@code true} if there are no subscriptions left, in which
+		 * case this instance needs to be removed from the index
+		 */
+		public synchronized boolean removeSession(String sessionId) {
+			if (this.sessions.remove(sessionId) != null) {
+				this.version++;
+			}
+			return markRemovedIfEmpty();
+		}
+
+		private boolean markRemovedIfEmpty() {
+			if (this.sessions.isEmpty() && !this.removed) {
+				this.removed = true;
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Return an immutable snapshot of the subscriptions: sessionId -> subscriptionIds.
+		 * <p>
+		 *  返回订阅的不可变快照：sessionId  - > subscriptionIds
+		 * 
+		 */
+		public MultiValueMap<String, String> getSubscriptions() {
+			int currentVersion = this.version;
+			Snapshot currentSnapshot = this.snapshot;
+			if (currentSnapshot != null && currentSnapshot.version == currentVersion) {
+				return currentSnapshot.subscriptions;
+			}
+			Map<String, List<String>> copy = new LinkedHashMap<String, List<String>>(this.sessions);
+			MultiValueMap<String, String> subscriptions =
+					CollectionUtils.toMultiValueMap(Collections.unmodifiableMap(copy));
+			this.snapshot = new Snapshot(currentVersion, subscriptions);
+			return subscriptions;
+		}
+
+		@Override
+		public String toString() {
+			return this.destination + "=" + this.sessions;
+		}
+	}
+
+
+	private static class Snapshot {
+
+		private final int version;
+
+		private final MultiValueMap<String, String> subscriptions;
+
+		public Snapshot(int version, MultiValueMap<String, String> subscriptions) {
+			this.version = version;
+			this.subscriptions = subscriptions;
+		}
+	}
+
+
+	/**
+	 * A cache for destinations previously resolved via
+	 * {@link DefaultSubscriptionRegistry#findSubscriptionsInternal(String, Message)},
+	 * holding the pattern subscriptions that match each destination.
+	 * <p>Entries refer to the live {@link DestinationSubscriptions} and hence do
+	 * not need to be updated when subscriptions to an existing destination pattern
+	 * come and go. They are only re-resolved once a destination pattern has been
+	 * added to or removed from the {@link SubscriptionIndex}.
+	 * <p>
+	 *  以前通过{@link DefaultSubscriptionRegistry#findSubscriptionsInternal(String,Message)}解析的目标缓存,保存与每个目标匹配的模式订阅
+	 * 
+	 *  <p>条目引用活动的{@link DestinationSubscriptions},因此在现有目标模式的订阅来来去去时不需要更新只有在{@link SubscriptionIndex}中添加或删除目标模式后,才会重新解析它们
+	 * 
+	 */
+	private class DestinationCache {
+
+		private final DestinationSubscriptions[] noMatches = new DestinationSubscriptions[0];
+
+		/** Map from destination -> matching pattern subscriptions for fast look-ups */
+		private final Map<String, PatternMatches> accessCache =
+				new ConcurrentHashMap<String, PatternMatches>(DEFAULT_CACHE_LIMIT);
+
+		/** Map from destination -> matching pattern subscriptions with locking */
+		@SuppressWarnings("serial")
+		private final Map<String, PatternMatches> updateCache =
+				new LinkedHashMap<String, PatternMatches>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<String, PatternMatches> eldest) {
+						if (size() > getCacheLimit()) {
+							accessCache.remove(eldest.getKey());
+							return true;
 						}
 						else {
-							this.accessCache.put(destination, new LinkedMultiValueMap<String, String>(sessionMap));
+							return false;
 						}
 					}
+				};
+
+
+		public DestinationSubscriptions[] getPatternSubscriptions(String destination) {
+			if (!subscriptionIndex.hasPatternSubscriptions()) {
+				// Nothing to match against: no need to resolve, cache or lock anything
+				return this.noMatches;
+			}
+			int version = subscriptionIndex.getPatternVersion();
+			PatternMatches matches = this.accessCache.get(destination);
+			if (matches != null && matches.version == version) {
+				return matches.subscriptions;
+			}
+			List<DestinationSubscriptions> result = new ArrayList<DestinationSubscriptions>();
+			for (DestinationSubscriptions subscriptions : subscriptionIndex.getPatternSubscriptions()) {
+				if (getPathMatcher().match(subscriptions.getDestination(), destination)) {
+					result.add(subscriptions);
 				}
-				for (String destination : destinationsToRemove) {
-					this.updateCache.remove(destination);
-					this.accessCache.remove(destination);
-				}
 			}
+			matches = new PatternMatches(version, result.toArray(new DestinationSubscriptions[result.size()]));
+			synchronized (this.updateCache) {
+				this.updateCache.put(destination, matches);
+				this.accessCache.put(destination, matches);
+			}
+			return matches.subscriptions;
 		}
 
 		@Override
@@ -258,6 +555,20 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		}
 	}
 
+
+	private static class PatternMatches {
+
+		private final int version;
+
+		private final DestinationSubscriptions[] subscriptions;
+
+		public PatternMatches(int version, DestinationSubscriptions[] subscriptions) {
+			this.version = version;
+			this.subscriptions = subscriptions;
+		}
+	}
+
+
 	/**
 	 * Provide access to session subscriptions by sessionId.
 	 * <p>
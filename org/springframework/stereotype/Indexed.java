@@ -0,0 +1,92 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.stereotype;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicate that the annotated element represents a stereotype for the index.
+ *
+ * <p>The {@link org.springframework.context.index.CandidateComponentsIndex} is an
+ * alternative to classpath scanning that uses a metadata file generated at
+ * compilation time. The index allows retrieving the candidate components (i.e.
+ * fully qualified name) based on a stereotype. This annotation instructs the
+ * generator to index the element on which the annotated element is present or
+ * if it implements or extends from the annotated element. The stereotype is the
+ * fully qualified name of the annotated element.
+ *
+ * <p>Consider the default {@link Component} annotation that is meta-annotated
+ * with this annotation. If a component is annotated with {@link Component},
+ * an entry for that component will be added to the index using the
+ * {@code org.springframework.stereotype.Component} stereotype.
+ *
+ * <p>This annotation is also honored on meta-annotations. Consider this
+ * custom annotation:
+ * <pre class="code">
+ * &#064;Target(ElementType.TYPE)
+ * &#064;Retention(RetentionPolicy.RUNTIME)
+ * &#064;Documented
+ * &#064;Indexed
+ * &#064;Service
+ * public @interface PrivilegedService { ... }
+ * </pre>
+ *
+ * If the above annotation is present on a type, it will be indexed with two
+ * stereotypes: {@code org.springframework.stereotype.Component} and
+ * {@code com.example.PrivilegedService}. While {@link Service} isn't directly
+ * annotated with {@code Indexed}, it is meta-annotated with {@link Component}.
+ *
+ * <p>It is also possible to index all implementations of a certain interface or
+ * all the subclasses of a given class by adding {@code @Indexed} on it.
+ *
+ * <p>
+ *  表示带注释的元素代表索引的构造型
+ * 
+ *  <p>{@link org.springframework.context.index.CandidateComponentsIndex}是类路径扫描的替代方案,它使用在编译时生成的元数据文件
+ * 该索引允许基于构造型检索候选组件(即完全限定名称)此注释指示生成器对存在带注释元素的元素进行索引,或者如果它实现或扩展自带注释的元素构造型是带注释元素的完全限定名称
+ * 
+ *  <p>考虑使用此注释进行元注释的默认{@link Component}注释如果组件使用{@link Component}进行注释,则将使用
+ * {@code org.springframework.stereotype.Component}构造型将该组件的条目添加到索引中
+ * 
+ *  <p>此注释也适用于元注释考虑此自定义注释：
+ * <pre class="code">
+ * &#064;Target(ElementType.TYPE)
+ * &#064;Retention(RetentionPolicy.RUNTIME)
+ * &#064;Documented
+ * &#064;Indexed
+ * &#064;Service
+ * public @interface PrivilegedService { ... }
+ * </pre>
+ * 
+ *  如果上述注释存在于某个类型上,则将使用两个构造型对其进行索引：{@code org.springframework.stereotype.Component}和
+ * {@code com.example.PrivilegedService}虽然{@link Service}没有直接使用{@code Indexed}注释,但它使用{@link Component}进行了元注释
+ * 
+ *  <p>也可以通过在某个接口上添加{@code @Indexed}来索引该接口的所有实现或给定类的所有子类
+ * 
+ * 
+ * @since 4.3.6
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Indexed {
+}
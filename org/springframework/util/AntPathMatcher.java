@@ -17,7 +17,9 @@
 
 package org.springframework.util;
 
+import java.lang.reflect.Method;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -100,7 +102,8 @@ public class AntPathMatcher implements PathMatcher {
 	/** Default path separator: "/" */
 	public static final String DEFAULT_PATH_SEPARATOR = "/";
 
-	private static final int CACHE_TURNOFF_THRESHOLD = 65536;
+	/** Default maximum number of entries for the pattern caches: 16384 */
+	public static final int DEFAULT_CACHE_LIMIT = 16384;
 
 	private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{[^/]+?\\}");
 
@@ -115,11 +118,13 @@ public class AntPathMatcher implements PathMatcher {
 
 	private boolean trimTokens = false;
 
-	private volatile Boolean cachePatterns;
+	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
 
-	private final Map<String, String[]> tokenizedPatternCache = new ConcurrentHashMap<String, String[]>(256);
+	private final PatternCache<CompiledAntPattern> compiledPatternCache = new PatternCache<CompiledAntPattern>();
 
-	final Map<String, AntPathStringMatcher> stringMatcherCache = new ConcurrentHashMap<String, AntPathStringMatcher>(256);
+	final PatternCache<AntPathStringMatcher> stringMatcherCache = new PatternCache<AntPathStringMatcher>();
+
+	private final boolean compiledMatching = !isCustomMatching();
 
 
 	/**
@@ -148,6 +153,26 @@ public class AntPathMatcher implements PathMatcher {
 		this.pathSeparatorPatternCache = new PathSeparatorPatternCache(pathSeparator);
 	}
 
+	/**
+	 * Determine whether a subclass customizes tokenizing or segment matching,
+	 * in which case plain matching needs to go through those hooks as well.
+	 * <p>
+	 *  确定子类是否自定义了标记化或分段匹配,在这种情况下,普通匹配也需要通过这些钩子
+	 * 
+	 */
+	private boolean isCustomMatching() {
+		if (getClass() == AntPathMatcher.class) {
+			return false;
+		}
+		for (String methodName : new String[] {"tokenizePattern", "tokenizePath", "getStringMatcher"}) {
+			Method method = ReflectionUtils.findMethod(getClass(), methodName, String.class);
+			if (method.getDeclaringClass() != AntPathMatcher.class) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 
 	/**
 	 * Set the path separator to use for pattern parsing.
@@ -159,6 +184,19 @@ public class AntPathMatcher implements PathMatcher {
 	public void setPathSeparator(String pathSeparator) {
 		this.pathSeparator = (pathSeparator != null ? pathSeparator : DEFAULT_PATH_SEPARATOR);
 		this.pathSeparatorPatternCache = new PathSeparatorPatternCache(this.pathSeparator);
+		clearPatternCaches();
+	}
+
+	/**
+	 * Return the path separator used for pattern parsing.
+	 * <p>
+	 *  返回用于模式解析的路径分隔符
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public String getPathSeparator() {
+		return this.pathSeparator;
 	}
 
 	/**
@@ -172,6 +210,19 @@ public class AntPathMatcher implements PathMatcher {
 	 */
 	public void setCaseSensitive(boolean caseSensitive) {
 		this.caseSensitive = caseSensitive;
+		clearPatternCaches();
+	}
+
+	/**
+	 * Return whether pattern matching is performed in a case-sensitive fashion.
+	 * <p>
+	 *  返回是否以区分大小写的方式执行模式匹配
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public boolean isCaseSensitive() {
+		return this.caseSensitive;
 	}
 
 	/**
@@ -183,36 +234,109 @@ public class AntPathMatcher implements PathMatcher {
 	 */
 	public void setTrimTokens(boolean trimTokens) {
 		this.trimTokens = trimTokens;
+		clearPatternCaches();
+	}
+
+	/**
+	 * Return whether tokenized paths and patterns are trimmed.
+	 * <p>
+	 *  返回是否修剪标记化路径和模式
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public boolean isTrimTokens() {
+		return this.trimTokens;
 	}
 
 	/**
 	 * Specify whether to cache parsed pattern metadata for patterns passed
 	 * into this matcher's {@link #match} method. A value of {@code true}
-	 * activates an unlimited pattern cache; a value of {@code false} turns
-	 * the pattern cache off completely.
-	 * <p>Default is for the cache to be on, but with the variant to automatically
-	 * turn it off when encountering too many patterns to cache at runtime
-	 * (the threshold is 65536), assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * activates a pattern cache bounded by the {@link #DEFAULT_CACHE_LIMIT};
+	 * a value of {@code false} turns the pattern cache off completely.
+	 * <p>This is equivalent to setting the {@link #setCacheLimit "cacheLimit"}
+	 * property to the default limit or to 0, respectively.
+	 * <p>Default is for the cache to be on.
 	 * <p>
-	 * 指定是否为传递到该匹配器的{@link #match}方法的模式缓存解析的模式元数据{@code true}的值激活无限模式缓存; {@code false}的值完全关闭模式缓存<p>默认值是缓存打开,
-	 * 但是在运行时遇到太多模式以缓存时,变量会自动将其关闭(阈值为65536) ,假设模式的任意排列进入,几乎没有机会遇到重复的模式。
+	 * 指定是否为传递到该匹配器的{@link #match}方法的模式缓存解析的模式元数据{@code true}的值激活以{@link #DEFAULT_CACHE_LIMIT}为界的模式缓存;
+	 * {@code false}的值完全关闭模式缓存<p>这相当于将{@link #setCacheLimit"cacheLimit"}属性分别设置为默认限制或0 <p>默认值是缓存打开
 	 * 
 	 * 
 	 * @since 4.0.1
 	 * @see #getStringMatcher(String)
 	 */
 	public void setCachePatterns(boolean cachePatterns) {
-		this.cachePatterns = cachePatterns;
+		setCacheLimit(cachePatterns ? DEFAULT_CACHE_LIMIT : 0);
+	}
+
+	/**
+	 * Specify the maximum number of entries for each of the pattern caches,
+	 * i.e. for {@link CompiledAntPattern compiled patterns} and for the
+	 * pattern segment matchers used for URI template variable extraction.
+	 * <p>Default is 16384. Once the limit is reached, the eldest entries (in
+	 * insertion order) are evicted, so that arbitrary permutations of patterns
+	 * coming in at runtime neither exhaust memory nor disable caching for
+	 * recurring patterns. Lowering the limit evicts the eldest entries right away.
+	 * A value of 0 turns the pattern caches off completely.
+	 * <p>
+	 *  为每个模式缓存指定最大条目数,即{@link CompiledAntPattern 编译的模式}和用于URI模板变量提取的模式分段匹配器<p>默认值为16384一旦达到限制,
+	 * 最旧的条目将被逐出,因此在运行时进入的模式的任意排列既不会耗尽内存,也不会禁用对重复模式的缓存降低限制会立即逐出最旧的条目值为0时完全关闭模式缓存
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		this.cacheLimit = cacheLimit;
+		this.compiledPatternCache.trimToLimit();
+		this.stringMatcherCache.trimToLimit();
+	}
+
+	/**
+	 * Return the maximum number of entries for each of the pattern caches.
+	 * <p>
+	 *  返回每个模式缓存的最大条目数
+	 * 
+	 * 
+	 * @since 4.3.6
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
 	}
 
-	private void deactivatePatternCache() {
-		this.cachePatterns = false;
-		this.tokenizedPatternCache.clear();
+	private void clearPatternCaches() {
+		this.compiledPatternCache.clear();
 		this.stringMatcherCache.clear();
 	}
 
 
+	/**
+	 * Compile the given pattern into a {@link CompiledAntPattern}, according to
+	 * this matcher's path separator, case sensitivity and token trimming settings.
+	 * <p>The returned instance may be held on to for repeated matching against
+	 * many paths; it is also what {@link #match} and {@link #matchStart} use
+	 * internally. Compiled patterns are shared through a bounded cache.
+	 * <p>
+	 *  根据此匹配器的路径分隔符,大小写敏感性和令牌修剪设置,将给定模式编译为{@link CompiledAntPattern}<p>返回的实例可以保留以用于针对多个路径的重复匹配;
+	 * 它也是{@link #match}和{@link #matchStart}在内部使用的编译模式通过有界缓存共享
+	 * 
+	 * 
+	 * @param pattern the pattern to compile
+	 * @return the compiled pattern (never {@code null})
+	 * @since 4.3.6
+	 */
+	public CompiledAntPattern compile(String pattern) {
+		boolean cachePatterns = (this.cacheLimit > 0);
+		CompiledAntPattern compiled = (cachePatterns ? this.compiledPatternCache.get(pattern) : null);
+		if (compiled == null) {
+			compiled = new CompiledAntPattern(pattern, tokenizePath(pattern),
+					this.pathSeparator, this.caseSensitive, this.trimTokens);
+			if (cachePatterns) {
+				this.compiledPatternCache.put(pattern, compiled);
+			}
+		}
+		return compiled;
+	}
+
 	@Override
 	public boolean isPattern(String path) {
 		return (path.indexOf('*') != -1 || path.indexOf('?') != -1);
@@ -241,6 +365,11 @@ public class AntPathMatcher implements PathMatcher {
 	 * @return {@code true} if the supplied {@code path} matched, {@code false} if it didn't
 	 */
 	protected boolean doMatch(String pattern, String path, boolean fullMatch, Map<String, String> uriTemplateVariables) {
+		if (uriTemplateVariables == null && this.compiledMatching) {
+			// Plain matching: no need for tokenizing the path or for regex-based segment matching
+			return (fullMatch ? compile(pattern).matches(path) : compile(pattern).matchStart(path));
+		}
+
 		if (path.startsWith(this.pathSeparator) != pattern.startsWith(this.pathSeparator)) {
 			return false;
 		}
@@ -424,7 +553,8 @@ public class AntPathMatcher implements PathMatcher {
 
 	/**
 	 * Tokenize the given path pattern into parts, based on this matcher's settings.
-	 * <p>Performs caching based on {@link #setCachePatterns}, delegating to
+	 * <p>Performs caching based on {@link #setCacheLimit} as part of the
+	 * {@link #compile compiled pattern}, delegating to
 	 * {@link #tokenizePath(String)} for the actual tokenization algorithm.
 	 * <p>
 	 * pattIdxStart ++;继续; // //在str中找到padIdxStart和padIdxTmp之间的模式// strIdxStart&strIdxEnd int patLength =(pa
@@ -461,25 +591,7 @@ public class AntPathMatcher implements PathMatcher {
 	 * @return the tokenized pattern parts
 	 */
 	protected String[] tokenizePattern(String pattern) {
-		String[] tokenized = null;
-		Boolean cachePatterns = this.cachePatterns;
-		if (cachePatterns == null || cachePatterns.booleanValue()) {
-			tokenized = this.tokenizedPatternCache.get(pattern);
-		}
-		if (tokenized == null) {
-			tokenized = tokenizePath(pattern);
-			if (cachePatterns == null && this.tokenizedPatternCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return tokenized;
-			}
-			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.tokenizedPatternCache.put(pattern, tokenized);
-			}
-		}
-		return tokenized;
+		return compile(pattern).getTokens();
 	}
 
 	/**
@@ -512,38 +624,30 @@ public class AntPathMatcher implements PathMatcher {
 	/**
 	 * Build or retrieve an {@link AntPathStringMatcher} for the given pattern.
 	 * <p>The default implementation checks this AntPathMatcher's internal cache
-	 * (see {@link #setCachePatterns}), creating a new AntPathStringMatcher instance
+	 * (see {@link #setCacheLimit}), creating a new AntPathStringMatcher instance
 	 * if no cached copy is found.
-	 * <p>When encountering too many patterns to cache at runtime (the threshold is 65536),
-	 * it turns the default cache off, assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * <p>The cache is bounded: when encountering too many patterns at runtime,
+	 * the eldest entries are evicted, assuming that arbitrary permutations of
+	 * patterns are coming in, with little chance for encountering them again.
+	 * <p>Unless overridden, this method is only used for URI template variable
+	 * extraction; plain matching goes through {@link #compile compiled patterns}.
 	 * <p>This method may be overridden to implement a custom cache strategy.
 	 * <p>
-	 * 构建或检索给定模式的{@link AntPathStringMatcher} <p>默认实现检查此AntPathMatcher的内部缓存(请参阅{@link #setCachePatterns}),如果
-	 * 未找到缓存副本,则创建新的AntPathStringMatcher实例<p>遇到运行时缓存的模式太多(阈值为65536),假设任意排列的模式都进入,它将默认高速缓存关闭,几乎没有机会遇到重复模式<p>此
-	 * 方法可能会被覆盖以实现自定义缓存策略。
+	 * 构建或检索给定模式的{@link AntPathStringMatcher} <p>默认实现检查此AntPathMatcher的内部缓存(请参阅{@link #setCacheLimit}),如果
+	 * 未找到缓存副本,则创建新的AntPathStringMatcher实例<p>缓存是有界的：在运行时遇到太多模式时,最旧的条目将被逐出,假设任意排列的模式都进入,几乎没有机会再次遇到它们
+	 * <p>除非被覆盖,否则此方法仅用于URI模板变量提取;普通匹配通过{@link #compile 编译的模式}进行<p>此方法可能会被覆盖以实现自定义缓存策略。
 	 * 
 	 * 
 	 * @param pattern the pattern to match against (never {@code null})
 	 * @return a corresponding AntPathStringMatcher (never {@code null})
-	 * @see #setCachePatterns
+	 * @see #setCacheLimit
 	 */
 	protected AntPathStringMatcher getStringMatcher(String pattern) {
-		AntPathStringMatcher matcher = null;
-		Boolean cachePatterns = this.cachePatterns;
-		if (cachePatterns == null || cachePatterns.booleanValue()) {
-			matcher = this.stringMatcherCache.get(pattern);
-		}
+		boolean cachePatterns = (this.cacheLimit > 0);
+		AntPathStringMatcher matcher = (cachePatterns ? this.stringMatcherCache.get(pattern) : null);
 		if (matcher == null) {
 			matcher = new AntPathStringMatcher(pattern, this.caseSensitive);
-			if (cachePatterns == null && this.stringMatcherCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return matcher;
-			}
-			if (cachePatterns == null || cachePatterns.booleanValue()) {
+			if (cachePatterns) {
 				this.stringMatcherCache.put(pattern, matcher);
 			}
 		}
@@ -1112,4 +1216,65 @@ public class AntPathMatcher implements PathMatcher {
 		}
 	}
 
+
+
+	/**
+	 * Pattern cache bounded by the {@link #getCacheLimit() cache limit}: a
+	 * concurrent map for lock-free reads, in front of a synchronized
+	 * LinkedHashMap that determines which entries to evict. Since reads do not
+	 * touch the LinkedHashMap, entries are evicted in insertion order (FIFO).
+	 * <p>
+	 *  以{@link #getCacheLimit() 缓存限制}为界的模式缓存：用于无锁读取的并发映射,位于确定要逐出哪些条目的同步LinkedHashMap之前由于读取不会访问LinkedHashMap,条目按插入顺序(FIFO)逐出
+	 */
+	class PatternCache<V> {
+
+		private final Map<String, V> accessCache = new ConcurrentHashMap<String, V>(256);
+
+		@SuppressWarnings("serial")
+		private final Map<String, V> evictionCache = new LinkedHashMap<String, V>(256) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+				if (size() > getCacheLimit()) {
+					accessCache.remove(eldest.getKey());
+					return true;
+				}
+				else {
+					return false;
+				}
+			}
+		};
+
+		public V get(String pattern) {
+			return this.accessCache.get(pattern);
+		}
+
+		public void put(String pattern, V value) {
+			synchronized (this.evictionCache) {
+				this.evictionCache.put(pattern, value);
+				this.accessCache.put(pattern, value);
+			}
+		}
+
+		public int size() {
+			return this.accessCache.size();
+		}
+
+		public void trimToLimit() {
+			synchronized (this.evictionCache) {
+				Iterator<String> it = this.evictionCache.keySet().iterator();
+				while (this.evictionCache.size() > Math.max(getCacheLimit(), 0)) {
+					this.accessCache.remove(it.next());
+					it.remove();
+				}
+			}
+		}
+
+		public void clear() {
+			synchronized (this.evictionCache) {
+				this.evictionCache.clear();
+				this.accessCache.clear();
+			}
+		}
+	}
+
 }
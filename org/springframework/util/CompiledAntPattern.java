@@ -0,0 +1,583 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+/**
+ * An Ant-style path pattern that has been pre-parsed by an {@link AntPathMatcher},
+ * for repeated matching against different paths.
+ *
+ * <p>Pattern segments are classified once: literal segments are compared
+ * character by character, and segments consisting of {@code *}, {@code ?} and
+ * plain {@code {variable}} placeholders are matched with a simple glob algorithm.
+ * The path itself is walked by index, so that matching does not tokenize the
+ * path and does not allocate any intermediate Strings or arrays. Only segments
+ * with custom regular expressions (e.g. {@code {id:\\d+}}) fall back to
+ * {@link java.util.regex.Pattern} matching.
+ *
+ * <p>Instances are immutable and thread-safe. Obtain them through
+ * {@link AntPathMatcher#compile(String)}, which shares them through its
+ * bounded pattern cache.
+ * <p>
+ *  已由{@link AntPathMatcher}预解析的Ant风格路径模式,用于针对不同路径的重复匹配
+ * 
+ *  <p>模式分段只分类一次：字面量分段逐个字符比较,由{@code *},{@code ?}和普通{@code {variable}}占位符组成的分段使用简单的通配算法进行匹配
+ * 路径本身按索引遍历,因此匹配不会对路径进行标记化,也不会分配任何中间字符串或数组只有具有自定义正则表达式的分段(例如{@code {id:\\d+}})才回退到
+ * {@link java.util.regex.Pattern}匹配
+ * 
+ *  <p>实例是不可变的和线程安全的通过{@link AntPathMatcher#compile(String)}获取它们,后者通过其有界模式缓存共享它们
+ * 
+ * 
+ * @since 4.3.6
+ * @see AntPathMatcher#compile(String)
+ */
+public final class CompiledAntPattern {
+
+	private static final int DOUBLE_WILDCARD = 0;
+
+	private static final int LITERAL = 1;
+
+	private static final int GLOB = 2;
+
+	private static final int REGEX = 3;
+
+
+	private final String pattern;
+
+	private final String pathSeparator;
+
+	private final boolean caseSensitive;
+
+	private final boolean trimTokens;
+
+	private final String[] tokens;
+
+	private final int[] tokenTypes;
+
+	private final String[] globs;
+
+	private final AntPathMatcher.AntPathStringMatcher[] stringMatchers;
+
+
+	CompiledAntPattern(String pattern, String[] tokens, String pathSeparator,
+			boolean caseSensitive, boolean trimTokens) {
+
+		this.pattern = pattern;
+		this.pathSeparator = pathSeparator;
+		this.caseSensitive = caseSensitive;
+		this.trimTokens = trimTokens;
+		this.tokens = tokens;
+		this.tokenTypes = new int[tokens.length];
+		this.globs = new String[tokens.length];
+		this.stringMatchers = new AntPathMatcher.AntPathStringMatcher[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			String token = tokens[i];
+			if ("**".equals(token)) {
+				this.tokenTypes[i] = DOUBLE_WILDCARD;
+			}
+			else if (token.indexOf('*') == -1 && token.indexOf('?') == -1 && token.indexOf('{') == -1) {
+				this.tokenTypes[i] = LITERAL;
+			}
+			else {
+				// Wildcard segments get a regex matcher as well, for paths the glob cannot handle
+				this.stringMatchers[i] = new AntPathMatcher.AntPathStringMatcher(token, caseSensitive);
+				this.globs[i] = toGlob(token);
+				this.tokenTypes[i] = (this.globs[i] != null ? GLOB : REGEX);
+			}
+		}
+	}
+
+	/**
+	 * Turn the given segment into a glob with {@code *} and {@code ?} wildcards,
+	 * replacing plain URI variables with {@code *}. Returns {@code null} if the
+	 * segment contains a custom regular expression or unusual brace syntax.
+	 * <p>
+	 *  将给定的分段转换为带有{@code *}和{@code ?}通配符的通配模式,用{@code *}替换普通的URI变量如果分段包含自定义正则表达式或不常见的花括号语法,则返回{@code null}
+	 */
+	private static String toGlob(String token) {
+		if (token.indexOf('{') == -1) {
+			return token;
+		}
+		StringBuilder glob = new StringBuilder(token.length());
+		int i = 0;
+		while (i < token.length()) {
+			char c = token.charAt(i);
+			if (c == '{') {
+				int end = token.indexOf('}', i + 1);
+				if (end == -1 || end == i + 1) {
+					return null;
+				}
+				for (int j = i + 1; j < end; j++) {
+					char v = token.charAt(j);
+					if (v == '{' || v == ':' || v == '/' || v == '\\') {
+						return null;
+					}
+				}
+				glob.append('*');
+				i = end + 1;
+			}
+			else {
+				glob.append(c);
+				i++;
+			}
+		}
+		return glob.toString();
+	}
+
+
+	/**
+	 * Return the original pattern String.
+	 * <p>
+	 *  返回原始模式字符串
+	 */
+	public String getPattern() {
+		return this.pattern;
+	}
+
+	/**
+	 * Return the tokenized pattern segments, for use by {@link AntPathMatcher}.
+	 * <p>
+	 *  返回标记化的模式分段,供{@link AntPathMatcher}使用
+	 */
+	String[] getTokens() {
+		return this.tokens;
+	}
+
+	/**
+	 * Match the given {@code path} against this pattern.
+	 * <p>
+	 *  将给定的{@code path}与此模式进行匹配
+	 * 
+	 * 
+	 * @param path the path String to test
+	 * @return {@code true} if the supplied {@code path} matched,
+	 * {@code false} if it didn't
+	 * @see AntPathMatcher#match(String, String)
+	 */
+	public boolean matches(String path) {
+		return doMatch(path, true);
+	}
+
+	/**
+	 * Match the given {@code path} against the corresponding part of this pattern.
+	 * <p>
+	 *  将给定的{@code path}与此模式的相应部分进行匹配
+	 * 
+	 * 
+	 * @param path the path String to test
+	 * @return {@code true} if the supplied {@code path} matched,
+	 * {@code false} if it didn't
+	 * @see AntPathMatcher#matchStart(String, String)
+	 */
+	public boolean matchStart(String path) {
+		return doMatch(path, false);
+	}
+
+
+	/**
+	 * Same algorithm as {@link AntPathMatcher#doMatch}, with path segments
+	 * located by their start and end index instead of a tokenized array.
+	 * <p>
+	 *  与{@link AntPathMatcher#doMatch}相同的算法,路径分段通过其开始和结束索引定位,而不是标记化的数组
+	 */
+	private boolean doMatch(String path, boolean fullMatch) {
+		if (path.startsWith(this.pathSeparator) != this.pattern.startsWith(this.pathSeparator)) {
+			return false;
+		}
+
+		if (fullMatch && this.caseSensitive && !isPotentialMatch(path)) {
+			return false;
+		}
+
+		int pattIdxStart = 0;
+		int pattIdxEnd = this.tokens.length - 1;
+		int pathStart = nextTokenStart(path, 0);
+
+		// Match all elements up to the first **
+		while (pattIdxStart <= pattIdxEnd && pathStart != -1) {
+			if (this.tokenTypes[pattIdxStart] == DOUBLE_WILDCARD) {
+				break;
+			}
+			int pathEnd = tokenEnd(path, pathStart);
+			if (!matchToken(pattIdxStart, path, pathStart, pathEnd)) {
+				return false;
+			}
+			pattIdxStart++;
+			pathStart = nextTokenStart(path, pathEnd);
+		}
+
+		if (pathStart == -1) {
+			// Path is exhausted, only match if rest of pattern is * or **'s
+			if (pattIdxStart > pattIdxEnd) {
+				return (this.pattern.endsWith(this.pathSeparator) ? path.endsWith(this.pathSeparator) :
+						!path.endsWith(this.pathSeparator));
+			}
+			if (!fullMatch) {
+				return true;
+			}
+			if (pattIdxStart == pattIdxEnd && this.tokens[pattIdxStart].equals("*") &&
+					path.endsWith(this.pathSeparator)) {
+				return true;
+			}
+			return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+		}
+		else if (pattIdxStart > pattIdxEnd) {
+			// String not exhausted, but pattern is. Failure.
+			return false;
+		}
+		else if (!fullMatch && this.tokenTypes[pattIdxStart] == DOUBLE_WILDCARD) {
+			// Path start definitely matches due to "**" part in pattern.
+			return true;
+		}
+
+		// up to last '**'; remaining path segments are within [pathStart, pathLimit)
+		int pathLimit = path.length();
+		while (pattIdxStart <= pattIdxEnd && pathStart < pathLimit) {
+			if (this.tokenTypes[pattIdxEnd] == DOUBLE_WILDCARD) {
+				break;
+			}
+			int pathEnd = previousTokenEnd(path, pathLimit);
+			int segmentStart = (pathEnd != -1 ? tokenStart(path, pathEnd) : -1);
+			if (segmentStart < pathStart) {
+				pathLimit = pathStart;
+				break;
+			}
+			if (!matchToken(pattIdxEnd, path, segmentStart, pathEnd)) {
+				return false;
+			}
+			pattIdxEnd--;
+			pathLimit = segmentStart;
+		}
+		if (pathStart >= pathLimit) {
+			// String is exhausted
+			return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+		}
+
+		while (pattIdxStart != pattIdxEnd && pathStart < pathLimit) {
+			int patIdxTmp = -1;
+			for (int i = pattIdxStart + 1; i <= pattIdxEnd; i++) {
+				if (this.tokenTypes[i] == DOUBLE_WILDCARD) {
+					patIdxTmp = i;
+					break;
+				}
+			}
+			if (patIdxTmp == pattIdxStart + 1) {
+				// '**/**' situation, so skip one
+				pattIdxStart++;
+				continue;
+			}
+			// Find the pattern between padIdxStart & padIdxTmp in str between
+			// pathStart & pathLimit
+			int patLength = (patIdxTmp - pattIdxStart - 1);
+			int foundEnd = -1;
+			int candidateStart = pathStart;
+
+			strLoop:
+			while (candidateStart != -1 && candidateStart < pathLimit) {
+				int pos = candidateStart;
+				for (int j = 0; j < patLength; j++) {
+					if (pos == -1 || pos >= pathLimit) {
+						// Not enough path segments left for the pattern in between
+						break strLoop;
+					}
+					int end = tokenEnd(path, pos);
+					if (!matchToken(pattIdxStart + j + 1, path, pos, end)) {
+						candidateStart = nextTokenStart(path, tokenEnd(path, candidateStart));
+						continue strLoop;
+					}
+					pos = nextTokenStart(path, end);
+				}
+				foundEnd = (pos != -1 ? pos : pathLimit);
+				break;
+			}
+
+			if (foundEnd == -1) {
+				return false;
+			}
+
+			pattIdxStart = patIdxTmp;
+			pathStart = foundEnd;
+		}
+
+		return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+	}
+
+	/**
+	 * Quick check for literal pattern prefixes, as in {@link AntPathMatcher}.
+	 * <p>
+	 *  对字面量模式前缀的快速检查,与{@link AntPathMatcher}中相同
+	 */
+	private boolean isPotentialMatch(String path) {
+		if (!this.trimTokens) {
+			int pos = 0;
+			for (String token : this.tokens) {
+				pos += skipSeparator(path, pos);
+				int skipped = skipSegment(path, pos, token);
+				if (skipped < token.length()) {
+					if (skipped > 0) {
+						return true;
+					}
+					return (token.length() > 0) && isWildcardChar(token.charAt(0));
+				}
+				pos += skipped;
+			}
+		}
+		return true;
+	}
+
+	private int skipSegment(String path, int pos, String prefix) {
+		int skipped = 0;
+		for (int i = 0; i < prefix.length(); i++) {
+			char c = prefix.charAt(i);
+			if (isWildcardChar(c)) {
+				return skipped;
+			}
+			else if (pos + skipped >= path.length()) {
+				return 0;
+			}
+			else if (path.charAt(pos + skipped) == c) {
+				skipped++;
+			}
+		}
+		return skipped;
+	}
+
+	private int skipSeparator(String path, int pos) {
+		int skipped = 0;
+		while (path.startsWith(this.pathSeparator, pos + skipped)) {
+			skipped += this.pathSeparator.length();
+		}
+		return skipped;
+	}
+
+	private static boolean isWildcardChar(char c) {
+		return (c == '*' || c == '?' || c == '{');
+	}
+
+	private boolean onlyDoubleWildcards(int from, int to) {
+		for (int i = from; i <= to; i++) {
+			if (this.tokenTypes[i] != DOUBLE_WILDCARD) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	// Path segment navigation, mirroring StringUtils.tokenizeToStringArray
+	// with the path separator characters as delimiters
+
+	private boolean isSeparator(char c) {
+		return (this.pathSeparator.indexOf(c) != -1);
+	}
+
+	private static boolean isTrimmable(char c) {
+		// Same as String.trim()
+		return (c <= ' ');
+	}
+
+	/**
+	 * Return the start index of the first path segment at or after {@code from},
+	 * or -1 if there is none.
+	 * <p>
+	 *  返回位于{@code from}处或之后的第一个路径分段的起始索引,如果没有则返回-1
+	 */
+	private int nextTokenStart(String path, int from) {
+		int length = path.length();
+		int pos = from;
+		while (pos < length) {
+			char c = path.charAt(pos);
+			if (isSeparator(c)) {
+				pos++;
+			}
+			else if (this.trimTokens && isTrimmable(c)) {
+				// Skip leading whitespace, or a segment consisting of whitespace only
+				pos++;
+			}
+			else {
+				return pos;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the (exclusive) end index of the path segment starting at {@code start}.
+	 * <p>
+	 *  返回从{@code start}开始的路径分段的(不包含的)结束索引
+	 */
+	private int tokenEnd(String path, int start) {
+		int length = path.length();
+		int end = start;
+		while (end < length && !isSeparator(path.charAt(end))) {
+			end++;
+		}
+		if (this.trimTokens) {
+			while (end > start && isTrimmable(path.charAt(end - 1))) {
+				end--;
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * Return the (exclusive) end index of the last path segment before
+	 * {@code limit}, or -1 if there is none.
+	 * <p>
+	 *  返回{@code limit}之前的最后一个路径分段的(不包含的)结束索引,如果没有则返回-1
+	 */
+	private int previousTokenEnd(String path, int limit) {
+		int pos = limit;
+		while (pos > 0) {
+			char c = path.charAt(pos - 1);
+			if (isSeparator(c) || (this.trimTokens && isTrimmable(c))) {
+				pos--;
+			}
+			else {
+				return pos;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the start index of the path segment ending at {@code end}.
+	 * <p>
+	 *  返回在{@code end}结束的路径分段的起始索引
+	 */
+	private int tokenStart(String path, int end) {
+		int start = end;
+		while (start > 0 && !isSeparator(path.charAt(start - 1))) {
+			start--;
+		}
+		if (this.trimTokens) {
+			while (start < end && isTrimmable(path.charAt(start))) {
+				start++;
+			}
+		}
+		return start;
+	}
+
+
+	// Segment matching
+
+	private boolean matchToken(int index, String path, int start, int end) {
+		switch (this.tokenTypes[index]) {
+			case LITERAL:
+				return matchLiteral(this.tokens[index], path, start, end);
+			case GLOB:
+				if (!requiresRegex(path, start, end)) {
+					return matchGlob(this.globs[index], path, start, end);
+				}
+				return this.stringMatchers[index].matchStrings(path.substring(start, end), null);
+			default:
+				return this.stringMatchers[index].matchStrings(path.substring(start, end), null);
+		}
+	}
+
+	private boolean matchLiteral(String token, String path, int start, int end) {
+		int length = token.length();
+		if (end - start != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (!matchChar(token.charAt(i), path.charAt(start + i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Glob matching with backtracking on the last {@code *} seen, equivalent
+	 * to the regular expression that {@link AntPathMatcher.AntPathStringMatcher}
+	 * would build for the same segment.
+	 * <p>
+	 *  在最后看到的{@code *}上回溯的通配匹配,等效于{@link AntPathMatcher.AntPathStringMatcher}将为同一分段构建的正则表达式
+	 */
+	private boolean matchGlob(String glob, String path, int start, int end) {
+		int globLength = glob.length();
+		int g = 0;
+		int p = start;
+		int starIdx = -1;
+		int starMatch = start;
+		while (p < end) {
+			if (g < globLength) {
+				char gc = glob.charAt(g);
+				if (gc == '*') {
+					starIdx = g++;
+					starMatch = p;
+					continue;
+				}
+				if (gc == '?' || matchChar(gc, path.charAt(p))) {
+					g++;
+					p++;
+					continue;
+				}
+			}
+			if (starIdx == -1) {
+				return false;
+			}
+			g = starIdx + 1;
+			p = ++starMatch;
+		}
+		while (g < globLength && glob.charAt(g) == '*') {
+			g++;
+		}
+		return (g == globLength);
+	}
+
+	private boolean matchChar(char patternChar, char pathChar) {
+		if (patternChar == pathChar) {
+			return true;
+		}
+		if (this.caseSensitive) {
+			return false;
+		}
+		// Same as Pattern.CASE_INSENSITIVE: US-ASCII characters only
+		return (toLowerCaseAscii(patternChar) == toLowerCaseAscii(pathChar));
+	}
+
+	private static char toLowerCaseAscii(char c) {
+		return (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+	}
+
+	/**
+	 * Whether the given path segment contains characters for which the glob
+	 * match would differ from regex semantics: line terminators (not matched by
+	 * {@code .}) and surrogate pairs (matched by {@code .} as one code point).
+	 * <p>
+	 *  给定路径分段是否包含使通配匹配与正则表达式语义不同的字符：行终止符(不被{@code .}匹配)和代理对(被{@code .}作为一个代码点匹配)
+	 */
+	private static boolean requiresRegex(String path, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = path.charAt(i);
+			if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029' ||
+					Character.isSurrogate(c)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	@Override
+	public String toString() {
+		return this.pattern;
+	}
+
+}
@@ -45,6 +45,8 @@ public abstract class NumberUtils {
 
 	private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
 
+	private static final long NON_DECIMAL = Long.MIN_VALUE;
+
 	/**
 	 * Standard number types (all immutable):
 	 * Byte, Short, Integer, Long, BigInteger, Float, Double, BigDecimal.
@@ -221,7 +223,7 @@ public abstract class NumberUtils {
 	public static <T extends Number> T parseNumber(String text, Class<T> targetClass) {
 		Assert.notNull(text, "Text must not be null");
 		Assert.notNull(targetClass, "Target class must not be null");
-		String trimmed = StringUtils.trimAllWhitespace(text);
+		String trimmed = (StringUtils.containsWhitespace(text) ? StringUtils.trimAllWhitespace(text) : text);
 
 		if (Byte.class == targetClass) {
 			return (T) (isHexNumber(trimmed) ? Byte.decode(trimmed) : Byte.valueOf(trimmed));
@@ -230,10 +232,10 @@ public abstract class NumberUtils {
 			return (T) (isHexNumber(trimmed) ? Short.decode(trimmed) : Short.valueOf(trimmed));
 		}
 		else if (Integer.class == targetClass) {
-			return (T) (isHexNumber(trimmed) ? Integer.decode(trimmed) : Integer.valueOf(trimmed));
+			return (T) Integer.valueOf(parseInt(trimmed));
 		}
 		else if (Long.class == targetClass) {
-			return (T) (isHexNumber(trimmed) ? Long.decode(trimmed) : Long.valueOf(trimmed));
+			return (T) Long.valueOf(parseLong(trimmed));
 		}
 		else if (BigInteger.class == targetClass) {
 			return (T) (isHexNumber(trimmed) ? decodeBigInteger(trimmed) : new BigInteger(trimmed));
@@ -242,7 +244,7 @@ public abstract class NumberUtils {
 			return (T) Float.valueOf(trimmed);
 		}
 		else if (Double.class == targetClass) {
-			return (T) Double.valueOf(trimmed);
+			return (T) Double.valueOf(parseDouble(trimmed));
 		}
 		else if (BigDecimal.class == targetClass || Number.class == targetClass) {
 			return (T) new BigDecimal(trimmed);
@@ -253,6 +255,80 @@ public abstract class NumberUtils {
 		}
 	}
 
+	/**
+	 * Parse the given {@code text} into an {@code int} value, reading plain
+	 * decimal input straight from the given characters, without intermediate
+	 * {@code String} or {@link Integer} instances.
+	 * <p>Ignores whitespace and supports numbers in hex format (with leading
+	 * "0x", "0X", or "#"), just like {@link #parseNumber(String, Class)}.
+	 * <p>
+	 *  将给定的{@code text}解析为{@code int}值,直接从给定字符读取普通十进制输入,而不创建中间{@code String}或{@link Integer}实例<p>忽略空格并支持十六进制格式的数字(带前导"0x","0X"或"#"),与{@link #parseNumber(String, Class)}相同
+	 * 
+	 * 
+	 * @param text the text to convert
+	 * @return the parsed value
+	 * @throws NumberFormatException if the text does not contain a parsable {@code int}
+	 * @since 4.3.6
+	 * @see Integer#parseInt(String)
+	 * @see Integer#decode
+	 */
+	public static int parseInt(CharSequence text) {
+		Assert.notNull(text, "Text must not be null");
+		long value = parseDecimal(text, Integer.MAX_VALUE);
+		if (value != NON_DECIMAL) {
+			return (int) value;
+		}
+		String trimmed = StringUtils.trimAllWhitespace(text.toString());
+		return (isHexNumber(trimmed) ? Integer.decode(trimmed) : Integer.parseInt(trimmed));
+	}
+
+	/**
+	 * Parse the given {@code text} into a {@code long} value, reading plain
+	 * decimal input straight from the given characters, without intermediate
+	 * {@code String} or {@link Long} instances.
+	 * <p>Ignores whitespace and supports numbers in hex format (with leading
+	 * "0x", "0X", or "#"), just like {@link #parseNumber(String, Class)}.
+	 * <p>
+	 *  将给定的{@code text}解析为{@code long}值,直接从给定字符读取普通十进制输入,而不创建中间{@code String}或{@link Long}实例<p>忽略空格并支持十六进制格式的数字(带前导"0x","0X"或"#"),与{@link #parseNumber(String, Class)}相同
+	 * 
+	 * 
+	 * @param text the text to convert
+	 * @return the parsed value
+	 * @throws NumberFormatException if the text does not contain a parsable {@code long}
+	 * @since 4.3.6
+	 * @see Long#parseLong(String)
+	 * @see Long#decode
+	 */
+	public static long parseLong(CharSequence text) {
+		Assert.notNull(text, "Text must not be null");
+		long value = parseDecimal(text, Long.MAX_VALUE);
+		if (value != NON_DECIMAL) {
+			return value;
+		}
+		String trimmed = StringUtils.trimAllWhitespace(text.toString());
+		return (isHexNumber(trimmed) ? Long.decode(trimmed) : Long.parseLong(trimmed));
+	}
+
+	/**
+	 * Parse the given {@code text} into a {@code double} value,
+	 * without an intermediate {@link Double} instance.
+	 * <p>Ignores whitespace, just like {@link #parseNumber(String, Class)}.
+	 * <p>
+	 *  将给定的{@code text}解析为{@code double}值,而不创建中间{@link Double}实例<p>忽略空格,与{@link #parseNumber(String, Class)}相同
+	 * 
+	 * 
+	 * @param text the text to convert
+	 * @return the parsed value
+	 * @throws NumberFormatException if the text does not contain a parsable {@code double}
+	 * @since 4.3.6
+	 * @see Double#parseDouble(String)
+	 */
+	public static double parseDouble(CharSequence text) {
+		Assert.notNull(text, "Text must not be null");
+		String str = text.toString();
+		return Double.parseDouble(StringUtils.containsWhitespace(str) ? StringUtils.trimAllWhitespace(str) : str);
+	}
+
 	/**
 	 * Parse the given {@code text} into a {@link Number} instance of the
 	 * given target class, using the supplied {@link NumberFormat}.
@@ -317,6 +393,52 @@ public abstract class NumberUtils {
 		return (value.startsWith("0x", index) || value.startsWith("0X", index) || value.startsWith("#", index));
 	}
 
+	/**
+	 * Parse the given text as an optionally signed sequence of decimal digits,
+	 * ignoring whitespace, within the range of {@code -maxValue - 1} to {@code maxValue}.
+	 * Accumulates negatively, analogous to {@link Long#parseLong(String)}.
+	 * <p>
+	 *  将给定文本解析为可选带符号的十进制数字序列,忽略空格,范围为{@code -maxValue - 1}到{@code maxValue}像{@link Long#parseLong(String)}一样以负数累加
+	 * 
+	 * 
+	 * @return the parsed value, or {@code NON_DECIMAL} if the text is not in plain
+	 * decimal notation or out of range (to be parsed through the regular JDK methods then)
+	 */
+	private static long parseDecimal(CharSequence text, long maxValue) {
+		int length = text.length();
+		boolean negative = false;
+		boolean signed = false;
+		boolean digits = false;
+		long limit = -maxValue;
+		long result = 0;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (Character.isWhitespace(c)) {
+				continue;
+			}
+			if ((c == '-' || c == '+') && !signed && !digits) {
+				negative = (c == '-');
+				limit = (negative ? -maxValue - 1 : -maxValue);
+				signed = true;
+				continue;
+			}
+			int digit = c - '0';
+			if (digit < 0 || digit > 9 || result < limit / 10) {
+				return NON_DECIMAL;
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				return NON_DECIMAL;
+			}
+			result -= digit;
+			digits = true;
+		}
+		if (!digits) {
+			return NON_DECIMAL;
+		}
+		return (negative ? result : -result);
+	}
+
 	/**
 	 * Decode a {@link java.math.BigInteger} from the supplied {@link String} value.
 	 * <p>Supports decimal, hex, and octal notation.
@@ -486,10 +486,14 @@ public abstract class StringUtils {
 		if (!hasLength(inString) || !hasLength(oldPattern) || newPattern == null) {
 			return inString;
 		}
-		StringBuilder sb = new StringBuilder();
-		int pos = 0; // our position in the old string
-		int index = inString.indexOf(oldPattern);
 		// the index of an occurrence we've found, or -1
+		int index = inString.indexOf(oldPattern);
+		if (index == -1) {
+			// no occurrence -> can return input as-is
+			return inString;
+		}
+		StringBuilder sb = new StringBuilder(inString.length());
+		int pos = 0; // our position in the old string
 		int patLen = oldPattern.length();
 		while (index >= 0) {
 			sb.append(inString.substring(pos, index));
@@ -0,0 +1,188 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.validation;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.PropertyAccessorUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * Field decisions for a particular {@link DataBinder} configuration, shared
+ * by all binders with the same allowed and disallowed fields. Since binders
+ * are typically created per request, this avoids matching each incoming
+ * field name against the configured patterns over and over again.
+ *
+ * <p>The number of cached decisions per plan is limited, as field names
+ * are usually taken from request parameters; beyond the limit, decisions
+ * are simply computed on every call.
+ *
+ * <p>The plan deliberately does not hold resolved converters or property
+ * editors per property path: custom editors are registered per binder
+ * (typically in {@code @InitBinder} methods) and are not thread-safe, so
+ * they cannot be shared across binders. Converters in turn are already cached
+ * by the {@link org.springframework.core.convert.ConversionService} per pair
+ * of type descriptors, which {@link org.springframework.beans.BeanWrapperImpl}
+ * keeps per property in its cached introspection results.
+ *
+ * <p>
+ *  特定{@link DataBinder}配置的字段决策,由具有相同允许和不允许字段的所有绑定器共享由于绑定器通常是按请求创建的,这避免了反复将每个传入字段名称与配置的模式进行匹配
+ * 
+ *  <p>每个计划缓存的决策数量是有限的,因为字段名称通常取自请求参数;超出限制后,每次调用时都会简单地计算决策
+ * 
+ *  <p>该计划有意不按属性路径保存已解析的转换器或属性编辑器：自定义编辑器是按绑定器注册的(通常在{@code @InitBinder}方法中),并且不是线程安全的,因此不能在绑定器之间共享
+ * 转换器则已由{@link org.springframework.core.convert.ConversionService}按类型描述符对进行缓存,而{@link org.springframework.beans.BeanWrapperImpl}在其缓存的内省结果中按属性保存这些类型描述符
+ * 
+ * 
+ * @since 4.3.6
+ * @see DataBinder#checkAllowedFields
+ * @see DataBinder#checkRequiredFields
+ */
+final class BindingPlan {
+
+	private static final int CACHE_LIMIT = 256;
+
+	private static final ConcurrentMap<PlanKey, BindingPlan> planCache =
+			new ConcurrentReferenceHashMap<PlanKey, BindingPlan>(64);
+
+
+	private final String[] allowedFields;
+
+	private final String[] disallowedFields;
+
+	private final Map<String, String> canonicalNames = new ConcurrentHashMap<String, String>(64);
+
+	private final Map<String, Boolean> allowedDecisions = new ConcurrentHashMap<String, Boolean>(64);
+
+
+	private BindingPlan(String[] allowedFields, String[] disallowedFields) {
+		this.allowedFields = allowedFields;
+		this.disallowedFields = disallowedFields;
+	}
+
+
+	/**
+	 * Return the canonical name for the given property name.
+	 * <p>
+	 *  返回给定属性名称的规范名称
+	 * 
+	 * 
+	 * @see PropertyAccessorUtils#canonicalPropertyName(String)
+	 */
+	public String getCanonicalName(String propertyName) {
+		String canonicalName = this.canonicalNames.get(propertyName);
+		if (canonicalName == null) {
+			canonicalName = PropertyAccessorUtils.canonicalPropertyName(propertyName);
+			if (this.canonicalNames.size() < CACHE_LIMIT) {
+				this.canonicalNames.put(propertyName, canonicalName);
+			}
+		}
+		return canonicalName;
+	}
+
+	/**
+	 * Return if the given field is allowed for binding, with the same semantics
+	 * as the default implementation of {@link DataBinder#isAllowed(String)}.
+	 * <p>
+	 *  如果允许绑定给定字段则返回,其语义与{@link DataBinder#isAllowed(String)}的默认实现相同
+	 * 
+	 */
+	public boolean isAllowed(String field) {
+		if (ObjectUtils.isEmpty(this.allowedFields) && ObjectUtils.isEmpty(this.disallowedFields)) {
+			return true;
+		}
+		Boolean allowed = this.allowedDecisions.get(field);
+		if (allowed == null) {
+			allowed = ((ObjectUtils.isEmpty(this.allowedFields) || PatternMatchUtils.simpleMatch(this.allowedFields, field)) &&
+					(ObjectUtils.isEmpty(this.disallowedFields) || !PatternMatchUtils.simpleMatch(this.disallowedFields, field)));
+			if (this.allowedDecisions.size() < CACHE_LIMIT) {
+				this.allowedDecisions.put(field, allowed);
+			}
+		}
+		return allowed;
+	}
+
+
+	/**
+	 * Obtain the binding plan for the given field configuration.
+	 * <p>
+	 *  获取给定字段配置的绑定计划
+	 * 
+	 * 
+	 * @param allowedFields the canonical allowed field patterns (may be {@code null})
+	 * @param disallowedFields the canonical disallowed field patterns (may be {@code null})
+	 * @return the shared plan for this configuration
+	 */
+	public static BindingPlan forFields(String[] allowedFields, String[] disallowedFields) {
+		PlanKey key = new PlanKey(allowedFields, disallowedFields);
+		BindingPlan plan = planCache.get(key);
+		if (plan == null) {
+			plan = new BindingPlan(key.allowedFields, key.disallowedFields);
+			BindingPlan existing = planCache.putIfAbsent(key, plan);
+			if (existing != null) {
+				plan = existing;
+			}
+		}
+		return plan;
+	}
+
+
+	/**
+	 * Cache key for a field configuration, holding copies of the given arrays.
+	 * <p>
+	 *  字段配置的缓存键,包含给定数组的副本
+	 */
+	private static class PlanKey {
+
+		private final String[] allowedFields;
+
+		private final String[] disallowedFields;
+
+		private final int hashCode;
+
+		public PlanKey(String[] allowedFields, String[] disallowedFields) {
+			this.allowedFields = (allowedFields != null ? allowedFields.clone() : null);
+			this.disallowedFields = (disallowedFields != null ? disallowedFields.clone() : null);
+			this.hashCode = Arrays.hashCode(allowedFields) * 29 + Arrays.hashCode(disallowedFields);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof PlanKey)) {
+				return false;
+			}
+			PlanKey otherKey = (PlanKey) other;
+			return (Arrays.equals(this.allowedFields, otherKey.allowedFields) &&
+					Arrays.equals(this.disallowedFields, otherKey.disallowedFields));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+}
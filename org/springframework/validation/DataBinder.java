@@ -19,6 +19,7 @@ package org.springframework.validation;
 
 import java.beans.PropertyEditor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -48,8 +49,10 @@ import org.springframework.format.support.FormatterPropertyEditorAdapter;
 import org.springframework.lang.UsesJava8;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -154,6 +157,9 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 */
 	protected static final Log logger = LogFactory.getLog(DataBinder.class);
 
+	private static final Map<Class<?>, Boolean> defaultIsAllowedCache =
+			new ConcurrentReferenceHashMap<Class<?>, Boolean>(8);
+
 	private static Class<?> javaUtilOptionalClass = null;
 
 	static {
@@ -938,10 +944,12 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	 * @see #isAllowed(String)
 	 */
 	protected void checkAllowedFields(MutablePropertyValues mpvs) {
+		BindingPlan plan = getBindingPlan();
+		boolean defaultIsAllowed = hasDefaultIsAllowed();
 		PropertyValue[] pvs = mpvs.getPropertyValues();
 		for (PropertyValue pv : pvs) {
-			String field = PropertyAccessorUtils.canonicalPropertyName(pv.getName());
-			if (!isAllowed(field)) {
+			String field = plan.getCanonicalName(pv.getName());
+			if (!(defaultIsAllowed ? plan.isAllowed(field) : isAllowed(field))) {
 				mpvs.removePropertyValue(pv);
 				getBindingResult().recordSuppressedField(field);
 				if (logger.isDebugEnabled()) {
@@ -978,6 +986,33 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 				(ObjectUtils.isEmpty(disallowed) || !PatternMatchUtils.simpleMatch(disallowed, field)));
 	}
 
+	/**
+	 * Obtain the shared {@link BindingPlan} for the current field configuration.
+	 * <p>
+	 *  获取当前字段配置的共享{@link BindingPlan}
+	 * 
+	 */
+	private BindingPlan getBindingPlan() {
+		return BindingPlan.forFields(getAllowedFields(), getDisallowedFields());
+	}
+
+	/**
+	 * Determine whether this binder uses the default {@link #isAllowed} implementation,
+	 * the decisions of which can be taken from the shared {@link BindingPlan}.
+	 * <p>
+	 *  确定此绑定器是否使用默认的{@link #isAllowed}实现,其决策可以从共享的{@link BindingPlan}中获取
+	 * 
+	 */
+	private boolean hasDefaultIsAllowed() {
+		Boolean defaultIsAllowed = defaultIsAllowedCache.get(getClass());
+		if (defaultIsAllowed == null) {
+			Method method = ReflectionUtils.findMethod(getClass(), "isAllowed", String.class);
+			defaultIsAllowed = (method != null && method.getDeclaringClass() == DataBinder.class);
+			defaultIsAllowedCache.put(getClass(), defaultIsAllowed);
+		}
+		return defaultIsAllowed;
+	}
+
 	/**
 	 * Check the given property values against the required fields,
 	 * generating missing field errors where appropriate.
@@ -993,10 +1028,11 @@ public class DataBinder implements PropertyEditorRegistry, TypeConverter {
 	protected void checkRequiredFields(MutablePropertyValues mpvs) {
 		String[] requiredFields = getRequiredFields();
 		if (!ObjectUtils.isEmpty(requiredFields)) {
+			BindingPlan plan = getBindingPlan();
 			Map<String, PropertyValue> propertyValues = new HashMap<String, PropertyValue>();
 			PropertyValue[] pvs = mpvs.getPropertyValues();
 			for (PropertyValue pv : pvs) {
-				String canonicalName = PropertyAccessorUtils.canonicalPropertyName(pv.getName());
+				String canonicalName = plan.getCanonicalName(pv.getName());
 				propertyValues.put(canonicalName, pv);
 			}
 			for (String field : requiredFields) {
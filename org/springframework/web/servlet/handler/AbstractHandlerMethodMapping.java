@@ -36,10 +36,12 @@ import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
@@ -417,8 +419,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			List<T> candidateMappings = this.mappingRegistry.getMappingsByPathPattern(lookupPath);
+			if (candidateMappings != null) {
+				addMatchingMappings(candidateMappings, matches, request);
+			}
+			else {
+				// No choice but to go through all mappings...
+				addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			}
 		}
 
 		if (!matches.isEmpty()) {
@@ -586,6 +594,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<String, T>();
 
+		private final PathPatternMappingIndex<T> patternIndex = new PathPatternMappingIndex<T>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup =
 				new ConcurrentHashMap<String, List<HandlerMethod>>();
 
@@ -618,6 +628,26 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings whose URL patterns may match the given URL path,
+		 * in registration order, or {@code null} if the pattern index cannot be
+		 * used for the configured {@link PathMatcher}, i.e. unless it is an
+		 * {@link AntPathMatcher} with the default "/" path separator. Not thread-safe.
+		 * <p>
+		 *  按注册顺序返回其URL模式可能与给定URL路径匹配的映射,如果模式索引不能用于配置的{@link PathMatcher}(即它不是使用默认"/"路径分隔符的{@link AntPathMatcher}),则返回{@code null}不是线程安全的
+		 * 
+		 * 
+		 * @see #acquireReadLock()
+		 */
+		public List<T> getMappingsByPathPattern(String urlPath) {
+			PathMatcher pathMatcher = getPathMatcher();
+			if (!(pathMatcher instanceof AntPathMatcher) || !AntPathMatcher.DEFAULT_PATH_SEPARATOR.equals(
+					((AntPathMatcher) pathMatcher).getPathSeparator())) {
+				return null;
+			}
+			return this.patternIndex.getCandidateMappings(urlPath);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 * <p>
@@ -674,6 +704,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				for (String url : directUrls) {
 					this.urlLookup.add(url, mapping);
 				}
+				this.patternIndex.add(mapping, getMappingPathPatterns(mapping));
 
 				String name = null;
 				if (getNamingStrategy() != null) {
@@ -761,6 +792,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 						}
 					}
 				}
+				this.patternIndex.remove(definition.getMapping());
 
 				removeMappingName(definition);
 
@@ -0,0 +1,360 @@
+/***** Lobxxx Translate Finished ******/
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A segment trie over the URL patterns of registered mappings, used to narrow
+ * down the candidate mappings for a lookup path before the (comparatively
+ * expensive) per-mapping match is performed.
+ *
+ * <p>Each pattern is split on "/" the same way {@link org.springframework.util.AntPathMatcher}
+ * tokenizes it, and every segment becomes either a literal node, a single-segment
+ * wildcard node (for {@code {var}}, {@code *}, {@code ?} or any segment containing
+ * them) or a {@code **} node. The index is deliberately conservative: it returns
+ * a superset of the mappings whose patterns can match the given path, taking
+ * suffix pattern and trailing slash matching into account, so the actual
+ * selection and ordering of matches remains entirely up to the mappings.
+ * Literal segments are compared in trimmed, lower-case form so that the index
+ * remains valid for case-insensitive and token-trimming path matchers.
+ *
+ * <p>Mappings without patterns, or with patterns that cannot be indexed, are
+ * returned for every lookup path. Candidates are always returned in registration
+ * order. This class is not thread-safe; access is guarded by the read-write lock
+ * of the owning {@link AbstractHandlerMethodMapping.MappingRegistry}.
+ * <p>
+ *  已注册映射的URL模式上的分段字典树,用于在执行(相对昂贵的)逐个映射匹配之前缩小查找路径的候选映射范围
+ * 
+ *  <p>每个模式都以与{@link org.springframework.util.AntPathMatcher}相同的方式按"/"进行拆分,每个分段成为字面量节点、单段通配符节点
+ * (用于{@code {var}},{@code *},{@code ?}或包含它们的任何分段)或{@code **}节点该索引是有意保守的：它返回可能与给定路径匹配的映射的超集,
+ * 并考虑后缀模式和尾部斜杠匹配,因此实际的匹配选择和排序完全由映射决定字面量分段以去除空白的小写形式进行比较,因此该索引对于不区分大小写和修剪令牌的路径匹配器仍然有效
+ * 
+ *  <p>没有模式或具有无法索引的模式的映射将针对每个查找路径返回候选项始终按注册顺序返回此类不是线程安全的;访问由所属
+ * {@link AbstractHandlerMethodMapping.MappingRegistry}的读写锁保护
+ * 
+ * 
+ * @since 4.3.6
+ * @param <T> the mapping type
+ */
+class PathPatternMappingIndex<T> {
+
+	private static final char PATH_SEPARATOR = '/';
+
+	private static final String DOUBLE_WILDCARD = "**";
+
+
+	private final Node<T> root = new Node<T>();
+
+	private final Set<T> unindexedMappings = new LinkedHashSet<T>();
+
+	private final Map<T, IndexedMapping> indexedMappings = new HashMap<T, IndexedMapping>();
+
+	private final Comparator<T> registrationOrder = new Comparator<T>() {
+		@Override
+		public int compare(T mapping1, T mapping2) {
+			int order1 = PathPatternMappingIndex.this.indexedMappings.get(mapping1).order;
+			int order2 = PathPatternMappingIndex.this.indexedMappings.get(mapping2).order;
+			return (order1 < order2 ? -1 : (order1 > order2 ? 1 : 0));
+		}
+	};
+
+	private int registrationCounter;
+
+
+	/**
+	 * Add the given mapping under the given URL patterns.
+	 * <p>
+	 *  在给定的URL模式下添加给定的映射
+	 * 
+	 * 
+	 * @param mapping the mapping to add
+	 * @param patterns the URL patterns of the mapping (may be empty)
+	 */
+	public void add(T mapping, Collection<String> patterns) {
+		if (this.indexedMappings.containsKey(mapping)) {
+			return;
+		}
+		List<String[]> tokenizedPatterns = tokenizePatterns(patterns);
+		this.indexedMappings.put(mapping, new IndexedMapping(this.registrationCounter++, tokenizedPatterns));
+		if (tokenizedPatterns == null) {
+			this.unindexedMappings.add(mapping);
+			return;
+		}
+		for (String[] segments : tokenizedPatterns) {
+			Node<T> node = this.root;
+			for (String segment : segments) {
+				node = node.getOrCreateChild(segment);
+			}
+			node.mappings.add(mapping);
+		}
+	}
+
+	/**
+	 * Remove the given mapping from the index.
+	 * <p>
+	 *  从索引中删除给定的映射
+	 * 
+	 * 
+	 * @param mapping the mapping to remove
+	 */
+	public void remove(T mapping) {
+		IndexedMapping indexedMapping = this.indexedMappings.remove(mapping);
+		if (indexedMapping == null) {
+			return;
+		}
+		if (indexedMapping.patterns == null) {
+			this.unindexedMappings.remove(mapping);
+			return;
+		}
+		for (String[] segments : indexedMapping.patterns) {
+			this.root.remove(mapping, segments, 0);
+		}
+	}
+
+	/**
+	 * Return the mappings with patterns that could match the given lookup path,
+	 * in registration order.
+	 * <p>
+	 *  按注册顺序返回其模式可能与给定查找路径匹配的映射
+	 * 
+	 * 
+	 * @param lookupPath the lookup path to find candidate mappings for
+	 * @return the candidate mappings, or {@code null} if the path cannot be
+	 * resolved against the index (in which case all mappings need to be checked)
+	 */
+	public List<T> getCandidateMappings(String lookupPath) {
+		String[] segments = tokenizePath(lookupPath);
+		if (segments == null) {
+			return null;
+		}
+		Set<T> result = new LinkedHashSet<T>(this.unindexedMappings);
+		collect(this.root, segments, 0, result);
+		if (result.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<T> candidates = new ArrayList<T>(result);
+		Collections.sort(candidates, this.registrationOrder);
+		return candidates;
+	}
+
+	private void collect(Node<T> node, String[] segments, int index, Set<T> result) {
+		if (index == segments.length) {
+			result.addAll(node.mappings);
+			if (node.wildcardChild != null) {
+				// A trailing "*" also matches a path ending with a separator
+				result.addAll(node.wildcardChild.mappings);
+			}
+			if (node.doubleWildcardChild != null) {
+				collect(node.doubleWildcardChild, segments, index, result);
+			}
+			return;
+		}
+
+		String segment = segments[index];
+		if (node.literalChildren != null) {
+			Node<T> literalChild = node.literalChildren.get(segment);
+			if (literalChild != null) {
+				collect(literalChild, segments, index + 1, result);
+			}
+		}
+		if (index == segments.length - 1) {
+			// Suffix pattern match: "/path" also matches "/path.json" and "/path.v1.json"
+			int dotIndex = segment.indexOf('.');
+			while (dotIndex != -1) {
+				if (dotIndex == 0) {
+					result.addAll(node.mappings);
+				}
+				else if (node.literalChildren != null) {
+					Node<T> prefixChild = node.literalChildren.get(segment.substring(0, dotIndex));
+					if (prefixChild != null) {
+						collect(prefixChild, segments, index + 1, result);
+					}
+				}
+				dotIndex = segment.indexOf('.', dotIndex + 1);
+			}
+		}
+		if (node.wildcardChild != null) {
+			collect(node.wildcardChild, segments, index + 1, result);
+		}
+		if (node.doubleWildcardChild != null) {
+			for (int i = index; i <= segments.length; i++) {
+				collect(node.doubleWildcardChild, segments, i, result);
+			}
+		}
+	}
+
+
+	/**
+	 * Tokenize the given patterns into normalized segments, or return {@code null}
+	 * if any of them contains a segment that cannot be indexed reliably.
+	 * <p>
+	 *  将给定的模式标记为规范化的分段,如果其中任何一个包含无法可靠索引的分段,则返回{@code null}
+	 */
+	private static List<String[]> tokenizePatterns(Collection<String> patterns) {
+		if (patterns == null || patterns.isEmpty()) {
+			return null;
+		}
+		List<String[]> result = new ArrayList<String[]>(patterns.size());
+		for (String pattern : patterns) {
+			String[] segments = tokenizePath(pattern);
+			if (segments == null) {
+				return null;
+			}
+			result.add(segments);
+		}
+		return result;
+	}
+
+	/**
+	 * Split the given path on "/" (ignoring empty segments) and normalize each
+	 * literal segment. Returns {@code null} for a path with blank segments, since
+	 * those are dropped by token-trimming path matchers but kept by others.
+	 * <p>
+	 *  将给定路径按"/"拆分(忽略空分段)并规范化每个字面量分段对于具有空白分段的路径返回{@code null},因为这些分段会被修剪令牌的路径匹配器丢弃,但会被其他匹配器保留
+	 */
+	private static String[] tokenizePath(String path) {
+		List<String> segments = new ArrayList<String>();
+		int start = 0;
+		int length = path.length();
+		while (start <= length) {
+			int end = path.indexOf(PATH_SEPARATOR, start);
+			if (end == -1) {
+				end = length;
+			}
+			if (end > start) {
+				String segment = path.substring(start, end).trim();
+				if (segment.isEmpty()) {
+					return null;
+				}
+				segments.add(segment.toLowerCase(Locale.ENGLISH));
+			}
+			start = end + 1;
+		}
+		return segments.toArray(new String[segments.size()]);
+	}
+
+	private static boolean isWildcardSegment(String segment) {
+		return (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1);
+	}
+
+
+	/**
+	 * A node in the segment trie.
+	 * <p>
+	 *  分段字典树中的节点
+	 */
+	private static class Node<T> {
+
+		private Map<String, Node<T>> literalChildren;
+
+		private Node<T> wildcardChild;
+
+		private Node<T> doubleWildcardChild;
+
+		private final Set<T> mappings = new LinkedHashSet<T>(1);
+
+		public Node<T> getOrCreateChild(String segment) {
+			if (DOUBLE_WILDCARD.equals(segment)) {
+				if (this.doubleWildcardChild == null) {
+					this.doubleWildcardChild = new Node<T>();
+				}
+				return this.doubleWildcardChild;
+			}
+			if (isWildcardSegment(segment)) {
+				if (this.wildcardChild == null) {
+					this.wildcardChild = new Node<T>();
+				}
+				return this.wildcardChild;
+			}
+			if (this.literalChildren == null) {
+				this.literalChildren = new HashMap<String, Node<T>>(4);
+			}
+			Node<T> child = this.literalChildren.get(segment);
+			if (child == null) {
+				child = new Node<T>();
+				this.literalChildren.put(segment, child);
+			}
+			return child;
+		}
+
+		public void remove(T mapping, String[] segments, int index) {
+			if (index == segments.length) {
+				this.mappings.remove(mapping);
+				return;
+			}
+			String segment = segments[index];
+			if (DOUBLE_WILDCARD.equals(segment)) {
+				if (this.doubleWildcardChild != null) {
+					this.doubleWildcardChild.remove(mapping, segments, index + 1);
+					if (this.doubleWildcardChild.isEmpty()) {
+						this.doubleWildcardChild = null;
+					}
+				}
+			}
+			else if (isWildcardSegment(segment)) {
+				if (this.wildcardChild != null) {
+					this.wildcardChild.remove(mapping, segments, index + 1);
+					if (this.wildcardChild.isEmpty()) {
+						this.wildcardChild = null;
+					}
+				}
+			}
+			else if (this.literalChildren != null) {
+				Node<T> child = this.literalChildren.get(segment);
+				if (child != null) {
+					child.remove(mapping, segments, index + 1);
+					if (child.isEmpty()) {
+						this.literalChildren.remove(segment);
+						if (this.literalChildren.isEmpty()) {
+							this.literalChildren = null;
+						}
+					}
+				}
+			}
+		}
+
+		public boolean isEmpty() {
+			return (this.mappings.isEmpty() && this.literalChildren == null &&
+					this.wildcardChild == null && this.doubleWildcardChild == null);
+		}
+	}
+
+
+	private static class IndexedMapping {
+
+		private final int order;
+
+		private final List<String[]> patterns;
+
+		public IndexedMapping(int order, List<String[]> patterns) {
+			this.order = order;
+			this.patterns = patterns;
+		}
+	}
+
+}